@@ -7,6 +7,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "enrollments")
 public class Enrollment {
+    public static final String COMPLETED = "COMPLETED";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "enrollment_id")
@@ -28,7 +30,7 @@ public class Enrollment {
 
 
     public void complete() {
-        this.status = "COMPLETED";
+        this.status = COMPLETED;
         this.completedAt = LocalDateTime.now();
     }
 
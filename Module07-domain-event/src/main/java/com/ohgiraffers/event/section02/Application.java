@@ -1,13 +1,21 @@
 package com.ohgiraffers.event.section02;
 
 import com.ohgiraffers.event.entity.Certificate;
+import com.ohgiraffers.event.section02.aggregate.CourseCompletedEvent;
+import com.ohgiraffers.event.section02.aggregate.CourseCompletionBatchEvent;
+import com.ohgiraffers.event.section02.handler.BatchCertificateIssuanceHandler;
 import com.ohgiraffers.event.section02.handler.CertificateIssuanceHandler;
 import com.ohgiraffers.event.section02.infra.Events;
+import com.ohgiraffers.event.section02.infra.metrics.EventInstrumentation;
+import com.ohgiraffers.event.section02.infra.metrics.EventMetrics;
+import com.ohgiraffers.event.section02.infra.metrics.JfrEventInstrumentation;
 import com.ohgiraffers.event.section02.service.CourseCompletionService;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.Persistence;
 
+import java.time.Duration;
+
 /*
  * [수정]
  * =====================================
@@ -15,11 +23,15 @@ import jakarta.persistence.Persistence;
  * =====================================
  *
  * 💡 동작 흐름:
- * 1. `main`에서 `Events`에 `CertificateIssuanceHandler`를 '구독 신청'합니다.
- * 2. `courseCompletionService.completeCourse(1L)`를 호출합니다.
- * 3. `CourseCompletionService`는 수강 상태를 변경한 후, `Events.raise(...)`를 통해 이벤트를 '발행'합니다.
- * 4. `Events`는 자신에게 구독 신청한 모든 핸들러(`CertificateIssuanceHandler`)에게 이벤트를 '전달'합니다.
- * 5. `CertificateIssuanceHandler`는 이벤트를 받고, 자신의 책임인 수료증 발급 로직을 '처리'합니다.
+ * 1. `main`에서 `Events`에 `CertificateIssuanceHandler`를 `CourseCompletedEvent`의 '커밋 후' 핸들러로 '구독 신청'합니다.
+ * 2. `courseCompletionService.completeCourse(2L)`를 호출합니다.
+ * 3. `CourseCompletionService`는 수강 상태를 변경한 후, `Events.raise(em, ...)`를 통해 이벤트를 '발행'합니다.
+ * 4. 트랜잭션이 커밋되면, `Events`는 구독 신청한 핸들러(`CertificateIssuanceHandler`)에게 별도 스레드에서 이벤트를 '전달'합니다.
+ *    (롤백되면 전달하지 않으므로, 수료되지 않은 수강생에게 수료증이 발급되지 않습니다.)
+ * 5. `CertificateIssuanceHandler`는 이벤트를 받고, 자신의 트랜잭션으로 수료증 발급 로직을 '처리'합니다.
+ *
+ * 💡 지표: `EventMetrics`로 이벤트 발행 수, 핸들러별 지연 히스토그램/실패 수를 모으고, 100ms 이상 걸린 핸들러는 로그로 남깁니다.
+ *    (`JfrEventInstrumentation`을 함께 연결해 두면 JFR 녹화 중일 때 핸들러 실행이 JFR 이벤트로도 기록됩니다.)
  *
  * ✨ 결과:
  * - `CourseCompletionService`는 더 이상 `Certificate`의 존재를 알지 못합니다.
@@ -30,15 +42,30 @@ public class Application {
         EntityManagerFactory emf = Persistence.createEntityManagerFactory("jpa-lecture");
         EntityManager em = emf.createEntityManager();
 
-        // 의존성 주입: 핸들러가 DB 작업을 할 수 있도록 EntityManager를 전달
-        CertificateIssuanceHandler certificateHandler = new CertificateIssuanceHandler(em);
-        Events.addHandler(certificateHandler);
+        EventMetrics metrics = new EventMetrics(Duration.ofMillis(100)); // 느린 핸들러 기준
+        Events.instrument(EventInstrumentation.of(metrics, new JfrEventInstrumentation()));
+
+        // 의존성 주입: 핸들러가 자신의 EntityManager를 만들 수 있도록 EntityManagerFactory를 전달
+        CertificateIssuanceHandler certificateHandler = new CertificateIssuanceHandler(emf);
+        Events.addAfterCommitHandler(CourseCompletedEvent.class, certificateHandler, 4); // 동시에 최대 4건 발급
+        // 대량 수료(completeCourses)는 청크마다 CourseCompletionBatchEvent 하나를 발행 -> JDBC 배치로 일괄 발급
+        Events.addAfterCommitHandler(CourseCompletionBatchEvent.class, new BatchCertificateIssuanceHandler(emf), 2);
 
         CourseCompletionService courseCompletionService = new CourseCompletionService(em);
 
         em.getTransaction().begin();
         courseCompletionService.completeCourse(2L);
-        em.getTransaction().commit();
+        em.getTransaction().commit(); // 커밋 후 수료증 발급 시작 (이 스레드는 기다리지 않음)
+
+        // 실습 확인용: 별도 스레드의 수료증 발급이 끝날 때까지 대기
+        try {
+            Events.awaitIdle(Duration.ofSeconds(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        System.out.println(Events.stats());
+        System.out.println(metrics.raisedCounts());
+        System.out.println(metrics.handlerMetrics());
 
         Certificate certificate = em.find(Certificate.class, 2L);
         System.out.println(certificate);
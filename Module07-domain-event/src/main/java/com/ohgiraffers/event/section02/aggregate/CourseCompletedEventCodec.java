@@ -0,0 +1,28 @@
+package com.ohgiraffers.event.section02.aggregate;
+
+import com.ohgiraffers.event.section02.infra.outbox.OutboxCodec;
+
+/*
+ * 📌 CourseCompletedEvent <-> outbox payload 변환
+ * - payload: "userId,courseId"
+ * - 멱등성 키: course-completed:{userId}:{courseId}
+ *   수강 정보는 (user_id, course_id)가 유일하고 수료는 한 번뿐인 사실이므로, 같은 수료가 두 번 기록되어도 같은 키가 됩니다.
+ */
+public class CourseCompletedEventCodec implements OutboxCodec<CourseCompletedEvent> {
+
+    @Override
+    public String idempotencyKey(CourseCompletedEvent event) {
+        return "course-completed:" + event.getUserId() + ":" + event.getCourseId();
+    }
+
+    @Override
+    public String encode(CourseCompletedEvent event) {
+        return event.getUserId() + "," + event.getCourseId();
+    }
+
+    @Override
+    public CourseCompletedEvent decode(String payload) {
+        int comma = payload.indexOf(',');
+        return new CourseCompletedEvent(Long.valueOf(payload.substring(0, comma)), Long.valueOf(payload.substring(comma + 1)));
+    }
+}
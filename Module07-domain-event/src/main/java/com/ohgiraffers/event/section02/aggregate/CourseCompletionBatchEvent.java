@@ -0,0 +1,21 @@
+package com.ohgiraffers.event.section02.aggregate;
+
+import java.util.List;
+
+/*
+ * 💡 여러 건의 수료를 한 번에 알리는 이벤트 (CourseCompletionService.completeCourses의 청크 하나)
+ * - 수료 수십만 건을 이벤트 수십만 개로 발행하지 않고, 청크마다 이벤트 하나로 묶어 발행합니다.
+ * - batchId: 이 묶음을 구분하는 값 (outbox 멱등성 키로 사용)
+ */
+public class CourseCompletionBatchEvent {
+    private final String batchId;
+    private final List<CourseCompletedEvent> completions;
+
+    public CourseCompletionBatchEvent(String batchId, List<CourseCompletedEvent> completions) {
+        this.batchId = batchId;
+        this.completions = List.copyOf(completions);
+    }
+
+    public String getBatchId() { return batchId; }
+    public List<CourseCompletedEvent> getCompletions() { return completions; }
+}
@@ -0,0 +1,47 @@
+package com.ohgiraffers.event.section02.aggregate;
+
+import com.ohgiraffers.event.section02.infra.outbox.OutboxCodec;
+import com.ohgiraffers.event.section02.infra.outbox.OutboxMessage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * 📌 CourseCompletionBatchEvent <-> outbox payload 변환
+ * - payload: "batchId;userId,courseId;userId,courseId;..."
+ * - 멱등성 키: course-completion-batch:{batchId}
+ * 🚨 outbox.payload는 TEXT(64KB)이므로 묶음 하나에 담을 수 있는 수료는 MAX_COMPLETIONS건까지입니다.
+ *    (CourseCompletionService가 chunkSize를 이 값 이하로 제한)
+ */
+public class CourseCompletionBatchEventCodec implements OutboxCodec<CourseCompletionBatchEvent> {
+
+    // batchId(UUID 36자) + 수료마다 ";userId,courseId" (Long 최대 20자 x 2 + 구분자 2자)로 계산한 최악의 경우
+    private static final int BATCH_ID_LENGTH = 36;
+    private static final int MAX_COMPLETION_LENGTH = 1 + 20 + 1 + 20;
+    public static final int MAX_COMPLETIONS = (OutboxMessage.MAX_PAYLOAD_LENGTH - BATCH_ID_LENGTH) / MAX_COMPLETION_LENGTH;
+
+    @Override
+    public String idempotencyKey(CourseCompletionBatchEvent event) {
+        return "course-completion-batch:" + event.getBatchId();
+    }
+
+    @Override
+    public String encode(CourseCompletionBatchEvent event) {
+        StringBuilder payload = new StringBuilder(event.getBatchId());
+        for (CourseCompletedEvent completion : event.getCompletions()) {
+            payload.append(';').append(completion.getUserId()).append(',').append(completion.getCourseId());
+        }
+        return payload.toString();
+    }
+
+    @Override
+    public CourseCompletionBatchEvent decode(String payload) {
+        String[] parts = payload.split(";");
+        List<CourseCompletedEvent> completions = new ArrayList<>(parts.length - 1);
+        for (int i = 1; i < parts.length; i++) {
+            int comma = parts[i].indexOf(',');
+            completions.add(new CourseCompletedEvent(Long.valueOf(parts[i].substring(0, comma)), Long.valueOf(parts[i].substring(comma + 1))));
+        }
+        return new CourseCompletionBatchEvent(parts[0], completions);
+    }
+}
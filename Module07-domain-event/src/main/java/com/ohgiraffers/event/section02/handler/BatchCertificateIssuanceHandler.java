@@ -0,0 +1,79 @@
+package com.ohgiraffers.event.section02.handler;
+
+import com.ohgiraffers.event.section02.aggregate.CourseCompletedEvent;
+import com.ohgiraffers.event.section02.aggregate.CourseCompletionBatchEvent;
+import com.ohgiraffers.event.section02.infra.EventHandler;
+import com.ohgiraffers.event.section02.infra.outbox.OutboxHandler;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+import org.hibernate.Session;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.List;
+
+/*
+ * 📌 BatchCertificateIssuanceHandler: 묶음 수료 이벤트(CourseCompletionBatchEvent)의 수료증 일괄 발급
+ *
+ * 💡 Certificate는 IDENTITY 전략이라 Hibernate가 INSERT를 JDBC 배치로 묶지 못합니다. (저장할 때마다 ID를 받아와야 함)
+ * - 수료증 ID가 필요 없으므로 em.persist 대신 JDBC PreparedStatement.addBatch()로 BATCH_SIZE건씩 한 번에 전송합니다.
+ * - MySQL은 JDBC URL에 rewriteBatchedStatements=true가 있어야 여러 행 INSERT 한 문장으로 바꿔 보냅니다. (persistence.xml)
+ *
+ * 💡 CertificateIssuanceHandler와 같이 두 경로를 지원합니다.
+ * - OutboxRelay: 릴레이 트랜잭션의 EntityManager로 저장 (처리 기록과 함께 커밋 -> 같은 묶음은 한 번만 발급)
+ * - 커밋 후 핸들러(Events.addAfterCommitHandler): 자신만의 EntityManager/트랜잭션으로 저장
+ */
+public class BatchCertificateIssuanceHandler implements EventHandler<CourseCompletionBatchEvent>, OutboxHandler<CourseCompletionBatchEvent> {
+    private static final String INSERT_SQL = "INSERT INTO certificates (user_id, course_id, issue_date) VALUES (?, ?, ?)";
+    private static final int BATCH_SIZE = 500;
+
+    private final EntityManagerFactory emf;
+    public BatchCertificateIssuanceHandler(EntityManagerFactory emf) { this.emf = emf; }
+
+    @Override
+    public void handle(CourseCompletionBatchEvent event) {
+        EntityManager em = emf.createEntityManager();
+        EntityTransaction tx = em.getTransaction();
+        try {
+            tx.begin();
+            issue(em, event.getCompletions());
+            tx.commit();
+        } catch (RuntimeException e) {
+            if (tx.isActive()) {
+                tx.rollback();
+            }
+            throw e;
+        } finally {
+            em.close();
+        }
+    }
+
+    @Override
+    public void handle(EntityManager em, CourseCompletionBatchEvent event, String idempotencyKey) {
+        issue(em, event.getCompletions());
+    }
+
+    private static void issue(EntityManager em, List<CourseCompletedEvent> completions) {
+        Date issueDate = Date.valueOf(LocalDate.now());
+        em.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_SQL)) {
+                int pending = 0;
+                for (CourseCompletedEvent completion : completions) {
+                    insert.setLong(1, completion.getUserId());
+                    insert.setLong(2, completion.getCourseId());
+                    insert.setDate(3, issueDate);
+                    insert.addBatch();
+                    if (++pending == BATCH_SIZE) {
+                        insert.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    insert.executeBatch();
+                }
+            }
+        });
+    }
+}
@@ -3,7 +3,10 @@ package com.ohgiraffers.event.section02.handler;
 import com.ohgiraffers.event.entity.Certificate;
 import com.ohgiraffers.event.section02.aggregate.CourseCompletedEvent;
 import com.ohgiraffers.event.section02.infra.EventHandler;
+import com.ohgiraffers.event.section02.infra.outbox.OutboxHandler;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
 
 import java.time.LocalDate;
 
@@ -12,16 +15,42 @@ import java.time.LocalDate;
  * - 이 핸들러는 오직 `CourseCompletedEvent`에만 관심을 가집니다.
  * - 이벤트가 발생했다는 소식을 들으면, 자신의 책임인 '수료증 발급' 로직을 묵묵히 수행합니다.
  * - `CourseCompletionService`가 어떻게 동작하는지는 전혀 알 필요가 없습니다.
+ *
+ * 💡 수료 트랜잭션이 '커밋된 후' 별도 스레드에서 실행됩니다. (Events.addAfterCommitHandler)
+ * - 수료 처리는 수료증 발급을 기다리지 않고 끝나며, 수료증은 자신만의 EntityManager/트랜잭션으로 저장합니다.
+ *   (EntityManager는 스레드 간에 공유하면 안 되므로, 이벤트마다 EntityManagerFactory에서 새로 만듭니다.)
+ *
+ * 💡 Outbox로 전달받을 때는(OutboxRelay) 릴레이 트랜잭션의 EntityManager로 저장합니다.
+ * - 수료증 저장, 처리 기록(outbox_consumed), outbox 행 삭제가 함께 커밋되므로 같은 수료에 수료증이 두 번 발급되지 않습니다.
  */
-public class CertificateIssuanceHandler implements EventHandler<CourseCompletedEvent> {
-    private final EntityManager em;
-    public CertificateIssuanceHandler(EntityManager em) { this.em = em; }
+public class CertificateIssuanceHandler implements EventHandler<CourseCompletedEvent>, OutboxHandler<CourseCompletedEvent> {
+    private final EntityManagerFactory emf;
+    public CertificateIssuanceHandler(EntityManagerFactory emf) { this.emf = emf; }
 
     @Override
     public void handle(CourseCompletedEvent event) {
         System.out.println("이벤트 수신: 수료증 발급을 시작합니다. UserID: " + event.getUserId());
-        Certificate certificate = new Certificate(event.getUserId(), event.getCourseId(), LocalDate.now());
-        em.persist(certificate);
-        System.out.println("수료증 발급 완료. Certificate ID: " + certificate.getCertificateId());
+        EntityManager em = emf.createEntityManager();
+        EntityTransaction tx = em.getTransaction();
+        try {
+            tx.begin();
+            Certificate certificate = new Certificate(event.getUserId(), event.getCourseId(), LocalDate.now());
+            em.persist(certificate);
+            tx.commit();
+            System.out.println("수료증 발급 완료. Certificate ID: " + certificate.getCertificateId());
+        } catch (RuntimeException e) {
+            if (tx.isActive()) {
+                tx.rollback();
+            }
+            throw e;
+        } finally {
+            em.close();
+        }
     }
-}
\ No newline at end of file
+
+    @Override
+    public void handle(EntityManager em, CourseCompletedEvent event, String idempotencyKey) {
+        System.out.println("outbox 이벤트 수신: 수료증 발급을 시작합니다. " + idempotencyKey);
+        em.persist(new Certificate(event.getUserId(), event.getCourseId(), LocalDate.now()));
+    }
+}
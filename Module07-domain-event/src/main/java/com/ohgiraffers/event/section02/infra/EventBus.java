@@ -0,0 +1,366 @@
+package com.ohgiraffers.event.section02.infra;
+
+import com.ohgiraffers.event.section02.infra.metrics.EventInstrumentation;
+import com.ohgiraffers.event.section02.infra.metrics.HandlerId;
+import com.ohgiraffers.event.section02.infra.outbox.Outbox;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * 📌 EventBus: 이벤트 타입별로 핸들러를 등록하고, 트랜잭션 단계에 맞춰 이벤트를 전달하는 발행자(Publisher)
+ *
+ * 💡 핸들러 실행 시점 (Phase)
+ * - IN_TRANSACTION: publish()를 호출한 스레드에서 즉시 실행 (발행한 트랜잭션 안, 예외가 나면 발행한 쪽으로 전파 -> 롤백 가능)
+ * - AFTER_COMMIT  : 발행한 트랜잭션이 '커밋된 후' 별도 스레드(dispatch executor)에서 실행
+ *                   - 롤백되면 실행하지 않습니다. (커밋되지 않은 사실을 전파하지 않음)
+ *                   - 수료 트랜잭션은 핸들러(수료증 발급)를 기다리지 않고 바로 끝납니다.
+ *                   🚨 핸들러는 다른 스레드에서 실행되므로 발행한 쪽의 EntityManager를 쓰면 안 됩니다. (스레드 안전하지 않음)
+ *                   🚨 커밋 후 전달 전에 프로세스가 종료되면 이벤트가 유실될 수 있습니다. (메모리에만 있음)
+ *
+ * 💡 동시성
+ * - 핸들러 목록은 이벤트 타입(Class)별 CopyOnWriteArrayList: 발행(읽기)은 잠금 없이, 등록(쓰기)은 드물게 복사
+ * - AFTER_COMMIT 핸들러마다 동시에 실행 중인 개수를 maxInFlight로 제한합니다.
+ *   제한에 걸린 이벤트는 핸들러별 대기 큐에 쌓였다가, 실행 중인 작업이 끝나는 대로 하나씩 꺼내 실행합니다.
+ *   (느린 핸들러 하나가 dispatch executor의 스레드를 모두 차지하지 못하게 함)
+ * - dispatch executor는 고정 크기 스레드 풀(기본)이거나, 생성자로 넘긴 ExecutorService입니다.
+ *   (JDK 21 이상이면 Executors.newVirtualThreadPerTaskExecutor()를 넘겨 가상 스레드로 실행할 수 있음)
+ *
+ * 💡 Outbox 연결 (useOutbox)
+ * - Outbox에 등록된 이벤트 타입은 AFTER_COMMIT 핸들러 대신 발행한 트랜잭션 안에서 outbox 테이블에 저장됩니다.
+ *   전달은 OutboxRelay가 커밋된 outbox 행을 읽어 수행하므로, 커밋 직후 프로세스가 종료되어도 이벤트가 남습니다.
+ * - IN_TRANSACTION 핸들러는 그대로 발행한 스레드에서 실행됩니다.
+ *
+ * 💡 지표: stats()로 핸들러별 대기 큐 길이, 실행 중 개수, 완료/실패 수, 평균/최대 처리 시간을 조회합니다.
+ * - 발행 수, 지연 히스토그램, 느린 핸들러 로그, JFR/Micrometer 내보내기는 instrument(EventInstrumentation)로 연결합니다.
+ * - 같은 이벤트 타입(Class)으로 등록한 핸들러만 호출합니다. (상위 타입/인터페이스로 등록한 핸들러는 호출하지 않음)
+ */
+public class EventBus implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(EventBus.class);
+
+    // OUTBOX: OutboxRelay가 outbox 테이블에서 읽어 전달 (지표 구분용)
+    public enum Phase { IN_TRANSACTION, AFTER_COMMIT, OUTBOX }
+
+    private final ConcurrentMap<Class<?>, List<Subscription<?>>> subscriptions = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+    private volatile Outbox outbox;
+    private volatile EventInstrumentation instrumentation = EventInstrumentation.NONE;
+
+    // 📌 고정 크기(threads) 데몬 스레드 풀로 AFTER_COMMIT 핸들러 실행
+    public EventBus(int threads) {
+        this(Executors.newFixedThreadPool(threads, new DispatchThreadFactory()), true);
+    }
+
+    // 📌 외부 ExecutorService로 AFTER_COMMIT 핸들러 실행 (종료는 넘겨준 쪽의 책임)
+    public EventBus(ExecutorService executor) {
+        this(executor, false);
+    }
+
+    private EventBus(ExecutorService executor, boolean ownsExecutor) {
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+    }
+
+    // 📌 발행한 트랜잭션 안에서 즉시 실행할 핸들러 등록
+    public <T> void subscribe(Class<T> eventType, EventHandler<? super T> handler) {
+        register(new Subscription<>(eventType, handler, Phase.IN_TRANSACTION, Integer.MAX_VALUE));
+    }
+
+    // 📌 커밋 후 별도 스레드에서 실행할 핸들러 등록 (동시에 최대 maxInFlight개까지 실행)
+    public <T> void subscribeAfterCommit(Class<T> eventType, EventHandler<? super T> handler, int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight는 1 이상이어야 합니다: " + maxInFlight);
+        }
+        register(new Subscription<>(eventType, handler, Phase.AFTER_COMMIT, maxInFlight));
+    }
+
+    // 📌 Outbox에 등록된 이벤트 타입은 outbox 테이블을 거쳐 전달 (null이면 연결 해제)
+    public void useOutbox(Outbox outbox) {
+        this.outbox = outbox;
+    }
+
+    // 📌 발행/핸들러 실행 지표 수집 연결 (null이면 EventInstrumentation.NONE)
+    public void instrument(EventInstrumentation instrumentation) {
+        this.instrumentation = instrumentation == null ? EventInstrumentation.NONE : instrumentation;
+    }
+
+    // 📌 이 타입의 이벤트를 받을 곳(핸들러 또는 outbox)이 있는지 (없으면 publish해도 아무 일도 일어나지 않음)
+    public boolean hasRoute(Class<?> eventType) {
+        Outbox current = outbox;
+        return !subscriptions.getOrDefault(eventType, List.of()).isEmpty()
+                || (current != null && current.supports(eventType));
+    }
+
+    private void register(Subscription<?> subscription) {
+        subscriptions.computeIfAbsent(subscription.eventType, type -> new CopyOnWriteArrayList<>()).add(subscription);
+    }
+
+    /**
+     * 📌 이벤트 발행 (em의 트랜잭션 기준)
+     * - em에 진행 중인 트랜잭션이 있으면 AFTER_COMMIT 핸들러는 커밋 후에 실행되고, 롤백되면 실행되지 않습니다.
+     * - 트랜잭션이 없으면(em == null 포함) AFTER_COMMIT 핸들러도 바로 dispatch executor로 넘깁니다.
+     * - Outbox에 등록된 이벤트 타입이면 em의 트랜잭션으로 outbox 테이블에 저장합니다. (트랜잭션이 없으면 IllegalStateException)
+     */
+    public void publish(EntityManager em, Object event) {
+        instrumentation.raised(event.getClass());
+        List<Subscription<?>> handlers = subscriptions.getOrDefault(event.getClass(), List.of());
+        boolean afterCommit = false;
+        for (Subscription<?> subscription : handlers) {
+            if (subscription.phase == Phase.IN_TRANSACTION) {
+                subscription.invoke(event);
+            } else {
+                afterCommit = true;
+            }
+        }
+        Outbox current = outbox;
+        if (current != null && current.supports(event.getClass())) {
+            if (activeTransaction(em) == null) {
+                throw new IllegalStateException("outbox 이벤트는 트랜잭션 안에서 발행해야 합니다: " + event.getClass().getSimpleName());
+            }
+            current.append(em, event); // 커밋 후 전달은 OutboxRelay가 담당
+            return;
+        }
+        if (!afterCommit) {
+            return;
+        }
+        Transaction transaction = activeTransaction(em);
+        if (transaction != null) {
+            transaction.registerSynchronization(new AfterCommitDispatch(handlers, event));
+        } else {
+            dispatchAfterCommit(handlers, event);
+        }
+    }
+
+    private static Transaction activeTransaction(EntityManager em) {
+        Transaction transaction = em == null ? null : em.unwrap(Session.class).getTransaction();
+        return transaction != null && transaction.isActive() ? transaction : null;
+    }
+
+    // 📌 트랜잭션 없이 발행 (AFTER_COMMIT 핸들러도 바로 실행)
+    public void publish(Object event) {
+        publish(null, event);
+    }
+
+    private void dispatchAfterCommit(List<Subscription<?>> handlers, Object event) {
+        for (Subscription<?> subscription : handlers) {
+            if (subscription.phase == Phase.AFTER_COMMIT) {
+                subscription.enqueue(event);
+            }
+        }
+    }
+
+    // 📌 핸들러별 현재 상태 (같은 이벤트 타입 안에서는 등록 순서)
+    public List<HandlerStats> stats() {
+        List<HandlerStats> stats = new ArrayList<>();
+        for (List<Subscription<?>> handlers : subscriptions.values()) {
+            for (Subscription<?> subscription : handlers) {
+                stats.add(subscription.stats());
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * 📌 대기 중이거나 실행 중인 AFTER_COMMIT 핸들러가 없을 때까지 대기 (실습/테스트에서 결과 확인용)
+     * @return timeout 안에 모두 끝났으면 true
+     */
+    public boolean awaitIdle(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!isIdle()) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+        return true;
+    }
+
+    private boolean isIdle() {
+        for (List<Subscription<?>> handlers : subscriptions.values()) {
+            for (Subscription<?> subscription : handlers) {
+                if (subscription.queued.get() > 0 || subscription.inFlight.get() > 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // 📌 등록된 핸들러 모두 제거 (이미 대기 큐에 들어간 이벤트는 그대로 실행)
+    public void clear() {
+        subscriptions.clear();
+    }
+
+    @Override
+    public void close() {
+        if (ownsExecutor) {
+            executor.shutdown();
+        }
+    }
+
+    // 트랜잭션 완료 콜백: 커밋된 경우에만 AFTER_COMMIT 핸들러로 전달
+    private final class AfterCommitDispatch implements Synchronization {
+        private final List<Subscription<?>> handlers;
+        private final Object event;
+
+        private AfterCommitDispatch(List<Subscription<?>> handlers, Object event) {
+            this.handlers = handlers;
+            this.event = event;
+        }
+
+        @Override
+        public void beforeCompletion() {
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (status == Status.STATUS_COMMITTED) {
+                dispatchAfterCommit(handlers, event);
+            }
+        }
+    }
+
+    // 핸들러 하나의 등록 정보 + 대기 큐 + 지표
+    private final class Subscription<T> {
+        private final Class<T> eventType;
+        private final EventHandler<? super T> handler;
+        private final Phase phase;
+        private final int maxInFlight;
+        private final HandlerId id;
+        private final Queue<T> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();   // pending 크기 (ConcurrentLinkedQueue.size()는 O(n))
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private Subscription(Class<T> eventType, EventHandler<? super T> handler, Phase phase, int maxInFlight) {
+            this.eventType = eventType;
+            this.handler = handler;
+            this.phase = phase;
+            this.maxInFlight = maxInFlight;
+            this.id = new HandlerId(eventType, handler.getClass().getSimpleName(), phase);
+        }
+
+        // IN_TRANSACTION: 호출한 스레드에서 실행, 예외는 발행한 쪽으로 전파
+        private void invoke(Object event) {
+            long begin = System.nanoTime();
+            boolean success = false;
+            try {
+                handler.handle(eventType.cast(event));
+                success = true;
+            } finally {
+                record(begin, success);
+            }
+        }
+
+        private void enqueue(Object event) {
+            pending.offer(eventType.cast(event));
+            queued.incrementAndGet();
+            drain();
+        }
+
+        // 실행 중인 개수가 maxInFlight 미만인 동안 대기 큐에서 꺼내 executor로 넘김
+        private void drain() {
+            while (true) {
+                int current = inFlight.get();
+                if (current >= maxInFlight) {
+                    return; // 실행 중인 작업이 끝날 때 run()의 drain()이 이어서 꺼냄
+                }
+                if (!inFlight.compareAndSet(current, current + 1)) {
+                    continue;
+                }
+                T event = pending.poll();
+                if (event == null) {
+                    inFlight.decrementAndGet();
+                    if (pending.isEmpty()) {
+                        return;
+                    }
+                    continue; // 자리를 반납하는 사이 다른 스레드가 넣은 이벤트
+                }
+                queued.decrementAndGet();
+                try {
+                    executor.execute(() -> run(event));
+                } catch (RejectedExecutionException e) { // close() 이후 발행
+                    inFlight.decrementAndGet();
+                    failed.increment();
+                    log.warn("이벤트 전달 실패(executor 종료): {} {}", handlerName(), event);
+                    return;
+                }
+            }
+        }
+
+        private void run(T event) {
+            long begin = System.nanoTime();
+            boolean success = false;
+            try {
+                handler.handle(event);
+                success = true;
+            } catch (RuntimeException e) {
+                // 커밋은 이미 끝났으므로 발행한 쪽에 알릴 방법이 없음 -> 실패 수 기록 후 다음 이벤트 진행
+                log.error("이벤트 핸들러 실패: {}", handlerName(), e);
+            } finally {
+                record(begin, success);
+                inFlight.decrementAndGet();
+                drain();
+            }
+        }
+
+        private void record(long begin, boolean success) {
+            long elapsed = System.nanoTime() - begin;
+            (success ? completed : failed).increment();
+            totalNanos.add(elapsed);
+            maxNanos.accumulateAndGet(elapsed, Math::max);
+            instrumentation.handled(id, elapsed, success);
+        }
+
+        private String handlerName() {
+            return id.handler();
+        }
+
+        private HandlerStats stats() {
+            long count = completed.sum() + failed.sum();
+            return new HandlerStats(eventType.getSimpleName(), handlerName(), phase,
+                    phase == Phase.AFTER_COMMIT ? maxInFlight : 0, inFlight.get(), queued.get(),
+                    completed.sum(), failed.sum(),
+                    count == 0 ? 0 : totalNanos.sum() / (double) count / 1_000_000,
+                    maxNanos.get() / 1_000_000.0);
+        }
+    }
+
+    // dispatch executor 스레드: 이름으로 구분 가능하고, 남아 있어도 JVM 종료를 막지 않는 데몬 스레드
+    private static final class DispatchThreadFactory implements ThreadFactory {
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "event-dispatch-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
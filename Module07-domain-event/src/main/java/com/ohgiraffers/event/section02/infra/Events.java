@@ -1,23 +1,58 @@
 package com.ohgiraffers.event.section02.infra;
 
 
-import com.ohgiraffers.event.section02.aggregate.CourseCompletedEvent;
+import com.ohgiraffers.event.section02.infra.metrics.EventInstrumentation;
+import com.ohgiraffers.event.section02.infra.outbox.Outbox;
+import jakarta.persistence.EntityManager;
 
-
-import java.util.ArrayList;
+import java.time.Duration;
 import java.util.List;
 
 // 💡 Publisher 역할을 하는 클래스입니다. 이벤트가 발생하면 등록된 Handler들에게 이벤트를 전파합니다.
+// - 실제 등록/전달은 EventBus가 담당하고, Events는 어디서나 호출할 수 있는 정적 창구(facade)입니다.
+// - 핸들러는 이벤트 타입(Class)별로 등록하며, 발행한 트랜잭션 '안'에서 실행할지 '커밋 후'에 실행할지 고릅니다.
 public class Events {
-    private static List<EventHandler<CourseCompletedEvent>> handlers = new ArrayList<>();
+    private static final int DISPATCH_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+    private static final EventBus BUS = new EventBus(DISPATCH_THREADS);
+
+    // 📌 발행한 트랜잭션 안에서 바로 실행할 핸들러 등록 (핸들러 예외 -> 발행한 쪽으로 전파)
+    public static <T> void addHandler(Class<T> eventType, EventHandler<? super T> handler) {
+        BUS.subscribe(eventType, handler);
+    }
+
+    // 📌 커밋 후 별도 스레드에서 실행할 핸들러 등록 (동시에 최대 maxInFlight개까지 실행)
+    public static <T> void addAfterCommitHandler(Class<T> eventType, EventHandler<? super T> handler, int maxInFlight) {
+        BUS.subscribeAfterCommit(eventType, handler, maxInFlight);
+    }
+
+    // 📌 Outbox에 등록된 이벤트 타입은 발행한 트랜잭션으로 outbox 테이블에 저장 (전달은 OutboxRelay)
+    public static void useOutbox(Outbox outbox) {
+        BUS.useOutbox(outbox);
+    }
 
-    public static void addHandler(EventHandler<CourseCompletedEvent> handler) {
-        handlers.add(handler);
+    // 📌 발행/핸들러 실행 지표 수집 연결 (EventMetrics, JfrEventInstrumentation, MicrometerEventInstrumentation)
+    public static void instrument(EventInstrumentation instrumentation) {
+        BUS.instrument(instrumentation);
     }
-    public static void raise(CourseCompletedEvent event) {
-        for (EventHandler<CourseCompletedEvent> handler : handlers) {
-            handler.handle(event);
-        }
+
+    // 📌 이 타입의 이벤트를 받을 핸들러나 outbox 등록이 있는지
+    public static boolean hasRoute(Class<?> eventType) {
+        return BUS.hasRoute(eventType);
     }
-    public static void clearHandlers() { handlers.clear(); }
-}
\ No newline at end of file
+
+    // 📌 em의 트랜잭션 기준으로 발행 (커밋 후 핸들러는 커밋된 경우에만 실행)
+    public static void raise(EntityManager em, Object event) {
+        BUS.publish(em, event);
+    }
+
+    // 📌 트랜잭션 없이 발행
+    public static void raise(Object event) {
+        BUS.publish(event);
+    }
+
+    public static List<HandlerStats> stats() { return BUS.stats(); }
+
+    public static boolean awaitIdle(Duration timeout) throws InterruptedException { return BUS.awaitIdle(timeout); }
+
+    public static void clearHandlers() { BUS.clear(); }
+}
@@ -0,0 +1,13 @@
+package com.ohgiraffers.event.section02.infra;
+
+/*
+ * 📌 HandlerStats: 핸들러 하나의 현재 상태 (EventBus.stats())
+ * - maxInFlight / inFlight / queued: 동시 실행 제한, 실행 중인 개수, 제한에 걸려 대기 중인 이벤트 수 (AFTER_COMMIT만 해당)
+ * - completed / failed: 처리 완료 / 예외로 끝난 수
+ * - avgLatencyMillis / maxLatencyMillis: 핸들러 실행 시간 (대기 큐에서 기다린 시간 제외)
+ */
+public record HandlerStats(String eventType, String handler, EventBus.Phase phase,
+                           int maxInFlight, int inFlight, int queued,
+                           long completed, long failed,
+                           double avgLatencyMillis, double maxLatencyMillis) {
+}
@@ -0,0 +1,49 @@
+package com.ohgiraffers.event.section02.infra.metrics;
+
+import java.util.List;
+
+/*
+ * 📌 EventInstrumentation: 이벤트 발행/핸들러 실행을 관찰하는 확장 지점
+ * - EventBus.instrument(...) / OutboxRelay.instrument(...)로 연결합니다. (Events.instrument는 정적 창구)
+ * - 기본값 NONE은 아무것도 하지 않는 구현입니다. -> 꺼져 있을 때 비용은 빈 메서드 호출 하나 (JIT가 인라인 후 제거)
+ *
+ * 💡 구현체
+ * - EventMetrics: 메모리에 이벤트 타입별 발행 수, 핸들러별 지연 히스토그램/실패 수를 모으고 느린 핸들러를 로그로 남김
+ * - JfrEventInstrumentation: JFR(Java Flight Recorder) 커스텀 이벤트로 기록 (녹화 중일 때만 비용 발생)
+ * - MicrometerEventInstrumentation: Micrometer MeterRegistry로 내보내기 (Prometheus 등)
+ * - 여러 개를 함께 쓰려면 EventInstrumentation.of(a, b, ...)
+ *
+ * 🚨 핸들러를 실행한 스레드에서 바로 호출되므로, 구현체는 스레드 안전하고 빨라야 합니다. (I/O, 잠금 금지)
+ */
+public interface EventInstrumentation {
+
+    EventInstrumentation NONE = new EventInstrumentation() {};
+
+    // 이벤트 발행 (핸들러 유무와 관계없이 한 번)
+    default void raised(Class<?> eventType) {}
+
+    // 핸들러 한 번 실행 (AFTER_COMMIT은 대기 큐에서 기다린 시간 제외)
+    default void handled(HandlerId handler, long nanos, boolean success) {}
+
+    static EventInstrumentation of(EventInstrumentation... instrumentations) {
+        List<EventInstrumentation> all = List.of(instrumentations);
+        if (all.size() == 1) {
+            return all.get(0);
+        }
+        return new EventInstrumentation() {
+            @Override
+            public void raised(Class<?> eventType) {
+                for (EventInstrumentation instrumentation : all) {
+                    instrumentation.raised(eventType);
+                }
+            }
+
+            @Override
+            public void handled(HandlerId handler, long nanos, boolean success) {
+                for (EventInstrumentation instrumentation : all) {
+                    instrumentation.handled(handler, nanos, success);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,177 @@
+package com.ohgiraffers.event.section02.infra.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * 📌 EventMetrics: 이벤트 지표를 메모리에 모으는 EventInstrumentation
+ * - 이벤트 타입별 발행 수: raisedCounts()
+ * - 핸들러별 실행 수/실패 수/지연 히스토그램(p50, p99, 최대): handlerMetrics()
+ * - 느린 핸들러 로그: 실행 시간이 기준(slowThreshold) 이상이면 WARN 로그로 기록
+ *   (logback.xml에서 비동기 appender로 보내므로, 핸들러 스레드는 콘솔 출력을 기다리지 않습니다)
+ *   - 핸들러마다 기준을 따로 둘 수 있습니다. (slowThreshold(handlerName, threshold))
+ *   - 같은 핸들러의 로그는 1초에 한 줄까지만 남기고, 나머지는 다음 줄에 건수로 합쳐 보여 줍니다. (로그 폭주 방지)
+ *
+ * 💡 히스토그램은 고정 구간(0.1ms ~ 5s) + LongAdder 배열이라, 기록할 때 할당이나 잠금이 없습니다.
+ */
+public class EventMetrics implements EventInstrumentation {
+
+    private static final Logger log = LoggerFactory.getLogger(EventMetrics.class);
+
+    private static final long[] BUCKET_BOUNDS_NANOS = {
+            100_000L, 500_000L, 1_000_000L, 5_000_000L, 10_000_000L, 50_000_000L,
+            100_000_000L, 500_000_000L, 1_000_000_000L, 5_000_000_000L};
+    private static final long SLOW_LOG_INTERVAL_NANOS = 1_000_000_000L;
+
+    private final ConcurrentMap<Class<?>, LongAdder> raised = new ConcurrentHashMap<>();
+    private final ConcurrentMap<HandlerId, HandlerHistogram> handlers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Long> slowThresholdNanosByHandler = new ConcurrentHashMap<>();
+    private final long slowThresholdNanos;
+
+    // 📌 slowThreshold: 모든 핸들러에 적용할 느린 핸들러 기준
+    public EventMetrics(Duration slowThreshold) {
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    // 📌 핸들러(이름: 클래스 단순 이름 또는 outbox 핸들러 이름)별 느린 핸들러 기준
+    public void slowThreshold(String handler, Duration threshold) {
+        slowThresholdNanosByHandler.put(handler, threshold.toNanos());
+        handlers.forEach((id, histogram) -> {
+            if (id.handler().equals(handler)) {
+                histogram.slowThresholdNanos = threshold.toNanos();
+            }
+        });
+    }
+
+    @Override
+    public void raised(Class<?> eventType) {
+        LongAdder count = raised.get(eventType);
+        if (count == null) {
+            count = raised.computeIfAbsent(eventType, type -> new LongAdder());
+        }
+        count.increment();
+    }
+
+    @Override
+    public void handled(HandlerId handler, long nanos, boolean success) {
+        HandlerHistogram histogram = handlers.get(handler);
+        if (histogram == null) {
+            histogram = handlers.computeIfAbsent(handler, id -> new HandlerHistogram(
+                    slowThresholdNanosByHandler.getOrDefault(id.handler(), slowThresholdNanos)));
+        }
+        histogram.record(nanos, success);
+        if (nanos >= histogram.slowThresholdNanos) {
+            histogram.slow.increment();
+            logSlow(handler, histogram, nanos, success);
+        }
+    }
+
+    private static void logSlow(HandlerId handler, HandlerHistogram histogram, long nanos, boolean success) {
+        if (!log.isWarnEnabled()) {
+            return; // 로그를 끈 경우 메시지 조립 비용도 없음 (느린 건수는 histogram.slow에 이미 기록)
+        }
+        long now = System.nanoTime();
+        long last = histogram.lastSlowLogNanos.get();
+        if (last != 0 && now - last < SLOW_LOG_INTERVAL_NANOS || !histogram.lastSlowLogNanos.compareAndSet(last, now)) {
+            histogram.suppressedSlowLogs.increment();
+            return;
+        }
+        long suppressed = histogram.suppressedSlowLogs.sumThenReset();
+        log.warn("느린 이벤트 핸들러: {} {}ms (기준 {}ms, {}){}",
+                handler, String.format("%.1f", nanos / 1e6), String.format("%.1f", histogram.slowThresholdNanos / 1e6),
+                success ? "성공" : "실패", suppressed > 0 ? " + 직전 1초 동안 " + suppressed + "건 더" : "");
+    }
+
+    // 📌 이벤트 타입(단순 이름)별 발행 수
+    public Map<String, Long> raisedCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        raised.forEach((type, count) -> counts.put(type.getSimpleName(), count.sum()));
+        return counts;
+    }
+
+    public List<HandlerMetrics> handlerMetrics() {
+        List<HandlerMetrics> metrics = new ArrayList<>();
+        handlers.forEach((id, histogram) -> metrics.add(histogram.snapshot(id)));
+        return metrics;
+    }
+
+    // 📌 누적 지표 초기화 (등록된 기준은 유지)
+    public void reset() {
+        raised.clear();
+        handlers.clear();
+    }
+
+    // 핸들러 하나의 히스토그램: BUCKET_BOUNDS_NANOS 구간별 개수 + 초과 구간 1개
+    private static final class HandlerHistogram {
+        private volatile long slowThresholdNanos;
+        private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_NANOS.length + 1];
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder slow = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final AtomicLong lastSlowLogNanos = new AtomicLong();
+        private final LongAdder suppressedSlowLogs = new LongAdder();
+
+        private HandlerHistogram(long slowThresholdNanos) {
+            this.slowThresholdNanos = slowThresholdNanos;
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        private void record(long nanos, boolean success) {
+            int bucket = 0;
+            while (bucket < BUCKET_BOUNDS_NANOS.length && nanos > BUCKET_BOUNDS_NANOS[bucket]) {
+                bucket++;
+            }
+            buckets[bucket].increment();
+            if (!success) {
+                failures.increment();
+            }
+            if (nanos > maxNanos.get()) {
+                maxNanos.accumulateAndGet(nanos, Math::max);
+            }
+        }
+
+        private HandlerMetrics snapshot(HandlerId id) {
+            long[] counts = new long[buckets.length];
+            long total = 0;
+            Map<String, Long> histogram = new LinkedHashMap<>();
+            for (int i = 0; i < buckets.length; i++) {
+                counts[i] = buckets[i].sum();
+                total += counts[i];
+                histogram.put(i < BUCKET_BOUNDS_NANOS.length ? String.valueOf(BUCKET_BOUNDS_NANOS[i] / 1e6) : "+Inf", counts[i]);
+            }
+            double maxMillis = maxNanos.get() / 1e6;
+            return new HandlerMetrics(id.eventType().getSimpleName(), id.handler(), id.phase(),
+                    total, failures.sum(), slow.sum(),
+                    percentile(counts, total, 0.5, maxMillis), percentile(counts, total, 0.99, maxMillis), maxMillis,
+                    histogram);
+        }
+
+        // rank번째 실행이 속한 구간의 상한 (초과 구간이면 최대값)
+        private static double percentile(long[] counts, long total, double quantile, double maxMillis) {
+            if (total == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(total * quantile);
+            long seen = 0;
+            for (int i = 0; i < BUCKET_BOUNDS_NANOS.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(BUCKET_BOUNDS_NANOS[i] / 1e6, maxMillis);
+                }
+            }
+            return maxMillis;
+        }
+    }
+}
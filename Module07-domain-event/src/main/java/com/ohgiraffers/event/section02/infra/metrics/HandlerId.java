@@ -0,0 +1,15 @@
+package com.ohgiraffers.event.section02.infra.metrics;
+
+import com.ohgiraffers.event.section02.infra.EventBus;
+
+/*
+ * 📌 HandlerId: 지표를 모으는 단위 (이벤트 타입, 핸들러 이름, 실행 단계)
+ * - 핸들러를 등록할 때 한 번 만들어 재사용하므로, EventInstrumentation 구현체는 이 값을 Map 키로 써서 지표 객체를 캐시할 수 있습니다.
+ */
+public record HandlerId(Class<?> eventType, String handler, EventBus.Phase phase) {
+
+    @Override
+    public String toString() {
+        return handler + "(" + eventType.getSimpleName() + ", " + phase + ")";
+    }
+}
@@ -0,0 +1,17 @@
+package com.ohgiraffers.event.section02.infra.metrics;
+
+import com.ohgiraffers.event.section02.infra.EventBus;
+
+import java.util.Map;
+
+/*
+ * 📌 HandlerMetrics: 핸들러 하나의 누적 지표 (EventMetrics.handlerMetrics())
+ * - count / failures / slow: 실행 수 / 예외로 끝난 수 / 느린 핸들러 기준 이상 걸린 수
+ * - p50Millis / p99Millis: 히스토그램 구간의 상한값으로 추정한 값 (예: p99 = 5.0 -> 99%가 5ms 이하)
+ * - histogram: 구간 상한(ms, 마지막은 "+Inf") -> 그 구간에 속한 실행 수
+ */
+public record HandlerMetrics(String eventType, String handler, EventBus.Phase phase,
+                             long count, long failures, long slow,
+                             double p50Millis, double p99Millis, double maxMillis,
+                             Map<String, Long> histogram) {
+}
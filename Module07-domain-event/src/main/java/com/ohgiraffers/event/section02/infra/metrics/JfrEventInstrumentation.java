@@ -0,0 +1,76 @@
+package com.ohgiraffers.event.section02.infra.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/*
+ * 📌 JfrEventInstrumentation: 이벤트 발행/핸들러 실행을 JFR 커스텀 이벤트로 기록
+ * - com.ohgiraffers.event.EventRaised      : 이벤트 발행 (eventType)
+ * - com.ohgiraffers.event.HandlerExecution : 핸들러 실행 (eventType, handler, phase, latency, success)
+ * - 녹화: java -XX:StartFlightRecording=filename=events.jfr ... / jcmd <pid> JFR.start
+ *   확인: jfr print --events com.ohgiraffers.event.HandlerExecution events.jfr (또는 JDK Mission Control)
+ *
+ * 💡 녹화 중이 아니면 shouldCommit()이 false라 바로 반환합니다. (이벤트 객체는 JIT의 탈출 분석으로 할당되지 않음)
+ * 💡 녹화 설정(.jfc)에서 이벤트별로 끄거나 threshold를 줄 수 있습니다. latency는 필드이므로 느린 실행만 보려면 JMC에서 필터하세요.
+ */
+public class JfrEventInstrumentation implements EventInstrumentation {
+
+    @Override
+    public void raised(Class<?> eventType) {
+        EventRaisedEvent event = new EventRaisedEvent();
+        if (event.shouldCommit()) {
+            event.eventType = eventType.getSimpleName();
+            event.commit();
+        }
+    }
+
+    @Override
+    public void handled(HandlerId handler, long nanos, boolean success) {
+        HandlerExecutionEvent event = new HandlerExecutionEvent();
+        if (event.shouldCommit()) {
+            event.eventType = handler.eventType().getSimpleName();
+            event.handler = handler.handler();
+            event.phase = handler.phase().name();
+            event.latency = nanos;
+            event.success = success;
+            event.commit();
+        }
+    }
+
+    @Name("com.ohgiraffers.event.EventRaised")
+    @Label("Domain Event Raised")
+    @Category("Domain Events")
+    @StackTrace(false)
+    static class EventRaisedEvent extends Event {
+        @Label("Event Type")
+        String eventType;
+    }
+
+    @Name("com.ohgiraffers.event.HandlerExecution")
+    @Label("Domain Event Handler Execution")
+    @Description("이벤트 핸들러 한 번 실행 (AFTER_COMMIT은 대기 큐에서 기다린 시간 제외)")
+    @Category("Domain Events")
+    @StackTrace(false)
+    static class HandlerExecutionEvent extends Event {
+        @Label("Event Type")
+        String eventType;
+
+        @Label("Handler")
+        String handler;
+
+        @Label("Phase")
+        String phase;
+
+        @Label("Latency")
+        @Timespan(Timespan.NANOSECONDS)
+        long latency;
+
+        @Label("Success")
+        boolean success;
+    }
+}
@@ -0,0 +1,100 @@
+package com.ohgiraffers.event.section02.infra.metrics;
+
+import com.ohgiraffers.event.section02.infra.EventBus;
+import com.ohgiraffers.event.section02.infra.HandlerStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/*
+ * 📌 MicrometerEventInstrumentation: 이벤트 지표를 Micrometer MeterRegistry로 내보내기
+ * - app.event.raised           : 이벤트 발행 수 (Counter, 태그: event)
+ * - app.event.handler.duration : 핸들러 실행 시간 (Timer + 백분위 히스토그램, 태그: event, handler, phase, outcome=success|failure)
+ *   -> 실패 수는 outcome=failure인 Timer의 count
+ * - app.event.handler.queued / app.event.handler.in_flight : AFTER_COMMIT 핸들러의 대기 큐 길이 / 실행 중 개수 (Gauge, 태그: event, handler, phase)
+ *   -> gaugeQueues(bus::stats)로 연결 (Events를 쓰면 gaugeQueues(Events::stats)), 값은 수집(scrape)할 때마다 EventBus.stats()에서 읽음
+ *   -> 지연(Timer)은 실행이 끝나야 기록되므로, 핸들러가 멈추거나 밀릴 때는 이 두 값이 먼저 늘어납니다.
+ * - 지표 객체는 이벤트 타입/핸들러별로 처음 한 번만 만들어 캐시합니다. (실행마다 Meter를 조회/생성하지 않음)
+ */
+public class MicrometerEventInstrumentation implements EventInstrumentation {
+
+    private final MeterRegistry registry;
+    private final ConcurrentMap<Class<?>, Counter> raisedCounters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<HandlerId, Timer[]> handlerTimers = new ConcurrentHashMap<>();
+
+    public MicrometerEventInstrumentation(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void raised(Class<?> eventType) {
+        Counter counter = raisedCounters.get(eventType);
+        if (counter == null) {
+            counter = raisedCounters.computeIfAbsent(eventType, type -> Counter.builder("app.event.raised")
+                    .tag("event", type.getSimpleName())
+                    .register(registry));
+        }
+        counter.increment();
+    }
+
+    @Override
+    public void handled(HandlerId handler, long nanos, boolean success) {
+        Timer[] timers = handlerTimers.get(handler);
+        if (timers == null) {
+            timers = handlerTimers.computeIfAbsent(handler, id -> new Timer[]{timer(id, "success"), timer(id, "failure")});
+        }
+        timers[success ? 0 : 1].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 📌 AFTER_COMMIT 핸들러별 대기 큐 길이 / 실행 중 개수 Gauge 등록
+     * 🚨 호출 시점에 등록된 핸들러만 대상입니다. 핸들러를 모두 등록한 뒤 호출하고, 나중에 추가했다면 다시 호출하세요. (이미 있는 Gauge는 그대로 둠)
+     *    clear()로 제거된 핸들러의 Gauge는 NaN을 보고합니다.
+     * @param stats 핸들러별 현재 상태 (EventBus::stats 또는 Events::stats)
+     */
+    public void gaugeQueues(Supplier<List<HandlerStats>> stats) {
+        for (HandlerStats handler : stats.get()) {
+            if (handler.phase() == EventBus.Phase.AFTER_COMMIT) {
+                gauge("app.event.handler.queued", handler, stats, HandlerStats::queued);
+                gauge("app.event.handler.in_flight", handler, stats, HandlerStats::inFlight);
+            }
+        }
+    }
+
+    private void gauge(String name, HandlerStats handler, Supplier<List<HandlerStats>> stats, ToIntFunction<HandlerStats> value) {
+        Gauge.builder(name, stats, current -> current(current, handler, value))
+                .tag("event", handler.eventType())
+                .tag("handler", handler.handler())
+                .tag("phase", handler.phase().name())
+                .strongReference(true) // 메서드 참조(bus::stats)는 다른 곳에서 참조하지 않으므로 약한 참조면 GC 후 NaN
+                .register(registry);
+    }
+
+    private static double current(Supplier<List<HandlerStats>> stats, HandlerStats handler, ToIntFunction<HandlerStats> value) {
+        for (HandlerStats current : stats.get()) {
+            if (current.phase() == handler.phase() && current.handler().equals(handler.handler())
+                    && current.eventType().equals(handler.eventType())) {
+                return value.applyAsInt(current);
+            }
+        }
+        return Double.NaN;
+    }
+
+    private Timer timer(HandlerId handler, String outcome) {
+        return Timer.builder("app.event.handler.duration")
+                .tag("event", handler.eventType().getSimpleName())
+                .tag("handler", handler.handler())
+                .tag("phase", handler.phase().name())
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
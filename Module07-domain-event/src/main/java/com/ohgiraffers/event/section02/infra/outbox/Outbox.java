@@ -0,0 +1,92 @@
+package com.ohgiraffers.event.section02.infra.outbox;
+
+import jakarta.persistence.EntityManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/*
+ * 📌 Outbox: outbox 테이블에 기록할 이벤트 타입과 변환 규칙(OutboxCodec) 목록
+ * - EventBus에 연결하면(Events.useOutbox), 등록된 타입의 이벤트는 메모리가 아닌 outbox 테이블을 거쳐 전달됩니다.
+ * - outbox 테이블의 event_type 값은 이벤트 클래스의 단순 이름입니다. (예: CourseCompletedEvent)
+ */
+public class Outbox {
+
+    private final ConcurrentMap<Class<?>, Registration<?>> byClass = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Registration<?>> byName = new ConcurrentHashMap<>();
+
+    public <T> void register(Class<T> eventType, OutboxCodec<T> codec) {
+        Registration<T> registration = new Registration<>(eventType, codec);
+        if (byName.putIfAbsent(registration.name, registration) != null) {
+            throw new IllegalStateException("이미 등록된 이벤트 이름입니다: " + registration.name);
+        }
+        byClass.put(eventType, registration);
+    }
+
+    public boolean supports(Class<?> eventType) {
+        return byClass.containsKey(eventType);
+    }
+
+    /**
+     * 📌 이벤트를 outbox 테이블에 저장 (em의 현재 트랜잭션에 포함)
+     * 🚨 트랜잭션 밖에서 호출하면 안 됩니다. (EventBus가 확인)
+     * @throws IllegalArgumentException payload가 outbox.payload 컬럼보다 길 때 (INSERT 전에 실패시켜 "Data too long"을 막음)
+     */
+    public void append(EntityManager em, Object event) {
+        Registration<?> registration = registration(event.getClass());
+        OutboxMessage message = registration.toMessage(event, LocalDateTime.now());
+        int bytes = payloadBytes(message.getPayload());
+        if (bytes > OutboxMessage.MAX_PAYLOAD_LENGTH) {
+            throw new IllegalArgumentException(registration.name + " payload가 너무 깁니다: "
+                    + bytes + "바이트 (최대 " + OutboxMessage.MAX_PAYLOAD_LENGTH + "바이트)");
+        }
+        em.persist(message);
+    }
+
+    // UTF-8 바이트 수 (한 글자는 최대 3바이트이므로 짧은 payload는 인코딩하지 않고 통과)
+    private static int payloadBytes(String payload) {
+        if (payload.length() <= OutboxMessage.MAX_PAYLOAD_LENGTH / 3) {
+            return payload.length();
+        }
+        return payload.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    String typeName(Class<?> eventType) {
+        return registration(eventType).name;
+    }
+
+    Object decode(String typeName, String payload) {
+        Registration<?> registration = byName.get(typeName);
+        if (registration == null) {
+            throw new IllegalStateException("등록되지 않은 outbox 이벤트 타입입니다: " + typeName);
+        }
+        return registration.codec.decode(payload);
+    }
+
+    private Registration<?> registration(Class<?> eventType) {
+        Registration<?> registration = byClass.get(eventType);
+        if (registration == null) {
+            throw new IllegalStateException("outbox에 등록되지 않은 이벤트 타입입니다: " + eventType.getName());
+        }
+        return registration;
+    }
+
+    private static final class Registration<T> {
+        private final Class<T> eventType;
+        private final OutboxCodec<T> codec;
+        private final String name;
+
+        private Registration(Class<T> eventType, OutboxCodec<T> codec) {
+            this.eventType = eventType;
+            this.codec = codec;
+            this.name = eventType.getSimpleName();
+        }
+
+        private OutboxMessage toMessage(Object event, LocalDateTime now) {
+            T typed = eventType.cast(event);
+            return new OutboxMessage(name, codec.idempotencyKey(typed), codec.encode(typed), now);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.ohgiraffers.event.section02.infra.outbox;
+
+/*
+ * 📌 OutboxCodec: 이벤트 <-> outbox 테이블의 문자열(payload) 변환 규칙
+ * - idempotencyKey: 같은 '사실'이면 항상 같은 값 (예: 수강생 101의 강좌 1 수료 -> course-completed:101:1)
+ *   OutboxRelay는 (핸들러, 키)마다 한 번만 핸들러를 실행하므로, 같은 이벤트가 두 번 기록되거나 재전달되어도 결과는 한 번입니다.
+ */
+public interface OutboxCodec<T> {
+    String idempotencyKey(T event);
+    String encode(T event);
+    T decode(String payload);
+}
@@ -0,0 +1,37 @@
+package com.ohgiraffers.event.section02.infra.outbox;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/*
+ * 📌 OutboxConsumption: 핸들러가 처리한 멱등성 키 기록 (outbox_consumed 테이블)
+ * - 기본 키 = "핸들러 이름|멱등성 키" -> 같은 핸들러가 같은 키의 이벤트를 두 번 처리하지 않게 합니다.
+ * - 핸들러의 DB 작업과 같은 트랜잭션으로 저장됩니다. (OutboxRelay 참고)
+ * - 보관 기간(OutboxRelay.consumedRetention)이 지나면 OutboxRelay.purgeConsumed()가 삭제합니다.
+ */
+@Entity
+@Table(name = "outbox_consumed")
+public class OutboxConsumption {
+    @Id
+    @Column(name = "consumption_key", length = 300)
+    private String consumptionKey;
+
+    @Column(name = "handler_name", nullable = false, length = 100)
+    private String handlerName;
+
+    @Column(name = "consumed_at", nullable = false)
+    private LocalDateTime consumedAt;
+
+    protected OutboxConsumption() {}
+
+    public OutboxConsumption(String handlerName, String idempotencyKey, LocalDateTime consumedAt) {
+        this.consumptionKey = key(handlerName, idempotencyKey);
+        this.handlerName = handlerName;
+        this.consumedAt = consumedAt;
+    }
+
+    static String key(String handlerName, String idempotencyKey) {
+        return handlerName + "|" + idempotencyKey;
+    }
+}
@@ -0,0 +1,15 @@
+package com.ohgiraffers.event.section02.infra.outbox;
+
+import jakarta.persistence.EntityManager;
+
+/*
+ * 📌 OutboxHandler: OutboxRelay가 outbox의 이벤트를 전달하는 핸들러
+ * - em: 릴레이의 트랜잭션에 참여한 EntityManager
+ *   핸들러의 DB 작업, 처리 기록(outbox_consumed), outbox 행 삭제가 한 트랜잭션으로 커밋되거나 함께 롤백됩니다.
+ * - idempotencyKey: 외부 시스템 호출(메일 발송 등)처럼 롤백되지 않는 작업의 중복 방지에 사용
+ *   (전달은 '최소 한 번(at-least-once)'이므로, 롤백 후 재전달되면 외부 호출은 다시 일어날 수 있습니다.)
+ */
+@FunctionalInterface
+public interface OutboxHandler<T> {
+    void handle(EntityManager em, T event, String idempotencyKey);
+}
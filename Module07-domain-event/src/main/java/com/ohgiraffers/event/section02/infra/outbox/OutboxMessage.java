@@ -0,0 +1,93 @@
+package com.ohgiraffers.event.section02.infra.outbox;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/*
+ * 📌 OutboxMessage: 아직 핸들러에 전달되지 않은 이벤트 한 건 (outbox 테이블)
+ * - 이벤트를 발생시킨 트랜잭션(예: 수료 처리)과 '같은 트랜잭션'으로 저장되므로, 커밋된 변경에는 반드시 이벤트가 남습니다.
+ * - OutboxRelay가 전달에 성공하면 행을 삭제하고, 실패하면 attempts/last_error를 기록한 뒤 available_at 이후 다시 시도합니다.
+ * - 시도 횟수가 한도(OutboxRelay.maxAttempts)에 닿으면 parked_at을 기록하고 더 이상 전달하지 않습니다. (보류, dead letter)
+ */
+@Entity
+@Table(name = "outbox")
+public class OutboxMessage {
+
+    // outbox.payload TEXT 컬럼의 최대 길이 (MySQL TEXT = 65,535바이트, UTF-8 기준)
+    public static final int MAX_PAYLOAD_LENGTH = 65535;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "outbox_id")
+    private Long outboxId;
+
+    @Column(name = "event_type", nullable = false, length = 100)
+    private String eventType;
+
+    @Column(name = "idempotency_key", nullable = false, length = 200)
+    private String idempotencyKey;
+
+    @Column(name = "payload", nullable = false, length = MAX_PAYLOAD_LENGTH)
+    private String payload;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "parked_at")
+    private LocalDateTime parkedAt;
+
+    protected OutboxMessage() {}
+
+    public OutboxMessage(String eventType, String idempotencyKey, String payload, LocalDateTime now) {
+        this.eventType = eventType;
+        this.idempotencyKey = idempotencyKey;
+        this.payload = payload;
+        this.availableAt = now;
+        this.createdAt = now;
+    }
+
+    // 전달 실패: 시도 횟수 증가, retryAt 이후 다시 전달
+    void recordFailure(String error, LocalDateTime retryAt) {
+        this.attempts++;
+        this.lastError = error == null || error.length() <= 500 ? error : error.substring(0, 500);
+        this.availableAt = retryAt;
+    }
+
+    // 마지막 전달 실패: 시도 횟수 증가, 보류 (OutboxRelay.retryParked()로 되살릴 때까지 전달하지 않음)
+    void park(String error, LocalDateTime now) {
+        recordFailure(error, now);
+        this.parkedAt = now;
+    }
+
+    public Long getOutboxId() { return outboxId; }
+    public String getEventType() { return eventType; }
+    public String getIdempotencyKey() { return idempotencyKey; }
+    public String getPayload() { return payload; }
+    public int getAttempts() { return attempts; }
+    public LocalDateTime getAvailableAt() { return availableAt; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public String getLastError() { return lastError; }
+    public LocalDateTime getParkedAt() { return parkedAt; }
+
+    @Override
+    public String toString() {
+        return "OutboxMessage{" +
+                "outboxId=" + outboxId +
+                ", eventType='" + eventType + '\'' +
+                ", idempotencyKey='" + idempotencyKey + '\'' +
+                ", attempts=" + attempts +
+                ", availableAt=" + availableAt +
+                ", parkedAt=" + parkedAt +
+                '}';
+    }
+}
@@ -0,0 +1,509 @@
+package com.ohgiraffers.event.section02.infra.outbox;
+
+import com.ohgiraffers.event.section02.infra.EventBus;
+import com.ohgiraffers.event.section02.infra.metrics.EventInstrumentation;
+import com.ohgiraffers.event.section02.infra.metrics.HandlerId;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToIntFunction;
+
+/*
+ * 📌 OutboxRelay: outbox 테이블의 이벤트를 배치로 읽어 핸들러에 전달하는 릴레이
+ *
+ * 💡 배치 하나 = 트랜잭션 하나
+ * 1. SELECT ... WHERE parked_at IS NULL AND available_at <= ? ORDER BY outbox_id LIMIT batchSize FOR UPDATE SKIP LOCKED
+ *    - 다른 워커(또는 다른 서버의 릴레이)가 잠근 행은 기다리지 않고 건너뜁니다. -> 워커를 늘리면 서로 다른 행을 나눠 처리
+ *    - 인덱스 idx_outbox_pending (parked_at, outbox_id): parked_at IS NULL 구간을 outbox_id 순서로 읽다가 LIMIT에서 멈춥니다.
+ *      (MySQL 8.0 EXPLAIN: type=ref, key=idx_outbox_pending, Extra=Using where, Using filesort 없음)
+ *      available_at으로 시작하는 인덱스는 범위 조건 뒤에 outbox_id 순서를 보장하지 못해, 범위 안의 행을 모두 읽고(잠그고) 정렬한 뒤에야 LIMIT 적용
+ *    - available_at은 읽은 행에서 거르므로, 재시도 대기 중인 행은 폴링마다 읽고 건너뜁니다. (대기 중인 실패 메시지 수만큼)
+ * 2. 이미 처리한 (핸들러, 멱등성 키)를 outbox_consumed에서 한 번에 조회해 제외
+ * 3. 핸들러 실행(릴레이 트랜잭션의 EntityManager 사용) + outbox_consumed 기록
+ * 4. 처리한 outbox 행 삭제 후 커밋
+ *
+ * 💡 전달 보장: 최소 한 번(at-least-once)
+ * - 커밋 전에 실패하거나 프로세스가 종료되면 트랜잭션이 롤백되고 잠금이 풀려, 다음 폴링에서 다시 전달합니다.
+ * - 핸들러의 DB 작업은 outbox_consumed 기록과 함께 커밋되므로, 같은 키의 이벤트가 다시 와도 한 번만 반영됩니다.
+ *
+ * 💡 실패 처리
+ * - 배치 중 하나라도 실패하면 배치 전체를 롤백하고, 메시지를 한 건씩 다시 처리합니다.
+ * - 그래도 실패한 메시지는 attempts/last_error를 기록하고 available_at을 뒤로 미룹니다. (1초부터 두 배씩, 최대 5분)
+ * - maxAttempts(기본 20회, 약 1시간)번 실패한 메시지는 parked_at을 기록하고 보류합니다. (dead letter)
+ *   보류한 메시지는 폴링 대상과 backlog()에서 빠지고, 원인을 고친 뒤 retryParked()로 다시 전달할 수 있습니다.
+ * - 구독한 핸들러가 없는 이벤트 타입의 메시지도 전달한 것으로 치지 않고 바로 보류합니다. (핸들러 등록 후 retryParked())
+ *
+ * 💡 outbox_consumed 보관 기간: consumedRetention(기본 7일)이 지난 기록은 purgeConsumed()로 삭제합니다. (start() 후 1시간마다 자동 실행)
+ * - 삭제한 키의 이벤트가 다시 오면 한 번 더 처리되므로, 보관 기간은 같은 이벤트가 다시 올 수 있는 기간보다 길어야 합니다.
+ *   (릴레이의 재전달은 maxAttempts 안에 끝나지만, 발행 측이 같은 키로 다시 append하는 경우도 고려)
+ *
+ * 💡 instrument(EventInstrumentation): 핸들러 실행마다 지연/성공 여부 기록 (Phase.OUTBOX, 핸들러 이름은 subscribe에 넘긴 이름)
+ *
+ * 🚨 핸들러는 start() 전에 등록하세요. 먼저 시작하면 그 사이 잠근 메시지는 핸들러가 없어 보류됩니다.
+ * 🚨 FOR UPDATE SKIP LOCKED: MySQL 8.0 이상 / PostgreSQL 9.5 이상 (H2는 MODE=MySQL에서도 지원)
+ */
+public class OutboxRelay implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private static final String LOCK_BATCH_SQL =
+            "SELECT * FROM outbox WHERE available_at <= ? AND parked_at IS NULL ORDER BY outbox_id LIMIT ? FOR UPDATE SKIP LOCKED";
+    private static final String LOCK_ONE_SQL =
+            "SELECT * FROM outbox WHERE outbox_id = ? AND parked_at IS NULL FOR UPDATE SKIP LOCKED";
+    private static final Duration FIRST_RETRY_DELAY = Duration.ofSeconds(1);
+    private static final Duration MAX_RETRY_DELAY = Duration.ofMinutes(5);
+    private static final int DEFAULT_MAX_ATTEMPTS = 20;
+    private static final Duration DEFAULT_CONSUMED_RETENTION = Duration.ofDays(7);
+    private static final Duration PURGE_INTERVAL = Duration.ofHours(1);
+    private static final String NO_HANDLER_ERROR = "구독한 핸들러가 없습니다.";
+
+    private final EntityManagerFactory emf;
+    private final Outbox outbox;
+    private final int batchSize;
+    private final int workers;
+    private final Duration pollInterval;
+    private final ConcurrentMap<String, List<Delivery<?>>> deliveries = new ConcurrentHashMap<>();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder duplicatesSkipped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder parked = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder totalLagMillis = new LongAdder();
+    private final AtomicLong maxLagMillis = new AtomicLong();
+    private volatile ScheduledExecutorService scheduler;
+    private volatile EventInstrumentation instrumentation = EventInstrumentation.NONE;
+    private volatile int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+    private volatile Duration consumedRetention = DEFAULT_CONSUMED_RETENTION;
+
+    /**
+     * @param batchSize    한 트랜잭션에서 잠가 처리할 최대 메시지 수
+     * @param workers      동시에 폴링하는 워커 스레드 수
+     * @param pollInterval outbox가 비었을 때 다음 폴링까지 대기 시간
+     */
+    public OutboxRelay(EntityManagerFactory emf, Outbox outbox, int batchSize, int workers, Duration pollInterval) {
+        if (batchSize < 1 || workers < 1) {
+            throw new IllegalArgumentException("batchSize, workers는 1 이상이어야 합니다: " + batchSize + ", " + workers);
+        }
+        this.emf = emf;
+        this.outbox = outbox;
+        this.batchSize = batchSize;
+        this.workers = workers;
+        this.pollInterval = pollInterval;
+    }
+
+    /**
+     * 📌 핸들러 등록
+     * @param handlerName 멱등성 기록(outbox_consumed)에 쓰이는 이름 -> 재시작해도 바뀌지 않는 값이어야 합니다.
+     */
+    public <T> void subscribe(Class<T> eventType, String handlerName, OutboxHandler<? super T> handler) {
+        deliveries.computeIfAbsent(outbox.typeName(eventType), type -> new CopyOnWriteArrayList<>())
+                .add(new Delivery<>(eventType, handlerName, handler));
+    }
+
+    // 📌 핸들러 실행 지표 수집 연결 (null이면 EventInstrumentation.NONE)
+    public void instrument(EventInstrumentation instrumentation) {
+        this.instrumentation = instrumentation == null ? EventInstrumentation.NONE : instrumentation;
+    }
+
+    // 📌 이 횟수만큼 전달에 실패한 메시지는 보류 (기본 20회: 1초부터 두 배씩 늘어 5분 간격까지, 합계 약 1시간)
+    public void maxAttempts(int maxAttempts) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts는 1 이상이어야 합니다: " + maxAttempts);
+        }
+        this.maxAttempts = maxAttempts;
+    }
+
+    // 📌 outbox_consumed 기록 보관 기간 (기본 7일)
+    public void consumedRetention(Duration retention) {
+        if (retention.isNegative() || retention.isZero()) {
+            throw new IllegalArgumentException("consumedRetention은 0보다 커야 합니다: " + retention);
+        }
+        this.consumedRetention = retention;
+    }
+
+    // 📌 워커 스레드 시작: 각 워커가 pollInterval마다 outbox가 빌 때까지 배치를 처리, 1시간마다 outbox_consumed 정리
+    public synchronized void start() {
+        if (scheduler != null) {
+            throw new IllegalStateException("이미 시작된 릴레이입니다.");
+        }
+        scheduler = Executors.newScheduledThreadPool(workers, new RelayThreadFactory());
+        for (int i = 0; i < workers; i++) {
+            scheduler.scheduleWithFixedDelay(this::drain, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        long purgeMillis = PURGE_INTERVAL.toMillis();
+        scheduler.scheduleWithFixedDelay(this::purge, purgeMillis, purgeMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void drain() {
+        try {
+            while (!Thread.currentThread().isInterrupted() && processBatch() == batchSize) {
+                // 가득 찬 배치였으면 쉬지 않고 다음 배치
+            }
+        } catch (RuntimeException e) {
+            // 예외가 밖으로 나가면 scheduleWithFixedDelay가 이후 실행을 멈추므로 여기서 기록만 함
+            log.error("outbox 폴링 실패", e);
+        }
+    }
+
+    private void purge() {
+        try {
+            purgeConsumed();
+        } catch (RuntimeException e) {
+            log.error("outbox_consumed 정리 실패", e);
+        }
+    }
+
+    /**
+     * 📌 배치 하나 처리 (start() 없이 호출하면 호출한 스레드에서 한 번 처리)
+     * @return 잠가서 처리한 메시지 수 (전달 + 재시도 대기 + 보류)
+     */
+    public int processBatch() {
+        List<Long> ids;
+        EntityManager em = emf.createEntityManager();
+        EntityTransaction tx = em.getTransaction();
+        try {
+            tx.begin();
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxMessage> messages = lock(em, LOCK_BATCH_SQL, now, batchSize);
+            if (messages.isEmpty()) {
+                tx.commit();
+                return 0;
+            }
+            ids = messages.stream().map(OutboxMessage::getOutboxId).toList();
+            try {
+                List<OutboxMessage> routed = parkUnrouted(messages, now);
+                deliver(em, routed, now);
+                delete(em, routed);
+                tx.commit();
+                batches.increment();
+                recordDelivered(routed);
+                recordUnrouted(messages, routed);
+                return messages.size();
+            } catch (RuntimeException e) {
+                if (tx.isActive()) {
+                    tx.rollback();
+                }
+                log.warn("outbox 배치 전달 실패, {}건을 한 건씩 다시 처리", ids.size(), e);
+            }
+        } catch (RuntimeException e) {
+            if (tx.isActive()) {
+                tx.rollback();
+            }
+            throw e;
+        } finally {
+            em.close();
+        }
+        // 어떤 메시지가 실패했는지 모르므로 한 건씩 다시 처리 (성공한 메시지는 전달, 실패한 메시지만 재시도 대기)
+        for (Long id : ids) {
+            processOne(id);
+        }
+        return ids.size();
+    }
+
+    private void processOne(Long id) {
+        EntityManager em = emf.createEntityManager();
+        EntityTransaction tx = em.getTransaction();
+        String error;
+        try {
+            tx.begin();
+            List<OutboxMessage> messages = lock(em, LOCK_ONE_SQL, id);
+            if (messages.isEmpty()) { // 그 사이 다른 워커가 처리했거나 잠금
+                tx.commit();
+                return;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxMessage> routed = parkUnrouted(messages, now);
+            deliver(em, routed, now);
+            delete(em, routed);
+            tx.commit();
+            recordDelivered(routed);
+            recordUnrouted(messages, routed);
+            return;
+        } catch (RuntimeException e) {
+            if (tx.isActive()) {
+                tx.rollback();
+            }
+            error = e.toString();
+        } finally {
+            em.close();
+        }
+        failed.increment();
+        log.warn("outbox 전달 실패(outbox_id={}): {}", id, error);
+        recordFailure(id, error);
+    }
+
+    // 실패 기록은 롤백된 전달 트랜잭션과 별도의 트랜잭션으로 저장
+    private void recordFailure(Long id, String error) {
+        EntityManager em = emf.createEntityManager();
+        EntityTransaction tx = em.getTransaction();
+        try {
+            tx.begin();
+            LocalDateTime now = LocalDateTime.now();
+            for (OutboxMessage message : lock(em, LOCK_ONE_SQL, id)) {
+                if (message.getAttempts() + 1 >= maxAttempts) {
+                    message.park(error, now);
+                    parked.increment();
+                    log.error("outbox 메시지 보류(outbox_id={}, {}회 실패): {}", id, message.getAttempts(), error);
+                } else {
+                    message.recordFailure(error, now.plus(retryDelay(message.getAttempts())));
+                }
+            }
+            tx.commit();
+        } catch (RuntimeException e) {
+            if (tx.isActive()) {
+                tx.rollback();
+            }
+            log.error("outbox 실패 기록 실패(outbox_id={})", id, e);
+        } finally {
+            em.close();
+        }
+    }
+
+    private static Duration retryDelay(int attempts) {
+        Duration delay = FIRST_RETRY_DELAY.multipliedBy(1L << Math.min(attempts, 20));
+        return delay.compareTo(MAX_RETRY_DELAY) > 0 ? MAX_RETRY_DELAY : delay;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<OutboxMessage> lock(EntityManager em, String sql, Object... parameters) {
+        jakarta.persistence.Query query = em.createNativeQuery(sql, OutboxMessage.class);
+        for (int i = 0; i < parameters.length; i++) {
+            query.setParameter(i + 1, parameters[i]);
+        }
+        return query.getResultList();
+    }
+
+    // 구독한 핸들러가 없는 메시지는 보류(같은 트랜잭션에서 parked_at 기록)하고, 전달할 메시지만 반환
+    private List<OutboxMessage> parkUnrouted(List<OutboxMessage> messages, LocalDateTime now) {
+        List<OutboxMessage> routed = new ArrayList<>(messages.size());
+        for (OutboxMessage message : messages) {
+            if (deliveries.getOrDefault(message.getEventType(), List.of()).isEmpty()) {
+                message.park(NO_HANDLER_ERROR, now);
+            } else {
+                routed.add(message);
+            }
+        }
+        return routed;
+    }
+
+    private void recordUnrouted(List<OutboxMessage> messages, List<OutboxMessage> routed) {
+        if (routed.size() == messages.size()) {
+            return;
+        }
+        for (OutboxMessage message : messages) {
+            if (message.getParkedAt() != null) {
+                parked.increment();
+                log.error("outbox 메시지 보류(outbox_id={}, event_type={}): {}",
+                        message.getOutboxId(), message.getEventType(), NO_HANDLER_ERROR);
+            }
+        }
+    }
+
+    private void deliver(EntityManager em, List<OutboxMessage> messages, LocalDateTime now) {
+        // 이 배치에서 호출할 (핸들러, 멱등성 키) 중 이미 처리한 것을 한 번에 조회
+        List<String> keys = new ArrayList<>();
+        for (OutboxMessage message : messages) {
+            for (Delivery<?> delivery : deliveries.getOrDefault(message.getEventType(), List.of())) {
+                keys.add(OutboxConsumption.key(delivery.handlerName, message.getIdempotencyKey()));
+            }
+        }
+        if (keys.isEmpty()) {
+            return;
+        }
+        Set<String> consumed = new HashSet<>(em.createQuery(
+                        "SELECT c.consumptionKey FROM OutboxConsumption c WHERE c.consumptionKey IN :keys", String.class)
+                .setParameter("keys", keys)
+                .getResultList());
+
+        for (OutboxMessage message : messages) {
+            List<Delivery<?>> handlers = deliveries.getOrDefault(message.getEventType(), List.of());
+            Object event = outbox.decode(message.getEventType(), message.getPayload());
+            for (Delivery<?> delivery : handlers) {
+                // 같은 배치 안의 중복 이벤트도 add()가 false -> 건너뜀
+                if (!consumed.add(OutboxConsumption.key(delivery.handlerName, message.getIdempotencyKey()))) {
+                    duplicatesSkipped.increment();
+                    continue;
+                }
+                deliver(delivery, em, event, message.getIdempotencyKey());
+                em.persist(new OutboxConsumption(delivery.handlerName, message.getIdempotencyKey(), now));
+            }
+        }
+    }
+
+    private void deliver(Delivery<?> delivery, EntityManager em, Object event, String idempotencyKey) {
+        long begin = System.nanoTime();
+        boolean success = false;
+        try {
+            delivery.deliver(em, event, idempotencyKey);
+            success = true;
+        } finally {
+            instrumentation.handled(delivery.id, System.nanoTime() - begin, success);
+        }
+    }
+
+    private static void delete(EntityManager em, List<OutboxMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        em.createQuery("DELETE FROM OutboxMessage m WHERE m.outboxId IN :ids")
+                .setParameter("ids", messages.stream().map(OutboxMessage::getOutboxId).toList())
+                .executeUpdate();
+    }
+
+    private void recordDelivered(List<OutboxMessage> messages) {
+        LocalDateTime now = LocalDateTime.now();
+        for (OutboxMessage message : messages) {
+            long lag = Duration.between(message.getCreatedAt(), now).toMillis();
+            totalLagMillis.add(lag);
+            maxLagMillis.accumulateAndGet(lag, Math::max);
+        }
+        delivered.add(messages.size());
+    }
+
+    public OutboxRelayStats stats() {
+        long count = delivered.sum();
+        return new OutboxRelayStats(count, duplicatesSkipped.sum(), failed.sum(), parked.sum(), batches.sum(),
+                count == 0 ? 0 : totalLagMillis.sum() / (double) count, maxLagMillis.get());
+    }
+
+    // 📌 아직 전달되지 않은 메시지 수 (재시도 대기 포함, 보류 제외)
+    public long backlog() {
+        EntityManager em = emf.createEntityManager();
+        try {
+            return em.createQuery("SELECT COUNT(m) FROM OutboxMessage m WHERE m.parkedAt IS NULL", Long.class)
+                    .getSingleResult();
+        } finally {
+            em.close();
+        }
+    }
+
+    // 📌 보류된 메시지 수 (0이 아니면 last_error를 확인하세요)
+    public long parked() {
+        EntityManager em = emf.createEntityManager();
+        try {
+            return em.createQuery("SELECT COUNT(m) FROM OutboxMessage m WHERE m.parkedAt IS NOT NULL", Long.class)
+                    .getSingleResult();
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * 📌 보류된 메시지를 모두 다시 전달 대상으로 되돌림 (시도 횟수 초기화)
+     * @return 되돌린 메시지 수
+     */
+    public int retryParked() {
+        return executeInTransaction(em -> em.createQuery(
+                        "UPDATE OutboxMessage m SET m.parkedAt = NULL, m.attempts = 0, m.availableAt = :now"
+                                + " WHERE m.parkedAt IS NOT NULL")
+                .setParameter("now", LocalDateTime.now())
+                .executeUpdate());
+    }
+
+    /**
+     * 📌 보관 기간(consumedRetention)이 지난 outbox_consumed 기록 삭제
+     * @return 삭제한 기록 수
+     */
+    public int purgeConsumed() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(consumedRetention);
+        int purged = executeInTransaction(em -> em.createQuery(
+                        "DELETE FROM OutboxConsumption c WHERE c.consumedAt < :cutoff")
+                .setParameter("cutoff", cutoff)
+                .executeUpdate());
+        if (purged > 0) {
+            log.info("outbox_consumed {}건 삭제 ({} 이전)", purged, cutoff);
+        }
+        return purged;
+    }
+
+    private int executeInTransaction(ToIntFunction<EntityManager> work) {
+        EntityManager em = emf.createEntityManager();
+        EntityTransaction tx = em.getTransaction();
+        try {
+            tx.begin();
+            int result = work.applyAsInt(em);
+            tx.commit();
+            return result;
+        } catch (RuntimeException e) {
+            if (tx.isActive()) {
+                tx.rollback();
+            }
+            throw e;
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * 📌 outbox가 빌 때까지 대기 (실습/벤치마크에서 결과 확인용)
+     * @return timeout 안에 모두 전달되었으면 true
+     */
+    public boolean awaitDrained(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (backlog() > 0) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    // 핸들러 하나의 등록 정보
+    private static final class Delivery<T> {
+        private final Class<T> eventType;
+        private final String handlerName;
+        private final OutboxHandler<? super T> handler;
+        private final HandlerId id;
+
+        private Delivery(Class<T> eventType, String handlerName, OutboxHandler<? super T> handler) {
+            this.eventType = eventType;
+            this.handlerName = handlerName;
+            this.handler = handler;
+            this.id = new HandlerId(eventType, handlerName, EventBus.Phase.OUTBOX);
+        }
+
+        private void deliver(EntityManager em, Object event, String idempotencyKey) {
+            handler.handle(em, eventType.cast(event), idempotencyKey);
+        }
+    }
+
+    // 릴레이 워커 스레드: 이름으로 구분 가능한 데몬 스레드
+    private static final class RelayThreadFactory implements ThreadFactory {
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "outbox-relay-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.ohgiraffers.event.section02.infra.outbox;
+
+/*
+ * 📌 OutboxRelay 누적 지표
+ * - delivered: 전달을 마치고 outbox에서 삭제한 메시지 수
+ * - duplicatesSkipped: 이미 처리한 (핸들러, 멱등성 키)라서 핸들러 호출을 건너뛴 횟수
+ * - failed: 전달에 실패한 횟수 (재시도 대기 + 보류)
+ * - parked: 시도 한도(maxAttempts)에 닿아 보류한 메시지 수
+ * - avgLagMillis / maxLagMillis: outbox 저장(created_at) ~ 전달 커밋까지 걸린 시간
+ */
+public record OutboxRelayStats(long delivered,
+                               long duplicatesSkipped,
+                               long failed,
+                               long parked,
+                               long batches,
+                               double avgLagMillis,
+                               long maxLagMillis) {
+}
@@ -0,0 +1,16 @@
+package com.ohgiraffers.event.section02.service;
+
+import java.util.List;
+
+/*
+ * 📌 completeCourses 실행 결과
+ * - completed: 이번 실행에서 수료 처리한 수
+ * - skipped: 이미 수료했거나 존재하지 않아 건너뛴 수
+ * - failedEnrollmentIds: 실패한 청크의 수강 ID (롤백됨) -> completeCourses(failedEnrollmentIds)로 이어서 처리
+ */
+public record BulkCompletionResult(int requested, int completed, int skipped, List<Long> failedEnrollmentIds) {
+
+    public boolean isComplete() {
+        return failedEnrollmentIds.isEmpty();
+    }
+}
@@ -2,12 +2,54 @@ package com.ohgiraffers.event.section02.service;
 
 import com.ohgiraffers.event.entity.Enrollment;
 import com.ohgiraffers.event.section02.aggregate.CourseCompletedEvent;
+import com.ohgiraffers.event.section02.aggregate.CourseCompletionBatchEvent;
+import com.ohgiraffers.event.section02.aggregate.CourseCompletionBatchEventCodec;
 import com.ohgiraffers.event.section02.infra.Events;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.LockModeType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class CourseCompletionService {
+
+    private static final Logger log = LoggerFactory.getLogger(CourseCompletionService.class);
+    private static final int DEFAULT_CHUNK_SIZE = 500;
+
     private final EntityManager em;
-    public CourseCompletionService(EntityManager em) { this.em = em; }
+    private final int chunkSize;
+    private final int parallelism;
+
+    public CourseCompletionService(EntityManager em) { this(em, DEFAULT_CHUNK_SIZE, 1); }
+
+    /**
+     * @param chunkSize   completeCourses에서 한 트랜잭션으로 처리할 수강 정보 수
+     *                    (청크 하나가 묶음 이벤트 하나이므로 CourseCompletionBatchEventCodec.MAX_COMPLETIONS 이하)
+     * @param parallelism completeCourses에서 동시에 처리할 청크 수 (청크마다 별도 EntityManager/트랜잭션)
+     */
+    public CourseCompletionService(EntityManager em, int chunkSize, int parallelism) {
+        if (chunkSize < 1 || parallelism < 1) {
+            throw new IllegalArgumentException("chunkSize, parallelism은 1 이상이어야 합니다: " + chunkSize + ", " + parallelism);
+        }
+        if (chunkSize > CourseCompletionBatchEventCodec.MAX_COMPLETIONS) {
+            // 더 크면 outbox payload 컬럼에 들어가지 않아 모든 청크가 매번 실패함
+            throw new IllegalArgumentException("chunkSize는 " + CourseCompletionBatchEventCodec.MAX_COMPLETIONS + " 이하여야 합니다: " + chunkSize);
+        }
+        this.em = em;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+    }
 
     /*
      * 📌 개선된 설계:
@@ -15,6 +57,7 @@ public class CourseCompletionService {
      * - 수료 처리가 끝난 후에는 `Certificate` 도메인의 내부 사정을 전혀 알 필요 없이,
      * "CourseCompletedEvent"라는 '사건'이 발생했음을 세상에 알리기만 합니다. (이벤트 발행)
      * - 이로써 `CourseCompletion` 도메인과 `Certificate` 도메인 간의 강한 결합이 완전히 끊어졌습니다.
+     * - 이벤트는 현재 트랜잭션(em)과 함께 발행하므로, 커밋 후 핸들러는 이 트랜잭션이 커밋된 경우에만 실행됩니다.
      */
     public void completeCourse(Long enrollmentId) {
         Enrollment enrollment = em.find(Enrollment.class, enrollmentId);
@@ -22,6 +65,116 @@ public class CourseCompletionService {
         enrollment.complete();
 
         // "수강생(ID:userId)이 강좌(ID:courseId)를 수료했습니다!" 라는 사실을 방송합니다.
-        Events.raise(new CourseCompletedEvent(enrollment.getUserId(), enrollment.getCourseId()));
+        Events.raise(em, new CourseCompletedEvent(enrollment.getUserId(), enrollment.getCourseId()));
+    }
+
+    /*
+     * 📌 대량 수료 처리 (학기 말 일괄 수료 등)
+     * - completeCourse를 반복하면 수강 정보마다 조회 + UPDATE + 이벤트(수료증 INSERT)로 왕복이 여러 번 일어납니다.
+     * - 수강 ID를 정렬해 chunkSize씩 나누고, 청크마다 하나의 트랜잭션으로 처리합니다.
+     *   1. 아직 수료하지 않은 수강 정보만 잠가서 조회 (SELECT ... FOR UPDATE, 필요한 컬럼만)
+     *   2. 벌크 UPDATE 한 번으로 수료 처리
+     *   3. 청크의 수료를 CourseCompletionBatchEvent 하나로 묶어 발행 (수료증은 이 이벤트의 핸들러가 JDBC 배치로 발급)
+     * - parallelism > 1이면 청크를 여러 스레드에서 동시에 처리합니다. (ID를 정렬해 나누므로 청크끼리 잠금이 겹치지 않음)
+     *
+     * 💡 이어서 처리하기(재개)
+     * - 청크는 독립적으로 커밋/롤백되며, 실패한 청크의 ID는 결과(failedEnrollmentIds)로 돌려줍니다.
+     * - 이미 수료한 수강 정보는 건너뛰므로, 중단된 뒤 같은 ID 목록으로 다시 호출해도 남은 것만 처리합니다.
+     *
+     * 🚨 서비스의 em과 별개의 트랜잭션으로 실행합니다. (em의 EntityManagerFactory로 청크마다 EntityManager 생성)
+     * 🚨 CourseCompletionBatchEvent를 받을 곳이 없으면 수료만 되고 수료증은 발급되지 않으므로, 수료 처리 전에 IllegalStateException을 던집니다.
+     *    - 커밋 후 핸들러: Events.addAfterCommitHandler(CourseCompletionBatchEvent.class, new BatchCertificateIssuanceHandler(emf), ...) (section02 참고)
+     *    - 이벤트를 잃지 않으려면: CourseCompletionBatchEventCodec을 Outbox에 등록하고 OutboxRelay에 BatchCertificateIssuanceHandler를 구독 (section03 참고)
+     */
+    public BulkCompletionResult completeCourses(Collection<Long> enrollmentIds) {
+        if (!Events.hasRoute(CourseCompletionBatchEvent.class)) {
+            throw new IllegalStateException("CourseCompletionBatchEvent의 핸들러나 outbox 등록이 없습니다. 수료증이 발급되지 않으므로 대량 수료 처리를 시작하지 않습니다.");
+        }
+        List<Long> sorted = enrollmentIds.stream().distinct().sorted().toList();
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < sorted.size(); from += chunkSize) {
+            chunks.add(sorted.subList(from, Math.min(from + chunkSize, sorted.size())));
+        }
+        EntityManagerFactory emf = em.getEntityManagerFactory();
+
+        int completed = 0;
+        List<Long> failed = new ArrayList<>();
+        if (parallelism == 1) {
+            for (List<Long> chunk : chunks) {
+                int count = completeChunk(emf, chunk);
+                if (count < 0) {
+                    failed.addAll(chunk);
+                } else {
+                    completed += count;
+                }
+            }
+        } else {
+            ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+            try {
+                List<Future<Integer>> results = new ArrayList<>(chunks.size());
+                for (List<Long> chunk : chunks) {
+                    results.add(executor.submit(() -> completeChunk(emf, chunk)));
+                }
+                for (int i = 0; i < chunks.size(); i++) {
+                    int count = results.get(i).get();
+                    if (count < 0) {
+                        failed.addAll(chunks.get(i));
+                    } else {
+                        completed += count;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("대량 수료 처리가 중단되었습니다.", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("대량 수료 처리 실패", e.getCause());
+            } finally {
+                executor.shutdown();
+            }
+        }
+        return new BulkCompletionResult(sorted.size(), completed, sorted.size() - completed - failed.size(), List.copyOf(failed));
+    }
+
+    // 청크 하나 = 트랜잭션 하나, 수료 처리한 수 반환 (실패하면 롤백 후 -1)
+    private int completeChunk(EntityManagerFactory emf, List<Long> chunk) {
+        EntityManager chunkEm = emf.createEntityManager();
+        EntityTransaction tx = chunkEm.getTransaction();
+        try {
+            tx.begin();
+            List<Object[]> rows = chunkEm.createQuery(
+                            "SELECT e.enrollmentId, e.userId, e.courseId FROM Enrollment e " +
+                                    "WHERE e.enrollmentId IN :ids AND (e.status IS NULL OR e.status <> :completed)", Object[].class)
+                    .setParameter("ids", chunk)
+                    .setParameter("completed", Enrollment.COMPLETED)
+                    .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                    .getResultList();
+            if (rows.isEmpty()) {
+                tx.commit();
+                return 0;
+            }
+            List<Long> ids = new ArrayList<>(rows.size());
+            List<CourseCompletedEvent> completions = new ArrayList<>(rows.size());
+            for (Object[] row : rows) {
+                ids.add((Long) row[0]);
+                completions.add(new CourseCompletedEvent((Long) row[1], (Long) row[2]));
+            }
+            chunkEm.createQuery("UPDATE Enrollment e SET e.status = :completed, e.completedAt = :now WHERE e.enrollmentId IN :ids")
+                    .setParameter("completed", Enrollment.COMPLETED)
+                    .setParameter("now", LocalDateTime.now())
+                    .setParameter("ids", ids)
+                    .executeUpdate();
+
+            Events.raise(chunkEm, new CourseCompletionBatchEvent(UUID.randomUUID().toString(), completions));
+            tx.commit();
+            return rows.size();
+        } catch (RuntimeException e) {
+            if (tx.isActive()) {
+                tx.rollback();
+            }
+            log.error("수료 처리 청크 실패({} ~ {})", chunk.get(0), chunk.get(chunk.size() - 1), e);
+            return -1;
+        } finally {
+            chunkEm.close();
+        }
     }
 }
@@ -0,0 +1,88 @@
+package com.ohgiraffers.event.section03;
+
+import com.ohgiraffers.event.entity.Certificate;
+import com.ohgiraffers.event.section02.aggregate.CourseCompletedEvent;
+import com.ohgiraffers.event.section02.aggregate.CourseCompletedEventCodec;
+import com.ohgiraffers.event.section02.aggregate.CourseCompletionBatchEvent;
+import com.ohgiraffers.event.section02.aggregate.CourseCompletionBatchEventCodec;
+import com.ohgiraffers.event.section02.handler.BatchCertificateIssuanceHandler;
+import com.ohgiraffers.event.section02.handler.CertificateIssuanceHandler;
+import com.ohgiraffers.event.section02.infra.Events;
+import com.ohgiraffers.event.section02.infra.outbox.Outbox;
+import com.ohgiraffers.event.section02.infra.outbox.OutboxRelay;
+import com.ohgiraffers.event.section02.service.CourseCompletionService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+
+import java.time.Duration;
+import java.util.List;
+
+/*
+ * =====================================
+ * 🏆 이벤트를 잃어버리지 않는 방법: 트랜잭셔널 아웃박스(Transactional Outbox)
+ * =====================================
+ *
+ * 🤔 section02의 '커밋 후' 핸들러는 이벤트를 메모리에만 들고 있습니다.
+ * - 수료 트랜잭션이 커밋된 직후 서버가 종료되면? 수강 상태는 COMPLETED인데 수료증은 영영 발급되지 않습니다.
+ *
+ * 💡 해결: 이벤트를 '수료 처리와 같은 트랜잭션'으로 outbox 테이블에 저장하고, 별도의 릴레이가 읽어서 전달합니다.
+ * 1. `Events.useOutbox(outbox)`: `CourseCompletedEvent`는 outbox 테이블을 거쳐 전달하도록 설정합니다.
+ * 2. `CourseCompletionService`는 그대로입니다. (`Events.raise(em, ...)` -> 이제 outbox 행 INSERT)
+ *    수료 처리와 outbox 저장은 함께 커밋되거나 함께 롤백됩니다.
+ * 3. `OutboxRelay`가 outbox를 배치로 읽어(SELECT ... FOR UPDATE SKIP LOCKED) 핸들러에 전달하고, 전달한 행을 삭제합니다.
+ * 4. 전달은 '최소 한 번'이므로 같은 이벤트가 다시 올 수 있습니다.
+ *    -> 멱등성 키(course-completed:{userId}:{courseId})로 핸들러마다 한 번만 처리합니다.
+ * 5. 대량 수료(`completeCourses`)의 묶음 이벤트(`CourseCompletionBatchEvent`)도 같은 방식으로 outbox를 거칩니다.
+ *    (멱등성 키: course-completion-batch:{batchId}, 핸들러: `BatchCertificateIssuanceHandler`)
+ *
+ * 🚨 실행 전 META-INF/setup.sql로 outbox, outbox_consumed 테이블을 만들어 두세요.
+ */
+public class Application {
+    public static void main(String[] args) throws InterruptedException {
+        EntityManagerFactory emf = Persistence.createEntityManagerFactory("jpa-lecture");
+        EntityManager em = emf.createEntityManager();
+
+        Outbox outbox = new Outbox();
+        outbox.register(CourseCompletedEvent.class, new CourseCompletedEventCodec());
+        outbox.register(CourseCompletionBatchEvent.class, new CourseCompletionBatchEventCodec());
+        Events.useOutbox(outbox);
+
+        // 핸들러 이름("certificate-issuance")은 처리 기록의 키이므로 바꾸면 안 됩니다.
+        OutboxRelay relay = new OutboxRelay(emf, outbox, 100, 2, Duration.ofMillis(200));
+        relay.subscribe(CourseCompletedEvent.class, "certificate-issuance", new CertificateIssuanceHandler(emf));
+        relay.subscribe(CourseCompletionBatchEvent.class, "batch-certificate-issuance", new BatchCertificateIssuanceHandler(emf));
+        relay.start();
+
+        CourseCompletionService courseCompletionService = new CourseCompletionService(em);
+
+        // 1. 수료 처리 + outbox 저장 (한 트랜잭션)
+        em.getTransaction().begin();
+        courseCompletionService.completeCourse(1L);
+        em.getTransaction().commit();
+
+        // 2. 롤백된 수료 -> outbox에도 남지 않으므로 수료증이 발급되지 않음
+        em.getTransaction().begin();
+        courseCompletionService.completeCourse(2L);
+        em.getTransaction().rollback();
+        em.clear();
+
+        // 3. 같은 수료 이벤트가 한 번 더 기록된 경우 (예: 재시도된 요청) -> 멱등성 키가 같으므로 수료증은 한 장
+        em.getTransaction().begin();
+        Events.raise(em, new CourseCompletedEvent(101L, 1L));
+        em.getTransaction().commit();
+
+        // 4. 대량 수료: 이미 수료한 1번은 건너뛰고, 롤백되었던 2번만 수료 -> 묶음 이벤트 하나가 outbox로
+        System.out.println(courseCompletionService.completeCourses(List.of(1L, 2L)));
+
+        relay.awaitDrained(Duration.ofSeconds(5));
+        System.out.println(relay.stats());
+
+        List<Certificate> certificates = em.createQuery("SELECT c FROM Certificate c", Certificate.class).getResultList();
+        System.out.println(certificates);
+
+        relay.close();
+        em.close();
+        emf.close();
+    }
+}
@@ -15,6 +15,8 @@ DROP TABLE IF EXISTS lessons;
 DROP TABLE IF EXISTS roles;
 DROP TABLE IF EXISTS users;
 
+DROP TABLE IF EXISTS outbox_consumed;
+DROP TABLE IF EXISTS outbox;
 DROP TABLE IF EXISTS certificates;
 DROP TABLE IF EXISTS enrollments;
 DROP TABLE IF EXISTS lessons;
@@ -62,6 +64,29 @@ CREATE TABLE certificates (
                               FOREIGN KEY (course_id) REFERENCES courses(course_id)
 ) COMMENT '수료증 정보';
 
+-- 5. Outbox: 발행한 트랜잭션과 함께 저장되는 이벤트 (OutboxRelay가 전달 후 삭제)
+CREATE TABLE outbox (
+                        outbox_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                        event_type VARCHAR(100) NOT NULL,
+                        idempotency_key VARCHAR(200) NOT NULL,
+                        payload TEXT NOT NULL, -- 묶음 이벤트(CourseCompletionBatchEvent)는 수백 건이 한 행에 들어감 (최대 65,535바이트, Outbox.append가 확인)
+                        attempts INT NOT NULL DEFAULT 0,
+                        available_at DATETIME(6) NOT NULL, -- 이 시각 이후 전달 (실패 시 뒤로 미룸)
+                        created_at DATETIME(6) NOT NULL,
+                        last_error VARCHAR(500) NULL,
+                        parked_at DATETIME(6) NULL, -- 시도 한도에 닿아 보류한 시각 (NULL인 행만 전달)
+                        -- 폴링: WHERE parked_at IS NULL AND available_at <= ? ORDER BY outbox_id LIMIT ? (정렬 없이 인덱스 순서로 읽다가 LIMIT에서 멈춤)
+                        INDEX idx_outbox_pending (parked_at, outbox_id)
+) COMMENT '이벤트 아웃박스';
+
+-- 6. Outbox Consumed: 핸들러별로 처리한 멱등성 키 (같은 이벤트를 두 번 처리하지 않기 위함)
+CREATE TABLE outbox_consumed (
+                                 consumption_key VARCHAR(300) PRIMARY KEY, -- '핸들러 이름|멱등성 키'
+                                 handler_name VARCHAR(100) NOT NULL,
+                                 consumed_at DATETIME(6) NOT NULL,
+                                 INDEX idx_outbox_consumed_at (consumed_at) -- 보관 기간이 지난 기록 삭제 (OutboxRelay.purgeConsumed)
+) COMMENT '아웃박스 처리 기록';
+
 -- =================================================================================
 -- 🏆 실습을 위한 샘플 데이터 삽입
 -- =================================================================================
@@ -0,0 +1,62 @@
+package com.ohgiraffers.event.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * 📌 벤치마크 결과(report.json) 저장 공통 코드
+ * - 이 모듈에는 Jackson이 없으므로, 결과에 쓰는 타입(Map, List, 숫자, 문자열, boolean)만 직접 JSON으로 씁니다.
+ */
+public final class BenchmarkReports {
+
+    private BenchmarkReports() {}
+
+    // 📌 report를 JSON으로 저장하고 저장한 절대 경로를 돌려줌
+    public static Path write(String path, Map<String, ?> report) throws IOException {
+        Path reportPath = Path.of(path);
+        Files.createDirectories(reportPath.toAbsolutePath().getParent());
+        StringBuilder json = new StringBuilder();
+        append(json, report, "");
+        Files.writeString(reportPath, json.append('\n'), StandardCharsets.UTF_8);
+        return reportPath.toAbsolutePath();
+    }
+
+    public static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static void append(StringBuilder json, Object value, String indent) {
+        if (value instanceof Map<?, ?> map) {
+            appendEntries(json, map.entrySet().iterator(), indent, '{', '}');
+        } else if (value instanceof List<?> list) {
+            appendEntries(json, list.iterator(), indent, '[', ']');
+        } else if (value instanceof String text) {
+            json.append('"').append(text.replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+        } else {
+            json.append(value);
+        }
+    }
+
+    private static void appendEntries(StringBuilder json, Iterator<?> entries, String indent, char open, char close) {
+        json.append(open);
+        String inner = indent + "  ";
+        boolean first = true;
+        while (entries.hasNext()) {
+            Object entry = entries.next();
+            json.append(first ? "\n" : ",\n").append(inner);
+            first = false;
+            if (entry instanceof Map.Entry<?, ?> keyValue) {
+                json.append('"').append(keyValue.getKey()).append("\" : ");
+                append(json, keyValue.getValue(), inner);
+            } else {
+                append(json, entry, inner);
+            }
+        }
+        json.append(first ? "" : "\n" + indent).append(close);
+    }
+}
@@ -0,0 +1,192 @@
+package com.ohgiraffers.event.section02.infra;
+
+import com.ohgiraffers.event.section02.aggregate.CourseCompletedEvent;
+import com.ohgiraffers.event.section02.handler.CertificateIssuanceHandler;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+ * 📌 EventBus 정확성 검증 (인메모리 H2, MODE=MySQL)
+ * - 롤백된 트랜잭션에서 발행한 이벤트는 AFTER_COMMIT 핸들러로 전달되지 않음 (수료증 미발급)
+ * - 커밋되면 전달됨
+ * - 핸들러별 동시 실행 수가 maxInFlight를 넘지 않음
+ * - 여러 스레드가 동시에 발행해도 drain()/run() 사이에 대기 큐에 남는 이벤트가 없음
+ */
+class EventBusTests {
+
+    private static final Duration AWAIT = Duration.ofSeconds(10);
+
+    private EntityManagerFactory emf;
+    private EventBus bus;
+
+    @BeforeEach
+    void setUp() {
+        emf = Persistence.createEntityManagerFactory("jpa-lecture", Map.of(
+                "javax.persistence.jdbc.driver", "org.h2.Driver",
+                "javax.persistence.jdbc.url", "jdbc:h2:mem:event-bus;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "javax.persistence.jdbc.user", "sa",
+                "javax.persistence.jdbc.password", "",
+                "hibernate.hbm2ddl.auto", "create-drop",
+                "hibernate.show_sql", "false",
+                "hibernate.format_sql", "false"));
+        bus = new EventBus(8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bus.close();
+        emf.close();
+    }
+
+    @Test
+    void rollback_issuesNoCertificate() throws Exception {
+        bus.subscribeAfterCommit(CourseCompletedEvent.class, new CertificateIssuanceHandler(emf), 4);
+
+        EntityManager em = emf.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            bus.publish(em, new CourseCompletedEvent(1L, 10L));
+            em.getTransaction().rollback();
+        } finally {
+            em.close();
+        }
+
+        assertTrue(bus.awaitIdle(AWAIT));
+        assertEquals(0, certificates());
+        assertEquals(0, bus.stats().get(0).completed());
+    }
+
+    @Test
+    void commit_dispatchesToAfterCommitHandler() throws Exception {
+        bus.subscribeAfterCommit(CourseCompletedEvent.class, new CertificateIssuanceHandler(emf), 4);
+
+        EntityManager em = emf.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            bus.publish(em, new CourseCompletedEvent(1L, 10L));
+            assertEquals(0, bus.stats().get(0).completed()); // 커밋 전에는 전달하지 않음
+            em.getTransaction().commit();
+        } finally {
+            em.close();
+        }
+
+        assertTrue(bus.awaitIdle(AWAIT));
+        assertEquals(1, certificates());
+        assertEquals(1, bus.stats().get(0).completed());
+    }
+
+    @Test
+    void afterCommitHandler_neverExceedsMaxInFlight() throws Exception {
+        int maxInFlight = 2;
+        int events = 20;
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        bus.subscribeAfterCommit(CourseCompletedEvent.class, event -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                release.await(AWAIT.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                running.decrementAndGet();
+            }
+        }, maxInFlight);
+
+        for (long i = 0; i < events; i++) {
+            bus.publish(new CourseCompletedEvent(i, 10L)); // 트랜잭션 없음 -> 바로 전달
+        }
+
+        // 스레드는 8개지만 2개만 실행 중이고 나머지는 대기 큐에 있어야 함
+        HandlerStats blocked = bus.stats().get(0);
+        assertEquals(maxInFlight, blocked.inFlight());
+        assertEquals(events - maxInFlight, blocked.queued());
+
+        release.countDown();
+        assertTrue(bus.awaitIdle(AWAIT));
+        assertEquals(maxInFlight, maxRunning.get());
+        assertEquals(events, bus.stats().get(0).completed());
+    }
+
+    @Test
+    void concurrentPublishers_leaveNoEventStranded() throws Exception {
+        int publishers = 8;
+        int eventsPerPublisher = 5_000;
+        LongAdder handled = new LongAdder();
+        bus.subscribeAfterCommit(CourseCompletedEvent.class, event -> handled.increment(), 1);
+        bus.subscribeAfterCommit(CourseCompletedEvent.class, new CountingHandler(handled), 3);
+
+        ExecutorService executor = Executors.newFixedThreadPool(publishers);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < publishers; p++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (long i = 0; i < eventsPerPublisher; i++) {
+                        bus.publish(new CourseCompletedEvent(i, 10L));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // 마지막 run()이 자리를 반납하는 순간 다른 스레드가 넣은 이벤트도 누군가 꺼내야 함
+        assertTrue(bus.awaitIdle(AWAIT), () -> "대기 큐에 남은 이벤트: " + bus.stats());
+        long published = (long) publishers * eventsPerPublisher;
+        assertEquals(published * 2, handled.sum());
+        for (HandlerStats stats : bus.stats()) {
+            assertEquals(published, stats.completed());
+            assertEquals(0, stats.queued());
+            assertEquals(0, stats.inFlight());
+        }
+    }
+
+    private long certificates() {
+        EntityManager em = emf.createEntityManager();
+        try {
+            return em.createQuery("SELECT COUNT(c) FROM Certificate c", Long.class).getSingleResult();
+        } finally {
+            em.close();
+        }
+    }
+
+    // 람다와 다른 핸들러 이름으로 등록하기 위한 클래스 (HandlerStats는 클래스 이름으로 구분)
+    private static final class CountingHandler implements EventHandler<CourseCompletedEvent> {
+        private final LongAdder handled;
+
+        private CountingHandler(LongAdder handled) {
+            this.handled = handled;
+        }
+
+        @Override
+        public void handle(CourseCompletedEvent event) {
+            handled.increment();
+        }
+    }
+}
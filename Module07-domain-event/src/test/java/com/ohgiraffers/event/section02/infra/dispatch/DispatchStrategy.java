@@ -0,0 +1,24 @@
+package com.ohgiraffers.event.section02.infra.dispatch;
+
+import com.ohgiraffers.event.section02.aggregate.CourseCompletedEvent;
+import com.ohgiraffers.event.section02.infra.EventHandler;
+
+import java.util.List;
+
+/*
+ * 📌 EventDispatchBenchmark에서 비교하는 이벤트 전달 방식
+ * - publish(): 여러 생산자 스레드에서 동시에 호출됩니다.
+ * - 모든 핸들러가 모든 이벤트를 한 번씩 처리해야 합니다. (처리 완료 여부는 벤치마크가 핸들러 호출 수로 확인)
+ */
+interface DispatchStrategy extends AutoCloseable {
+
+    void publish(CourseCompletedEvent event);
+
+    @Override
+    void close();
+
+    // 핸들러 목록으로 전달 방식 하나를 시작
+    interface Factory {
+        DispatchStrategy start(List<EventHandler<CourseCompletedEvent>> handlers);
+    }
+}
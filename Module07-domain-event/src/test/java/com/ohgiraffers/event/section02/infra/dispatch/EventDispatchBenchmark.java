@@ -0,0 +1,205 @@
+package com.ohgiraffers.event.section02.infra.dispatch;
+
+import com.ohgiraffers.event.benchmark.BenchmarkReports;
+import com.ohgiraffers.event.section02.aggregate.CourseCompletedEvent;
+import com.ohgiraffers.event.section02.infra.EventHandler;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.ohgiraffers.event.benchmark.BenchmarkReports.round;
+
+/*
+ * 📌 메모리 안 이벤트 전달 방식 비교 (DB 없음, 핸들러는 호출 수만 셈)
+ * - eventsSync: 현재 Events.raise (발행 스레드에서 핸들러를 차례로 실행)
+ * - eventsAfterCommit: 현재 Events.addAfterCommitHandler (핸들러별 대기 큐 + 고정 스레드 풀, 이벤트 x 핸들러마다 작업 하나)
+ * - ringBuffer: LMAX Disruptor 방식 링 버퍼 (RingBufferDispatch)
+ * - queueWorkerPool: ConcurrentLinkedQueue + 고정 워커 (QueueWorkerPoolDispatch)
+ * - virtualThreads: 이벤트 x 핸들러마다 가상 스레드 (JDK 21 이상일 때만)
+ * - 실행: gradle dispatchBenchmark [-Dbenchmark.handlers=1,4,8 -Dbenchmark.threads=1,2,4 -Dbenchmark.eventsPerIteration=200000
+ *         -Dbenchmark.strategies=eventsSync,ringBuffer]
+ *   가상 스레드 포함: JDK 21 이상으로 gradle dispatchBenchmark 실행
+ * - 결과: build/reports/event-dispatch-benchmark/report.json
+ *   (방식 x 핸들러 수 x 발행 스레드 수마다 초당 이벤트 수 중앙값/최댓값, 이벤트당 할당 바이트)
+ *
+ * 💡 JMH처럼 워밍업 반복(WARMUP_ITERATIONS) 후 측정 반복(MEASURE_ITERATIONS)의 중앙값을 씁니다. (포크 없이 한 JVM에서 실행)
+ * 💡 한 반복 = 발행 스레드들이 eventsPerIteration개를 나눠 발행하고, 모든 핸들러가 모든 이벤트를 처리할 때까지의 시간
+ *    (비동기 방식은 발행이 끝난 시점이 아니라 처리가 끝난 시점까지 잽니다.)
+ * 💡 이벤트 객체는 미리 만들어 돌려 쓰므로, 이벤트당 할당 바이트는 전달 방식 자체가 만드는 객체(큐 노드, 작업, 스레드 등)입니다.
+ *    (JVM 전체 스레드의 할당량 합계로 재므로 소비자/워커 스레드의 할당도 포함)
+ * 💡 측정 결과(1 vCPU, JDK 17, 10만 이벤트, 발행 스레드 1개, 초당 이벤트 수 / 이벤트당 할당 바이트):
+ *    핸들러 1개: eventsSync 820만 / 0, eventsAfterCommit 78만 / 120, ringBuffer 590만 / 0, queueWorkerPool 960만 / 56
+ *    핸들러 8개: eventsSync 110만 / 0, eventsAfterCommit 39만 / 576, ringBuffer 620만 / 0, queueWorkerPool 680만 / 56
+ *    (eventsAfterCommit은 이벤트 x 핸들러마다 작업 객체를 만들고, 링 버퍼는 전달 중 할당이 없습니다.
+ *     CPU가 1개뿐이라 발행 스레드 수를 늘려도 처리량은 거의 같습니다.)
+ */
+@Tag("benchmark")
+class EventDispatchBenchmark {
+
+    private static final int[] HANDLERS = intList(System.getProperty("benchmark.handlers", "1,4,8"));
+    private static final int[] THREADS = intList(System.getProperty("benchmark.threads", "1,2,4"));
+    private static final int EVENTS_PER_ITERATION = Integer.getInteger("benchmark.eventsPerIteration", 200_000);
+    private static final int WARMUP_ITERATIONS = Integer.getInteger("benchmark.warmupIterations", 3);
+    private static final int MEASURE_ITERATIONS = Integer.getInteger("benchmark.iterations", 5);
+    private static final String STRATEGIES = System.getProperty("benchmark.strategies", "");
+    private static final String REPORT_PATH = System.getProperty("benchmark.report", "build/reports/event-dispatch-benchmark/report.json");
+    private static final int DISTINCT_EVENTS = 1024;
+
+    private final CourseCompletedEvent[] events = new CourseCompletedEvent[DISTINCT_EVENTS];
+
+    @Test
+    void benchmarkDispatchStrategies() throws Exception {
+        for (int i = 0; i < DISTINCT_EVENTS; i++) {
+            events[i] = new CourseCompletedEvent((long) i, (long) (i % 16));
+        }
+        Map<String, DispatchStrategy.Factory> strategies = new LinkedHashMap<>();
+        strategies.put("eventsSync", EventsSyncDispatch::new);
+        strategies.put("eventsAfterCommit", EventsAfterCommitDispatch::new);
+        strategies.put("ringBuffer", RingBufferDispatch::new);
+        strategies.put("queueWorkerPool", QueueWorkerPoolDispatch::new);
+        if (VirtualThreadFanOutDispatch.isSupported()) {
+            strategies.put("virtualThreads", VirtualThreadFanOutDispatch::new);
+        }
+        if (!STRATEGIES.isBlank()) {
+            strategies.keySet().retainAll(Arrays.asList(STRATEGIES.split(",")));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("javaVersion", Runtime.version().toString());
+        report.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        report.put("eventsPerIteration", EVENTS_PER_ITERATION);
+        report.put("warmupIterations", WARMUP_ITERATIONS);
+        report.put("measureIterations", MEASURE_ITERATIONS);
+        report.put("virtualThreadsSupported", VirtualThreadFanOutDispatch.isSupported());
+        List<Object> results = new ArrayList<>();
+        for (int threads : THREADS) {
+            ExecutorService producers = Executors.newFixedThreadPool(threads);
+            try {
+                for (int handlers : HANDLERS) {
+                    for (Map.Entry<String, DispatchStrategy.Factory> strategy : strategies.entrySet()) {
+                        Map<String, Object> result = run(strategy.getValue(), producers, threads, handlers);
+                        Map<String, Object> row = new LinkedHashMap<>();
+                        row.put("strategy", strategy.getKey());
+                        row.put("handlers", handlers);
+                        row.put("threads", threads);
+                        row.putAll(result);
+                        results.add(row);
+                        System.out.println("이벤트 전달 벤치마크: " + row);
+                    }
+                }
+            } finally {
+                producers.shutdownNow();
+            }
+        }
+        report.put("results", results);
+
+        Path reportPath = BenchmarkReports.write(REPORT_PATH, report);
+        System.out.println("이벤트 전달 방식별 처리량/할당: " + reportPath);
+    }
+
+    // 한 설정(방식 x 핸들러 수 x 발행 스레드 수) 실행: 워밍업 후 측정 반복의 중앙값
+    private Map<String, Object> run(DispatchStrategy.Factory factory, ExecutorService producers, int threads, int handlerCount) throws Exception {
+        LongAdder handled = new LongAdder();
+        List<EventHandler<CourseCompletedEvent>> handlers = new ArrayList<>();
+        for (int i = 0; i < handlerCount; i++) {
+            handlers.add(event -> handled.increment());
+        }
+        List<Double> eventsPerSecond = new ArrayList<>();
+        long allocated = 0;
+        try (DispatchStrategy dispatch = factory.start(handlers)) {
+            for (int iteration = 0; iteration < WARMUP_ITERATIONS + MEASURE_ITERATIONS; iteration++) {
+                handled.reset();
+                long expected = (long) EVENTS_PER_ITERATION * handlerCount;
+                long allocatedBefore = totalAllocatedBytes();
+                long begin = System.nanoTime();
+                publish(dispatch, producers, threads);
+                awaitHandled(handled, expected);
+                long elapsedNanos = System.nanoTime() - begin;
+                long allocatedDelta = totalAllocatedBytes() - allocatedBefore;
+                if (iteration >= WARMUP_ITERATIONS) {
+                    eventsPerSecond.add(EVENTS_PER_ITERATION / (elapsedNanos / 1_000_000_000.0));
+                    allocated += allocatedDelta;
+                }
+            }
+        }
+        Collections.sort(eventsPerSecond);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("eventsPerSecondMedian", Math.round(eventsPerSecond.get(eventsPerSecond.size() / 2)));
+        result.put("eventsPerSecondMax", Math.round(eventsPerSecond.get(eventsPerSecond.size() - 1)));
+        result.put("allocatedBytesPerEvent", allocated < 0 ? -1 : round(allocated / (double) MEASURE_ITERATIONS / EVENTS_PER_ITERATION));
+        return result;
+    }
+
+    // 발행 스레드들이 EVENTS_PER_ITERATION개를 나눠 동시에 발행 (시작 신호를 맞춰 동시에 출발)
+    private void publish(DispatchStrategy dispatch, ExecutorService producers, int threads) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            int from = (int) ((long) EVENTS_PER_ITERATION * t / threads);
+            int to = (int) ((long) EVENTS_PER_ITERATION * (t + 1) / threads);
+            producers.execute(() -> {
+                try {
+                    start.await();
+                    for (int i = from; i < to; i++) {
+                        dispatch.publish(events[i & (DISTINCT_EVENTS - 1)]);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        done.await();
+    }
+
+    private static void awaitHandled(LongAdder handled, long expected) {
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(2);
+        while (handled.sum() < expected) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("처리되지 않은 이벤트가 있습니다: " + handled.sum() + "/" + expected);
+            }
+            LockSupport.parkNanos(20_000);
+        }
+    }
+
+    /*
+     * 💡 JVM 전체 스레드의 누적 할당 바이트
+     * - JDK 21+: getTotalThreadAllocatedBytes() (종료된 스레드 포함)
+     * - JDK 17: 살아 있는 스레드의 getThreadAllocatedBytes 합계 (측정 중 종료된 가상 스레드 등은 빠질 수 있음)
+     */
+    private static long totalAllocatedBytes() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        try {
+            Method total = com.sun.management.ThreadMXBean.class.getMethod("getTotalThreadAllocatedBytes");
+            return (long) total.invoke(threads);
+        } catch (ReflectiveOperationException e) {
+            long sum = 0;
+            for (long allocated : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+                sum += Math.max(allocated, 0);
+            }
+            return sum;
+        }
+    }
+
+    private static int[] intList(String value) {
+        return Arrays.stream(value.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+    }
+}
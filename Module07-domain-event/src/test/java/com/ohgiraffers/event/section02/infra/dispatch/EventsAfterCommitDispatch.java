@@ -0,0 +1,32 @@
+package com.ohgiraffers.event.section02.infra.dispatch;
+
+import com.ohgiraffers.event.section02.aggregate.CourseCompletedEvent;
+import com.ohgiraffers.event.section02.infra.EventHandler;
+import com.ohgiraffers.event.section02.infra.Events;
+
+import java.util.List;
+
+/*
+ * 📌 현재 방식 2: Events.addAfterCommitHandler (핸들러별 ConcurrentLinkedQueue 대기 큐 + Events의 고정 크기 스레드 풀)
+ * - 트랜잭션 없이 발행하므로 바로 dispatch executor로 넘어갑니다.
+ * - 이벤트 x 핸들러마다 executor 작업(Runnable) 하나
+ */
+final class EventsAfterCommitDispatch implements DispatchStrategy {
+
+    private static final int MAX_IN_FLIGHT = 16;
+
+    EventsAfterCommitDispatch(List<EventHandler<CourseCompletedEvent>> handlers) {
+        Events.clearHandlers();
+        handlers.forEach(handler -> Events.addAfterCommitHandler(CourseCompletedEvent.class, handler, MAX_IN_FLIGHT));
+    }
+
+    @Override
+    public void publish(CourseCompletedEvent event) {
+        Events.raise(event);
+    }
+
+    @Override
+    public void close() {
+        Events.clearHandlers();
+    }
+}
@@ -0,0 +1,28 @@
+package com.ohgiraffers.event.section02.infra.dispatch;
+
+import com.ohgiraffers.event.section02.aggregate.CourseCompletedEvent;
+import com.ohgiraffers.event.section02.infra.EventHandler;
+import com.ohgiraffers.event.section02.infra.Events;
+
+import java.util.List;
+
+/*
+ * 📌 현재 방식 1: Events.addHandler + Events.raise (발행한 스레드에서 핸들러를 차례로 실행하는 동기 루프)
+ */
+final class EventsSyncDispatch implements DispatchStrategy {
+
+    EventsSyncDispatch(List<EventHandler<CourseCompletedEvent>> handlers) {
+        Events.clearHandlers();
+        handlers.forEach(handler -> Events.addHandler(CourseCompletedEvent.class, handler));
+    }
+
+    @Override
+    public void publish(CourseCompletedEvent event) {
+        Events.raise(event);
+    }
+
+    @Override
+    public void close() {
+        Events.clearHandlers();
+    }
+}
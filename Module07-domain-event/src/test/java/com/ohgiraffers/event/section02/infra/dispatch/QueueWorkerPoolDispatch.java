@@ -0,0 +1,63 @@
+package com.ohgiraffers.event.section02.infra.dispatch;
+
+import com.ohgiraffers.event.section02.aggregate.CourseCompletedEvent;
+import com.ohgiraffers.event.section02.infra.EventHandler;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+ * 📌 ConcurrentLinkedQueue 하나 + 고정 워커 스레드
+ * - 생산자는 큐에 이벤트를 넣기만 하고(잠금 없음, 이벤트마다 큐 노드 하나 할당),
+ *   워커가 꺼내서 모든 핸들러를 차례로 실행합니다. (이벤트 하나 = 작업 하나, 핸들러마다 작업을 만들지 않음)
+ * - 빈 큐에서는 잠깐 바쁜 대기 후 parkNanos로 쉽니다.
+ * - 워커 수는 Events의 dispatch 스레드 수와 같게 max(2, CPU 수)
+ */
+final class QueueWorkerPoolDispatch implements DispatchStrategy {
+
+    private static final int WORKERS = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+    private final Queue<CourseCompletedEvent> queue = new ConcurrentLinkedQueue<>();
+    private final List<EventHandler<CourseCompletedEvent>> handlers;
+    private volatile boolean running = true;
+
+    QueueWorkerPoolDispatch(List<EventHandler<CourseCompletedEvent>> handlers) {
+        this.handlers = List.copyOf(handlers);
+        for (int i = 1; i <= WORKERS; i++) {
+            Thread thread = new Thread(this::work, "queue-worker-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    @Override
+    public void publish(CourseCompletedEvent event) {
+        queue.offer(event);
+    }
+
+    private void work() {
+        int idle = 0;
+        while (running) {
+            CourseCompletedEvent event = queue.poll();
+            if (event == null) {
+                if (++idle < 100) {
+                    Thread.onSpinWait();
+                } else {
+                    LockSupport.parkNanos(50_000);
+                }
+                continue;
+            }
+            idle = 0;
+            for (EventHandler<CourseCompletedEvent> handler : handlers) {
+                handler.handle(event);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+    }
+}
@@ -0,0 +1,110 @@
+package com.ohgiraffers.event.section02.infra.dispatch;
+
+import com.ohgiraffers.event.section02.aggregate.CourseCompletedEvent;
+import com.ohgiraffers.event.section02.infra.EventHandler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+ * 📌 LMAX Disruptor 방식의 링 버퍼 (다중 생산자, 핸들러마다 소비자 스레드 하나)
+ * - 미리 만든 배열(슬롯)을 순환해서 쓰므로 이벤트를 전달할 때 큐 노드/작업 객체를 만들지 않습니다.
+ * - 생산자: claim(시퀀스 번호 증가)으로 슬롯을 예약 -> 이벤트 기록 -> published[슬롯]에 시퀀스를 써서 공개
+ * - 소비자: 자신의 다음 시퀀스가 공개되면 처리하고 자신의 시퀀스를 올림 (핸들러마다 모든 이벤트를 처리 = 멀티캐스트)
+ * - 가장 느린 소비자가 아직 처리하지 않은 슬롯은 덮어쓰지 않도록 생산자가 기다립니다. (gating)
+ * - 대기 전략: 잠깐 바쁜 대기(onSpinWait) -> yield -> parkNanos (Disruptor의 SleepingWaitStrategy와 비슷)
+ */
+final class RingBufferDispatch implements DispatchStrategy {
+
+    private static final int SIZE = 8192; // 2의 거듭제곱 (시퀀스 & MASK = 슬롯 번호)
+    private static final int MASK = SIZE - 1;
+
+    private final CourseCompletedEvent[] slots = new CourseCompletedEvent[SIZE];
+    private final AtomicLongArray published = new AtomicLongArray(SIZE);
+    private final AtomicLong claimed = new AtomicLong(-1);
+    private final List<Consumer> consumers = new ArrayList<>();
+    private volatile long cachedGatingSequence = -1;
+    private volatile boolean running = true;
+
+    RingBufferDispatch(List<EventHandler<CourseCompletedEvent>> handlers) {
+        for (int i = 0; i < SIZE; i++) {
+            published.set(i, -1);
+        }
+        for (EventHandler<CourseCompletedEvent> handler : handlers) {
+            Consumer consumer = new Consumer(handler);
+            consumers.add(consumer);
+            Thread thread = new Thread(consumer, "ring-consumer-" + consumers.size());
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    @Override
+    public void publish(CourseCompletedEvent event) {
+        long sequence = claimed.incrementAndGet();
+        long wrapPoint = sequence - SIZE;
+        if (wrapPoint > cachedGatingSequence) {
+            int idle = 0;
+            long gating;
+            while (wrapPoint > (gating = minimumConsumerSequence())) {
+                idle = waitFor(idle);
+            }
+            cachedGatingSequence = gating;
+        }
+        int slot = (int) (sequence & MASK);
+        slots[slot] = event;
+        published.set(slot, sequence); // volatile 쓰기: slots[slot] 기록이 소비자에게 먼저 보임
+    }
+
+    private long minimumConsumerSequence() {
+        long minimum = Long.MAX_VALUE;
+        for (Consumer consumer : consumers) {
+            minimum = Math.min(minimum, consumer.sequence);
+        }
+        return minimum;
+    }
+
+    private static int waitFor(int idle) {
+        if (idle < 100) {
+            Thread.onSpinWait();
+        } else if (idle < 200) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(1_000);
+        }
+        return idle + 1;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+    }
+
+    private final class Consumer implements Runnable {
+        private final EventHandler<CourseCompletedEvent> handler;
+        private volatile long sequence = -1;
+
+        private Consumer(EventHandler<CourseCompletedEvent> handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void run() {
+            long next = 0;
+            int idle = 0;
+            while (running) {
+                int slot = (int) (next & MASK);
+                if (published.get(slot) != next) {
+                    idle = waitFor(idle);
+                    continue;
+                }
+                idle = 0;
+                handler.handle(slots[slot]);
+                sequence = next++;
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.ohgiraffers.event.section02.infra.dispatch;
+
+import com.ohgiraffers.event.section02.aggregate.CourseCompletedEvent;
+import com.ohgiraffers.event.section02.infra.EventHandler;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/*
+ * 📌 가상 스레드 팬아웃: 이벤트 x 핸들러마다 가상 스레드 하나 (Executors.newVirtualThreadPerTaskExecutor)
+ * - JDK 21 이상에서만 동작합니다. 이 모듈은 JDK 17로도 빌드하므로 리플렉션으로 찾고, 없으면 isSupported() == false
+ *   (JDK 21 이상으로 gradle dispatchBenchmark를 실행하면 포함)
+ */
+final class VirtualThreadFanOutDispatch implements DispatchStrategy {
+
+    private final ExecutorService executor;
+    private final List<EventHandler<CourseCompletedEvent>> handlers;
+
+    VirtualThreadFanOutDispatch(List<EventHandler<CourseCompletedEvent>> handlers) {
+        this.handlers = List.copyOf(handlers);
+        try {
+            this.executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("가상 스레드는 JDK 21 이상이 필요합니다.", e);
+        }
+    }
+
+    static boolean isSupported() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void publish(CourseCompletedEvent event) {
+        for (EventHandler<CourseCompletedEvent> handler : handlers) {
+            executor.execute(() -> handler.handle(event));
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
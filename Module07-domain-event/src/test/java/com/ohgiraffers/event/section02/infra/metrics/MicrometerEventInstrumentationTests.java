@@ -0,0 +1,59 @@
+package com.ohgiraffers.event.section02.infra.metrics;
+
+import com.ohgiraffers.event.section02.aggregate.CourseCompletedEvent;
+import com.ohgiraffers.event.section02.infra.EventBus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+ * 📌 MicrometerEventInstrumentation Gauge 검증
+ * - 핸들러가 막혀 있는 동안 app.event.handler.in_flight = maxInFlight, app.event.handler.queued = 나머지 이벤트 수
+ * - 모두 처리되면 둘 다 0
+ */
+class MicrometerEventInstrumentationTests {
+
+    private static final Duration AWAIT = Duration.ofSeconds(10);
+
+    @Test
+    void queueGauges_reportQueuedAndInFlightFromStats() throws Exception {
+        int maxInFlight = 2;
+        int events = 10;
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CountDownLatch release = new CountDownLatch(1);
+        try (EventBus bus = new EventBus(4)) {
+            bus.subscribeAfterCommit(CourseCompletedEvent.class, event -> {
+                try {
+                    release.await(AWAIT.toMillis(), TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, maxInFlight);
+            MicrometerEventInstrumentation instrumentation = new MicrometerEventInstrumentation(registry);
+            bus.instrument(instrumentation);
+            instrumentation.gaugeQueues(bus::stats);
+            System.gc(); // 메서드 참조(bus::stats)를 강한 참조로 잡고 있어야 NaN이 되지 않음
+
+            for (long i = 0; i < events; i++) {
+                bus.publish(new CourseCompletedEvent(i, 10L)); // 트랜잭션 없음 -> 바로 전달
+            }
+
+            Gauge queued = registry.get("app.event.handler.queued").tag("event", "CourseCompletedEvent").tag("phase", "AFTER_COMMIT").gauge();
+            Gauge inFlight = registry.get("app.event.handler.in_flight").tag("event", "CourseCompletedEvent").tag("phase", "AFTER_COMMIT").gauge();
+            assertEquals(maxInFlight, inFlight.value());
+            assertEquals(events - maxInFlight, queued.value());
+
+            release.countDown();
+            assertTrue(bus.awaitIdle(AWAIT));
+            assertEquals(0, inFlight.value());
+            assertEquals(0, queued.value());
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package com.ohgiraffers.event.section02.infra.outbox;
+
+import com.ohgiraffers.event.entity.Certificate;
+import com.ohgiraffers.event.section02.aggregate.CourseCompletedEvent;
+import com.ohgiraffers.event.section02.aggregate.CourseCompletedEventCodec;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+ * 📌 OutboxRelay 정확성 검증 (인메모리 H2, MODE=MySQL)
+ * - 배치가 롤백되면 다시 전달하고(at-least-once), 핸들러의 DB 작업은 한 번만 반영됨
+ * - outbox_consumed에 기록된 (핸들러, 멱등성 키)는 다시 append되어도 건너뜀
+ * - 두 워커가 동시에 폴링하면 FOR UPDATE SKIP LOCKED로 서로 다른 행을 나눠 잡음
+ * - 실패한 메시지는 1초부터 두 배씩 늦게 다시 시도하고, maxAttempts번 실패하면 보류
+ * - 구독한 핸들러가 없는 메시지는 삭제하지 않고 보류
+ * - 보관 기간이 지난 outbox_consumed 기록만 삭제
+ *
+ * 💡 start() 없이 processBatch()를 직접 호출해 처리 시점을 테스트가 정합니다.
+ */
+class OutboxRelayTests {
+
+    private static final String HANDLER = "certificate-issuance";
+    private static final Duration AWAIT = Duration.ofSeconds(10);
+
+    private EntityManagerFactory emf;
+    private Outbox outbox;
+    private final Map<Long, Integer> calls = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        emf = Persistence.createEntityManagerFactory("jpa-lecture", Map.of(
+                "javax.persistence.jdbc.driver", "org.h2.Driver",
+                "javax.persistence.jdbc.url", "jdbc:h2:mem:outbox-relay;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "javax.persistence.jdbc.user", "sa",
+                "javax.persistence.jdbc.password", "",
+                "hibernate.hbm2ddl.auto", "create-drop",
+                "hibernate.show_sql", "false",
+                "hibernate.format_sql", "false"));
+        outbox = new Outbox();
+        outbox.register(CourseCompletedEvent.class, new CourseCompletedEventCodec());
+    }
+
+    @AfterEach
+    void tearDown() {
+        emf.close();
+    }
+
+    @Test
+    void rolledBackBatch_redeliversAndIssuesOnce() {
+        // userId 2는 항상 실패 -> 같은 배치의 userId 1도 롤백된 뒤 한 건씩 다시 전달
+        OutboxRelay relay = relay(10, event -> {
+            if (event.getUserId() == 2L) {
+                throw new IllegalStateException("수료증 발급 실패");
+            }
+        });
+        append(new CourseCompletedEvent(1L, 10L), new CourseCompletedEvent(2L, 10L));
+
+        assertEquals(2, relay.processBatch());
+
+        assertEquals(2, calls.get(1L)); // 배치에서 한 번(롤백) + 한 건씩 다시 처리할 때 한 번
+        assertEquals(1, certificates(1L));
+        assertEquals(0, certificates(2L));
+        assertEquals(1, relay.backlog());
+        assertEquals(1, message(2L).getAttempts());
+        OutboxRelayStats stats = relay.stats();
+        assertEquals(1, stats.delivered());
+        assertEquals(1, stats.failed());
+    }
+
+    @Test
+    void alreadyConsumedKey_skipsHandler() {
+        OutboxRelay relay = relay(10, event -> {});
+        append(new CourseCompletedEvent(1L, 10L));
+        assertEquals(1, relay.processBatch());
+
+        // 같은 멱등성 키의 이벤트가 다시 append됨 (발행 측 재시도 등)
+        append(new CourseCompletedEvent(1L, 10L));
+        assertEquals(1, relay.processBatch());
+
+        assertEquals(1, calls.get(1L));
+        assertEquals(1, certificates(1L));
+        assertEquals(0, relay.backlog());
+        assertEquals(1, relay.stats().duplicatesSkipped());
+    }
+
+    @Test
+    void concurrentWorkers_lockDisjointBatches() throws Exception {
+        CountDownLatch firstBatchEntered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Map<Long, String> handledBy = new ConcurrentHashMap<>();
+        OutboxRelay relay = relay(2, event -> {
+            handledBy.put(event.getUserId(), Thread.currentThread().getName());
+            if (event.getUserId() == 1L) {
+                // 첫 워커가 1, 2번 행을 잠근 채로 대기
+                firstBatchEntered.countDown();
+                await(release);
+            }
+        });
+        append(new CourseCompletedEvent(1L, 10L), new CourseCompletedEvent(2L, 10L),
+                new CourseCompletedEvent(3L, 10L), new CourseCompletedEvent(4L, 10L));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "worker-a"));
+        try {
+            Future<Integer> first = executor.submit(relay::processBatch);
+            assertTrue(firstBatchEntered.await(AWAIT.toMillis(), TimeUnit.MILLISECONDS));
+
+            // 잠긴 행을 기다리지 않고 건너뛰어 3, 4번 행을 처리
+            String workerB = Thread.currentThread().getName();
+            assertEquals(2, relay.processBatch());
+            assertEquals(workerB, handledBy.get(3L));
+            assertEquals(workerB, handledBy.get(4L));
+
+            release.countDown();
+            assertEquals(2, first.get(AWAIT.toMillis(), TimeUnit.MILLISECONDS));
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+        assertEquals("worker-a", handledBy.get(1L));
+        assertEquals("worker-a", handledBy.get(2L));
+        assertEquals(0, relay.backlog());
+        assertEquals(4, relay.stats().delivered());
+        for (long userId = 1; userId <= 4; userId++) {
+            assertEquals(1, calls.get(userId));
+        }
+    }
+
+    @Test
+    void failedMessage_retriesWithExponentialBackoff() {
+        OutboxRelay relay = relay(10, event -> {
+            throw new IllegalStateException("수료증 발급 실패");
+        });
+        append(new CourseCompletedEvent(1L, 10L));
+
+        LocalDateTime before = LocalDateTime.now();
+        assertEquals(1, relay.processBatch());
+        LocalDateTime after = LocalDateTime.now();
+        OutboxMessage message = message(1L);
+        assertEquals(1, message.getAttempts());
+        assertTrue(message.getLastError().contains("수료증 발급 실패"), message.getLastError());
+        assertBetween(message.getAvailableAt(), before.plusSeconds(1), after.plusSeconds(1));
+
+        // available_at 전에는 잠그지 않음
+        assertEquals(0, relay.processBatch());
+
+        makeAvailable();
+        before = LocalDateTime.now();
+        assertEquals(1, relay.processBatch());
+        after = LocalDateTime.now();
+        message = message(1L);
+        assertEquals(2, message.getAttempts());
+        assertBetween(message.getAvailableAt(), before.plusSeconds(2), after.plusSeconds(2));
+        assertNull(message.getParkedAt());
+    }
+
+    @Test
+    void maxAttemptsReached_parksUntilRetried() {
+        AtomicBoolean broken = new AtomicBoolean(true);
+        OutboxRelay relay = relay(10, event -> {
+            if (broken.get()) {
+                throw new IllegalStateException("수료증 발급 실패");
+            }
+        });
+        relay.maxAttempts(2);
+        append(new CourseCompletedEvent(1L, 10L));
+
+        assertEquals(1, relay.processBatch());
+        makeAvailable();
+        assertEquals(1, relay.processBatch());
+
+        OutboxMessage message = message(1L);
+        assertEquals(2, message.getAttempts());
+        assertNotNull(message.getParkedAt());
+        assertEquals(0, relay.backlog());
+        assertEquals(1, relay.parked());
+        assertEquals(1, relay.stats().parked());
+
+        // 보류된 메시지는 available_at이 지나도 잠그지 않음
+        makeAvailable();
+        assertEquals(0, relay.processBatch());
+        assertEquals(4, calls.get(1L)); // processBatch마다 배치에서 한 번 + 한 건씩 다시 처리할 때 한 번
+
+        // 원인을 고친 뒤 다시 전달
+        broken.set(false);
+        assertEquals(1, relay.retryParked());
+        assertEquals(1, relay.backlog());
+        assertEquals(1, relay.processBatch());
+        assertEquals(0, relay.backlog());
+        assertEquals(0, relay.parked());
+        assertEquals(1, certificates(1L));
+    }
+
+    @Test
+    void messageWithoutHandler_isParkedNotDeleted() {
+        OutboxRelay relay = new OutboxRelay(emf, outbox, 10, 1, Duration.ofMillis(10));
+        append(new CourseCompletedEvent(1L, 10L));
+
+        assertEquals(1, relay.processBatch());
+
+        OutboxMessage message = message(1L);
+        assertNotNull(message.getParkedAt());
+        assertNotNull(message.getLastError());
+        assertEquals(0, relay.backlog());
+        assertEquals(1, relay.parked());
+        assertEquals(0, relay.stats().delivered());
+
+        // 핸들러를 등록한 뒤 다시 전달
+        relay.subscribe(CourseCompletedEvent.class, HANDLER, (em, event, key) ->
+                em.persist(new Certificate(event.getUserId(), event.getCourseId(), LocalDate.now())));
+        assertEquals(1, relay.retryParked());
+        assertEquals(1, relay.processBatch());
+        assertEquals(0, relay.parked());
+        assertEquals(1, certificates(1L));
+    }
+
+    @Test
+    void purgeConsumed_deletesOnlyRecordsPastRetention() {
+        OutboxRelay relay = relay(10, event -> {});
+        relay.consumedRetention(Duration.ofDays(7));
+        LocalDateTime now = LocalDateTime.now();
+        inTransaction(em -> {
+            em.persist(new OutboxConsumption(HANDLER, "old", now.minusDays(8)));
+            em.persist(new OutboxConsumption(HANDLER, "recent", now.minusDays(6)));
+        });
+
+        assertEquals(1, relay.purgeConsumed());
+
+        EntityManager em = emf.createEntityManager();
+        try {
+            List<String> remaining = em.createQuery("SELECT c.consumptionKey FROM OutboxConsumption c", String.class)
+                    .getResultList();
+            assertEquals(List.of(OutboxConsumption.key(HANDLER, "recent")), remaining);
+        } finally {
+            em.close();
+        }
+    }
+
+    // CertificateIssuanceHandler의 outbox 경로와 같은 작업 (출력 제외) + 호출 횟수 기록
+    private OutboxRelay relay(int batchSize, Consumer<CourseCompletedEvent> beforeIssue) {
+        OutboxRelay relay = new OutboxRelay(emf, outbox, batchSize, 1, Duration.ofMillis(10));
+        relay.subscribe(CourseCompletedEvent.class, HANDLER, (em, event, key) -> {
+            calls.merge(event.getUserId(), 1, Integer::sum);
+            beforeIssue.accept(event);
+            em.persist(new Certificate(event.getUserId(), event.getCourseId(), LocalDate.now()));
+        });
+        return relay;
+    }
+
+    private void append(CourseCompletedEvent... events) {
+        inTransaction(em -> {
+            for (CourseCompletedEvent event : events) {
+                outbox.append(em, event);
+            }
+        });
+    }
+
+    // 재시도 대기 중인 메시지를 바로 전달 대상으로 (backoff 시간을 기다리지 않기 위해)
+    private void makeAvailable() {
+        inTransaction(em -> em.createQuery("UPDATE OutboxMessage m SET m.availableAt = :past")
+                .setParameter("past", LocalDateTime.now().minusSeconds(1))
+                .executeUpdate());
+    }
+
+    private OutboxMessage message(Long userId) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            return em.createQuery("SELECT m FROM OutboxMessage m WHERE m.idempotencyKey = :key", OutboxMessage.class)
+                    .setParameter("key", "course-completed:" + userId + ":10")
+                    .getSingleResult();
+        } finally {
+            em.close();
+        }
+    }
+
+    private long certificates(Long userId) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            return em.createQuery("SELECT COUNT(c) FROM Certificate c WHERE c.userId = :userId", Long.class)
+                    .setParameter("userId", userId)
+                    .getSingleResult();
+        } finally {
+            em.close();
+        }
+    }
+
+    private void inTransaction(Consumer<EntityManager> work) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            work.accept(em);
+            em.getTransaction().commit();
+        } finally {
+            em.close();
+        }
+    }
+
+    private static void assertBetween(LocalDateTime actual, LocalDateTime from, LocalDateTime to) {
+        assertTrue(!actual.isBefore(from) && !actual.isAfter(to), () -> actual + " 이(가) " + from + " ~ " + to + " 밖입니다.");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(AWAIT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.ohgiraffers.event.section02.infra.outbox;
+
+import com.ohgiraffers.event.benchmark.BenchmarkReports;
+import com.ohgiraffers.event.entity.Certificate;
+import com.ohgiraffers.event.entity.Enrollment;
+import com.ohgiraffers.event.section02.aggregate.CourseCompletedEvent;
+import com.ohgiraffers.event.section02.aggregate.CourseCompletedEventCodec;
+import com.ohgiraffers.event.section02.infra.EventBus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.Persistence;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.ohgiraffers.event.benchmark.BenchmarkReports.round;
+
+/*
+ * 📌 수료 처리 + outbox 저장 / OutboxRelay 전달 처리량 측정 (인메모리 H2, MODE=MySQL)
+ * - 부하: 초당 ratePerSecond건의 수료 처리를 durationSeconds 동안 일정한 간격으로 시작 (기본 10,000건/초 x 5초)
+ *   수료 처리 1건 = find + complete() + Events.raise(outbox INSERT) + 커밋 (CourseCompletionService와 같은 작업, 출력 제외)
+ * - 릴레이: relayWorkers개 워커가 batchSize건씩 FOR UPDATE SKIP LOCKED로 나눠 잡아 수료증 발급
+ * - 실행: gradle outboxBenchmark [-Dbenchmark.ratePerSecond=10000 -Dbenchmark.durationSeconds=5 -Dbenchmark.producers=8 -Dbenchmark.relayWorkers=4 -Dbenchmark.batchSize=200]
+ * - 결과: build/reports/outbox-benchmark/report.json
+ *   (달성한 수료 처리율, 수료 지연 p50/p99, 릴레이 전달률, 부하 종료 후 outbox 비우기까지 걸린 시간, 저장~전달 지연)
+ *
+ * 💡 수료 지연은 '예정된 시작 시각'부터 잽니다. 처리가 밀리면 대기 시간까지 지연에 포함됩니다.
+ * 💡 H2는 네트워크 왕복과 디스크 fsync가 없으므로 MySQL보다 훨씬 빠릅니다. 절대값보다 설정(워커 수, 배치 크기)별 비교에 쓰세요.
+ */
+@Tag("benchmark")
+class OutboxThroughputBenchmark {
+
+    private static final int RATE_PER_SECOND = Integer.getInteger("benchmark.ratePerSecond", 10_000);
+    private static final int DURATION_SECONDS = Integer.getInteger("benchmark.durationSeconds", 5);
+    private static final int PRODUCERS = Integer.getInteger("benchmark.producers", 8);
+    private static final int RELAY_WORKERS = Integer.getInteger("benchmark.relayWorkers", 4);
+    private static final int BATCH_SIZE = Integer.getInteger("benchmark.batchSize", 200);
+    private static final String REPORT_PATH = System.getProperty("benchmark.report", "build/reports/outbox-benchmark/report.json");
+    private static final int INSERT_CHUNK = 20_000;
+
+    @Test
+    void benchmarkCompletionAndRelayThroughput() throws Exception {
+        int total = RATE_PER_SECOND * DURATION_SECONDS;
+        EntityManagerFactory emf = Persistence.createEntityManagerFactory("jpa-lecture", Map.of(
+                "javax.persistence.jdbc.driver", "org.h2.Driver",
+                "javax.persistence.jdbc.url", "jdbc:h2:mem:outbox;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "javax.persistence.jdbc.user", "sa",
+                "javax.persistence.jdbc.password", "",
+                "hibernate.hbm2ddl.auto", "create-drop",
+                "hibernate.show_sql", "false",
+                "hibernate.format_sql", "false",
+                "hibernate.connection.pool_size", String.valueOf(PRODUCERS + RELAY_WORKERS + 2)));
+        try {
+            insertEnrollments(emf, total);
+
+            Outbox outbox = new Outbox();
+            outbox.register(CourseCompletedEvent.class, new CourseCompletedEventCodec());
+            EventBus bus = new EventBus(1);
+            bus.useOutbox(outbox);
+
+            // CertificateIssuanceHandler의 outbox 경로와 같은 작업 (출력 제외)
+            OutboxRelay relay = new OutboxRelay(emf, outbox, BATCH_SIZE, RELAY_WORKERS, Duration.ofMillis(10));
+            relay.subscribe(CourseCompletedEvent.class, "certificate-issuance",
+                    (em, event, key) -> em.persist(new Certificate(event.getUserId(), event.getCourseId(), LocalDate.now())));
+            relay.start();
+
+            // 생산자 p는 p, p + PRODUCERS, p + 2 * PRODUCERS ...번째 수료를 예정된 시각에 시작
+            long[] latencies = new long[total];
+            long intervalNanos = 1_000_000_000L / RATE_PER_SECOND;
+            ExecutorService producers = Executors.newFixedThreadPool(PRODUCERS);
+            long begin = System.nanoTime() + 50_000_000L;
+            Future<?>[] futures = new Future<?>[PRODUCERS];
+            for (int p = 0; p < PRODUCERS; p++) {
+                int first = p;
+                futures[p] = producers.submit(() -> complete(emf, bus, first, total, begin, intervalNanos, latencies));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long loadEnd = System.nanoTime();
+            long deliveredDuringLoad = relay.stats().delivered();
+            long backlogAtLoadEnd = relay.backlog();
+            if (!relay.awaitDrained(Duration.ofMinutes(5))) {
+                throw new IllegalStateException("outbox가 비워지지 않았습니다: " + relay.backlog());
+            }
+            long drainEnd = System.nanoTime();
+            relay.close();
+            producers.shutdown();
+            bus.close();
+
+            long certificates = count(emf, "SELECT COUNT(c) FROM Certificate c");
+            if (certificates != total) {
+                throw new IllegalStateException("수료증 수가 다릅니다: " + certificates + " / " + total);
+            }
+
+            Arrays.sort(latencies);
+            double loadSeconds = (loadEnd - begin) / 1e9;
+            OutboxRelayStats stats = relay.stats();
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("offeredPerSecond", RATE_PER_SECOND);
+            report.put("completions", total);
+            report.put("producers", PRODUCERS);
+            report.put("relayWorkers", RELAY_WORKERS);
+            report.put("batchSize", BATCH_SIZE);
+            report.put("completionsPerSecond", round(total / loadSeconds));
+            report.put("completionLatencyMillisP50", round(latencies[total / 2] / 1e6));
+            report.put("completionLatencyMillisP99", round(latencies[(int) (total * 0.99)] / 1e6));
+            report.put("relayDeliveredPerSecondDuringLoad", round(deliveredDuringLoad / loadSeconds));
+            report.put("relayDeliveredPerSecondOverall", round(stats.delivered() / ((drainEnd - begin) / 1e9)));
+            report.put("backlogAtLoadEnd", backlogAtLoadEnd);
+            report.put("drainMillisAfterLoad", round((drainEnd - loadEnd) / 1e6));
+            report.put("relayBatches", stats.batches());
+            report.put("relayFailed", stats.failed());
+            report.put("relayParked", stats.parked());
+            report.put("relayDuplicatesSkipped", stats.duplicatesSkipped());
+            report.put("lagMillisAvg", round(stats.avgLagMillis()));
+            report.put("lagMillisMax", stats.maxLagMillis());
+            report.put("certificates", certificates);
+
+            Path reportPath = BenchmarkReports.write(REPORT_PATH, report);
+            System.out.println("outbox 처리량 측정 결과: " + reportPath);
+        } finally {
+            emf.close();
+        }
+    }
+
+    // 수강 정보 total건 (enrollment_id 1..total, 모두 같은 강좌의 서로 다른 수강생)
+    private static void insertEnrollments(EntityManagerFactory emf, int total) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            for (int from = 1; from <= total; from += INSERT_CHUNK) {
+                em.getTransaction().begin();
+                em.createNativeQuery("INSERT INTO enrollments (user_id, course_id, status) " +
+                                "SELECT X, 1, 'IN_PROGRESS' FROM SYSTEM_RANGE(?, ?)")
+                        .setParameter(1, from)
+                        .setParameter(2, Math.min(from + INSERT_CHUNK - 1, total))
+                        .executeUpdate();
+                em.getTransaction().commit();
+            }
+        } finally {
+            em.close();
+        }
+    }
+
+    private static void complete(EntityManagerFactory emf, EventBus bus, int first, int total,
+                                 long begin, long intervalNanos, long[] latencies) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            for (int i = first; i < total; i += PRODUCERS) {
+                long scheduled = begin + i * intervalNanos;
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                EntityTransaction tx = em.getTransaction();
+                tx.begin();
+                Enrollment enrollment = em.find(Enrollment.class, (long) i + 1);
+                enrollment.complete();
+                bus.publish(em, new CourseCompletedEvent(enrollment.getUserId(), enrollment.getCourseId()));
+                tx.commit();
+                em.clear();
+                latencies[i] = System.nanoTime() - scheduled;
+            }
+        } finally {
+            em.close();
+        }
+    }
+
+    private static long count(EntityManagerFactory emf, String jpql) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            return em.createQuery(jpql, Long.class).getSingleResult();
+        } finally {
+            em.close();
+        }
+    }
+}
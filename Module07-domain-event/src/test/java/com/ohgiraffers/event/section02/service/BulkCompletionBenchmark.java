@@ -0,0 +1,155 @@
+package com.ohgiraffers.event.section02.service;
+
+import com.ohgiraffers.event.benchmark.BenchmarkReports;
+import com.ohgiraffers.event.section02.aggregate.CourseCompletedEvent;
+import com.ohgiraffers.event.section02.aggregate.CourseCompletedEventCodec;
+import com.ohgiraffers.event.section02.aggregate.CourseCompletionBatchEvent;
+import com.ohgiraffers.event.section02.aggregate.CourseCompletionBatchEventCodec;
+import com.ohgiraffers.event.section02.handler.BatchCertificateIssuanceHandler;
+import com.ohgiraffers.event.section02.handler.CertificateIssuanceHandler;
+import com.ohgiraffers.event.section02.infra.Events;
+import com.ohgiraffers.event.section02.infra.outbox.Outbox;
+import com.ohgiraffers.event.section02.infra.outbox.OutboxRelay;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+import static com.ohgiraffers.event.benchmark.BenchmarkReports.round;
+
+/*
+ * 📌 대량 수료 처리 비교: completeCourse 반복 vs completeCourses (인메모리 H2, MODE=MySQL, 기본 20,000건)
+ * - 반복: 수강 ID마다 트랜잭션 { completeCourse(id) } + CourseCompletedEvent outbox -> CertificateIssuanceHandler(건별 persist)
+ * - 대량: completeCourses(ids) (청크마다 잠금 조회 + 벌크 UPDATE + CourseCompletionBatchEvent outbox)
+ *         -> BatchCertificateIssuanceHandler(JDBC 배치 INSERT)
+ * - 실행: gradle bulkCompletionBenchmark [-Dbenchmark.rows=20000 -Dbenchmark.chunkSize=500 -Dbenchmark.parallelism=2]
+ * - 결과: build/reports/bulk-completion-benchmark/report.json
+ *   (방식별 수료 처리 시간/초당 건수, 수료증 발급까지 끝난 시간, 실행한 트랜잭션 수)
+ *
+ * 💡 두 방식 모두 같은 outbox 릴레이(워커 1개)로 수료증을 발급하고, 수료증이 모두 발급될 때까지 잽니다.
+ * 💡 completeCourse와 핸들러의 System.out 출력은 측정 중 버립니다.
+ * 💡 처음 실행하는 JPQL은 파싱/JIT 비용이 커서, 방식마다 WARMUP_ROWS건으로 한 번 실행한 뒤 측정합니다.
+ * 💡 측정 결과(1 vCPU, 20,000건): 반복 약 800건/초(트랜잭션 약 20,800개) / 대량 약 20,000건/초(트랜잭션 약 90개), 수료증 발급까지 25.5초 -> 1.0초
+ */
+@Tag("benchmark")
+class BulkCompletionBenchmark {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 20_000);
+    private static final int CHUNK_SIZE = Integer.getInteger("benchmark.chunkSize", 500);
+    private static final int PARALLELISM = Integer.getInteger("benchmark.parallelism", 2);
+    private static final int WARMUP_ROWS = 2_000;
+    private static final String REPORT_PATH = System.getProperty("benchmark.report", "build/reports/bulk-completion-benchmark/report.json");
+
+    @Test
+    void benchmarkLoopVersusBulk() throws Exception {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("rows", ROWS);
+        report.put("chunkSize", CHUNK_SIZE);
+        report.put("parallelism", PARALLELISM);
+        for (int rows : new int[]{WARMUP_ROWS, ROWS}) {
+            List<Long> ids = LongStream.rangeClosed(1, rows).boxed().toList();
+            Map<String, Object> loop = measure("loop", rows, (outbox, relay, emf) -> {
+                outbox.register(CourseCompletedEvent.class, new CourseCompletedEventCodec());
+                relay.subscribe(CourseCompletedEvent.class, "certificate-issuance", new CertificateIssuanceHandler(emf));
+            }, em -> {
+                CourseCompletionService service = new CourseCompletionService(em);
+                for (Long id : ids) {
+                    em.getTransaction().begin();
+                    service.completeCourse(id);
+                    em.getTransaction().commit();
+                    em.clear();
+                }
+            });
+            Map<String, Object> bulk = measure("bulk", rows, (outbox, relay, emf) -> {
+                outbox.register(CourseCompletionBatchEvent.class, new CourseCompletionBatchEventCodec());
+                relay.subscribe(CourseCompletionBatchEvent.class, "batch-certificate-issuance", new BatchCertificateIssuanceHandler(emf));
+            }, em -> {
+                BulkCompletionResult result = new CourseCompletionService(em, CHUNK_SIZE, PARALLELISM).completeCourses(ids);
+                if (!result.isComplete() || result.completed() != rows) {
+                    throw new IllegalStateException("대량 수료 처리 결과가 다릅니다: " + result);
+                }
+            });
+            if (rows == ROWS) { // 워밍업 결과는 버림
+                report.put("loop", loop);
+                report.put("bulk", bulk);
+            }
+        }
+
+        Path reportPath = BenchmarkReports.write(REPORT_PATH, report);
+        System.out.println("대량 수료 처리 비교 결과: " + reportPath);
+    }
+
+    interface Wiring {
+        void wire(Outbox outbox, OutboxRelay relay, EntityManagerFactory emf);
+    }
+
+    // 방식 하나 측정 (실행마다 새 DB)
+    private static Map<String, Object> measure(String name, int rows, Wiring wiring, Consumer<EntityManager> completion) throws Exception {
+        EntityManagerFactory emf = Persistence.createEntityManagerFactory("jpa-lecture", Map.of(
+                "javax.persistence.jdbc.driver", "org.h2.Driver",
+                "javax.persistence.jdbc.url", "jdbc:h2:mem:bulk-" + name + "-" + rows + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "javax.persistence.jdbc.user", "sa",
+                "javax.persistence.jdbc.password", "",
+                "hibernate.hbm2ddl.auto", "create-drop",
+                "hibernate.show_sql", "false",
+                "hibernate.format_sql", "false",
+                "hibernate.generate_statistics", "true"));
+        PrintStream out = System.out;
+        EntityManager em = emf.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            em.createNativeQuery("INSERT INTO enrollments (user_id, course_id, status) " +
+                            "SELECT X, 1, 'IN_PROGRESS' FROM SYSTEM_RANGE(1, ?)")
+                    .setParameter(1, rows)
+                    .executeUpdate();
+            em.getTransaction().commit();
+
+            Outbox outbox = new Outbox();
+            OutboxRelay relay = new OutboxRelay(emf, outbox, 100, 1, Duration.ofMillis(10));
+            wiring.wire(outbox, relay, emf);
+            Events.useOutbox(outbox);
+            relay.start();
+            org.hibernate.stat.Statistics statistics = emf.unwrap(org.hibernate.SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            long begin = System.nanoTime();
+            completion.accept(em);
+            long completed = System.nanoTime();
+            if (!relay.awaitDrained(Duration.ofMinutes(10))) {
+                throw new IllegalStateException("outbox가 비워지지 않았습니다: " + relay.backlog());
+            }
+            long issued = System.nanoTime();
+            System.setOut(out);
+            relay.close();
+
+            long certificates = em.createQuery("SELECT COUNT(c) FROM Certificate c", Long.class).getSingleResult();
+            if (certificates != rows) {
+                throw new IllegalStateException("수료증 수가 다릅니다: " + certificates + " / " + rows);
+            }
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("completionMillis", round((completed - begin) / 1e6));
+            result.put("completionsPerSecond", round(rows / ((completed - begin) / 1e9)));
+            result.put("certificatesIssuedMillis", round((issued - begin) / 1e6));
+            result.put("transactions", statistics.getTransactionCount());
+            result.put("prepareStatements", statistics.getPrepareStatementCount());
+            return result;
+        } finally {
+            System.setOut(out);
+            Events.useOutbox(null);
+            em.close();
+            emf.close();
+        }
+    }
+}
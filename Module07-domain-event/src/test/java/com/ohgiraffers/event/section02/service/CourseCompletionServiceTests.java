@@ -0,0 +1,124 @@
+package com.ohgiraffers.event.section02.service;
+
+import com.ohgiraffers.event.section02.aggregate.CourseCompletedEvent;
+import com.ohgiraffers.event.section02.aggregate.CourseCompletionBatchEvent;
+import com.ohgiraffers.event.section02.aggregate.CourseCompletionBatchEventCodec;
+import com.ohgiraffers.event.section02.handler.BatchCertificateIssuanceHandler;
+import com.ohgiraffers.event.section02.infra.Events;
+import com.ohgiraffers.event.section02.infra.outbox.Outbox;
+import com.ohgiraffers.event.section02.infra.outbox.OutboxMessage;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+ * 📌 대량 수료 처리(completeCourses)의 묶음 이벤트 전달 검증 (인메모리 H2, MODE=MySQL)
+ * - CourseCompletionBatchEvent를 받을 곳이 없으면 수료 처리 전에 실패 (수료만 되고 수료증이 없는 상태를 만들지 않음)
+ * - 커밋 후 핸들러(BatchCertificateIssuanceHandler)를 등록하면 수료한 만큼 수료증 발급
+ * - 청크 하나(묶음 이벤트 하나)는 outbox.payload 컬럼에 들어가는 크기까지만 허용
+ */
+class CourseCompletionServiceTests {
+
+    private static final Duration AWAIT = Duration.ofSeconds(10);
+
+    private EntityManagerFactory emf;
+    private EntityManager em;
+
+    @BeforeEach
+    void setUp() {
+        emf = Persistence.createEntityManagerFactory("jpa-lecture", Map.of(
+                "javax.persistence.jdbc.driver", "org.h2.Driver",
+                "javax.persistence.jdbc.url", "jdbc:h2:mem:course-completion;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "javax.persistence.jdbc.user", "sa",
+                "javax.persistence.jdbc.password", "",
+                "hibernate.hbm2ddl.auto", "create-drop",
+                "hibernate.show_sql", "false",
+                "hibernate.format_sql", "false"));
+        em = emf.createEntityManager();
+        em.getTransaction().begin();
+        em.createNativeQuery("INSERT INTO enrollments (user_id, course_id, status) " +
+                        "SELECT X, 1, 'IN_PROGRESS' FROM SYSTEM_RANGE(1, 3)")
+                .executeUpdate();
+        em.getTransaction().commit();
+        Events.clearHandlers();
+        Events.useOutbox(null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        Events.clearHandlers();
+        em.close();
+        emf.close();
+    }
+
+    @Test
+    void completeCourses_withoutBatchEventRoute_failsBeforeCompleting() {
+        CourseCompletionService service = new CourseCompletionService(em, 2, 1);
+
+        assertThrows(IllegalStateException.class, () -> service.completeCourses(List.of(1L, 2L, 3L)));
+
+        assertEquals(0, count("SELECT COUNT(e) FROM Enrollment e WHERE e.status = 'COMPLETED'"));
+    }
+
+    @Test
+    void completeCourses_withAfterCommitHandler_issuesCertificates() throws Exception {
+        Events.addAfterCommitHandler(CourseCompletionBatchEvent.class, new BatchCertificateIssuanceHandler(emf), 2);
+        CourseCompletionService service = new CourseCompletionService(em, 2, 1);
+
+        BulkCompletionResult result = service.completeCourses(List.of(1L, 2L, 3L));
+
+        assertTrue(result.isComplete());
+        assertEquals(3, result.completed());
+        assertTrue(Events.awaitIdle(AWAIT));
+        assertEquals(3, count("SELECT COUNT(c) FROM Certificate c"));
+    }
+
+    @Test
+    void constructor_withChunkLargerThanOnePayload_fails() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new CourseCompletionService(em, CourseCompletionBatchEventCodec.MAX_COMPLETIONS + 1, 1));
+        new CourseCompletionService(em, CourseCompletionBatchEventCodec.MAX_COMPLETIONS, 1);
+    }
+
+    @Test
+    void maxChunkPayload_fitsOutboxColumn_andLargerIsRejectedBeforeInsert() {
+        // 최악의 경우: ID가 모두 가장 긴 Long 값(-9223372036854775808, 20자)
+        CourseCompletedEvent longest = new CourseCompletedEvent(Long.MIN_VALUE, Long.MIN_VALUE);
+        String batchId = UUID.randomUUID().toString();
+        CourseCompletionBatchEventCodec codec = new CourseCompletionBatchEventCodec();
+        Outbox outbox = new Outbox();
+        outbox.register(CourseCompletionBatchEvent.class, codec);
+
+        CourseCompletionBatchEvent largest = new CourseCompletionBatchEvent(batchId,
+                Collections.nCopies(CourseCompletionBatchEventCodec.MAX_COMPLETIONS, longest));
+        CourseCompletionBatchEvent oversized = new CourseCompletionBatchEvent(batchId,
+                Collections.nCopies(CourseCompletionBatchEventCodec.MAX_COMPLETIONS + 1, longest));
+
+        assertTrue(codec.encode(largest).length() <= OutboxMessage.MAX_PAYLOAD_LENGTH);
+        assertTrue(codec.encode(oversized).length() > OutboxMessage.MAX_PAYLOAD_LENGTH);
+        em.getTransaction().begin();
+        try {
+            assertThrows(IllegalArgumentException.class, () -> outbox.append(em, oversized));
+        } finally {
+            em.getTransaction().rollback();
+        }
+    }
+
+    private long count(String jpql) {
+        em.clear();
+        return em.createQuery(jpql, Long.class).getSingleResult();
+    }
+}
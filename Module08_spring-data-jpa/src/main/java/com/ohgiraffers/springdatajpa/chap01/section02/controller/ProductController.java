@@ -2,6 +2,7 @@ package com.ohgiraffers.springdatajpa.chap01.section02.controller;
 
 import com.ohgiraffers.springdatajpa.chap01.section02.service.ProductService;
 import com.ohgiraffers.springdatajpa.common.Product;
+import com.ohgiraffers.springdatajpa.common.ProductResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
@@ -159,12 +160,12 @@ public class ProductController {
     // GET /products/{productId} 요청 처리 핸들러
     @GetMapping("/products/{productId}") // URL 경로의 일부를 변수({productId})로 사용
     @ResponseBody
-    public Product findProductById(@PathVariable("productId") Integer productId) { // @PathVariable로 경로 변수 값 받기
+    public ProductResponse findProductById(@PathVariable("productId") Integer productId) { // @PathVariable로 경로 변수 값 받기
         System.out.println("\nController - findProductById 요청 수신: productId = " + productId);
         // 1. Service 호출
         Product product = productService.findProductById(productId);
         System.out.println("Controller - 응답할 상품 정보: " + product);
-        // 2. 결과 반환 (Product 객체가 JSON으로 변환됨)
-        return product;
+        // 2. 결과 반환 (엔티티 대신 응답 DTO로 변환 -> JSON 직렬화 중에는 DB 커넥션을 붙잡지 않음)
+        return ProductResponse.from(product);
     }
 }
\ No newline at end of file
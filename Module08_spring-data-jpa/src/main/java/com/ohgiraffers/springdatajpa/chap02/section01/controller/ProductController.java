@@ -3,14 +3,17 @@ package com.ohgiraffers.springdatajpa.chap02.section01.controller;
 
 import com.ohgiraffers.springdatajpa.chap02.section01.service.ProductService; // ✅ Chap02의 Service 임포트
 import com.ohgiraffers.springdatajpa.common.Product;
+import com.ohgiraffers.springdatajpa.common.ProductRequest;
+import com.ohgiraffers.springdatajpa.common.ProductResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*; // GetMapping, PathVariable 등 임포트
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 /*
  * =====================================================================================
@@ -22,17 +25,20 @@ import java.util.stream.Collectors;
  * 이것이 바로 레이어 분리의 힘입니다 💪
  * - `@RestController`를 사용하여 모든 핸들러 메서드의 반환 값이 HTTP 응답 본문(@ResponseBody)이 되도록 합니다.
  * (JSON/XML 등으로 자동 변환)
+ * - 요청/응답 본문은 엔티티 대신 DTO(ProductRequest / ProductResponse)를 사용합니다.
+ * (open-in-view=false: 서비스 트랜잭션이 끝나면 커넥션을 반납하고, JSON 직렬화는 커넥션 없이 DTO로 수행)
  * =====================================================================================
  */
 @RestController("chap02-section01-controller") // @Controller + @ResponseBody
 @RequestMapping("/chap02/section01/products") // 이 컨트롤러의 모든 핸들러 메서드는 '/products' 경로 하위에 매핑됨
 public class ProductController {
 
+    private static final int MAX_BULK_SIZE = 10_000; // 대량 등록 요청 1회당 최대 건수
+
     private final ProductService productService; // ✅ Service 계층 의존
 
     @Autowired
     public ProductController(ProductService productService) {
-        System.out.println("ProductController(Chap02) 생성: ProductService(Chap02) 주입됨");
         this.productService = productService;
     }
 
@@ -44,16 +50,13 @@ public class ProductController {
      * @return 조회된 상품 정보 (JSON) 또는 404 Not Found
      */
     @GetMapping("/{productId}") // 예: /products/1
-    public ResponseEntity<Product> findProductById(@PathVariable("productId") Integer productId) {
-        System.out.println("\nController(Chap02) - GET /products/" + productId);
+    public ResponseEntity<ProductResponse> findProductById(@PathVariable("productId") Integer productId) {
         try {
             Product product = productService.findProductById(productId);
-            System.out.println("Controller(Chap02) - 응답 데이터: " + product);
-            // ResponseEntity.ok(): HTTP 200 OK 상태와 함께 응답 본문에 product 객체를 담아 반환
-            return ResponseEntity.ok(product);
+            // ResponseEntity.ok(): HTTP 200 OK 상태와 함께 응답 본문에 상품 정보를 담아 반환
+            return ResponseEntity.ok(ProductResponse.from(product));
         } catch (IllegalArgumentException e) {
             // Service에서 상품을 찾지 못해 예외 발생 시
-            System.err.println("Controller(Chap02) - 상품 조회 실패: " + e.getMessage());
             // ResponseEntity.notFound().build(): HTTP 404 Not Found 상태 반환
             return ResponseEntity.notFound().build();
         }
@@ -64,11 +67,24 @@ public class ProductController {
      * @return 모든 상품 목록 (JSON 배열)
      */
     @GetMapping
-    public ResponseEntity<List<Product>> findAllProducts() {
-        System.out.println("\nController(Chap02) - GET /products");
+    public ResponseEntity<List<ProductResponse>> findAllProducts() {
         List<Product> products = productService.findAllProducts();
-        System.out.println("Controller(Chap02) - 응답 데이터 (상품 수): " + products.size());
-        return ResponseEntity.ok(products);
+        return ResponseEntity.ok(ProductResponse.fromAll(products));
+    }
+
+    /**
+     * 📌 전체 상품 스트리밍 내보내기 (GET /products/export)
+     * - 응답 형식: NDJSON (application/x-ndjson, 한 줄에 상품 JSON 하나)
+     * - StreamingResponseBody는 요청 스레드를 반납한 뒤 별도 스레드에서 응답 본문을 씁니다.
+     *   Service가 DB에서 읽는 즉시 응답으로 흘려보내므로, 전체 목록을 힙에 올리지 않습니다.
+     * @return 상품 목록 스트림 (NDJSON)
+     */
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportAllProducts() {
+        StreamingResponseBody body = productService::exportAllProducts;
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
     }
 
     /**
@@ -78,12 +94,7 @@ public class ProductController {
      */
     @GetMapping("/cheap") // 예: /products/cheap?maxPrice=10000
     public ResponseEntity<List<String>> findCheapProductNames(@RequestParam("maxPrice") Integer maxPrice) {
-        System.out.println("\nController(Chap02) - GET /products/cheap?maxPrice=" + maxPrice);
-        List<Product> cheapProducts = productService.findProductsCheaperThan(maxPrice);
-        List<String> productNames = cheapProducts.stream()
-                .map(Product::getProductName)
-                .collect(Collectors.toList());
-        System.out.println("Controller(Chap02) - 응답 데이터 (상품명 목록): " + productNames);
+        List<String> productNames = productService.findProductNamesCheaperThan(maxPrice);
         return ResponseEntity.ok(productNames);
     }
 
@@ -91,18 +102,32 @@ public class ProductController {
 
     /**
      * 📌 새로운 상품 등록 (POST /products)
-     * @param newProduct 요청 본문(JSON)에서 변환된 Product 객체
+     * @param newProduct 요청 본문(JSON)에서 변환된 등록 요청 (productName, price, stock)
      * @return 생성된 상품 정보 (JSON)와 HTTP 201 Created 상태
      */
     @PostMapping // HTTP POST 요청 처리
-    public ResponseEntity<Product> createProduct(@RequestBody Product newProduct) {
-        // 💡 @RequestBody: 요청 본문의 JSON 데이터를 Product 객체로 변환해줍니다.
-        System.out.println("\nController(Chap02) - POST /products, 요청 본문: " + newProduct);
-        Product createdProduct = productService.createProduct(newProduct);
-        System.out.println("Controller(Chap02) - 응답 데이터 (생성된 상품): " + createdProduct);
+    public ResponseEntity<ProductResponse> createProduct(@RequestBody ProductRequest newProduct) {
+        // 💡 @RequestBody: 요청 본문의 JSON 데이터를 ProductRequest 객체로 변환해줍니다.
+        Product createdProduct = productService.createProduct(newProduct.toEntity());
         // ResponseEntity.status(HttpStatus.CREATED): HTTP 201 Created 상태 설정
-        // .body(createdProduct): 응답 본문에 생성된 상품 정보 포함
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdProduct);
+        // .body(...): 응답 본문에 생성된 상품 정보 포함
+        return ResponseEntity.status(HttpStatus.CREATED).body(ProductResponse.from(createdProduct));
+    }
+
+    /**
+     * 📌 여러 상품 한 번에 등록 (POST /products/bulk)
+     * @param newProducts 요청 본문(JSON 배열)에서 변환된 등록 요청 목록 (최대 10,000건)
+     * @return 등록된 상품 수와 HTTP 201 Created 상태
+     *         (빈 목록, 최대 건수 초과, null 항목, 상품명/가격이 없는 항목이 있으면 400 Bad Request, 하나도 등록하지 않음)
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<Integer> createProducts(@RequestBody List<ProductRequest> newProducts) {
+        if (newProducts.isEmpty() || newProducts.size() > MAX_BULK_SIZE
+                || newProducts.stream().anyMatch(request -> request == null || !request.hasRequiredFields())) {
+            return ResponseEntity.badRequest().build();
+        }
+        int createdCount = productService.createProducts(newProducts.stream().map(ProductRequest::toEntity).toList());
+        return ResponseEntity.status(HttpStatus.CREATED).body(createdCount);
     }
 
     // === 수정 (Update) ===
@@ -110,25 +135,22 @@ public class ProductController {
     /**
      * 📌 특정 상품 정보 수정 (PUT /products/{productId})
      * @param productId 수정할 상품의 ID (URL 경로 변수)
-     * @param updatedProductInfo 요청 본문(JSON)에서 변환된 수정할 정보가 담긴 Product 객체
+     * @param updatedProductInfo 요청 본문(JSON)에서 변환된 수정할 정보 (productName, price)
      * @return 수정된 상품 정보 (JSON) 또는 404 Not Found
      */
     @PutMapping("/{productId}") // HTTP PUT 요청 처리, 예: /products/1
-    public ResponseEntity<Product> updateProduct(@PathVariable("productId") Integer productId,
-                                                 @RequestBody Product updatedProductInfo) {
-        System.out.println("\nController(Chap02) - PUT /products/" + productId + ", 요청 본문: " + updatedProductInfo);
+    public ResponseEntity<ProductResponse> updateProduct(@PathVariable("productId") Integer productId,
+                                                         @RequestBody ProductRequest updatedProductInfo) {
         try {
             // Service 메서드는 수정된 엔티티를 반환하도록 구현됨 (변경 감지 활용)
             Product updatedProduct = productService.updateProduct(
                     productId,
-                    updatedProductInfo.getProductName(), // 요청 본문에서 새 이름 추출
-                    updatedProductInfo.getPrice()        // 요청 본문에서 새 가격 추출
+                    updatedProductInfo.productName(), // 요청 본문에서 새 이름 추출
+                    updatedProductInfo.price()        // 요청 본문에서 새 가격 추출
             );
-            System.out.println("Controller(Chap02) - 응답 데이터 (수정된 상품): " + updatedProduct);
-            return ResponseEntity.ok(updatedProduct);
+            return ResponseEntity.ok(ProductResponse.from(updatedProduct));
         } catch (IllegalArgumentException e) {
             // Service에서 수정할 상품을 찾지 못한 경우
-            System.err.println("Controller(Chap02) - 상품 수정 실패: " + e.getMessage());
             return ResponseEntity.notFound().build();
         }
     }
@@ -142,15 +164,12 @@ public class ProductController {
      */
     @DeleteMapping("/{productId}") // HTTP DELETE 요청 처리, 예: /products/1
     public ResponseEntity<Void> deleteProduct(@PathVariable("productId") Integer productId) {
-        System.out.println("\nController(Chap02) - DELETE /products/" + productId);
         try {
             productService.deleteProduct(productId);
-            System.out.println("Controller(Chap02) - 상품 삭제 성공");
             // ResponseEntity.noContent().build(): HTTP 204 No Content 상태 (성공적으로 처리했지만 응답 본문 없음)
             return ResponseEntity.noContent().build();
         } catch (IllegalArgumentException e) {
             // Service에서 삭제할 상품을 찾지 못한 경우
-            System.err.println("Controller(Chap02) - 상품 삭제 실패: " + e.getMessage());
             return ResponseEntity.notFound().build();
         }
     }
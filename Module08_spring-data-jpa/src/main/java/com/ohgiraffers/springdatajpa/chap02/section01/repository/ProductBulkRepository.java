@@ -0,0 +1,21 @@
+package com.ohgiraffers.springdatajpa.chap02.section01.repository;
+
+import com.ohgiraffers.springdatajpa.common.Product;
+
+import java.util.List;
+
+/*
+ * 📌 ProductBulkRepository: 사용자 정의 리포지토리(Custom Repository) 조각(Fragment)
+ * - JpaRepository가 제공하지 않는 기능(대량 INSERT)을 직접 구현할 때 사용하는 인터페이스입니다.
+ * - ProductRepository가 이 인터페이스를 함께 상속하면, Spring Data JPA가
+ *   '인터페이스 이름 + Impl' 클래스(ProductBulkRepositoryImpl)를 찾아 구현으로 연결해 줍니다.
+ */
+public interface ProductBulkRepository {
+
+    /**
+     * 📌 여러 상품을 JDBC 배치(batch)로 한 번에 저장
+     * @param products 저장할 상품 목록
+     * @return 저장된 행 수
+     */
+    int insertAllInBatch(List<Product> products);
+}
@@ -0,0 +1,63 @@
+package com.ohgiraffers.springdatajpa.chap02.section01.repository;
+
+import com.ohgiraffers.springdatajpa.common.Product;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/*
+ * 📌 ProductBulkRepositoryImpl: ProductBulkRepository의 구현
+ *
+ * 💡 왜 save()를 반복하지 않고 JDBC 배치를 쓰나요?
+ * - Product의 ID 전략은 IDENTITY(auto_increment)입니다. Hibernate는 INSERT를 실행해야만 ID를 알 수 있으므로
+ *   IDENTITY 엔티티는 hibernate.jdbc.batch_size 설정이 있어도 INSERT를 '한 건씩' 즉시 실행합니다.
+ * - JdbcTemplate.batchUpdate()는 INSERT 문을 BATCH_SIZE 단위로 묶어 전송하고,
+ *   MySQL 드라이버의 rewriteBatchedStatements=true 옵션이 이를 다중 VALUES INSERT 한 문장으로 바꿔줍니다.
+ * - @Transactional 서비스 안에서 호출하면 JPA 트랜잭션과 같은 커넥션/트랜잭션에 참여합니다.
+ *
+ * 🚨 주의: 영속성 컨텍스트를 거치지 않으므로 저장된 엔티티는 관리(managed) 상태가 아니며, 생성된 ID도 채워지지 않습니다.
+ *    또한 Hibernate의 쿼리 캐시 무효화도 일어나지 않으므로 evictQueryCache()로 직접 비웁니다.
+ */
+public class ProductBulkRepositoryImpl implements ProductBulkRepository {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final String INSERT_SQL = "INSERT INTO tbl_product (product_name, price, stock, version) VALUES (?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SessionFactory sessionFactory;
+
+    public ProductBulkRepositoryImpl(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    @Override
+    public int insertAllInBatch(List<Product> products) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, products, BATCH_SIZE, (ps, product) -> {
+            ps.setString(1, product.getProductName());
+            ps.setInt(2, product.getPrice());
+            ps.setInt(3, product.getStock() == null ? 0 : product.getStock()); // stock 생략 시 엔티티 기본값(0)과 동일
+        });
+        evictQueryCache();
+        // rewriteBatchedStatements 사용 시 드라이버는 행별 결과 대신 SUCCESS_NO_INFO(-2)를 돌려줄 수 있으므로 입력 건수를 반환합니다.
+        return products.size();
+    }
+
+    // JDBC로 직접 INSERT한 내용은 Hibernate가 모르므로, tbl_product 조회 결과를 담은 쿼리 캐시를 직접 비웁니다.
+    // 커밋 전에 다른 트랜잭션이 이전 결과를 다시 캐시할 수 있으므로 커밋 후에도 한 번 더 비웁니다.
+    private void evictQueryCache() {
+        sessionFactory.getCache().evictQueryRegions();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    sessionFactory.getCache().evictQueryRegions();
+                }
+            });
+        }
+    }
+}
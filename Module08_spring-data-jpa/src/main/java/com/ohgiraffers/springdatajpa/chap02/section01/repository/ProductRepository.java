@@ -1,9 +1,17 @@
 package com.ohgiraffers.springdatajpa.chap02.section01.repository;
 
 import com.ohgiraffers.springdatajpa.common.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 
 /*
  * =====================================================================================
@@ -126,7 +134,7 @@ import org.springframework.stereotype.Repository;
  * 데이터 기술(JPA, JDBC, MyBatis 등)로부터 '완전히 분리(decoupled)'됩니다.
  */
 @Repository("chap01-section01-repository")
-public interface ProductRepository extends JpaRepository<Product, Integer> {
+public interface ProductRepository extends JpaRepository<Product, Integer>, ProductBulkRepository {
     // ✨ 비어있어도 괜찮습니다! ✨
     // 기본적인 CRUD 메서드는 이미 JpaRepository 인터페이스에 모두 정의되어 있습니다.
     // - save(S entity): 엔티티 저장 (Insert or Update)
@@ -140,4 +148,40 @@ public interface ProductRepository extends JpaRepository<Product, Integer> {
     // 💡 만약 Product 엔티티에만 특화된 조회 메서드가 필요하다면?
     // -> Chap 03에서 배울 '쿼리 메소드' 또는 '@Query'를 사용하여 여기에 직접 선언할 수 있습니다.
     // 예: List<Product> findByProductNameContaining(String namePart);
+
+    // 💡 ProductBulkRepository를 함께 상속하여 직접 구현한 대량 저장 기능(insertAllInBatch)도 사용할 수 있습니다.
+
+    /**
+     * 📌 특정 가격 이하 상품의 '이름'만 조회
+     * JPQL: SELECT p.productName FROM Product p WHERE p.price <= :maxPrice
+     *
+     * 💡 findAll() 후 자바 스트림으로 필터링하면 테이블 전체를 읽어 엔티티로 만든 뒤 대부분을 버리게 됩니다.
+     *    조건(WHERE)은 DB에서 처리하고, 필요한 컬럼(product_name)만 SELECT 하면
+     *    전송량과 힙 사용량이 '결과 건수'에만 비례합니다. (price 컬럼 인덱스 idx_product_price 사용)
+     *
+     * @param maxPrice 최대 가격 (이 가격 이하 상품만 조회)
+     * @return 조건에 맞는 상품명 목록
+     */
+    @Query("SELECT p.productName FROM Product p WHERE p.price <= :maxPrice")
+    List<String> findProductNamesByMaxPrice(@Param("maxPrice") Integer maxPrice);
+
+    /**
+     * 📌 전체 상품을 Stream으로 조회 (대용량 내보내기용)
+     * JPQL: SELECT p FROM Product p ORDER BY p.productId
+     *
+     * 💡 List 대신 Stream을 반환하면 결과를 한 번에 메모리에 올리지 않고, JDBC ResultSet 커서를 따라
+     *    한 행씩 읽어옵니다.
+     *    - HINT_FETCH_SIZE = Integer.MIN_VALUE: MySQL 드라이버(Connector/J)의 행 단위 스트리밍 결과
+     *      (URL에 useCursorFetch=true를 넣지 않고 이 조회에만 적용 -> 다른 조회는 기존처럼 결과를 한 번에 받음)
+     *    - HINT_READ_ONLY: 스냅샷을 만들지 않아 변경 감지 비용과 메모리를 줄임
+     * 🚨 주의: Stream은 반드시 트랜잭션 안에서 소비하고, try-with-resources로 닫아야 합니다.
+     * 🚨 스트리밍 중에는 같은 커넥션으로 다른 SQL을 실행할 수 없습니다. (지연 로딩 등 추가 조회 금지, 다 읽거나 닫은 뒤 가능)
+     *    H2 등 음수 fetch size를 허용하지 않는 DB에서는 이 힌트 값을 양수(예: 1000)로 바꿔야 합니다.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"), // Integer.MIN_VALUE
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Product p ORDER BY p.productId")
+    Stream<Product> streamAllProducts();
 }
@@ -1,13 +1,23 @@
 package com.ohgiraffers.springdatajpa.chap02.section01.service;
 
 import com.ohgiraffers.springdatajpa.chap02.section01.repository.ProductRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.ohgiraffers.springdatajpa.common.Product;
+import com.ohgiraffers.springdatajpa.common.ProductResponse;
+import jakarta.persistence.EntityManager;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional; // Spring의 Transactional 사용
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /*
  * =====================================================================================
@@ -117,14 +127,20 @@ import java.util.Optional;
 @Service("chap02-section01-service") // 비즈니스 로직 컴포넌트
 public class ProductService {
 
+    // 내보내기(export) 시 이 건수마다 출력 버퍼를 비우고 영속성 컨텍스트를 초기화합니다.
+    private static final int EXPORT_CLEAR_INTERVAL = 1000;
+
     private final ProductRepository productRepository; // ✨ Spring Data JPA Repository 주입!
+    private final EntityManager entityManager;         // 스트리밍 중 영속성 컨텍스트 정리(clear)용
+    private final ObjectMapper objectMapper;           // 스트리밍 JSON 직렬화용
 
     // 📌 생성자 주입 (@Autowired 생략 가능)
     // Spring 컨테이너가 ProductRepository 인터페이스의 자동 생성된 구현체(Bean)를 찾아 주입합니다.
     @Autowired
-    public ProductService(ProductRepository productRepository) {
-        System.out.println("ProductService 생성: ProductRepository 주입됨 = " + productRepository.getClass().getName()); // 주입된 객체의 실제 클래스 이름 확인
+    public ProductService(ProductRepository productRepository, EntityManager entityManager, ObjectMapper objectMapper) {
         this.productRepository = productRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
     }
 
     /*
@@ -137,66 +153,84 @@ public class ProductService {
     // ID로 상품 조회
     @Transactional(readOnly = true) // 조회 전용 트랜잭션
     public Product findProductById(Integer productId) {
-        System.out.println("Service - findProductById 호출: ID = " + productId);
         // ✨ JpaRepository의 findById() 사용! EntityManager 관련 코드 없음!
         // 반환 타입이 Optional<Product> 이므로, 값이 없을 경우에 대한 처리가 필요합니다.
         Optional<Product> optionalProduct = productRepository.findById(productId);
 
         // orElseThrow() : 값이 있으면 Product 반환, 없으면 예외 발생 (다른 처리 방식도 가능)
         Product product = optionalProduct.orElseThrow(() -> new IllegalArgumentException("ID " + productId + "에 해당하는 상품이 없습니다."));
-        System.out.println("Service - 조회된 Product: " + product);
         return product;
     }
 
     // 모든 상품 조회
     @Transactional(readOnly = true)
     public List<Product> findAllProducts() {
-        System.out.println("Service - findAllProducts 호출");
         // ✨ JpaRepository의 findAll() 사용! EntityManager 관련 코드 없음!
         List<Product> products = productRepository.findAll();
-        System.out.println("Service - 조회된 상품 수: " + products.size());
         return products;
     }
 
-    // 특정 가격 이하 상품 조회 (비즈니스 로직 + Repository 호출)
+    // 특정 가격 이하 상품명 조회 (비즈니스 로직 + Repository 호출)
     @Transactional(readOnly = true)
-    public List<Product> findProductsCheaperThan(Integer maxPrice) {
-        System.out.println("Service - findProductsCheaperThan 호출: maxPrice = " + maxPrice);
-        // 1. 모든 상품 조회 (Repository 위임)
-        List<Product> allProducts = productRepository.findAll(); // ✨ 간결!
-
-        // 2. 비즈니스 로직: 가격 필터링
-        List<Product> filteredProducts = allProducts.stream()
-                .filter(product -> product.getPrice() <= maxPrice)
-                .toList();
-        System.out.println("Service - 필터링 후 상품 수: " + filteredProducts.size());
-        return filteredProducts;
+    public List<String> findProductNamesCheaperThan(Integer maxPrice) {
+        // ✨ 가격 필터링은 DB(WHERE price <= ?)에 위임하고, 상품명 컬럼만 조회합니다.
+        // (이전: findAll()로 전체 상품을 엔티티로 읽은 뒤 스트림으로 필터링 -> 테이블 크기에 비례한 비용)
+        List<String> productNames = productRepository.findProductNamesByMaxPrice(maxPrice);
+        return productNames;
+    }
+
+    // 전체 상품을 NDJSON(한 줄에 JSON 객체 하나)으로 출력 스트림에 바로 기록
+    // 💡 List로 모으지 않고 한 행씩 읽어 바로 쓰므로, 상품 수와 무관하게 메모리 사용량이 일정합니다.
+    @Transactional(readOnly = true) // Stream은 트랜잭션(커넥션)이 열려 있는 동안에만 읽을 수 있음
+    public long exportAllProducts(OutputStream out) throws IOException {
+        long count = 0;
+        try (Stream<Product> products = productRepository.streamAllProducts();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            // 응답 스트림은 서블릿 컨테이너가 닫으므로, 생성기를 닫을 때 함께 닫지 않도록 설정
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // 상품마다 flush하지 않도록 설정 (writeObject는 기본적으로 값을 쓸 때마다 flush -> 행마다 네트워크 쓰기 발생)
+            // 응답 형식은 다른 조회 API와 같은 ProductResponse
+            ObjectWriter productWriter = objectMapper.writerFor(ProductResponse.class)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            Iterator<Product> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                productWriter.writeValue(generator, ProductResponse.from(iterator.next()));
+                generator.writeRaw('\n');
+                if (++count % EXPORT_CLEAR_INTERVAL == 0) {
+                    generator.flush();     // 지금까지 쓴 내용을 클라이언트로 전송
+                    entityManager.clear(); // 이미 내보낸 엔티티를 영속성 컨텍스트에서 제거 (1차 캐시 누적 방지)
+                }
+            }
+        }
+        return count;
     }
 
     // 상품 등록 (Create)
     @Transactional // 데이터 변경이므로 readOnly=false (기본값)
     public Product createProduct(Product newProduct) {
-        System.out.println("Service - createProduct 호출: " + newProduct.getProductName());
         // ✨ JpaRepository의 save() 사용! EntityManager, 트랜잭션 코드 없음!
         // save() 메서드는 전달된 엔티티가 새로운 엔티티(ID가 null)이면 persist()를,
         // 이미 존재하는 엔티티(ID가 있음)이면 merge()를 내부적으로 호출합니다.
         Product savedProduct = productRepository.save(newProduct);
-        System.out.println("Service - 저장된 Product: " + savedProduct);
         return savedProduct;
     }
 
+    // 상품 대량 등록 (Bulk Create)
+    @Transactional
+    public int createProducts(List<Product> newProducts) {
+        // ✨ save()를 N번 호출(INSERT N번 왕복)하지 않고, JDBC 배치로 묶어서 저장합니다.
+        return productRepository.insertAllInBatch(newProducts);
+    }
+
     // 상품 수정 (Update) - 변경 감지 활용
     @Transactional
     public Product updateProduct(Integer productId, String newName, Integer newPrice) {
-        System.out.println("Service - updateProduct 호출: ID = " + productId);
         // ✨ 1. 엔티티 조회 (영속 상태로 만듦) - findById 활용
         Product productToUpdate = findProductById(productId); // findById 내부에서 orElseThrow로 예외 처리됨
 
         // ✨ 2. 엔티티 상태 변경 (Setter 호출)
-        System.out.println("Service - 기존 정보: " + productToUpdate);
         productToUpdate.setProductName(newName);
         productToUpdate.setPrice(newPrice);
-        System.out.println("Service - 정보 변경됨: " + productToUpdate);
 
         // ✨ 3. 트랜잭션 종료 시 변경 감지(Dirty Checking)에 의해 자동 UPDATE
         // productRepository.save(productToUpdate); // 명시적으로 save 호출도 가능 (merge 동작)
@@ -206,12 +240,10 @@ public class ProductService {
     // 상품 삭제 (Delete)
     @Transactional
     public void deleteProduct(Integer productId) {
-        System.out.println("Service - deleteProduct 호출: ID = " + productId);
         // ✨ JpaRepository의 deleteById() 사용! EntityManager 관련 코드 없음!
         // (주의!) ID가 존재하지 않으면 예외 발생 가능성이 있으므로,
         // 필요 시 existsById() 등으로 확인 후 삭제하는 것이 더 안전할 수 있습니다.
         // productRepository.existsById(productId)
         productRepository.deleteById(productId);
-        System.out.println("Service - 삭제 완료 (커밋 시 DB 반영)");
     }
 }
\ No newline at end of file
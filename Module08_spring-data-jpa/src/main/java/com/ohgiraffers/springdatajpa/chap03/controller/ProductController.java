@@ -3,6 +3,8 @@ package com.ohgiraffers.springdatajpa.chap03.controller;
 
 import com.ohgiraffers.springdatajpa.chap03.service.ProductService;
 import com.ohgiraffers.springdatajpa.common.Product;
+import com.ohgiraffers.springdatajpa.common.ProductResponse;
+import com.ohgiraffers.springdatajpa.common.ProductSlice;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -15,6 +17,7 @@ import java.util.List;
  * =====================================================================================
  * - Service 계층에 추가된 쿼리 메소드 호출 로직을 Controller에서 사용하여
  * 다양한 조건의 조회 API 엔드포인트를 제공합니다.
+ * - 조회한 엔티티는 응답 DTO(ProductResponse)로 변환해서 반환합니다. (엔티티를 직접 직렬화하지 않음)
  * =====================================================================================
  */
 @RestController("chap03-productController") // @Controller + @ResponseBody, API 컨트롤러에 주로 사용
@@ -25,7 +28,6 @@ public class ProductController {
 
     @Autowired
     public ProductController(ProductService productService) {
-        System.out.println("ProductController(Chap03) 생성: ProductService(Chap03) 주입됨");
         this.productService = productService;
     }
 
@@ -35,45 +37,37 @@ public class ProductController {
      * 📌 상품 이름으로 조회 (GET /products-query/name?productName=...)
      */
     @GetMapping("/name")
-    public ResponseEntity<List<Product>> findProductsByName(@RequestParam("productName") String productName) {
-        System.out.println("\nController(Chap03) - GET /name?productName=" + productName);
+    public ResponseEntity<List<ProductResponse>> findProductsByName(@RequestParam("productName") String productName) {
         List<Product> products = productService.findProductsByName(productName);
-        System.out.println("Controller(Chap03) - 응답 데이터 수: " + products.size());
-        return ResponseEntity.ok(products);
+        return ResponseEntity.ok(ProductResponse.fromAll(products));
     }
 
     /**
      * 📌 특정 가격 초과 상품 조회 (GET /products-query/price-greater?price=...)
      */
     @GetMapping("/price-greater")
-    public ResponseEntity<List<Product>> findProductsPriceGreaterThan(@RequestParam("price") Integer price) {
-        System.out.println("\nController(Chap03) - GET /price-greater?price=" + price);
+    public ResponseEntity<List<ProductResponse>> findProductsPriceGreaterThan(@RequestParam("price") Integer price) {
         List<Product> products = productService.findProductsPriceGreaterThan(price);
-        System.out.println("Controller(Chap03) - 응답 데이터 수: " + products.size());
-        return ResponseEntity.ok(products);
+        return ResponseEntity.ok(ProductResponse.fromAll(products));
     }
 
     /**
      * 📌 상품 이름 포함 조회 (GET /products-query/name-containing?keyword=...)
      */
     @GetMapping("/name-containing")
-    public ResponseEntity<List<Product>> findProductsByNameContaining(@RequestParam("keyword") String keyword) {
-        System.out.println("\nController(Chap03) - GET /name-containing?keyword=" + keyword);
+    public ResponseEntity<List<ProductResponse>> findProductsByNameContaining(@RequestParam("keyword") String keyword) {
         List<Product> products = productService.findProductsByNameContaining(keyword);
-        System.out.println("Controller(Chap03) - 응답 데이터 수: " + products.size());
-        return ResponseEntity.ok(products);
+        return ResponseEntity.ok(ProductResponse.fromAll(products));
     }
 
     /**
      * 📌 특정 가격 미만 + 정렬 조회 (GET /products-query/price-less-sorted?price=...)
      */
     @GetMapping("/price-less-sorted")
-    public ResponseEntity<List<Product>> findProductsCheaperThanAndSort(@RequestParam("price") Integer price) {
-        System.out.println("\nController(Chap03) - GET /price-less-sorted?price=" + price);
+    public ResponseEntity<List<ProductResponse>> findProductsCheaperThanAndSort(@RequestParam("price") Integer price) {
         // Service에서 가격 내림차순으로 정렬하도록 구현했음
         List<Product> products = productService.findProductsCheaperThanAndSort(price);
-        System.out.println("Controller(Chap03) - 응답 데이터 수: " + products.size());
-        return ResponseEntity.ok(products);
+        return ResponseEntity.ok(ProductResponse.fromAll(products));
     }
 
     /**
@@ -81,12 +75,31 @@ public class ProductController {
      * @param ids 쉼표(,)로 구분된 ID 목록 문자열
      */
     @GetMapping("/by-ids")
-    public ResponseEntity<List<Product>> findProductsByIds(@RequestParam("ids") List<Integer> ids) {
+    public ResponseEntity<List<ProductResponse>> findProductsByIds(@RequestParam("ids") List<Integer> ids) {
         // Spring MVC는 요청 파라미터 '?ids=1,3,5' 를 List<Integer>로 자동 변환해줍니다!
-        System.out.println("\nController(Chap03) - GET /by-ids?ids=" + ids);
         List<Product> products = productService.findProductsByIds(ids);
-        System.out.println("Controller(Chap03) - 응답 데이터 수: " + products.size());
-        return ResponseEntity.ok(products);
+        return ResponseEntity.ok(ProductResponse.fromAll(products));
+    }
+
+    /**
+     * 📌 가격순 키셋 페이지네이션 조회 (GET /products-query/scroll?size=20&cursor=...)
+     * @param cursor 이전 응답의 nextCursor (첫 페이지는 생략)
+     * @param size   페이지 크기 (1 ~ 100)
+     */
+    @GetMapping("/scroll")
+    public ResponseEntity<ProductSlice<ProductResponse>> scrollProductsByPrice(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        if (size < 1 || size > 100) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            ProductSlice<Product> slice = productService.scrollProductsByPrice(cursor, size);
+            return ResponseEntity.ok(slice.map(ProductResponse::from));
+        } catch (IllegalArgumentException e) {
+            // 잘못된(위조/손상된) 커서 토큰
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     // 💡 참고: 기본 CRUD API (findById, findAll, create, update, delete)는
@@ -1,9 +1,16 @@
 package com.ohgiraffers.springdatajpa.chap03.repository;
 
 import com.ohgiraffers.springdatajpa.common.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -138,12 +145,17 @@ public interface ProductRepository extends JpaRepository<Product, Integer> {
     // --- 기본 CRUD는 JpaRepository가 제공 ---
     // save(), findById(), findAll(), deleteById(), count(), existsById() ...
 
+    // 💡 @QueryHints(HINT_CACHEABLE): 같은 파라미터로 다시 호출하면 DB 대신 쿼리 캐시(결과 ID 목록)와
+    //    2차 캐시(Product 엔티티)에서 결과를 조립합니다. tbl_product가 변경(수정/삭제/벌크 UPDATE)되면
+    //    Hibernate가 해당 테이블의 쿼리 캐시 결과를 자동으로 무효화합니다.
+
     /**
      * 📌 상품 이름(productName)으로 상품 목록 조회
      * Spring Data JPA가 생성하는 JPQL: "SELECT p FROM Product p WHERE p.productName = ?1"
      * @param productName 조회할 상품 이름 (메서드 파라미터가 JPQL의 ?1 위치에 바인딩됨)
      * @return 이름이 일치하는 상품 목록
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true")) // 쿼리 캐시 사용
     List<Product> findByProductName(String productName);
 
     /**
@@ -152,6 +164,7 @@ public interface ProductRepository extends JpaRepository<Product, Integer> {
      * @param price 비교할 가격
      * @return 해당 가격보다 비싼 상품 목록
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true")) // 쿼리 캐시 사용
     List<Product> findByPriceGreaterThan(Integer price);
 
 
@@ -162,6 +175,8 @@ public interface ProductRepository extends JpaRepository<Product, Integer> {
      * @return 키워드를 포함하는 상품 목록
      */
     List<Product> findByProductNameContaining(String keyword);
+    // 🚨 Containing은 LIKE '%키워드%'로 변환되어 인덱스를 쓰지 못합니다 (전체 테이블 스캔).
+    //    대량 데이터 검색은 chap04 ProductRepository.searchProductsByRelevance(전문 검색)를 참고하세요.
     /**
      * 📌 특정 가격(price)보다 낮은 상품 목록 조회 (정렬 조건 추가)
      * JPQL: "SELECT p FROM Product p WHERE p.price < ?1 ORDER BY p.price ASC" (가격 오름차순)
@@ -169,6 +184,7 @@ public interface ProductRepository extends JpaRepository<Product, Integer> {
      * @param sort  정렬 조건 (동적으로 변경 가능!) - org.springframework.data.domain.Sort 사용
      * @return 해당 가격 미만 상품 목록 (주어진 조건으로 정렬)
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true")) // 쿼리 캐시 사용
     List<Product> findByPriceLessThan(Integer price, Sort sort);
 
 
@@ -180,7 +196,13 @@ public interface ProductRepository extends JpaRepository<Product, Integer> {
      * @param productIds 조회할 상품 ID 목록 (Collection 타입)
      * @return ID 목록에 포함된 상품 목록
      */
+    @Transactional(readOnly = true) // 청크마다 별도 스레드에서 호출되므로 각자 읽기 전용 트랜잭션으로 실행 (ProductService 참고)
     List<Product> findByProductIdIn(List<Integer> productIds);
+    // 💡 직접 선언한 쿼리 메소드에는 SimpleJpaRepository의 기본 트랜잭션이 적용되지 않습니다.
+    //    @Transactional이 없으면 트랜잭션 없이 실행되어 읽기 전용 라우팅(복제본) 대상이 되지 않습니다.
+    // 🚨 쿼리 캐시(HINT_CACHEABLE)를 쓰지 않습니다. 쿼리 캐시의 키는 ID 목록 전체라 같은 목록으로 다시 조회할 때만 적중하는데,
+    //    청크로 나눈 임의의 ID 목록은 거의 반복되지 않아 결과만 쌓여 다른 조회의 캐시 결과를 밀어냅니다.
+    //    (엔티티 자체는 2차 캐시에 들어가므로 ID로 찾는 findById는 그대로 캐시 적중)
 
     /**
      * 📌 특정 가격 범위(price) 내의 상품 목록 조회
@@ -189,6 +211,7 @@ public interface ProductRepository extends JpaRepository<Product, Integer> {
      * @param maxPrice 최대 가격 (메서드의 두 번째 파라미터 -> ?2)
      * @return 가격 범위 내의 상품 목록
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true")) // 쿼리 캐시 사용
     List<Product> findByPriceBetween(Integer minPrice, Integer maxPrice);
 
     /**
@@ -197,9 +220,25 @@ public interface ProductRepository extends JpaRepository<Product, Integer> {
      * @param productName 조회할 상품 이름
      * @return 이름이 일치하는 상품 목록 (가격 내림차순 정렬)
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true")) // 쿼리 캐시 사용
     List<Product> findByProductNameOrderByPriceDesc(String productName);
 
 
+    /**
+     * 📌 가격 오름차순(동일 가격은 ID 오름차순) 키셋 스크롤 조회
+     * JPQL(첫 페이지): SELECT p FROM Product p ORDER BY p.price ASC, p.productId ASC
+     * JPQL(다음 페이지): ... WHERE p.price > ?1 OR (p.price = ?1 AND p.productId > ?2) ORDER BY ...
+     * @param position 스크롤 위치 (ScrollPosition.keyset(): 처음부터 / forward(키 Map): 해당 키 다음부터)
+     * @param limit    한 번에 조회할 최대 건수
+     * @return Window (조회 결과 + 다음 데이터 존재 여부, COUNT 쿼리 없음)
+     *
+     * 💡 반환 타입을 Window로 선언하면 Spring Data JPA가 정렬 키를 이용해 '마지막 위치 다음'부터
+     *    조회하는 WHERE 절을 자동으로 만들어 줍니다. (OFFSET 방식과 달리 깊은 페이지도 느려지지 않음)
+     * 🚨 자동으로 만든 조건은 OR 형태(price > ?1 OR (price = ?1 AND ...))라 바꿀 수 없습니다.
+     *    인덱스 범위를 확실히 잡아야 하면 chap04 findProductsAfterCursor처럼 price >= ?1 AND (...)로 직접 작성하세요.
+     */
+    Window<Product> findByOrderByPriceAscProductIdAsc(ScrollPosition position, Limit limit);
+
     // 💡 더 많은 키워드 조합이 가능합니다! (And, Or, IsNull, NotNull 등)
     // 예: 상품 이름에 키워드가 포함되거나 가격이 특정 값 미만인 상품 조회
     // List<Product> findByProductNameContainingOrPriceLessThan(String keyword, Integer price);
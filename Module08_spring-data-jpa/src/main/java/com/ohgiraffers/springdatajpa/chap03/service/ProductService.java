@@ -2,12 +2,19 @@ package com.ohgiraffers.springdatajpa.chap03.service;
 
 import com.ohgiraffers.springdatajpa.chap03.repository.ProductRepository;
 import com.ohgiraffers.springdatajpa.common.Product;
+import com.ohgiraffers.springdatajpa.common.ProductCursor;
+import com.ohgiraffers.springdatajpa.common.ProductSlice;
+import com.ohgiraffers.springdatajpa.common.lookup.ChunkedIdLookup;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 
 
 /*
@@ -23,55 +30,68 @@ import java.util.List;
 public class ProductService {
 
     private final ProductRepository productRepository;
+    private final ChunkedIdLookup chunkedIdLookup; // 대량 ID IN 조회 (청크 분할 + 병렬)
 
     @Autowired
-    public ProductService(ProductRepository productRepository) {
-        System.out.println("ProductService(Chap03) 생성: ProductRepository 주입됨");
+    public ProductService(ProductRepository productRepository, ChunkedIdLookup chunkedIdLookup) {
         this.productRepository = productRepository;
+        this.chunkedIdLookup = chunkedIdLookup;
     }
 
     // --- 쿼리 메소드 호출 예시 ---
 
     @Transactional(readOnly = true)
     public List<Product> findProductsByName(String productName) {
-        System.out.println("Service(Chap03) - findProductsByName 호출: productName = " + productName);
         List<Product> products = productRepository.findByProductName(productName); // ✅ 쿼리 메소드 호출!
-        System.out.println("Service(Chap03) - 조회된 상품 수: " + products.size());
         return products;
     }
 
     @Transactional(readOnly = true)
     public List<Product> findProductsPriceGreaterThan(Integer price) {
-        System.out.println("Service(Chap03) - findProductsPriceGreaterThan 호출: price = " + price);
         List<Product> products = productRepository.findByPriceGreaterThan(price); // ✅ 쿼리 메소드 호출!
-        System.out.println("Service(Chap03) - 조회된 상품 수: " + products.size());
         return products;
     }
 
     @Transactional(readOnly = true)
     public List<Product> findProductsByNameContaining(String keyword) {
-        System.out.println("Service(Chap03) - findProductsByNameContaining 호출: keyword = " + keyword);
         List<Product> products = productRepository.findByProductNameContaining(keyword); // ✅ 쿼리 메소드 호출!
-        System.out.println("Service(Chap03) - 조회된 상품 수: " + products.size());
         return products;
     }
 
     @Transactional(readOnly = true)
     public List<Product> findProductsCheaperThanAndSort(Integer price) {
-        System.out.println("Service(Chap03) - findProductsCheaperThanAndSort 호출: price = " + price);
         // Sort 객체 생성: Sort.by("필드명").descending() / .ascending()
         Sort sort = Sort.by("price").descending(); // 가격 내림차순 정렬
         List<Product> products = productRepository.findByPriceLessThan(price, sort); // ✅ 정렬 파라미터 전달!
-        System.out.println("Service(Chap03) - 조회된 상품 수: " + products.size());
         return products;
     }
 
-    @Transactional(readOnly = true)
+    // 💡 @Transactional 없음: ID가 많으면 청크별로 다른 스레드에서 조회하므로, 각 청크가 자신의 읽기 전용 트랜잭션
+    //    (findByProductIdIn에 선언한 @Transactional(readOnly = true))으로 실행됩니다.
     public List<Product> findProductsByIds(List<Integer> productIds) {
-        System.out.println("Service(Chap03) - findProductsByIds 호출: productIds = " + productIds);
-        List<Product> products = productRepository.findByProductIdIn(productIds); // ✅ In 조건 쿼리 메소드 호출!
-        System.out.println("Service(Chap03) - 조회된 상품 수: " + products.size());
-        return products;
+        // ✅ In 조건 쿼리 메소드 호출! (청크 분할 + 병렬 조회, 입력 ID 순서로 반환)
+        return chunkedIdLookup.findAllInOrder(productIds, productRepository::findByProductIdIn, Product::getProductId);
+    }
+
+    @Transactional(readOnly = true)
+    public ProductSlice<Product> scrollProductsByPrice(String cursor, int size) {
+        // 커서가 없으면 처음부터, 있으면 (가격, ID) 키 다음 위치부터 조회
+        ScrollPosition position = (cursor == null)
+                ? ScrollPosition.keyset()
+                : toScrollPosition(ProductCursor.decode(cursor));
+        Window<Product> window = productRepository.findByOrderByPriceAscProductIdAsc(position, Limit.of(size)); // ✅ 키셋 스크롤 쿼리 메소드 호출!
+        List<Product> products = window.getContent();
+        String nextCursor = window.hasNext()
+                ? ProductCursor.from(products.get(products.size() - 1)).encode()
+                : null;
+        return new ProductSlice<>(products, nextCursor, window.hasNext());
+    }
+
+    private ScrollPosition toScrollPosition(ProductCursor productCursor) {
+        // 키 이름은 정렬 기준 필드명(price, productId)과 일치해야 합니다.
+        return ScrollPosition.forward(Map.of(
+                "price", productCursor.getPrice(),
+                "productId", productCursor.getProductId()));
     }
 
- }
\ No newline at end of file
+ }
@@ -1,13 +1,20 @@
 package com.ohgiraffers.springdatajpa.chap04.controller;
 
+import com.ohgiraffers.springdatajpa.chap04.model.PriceChangeDTO;
 import com.ohgiraffers.springdatajpa.chap04.model.ProductDTO;
+import com.ohgiraffers.springdatajpa.chap04.model.ProductNamePriceColumns;
+import com.ohgiraffers.springdatajpa.chap04.model.ProductSearchResult;
 import com.ohgiraffers.springdatajpa.chap04.model.ProductSummary;
 import com.ohgiraffers.springdatajpa.chap04.service.ProductService;
 import com.ohgiraffers.springdatajpa.common.Product;
+import com.ohgiraffers.springdatajpa.common.ProductResponse;
+import com.ohgiraffers.springdatajpa.common.ProductSlice;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -15,6 +22,8 @@ import java.util.List;
 @RequestMapping("/products-query") // 동일한 경로 사용
 public class ProductController {
 
+    private static final int MAX_PRICE_CHANGES = 10_000; // 가격 일괄 변경 요청 1회당 최대 건수
+
     private final ProductService productService;
 
     @Autowired
@@ -31,11 +40,9 @@ public class ProductController {
      * 📌 특정 가격 미만 + 가격 오름차순 조회 (GET /products-query/price-below-sorted?maxPrice=...)
      */
     @GetMapping("/price-below-sorted")
-    public ResponseEntity<List<Product>> findProductsBelowPriceSorted(@RequestParam("maxPrice") Integer maxPrice) {
-        System.out.println("\nController(Chap03) - GET /price-below-sorted?maxPrice=" + maxPrice);
+    public ResponseEntity<List<ProductResponse>> findProductsBelowPriceSorted(@RequestParam("maxPrice") Integer maxPrice) {
         List<Product> products = productService.findProductsBelowPriceSorted(maxPrice); // ✅ @Query(JPQL) 호출!
-        System.out.println("Controller(Chap03) - 응답 데이터 수: " + products.size());
-        return ResponseEntity.ok(products);
+        return ResponseEntity.ok(ProductResponse.fromAll(products));
     }
 
     /**
@@ -43,38 +50,91 @@ public class ProductController {
      */
     @GetMapping("/dto/price-above")
     public ResponseEntity<List<ProductDTO>> findProductDTOsAbovePrice(@RequestParam("minPrice") Integer minPrice) {
-        System.out.println("\nController(Chap03) - GET /dto/price-above?minPrice=" + minPrice);
         List<ProductDTO> productDTOs = productService.findProductDTOsAbovePrice(minPrice); // ✅ @Query(JPQL+DTO) 호출!
-        System.out.println("Controller(Chap03) - 응답 데이터(DTO) 수: " + productDTOs.size());
         return ResponseEntity.ok(productDTOs); // DTO 목록 반환
     }
 
     /**
      * 📌 Native Query로 이름, 가격 조회 (GET /products-query/native/name-price?minPrice=...)
      * 🚨 주의: Native Query 결과(Object[])는 JSON으로 자동 변환 시 문제가 생길 수 있으므로,
-     * Controller에서 DTO 등으로 가공하여 반환하는 것이 좋습니다. 여기서는 예시로 Object[] 리스트 반환.
+     * Controller에서 DTO 등으로 가공하여 반환하는 것이 좋습니다.
+     * - 여기서는 열(column) 버퍼(ProductNamePriceColumns)로 받아 전용 직렬화기로 응답합니다. (응답 형식: [["상품명", 가격], ...])
      */
     @GetMapping("/native/name-price")
-    public ResponseEntity<List<Object[]>> findProductNameAndPriceNative(@RequestParam("minPrice") Integer minPrice) {
-        System.out.println("\nController(Chap03) - GET /native/name-price?minPrice=" + minPrice);
-        List<Object[]> results = productService.findProductNameAndPriceNative(minPrice); // ✅ @Query(Native) 호출!
-        System.out.println("Controller(Chap03) - 응답 데이터(Object[]) 수: " + results.size());
-        // results.forEach(row -> System.out.println("  - Name: " + row[0] + ", Price: " + row[1]));
+    public ResponseEntity<ProductNamePriceColumns> findProductNameAndPriceNative(@RequestParam("minPrice") Integer minPrice) {
+        ProductNamePriceColumns results = productService.findProductNameAndPriceNative(minPrice); // ✅ Native SQL 조회
         return ResponseEntity.ok(results);
     }
 
+    /**
+     * 📌 가격 범위 상품 실시간 스트리밍 (GET /products-query/stream?minPrice=...&maxPrice=...)
+     * - 응답 형식: Server-Sent Events (text/event-stream), 상품 하나당 이벤트 하나
+     * - /dto/price-above 처럼 전체 목록을 List로 만든 뒤 응답하지 않고, DB에서 읽는 즉시 이벤트로 흘려보냅니다.
+     *   (요청 스레드는 바로 반납되고, 본문은 별도 스레드에서 작성됨)
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamProductsByPrice(@RequestParam("minPrice") Integer minPrice,
+                                                                       @RequestParam("maxPrice") Integer maxPrice) {
+        if (minPrice > maxPrice) {
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody body = out -> productService.streamProductsAsEvents(minPrice, maxPrice, out); // ✅ @Query(키셋 페이지) 반복 호출!
+        return ResponseEntity.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .header("Cache-Control", "no-cache")
+                .body(body);
+    }
+
     /**
      * 📌 Native Query + 인터페이스 프로젝션 조회 (GET /products-query/native/summary?ids=...)
      */
     @GetMapping("/native/summary")
     public ResponseEntity<List<ProductSummary>> findProductSummariesByIds(@RequestParam("ids") List<Integer> ids) {
-        System.out.println("\nController(Chap03) - GET /native/summary?ids=" + ids);
-        List<ProductSummary> summaries = productService.findProductSummariesByIds(ids); // ✅ @Query(Native + Interface Projection) 호출!
-        System.out.println("Controller(Chap03) - 응답 데이터(Summary) 수: " + summaries.size());
+        List<ProductSummary> summaries = productService.findProductSummariesByIds(ids); // ✅ Native + 프로젝션(ProductSummaryRecord) 호출!
         return ResponseEntity.ok(summaries); // 인터페이스 기반 객체 목록 반환
     }
 
 
+    /**
+     * 📌 가격순 키셋 페이지네이션 조회 (GET /products-query/keyset?size=20&cursor=...)
+     * @param cursor 이전 응답의 nextCursor (첫 페이지는 생략)
+     * @param size   페이지 크기 (1 ~ 100)
+     */
+    @GetMapping("/keyset")
+    public ResponseEntity<ProductSlice<ProductResponse>> findProductsByPriceKeyset(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        if (size < 1 || size > 100) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            ProductSlice<Product> slice = productService.findProductsByPriceKeyset(cursor, size); // ✅ @Query(키셋) 호출!
+            return ResponseEntity.ok(slice.map(ProductResponse::from));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * 📌 상품명 전문 검색 - 관련도 순 (GET /products-query/search?keyword=라떼&size=20)
+     * @param keyword 검색어 (2글자 이상)
+     * @param size    최대 결과 수 (1 ~ 100)
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<ProductSearchResult>> searchProducts(
+            @RequestParam("keyword") String keyword,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        if (size < 1 || size > 100) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            List<ProductSearchResult> results = productService.searchProducts(keyword, size); // ✅ @Query(Native + FULLTEXT) 호출!
+            return ResponseEntity.ok(results);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * 📌 상품 가격 업데이트 (PATCH /products-query/{id}/price) - 부분 수정을 위해 PUT 대신 PATCH 사용
      * @param id 수정할 상품 ID
@@ -85,23 +145,37 @@ public class ProductController {
     public ResponseEntity<String> updateProductPrice(@PathVariable("id") Integer id, @RequestBody java.util.Map<String, Integer> payload) {
         // 💡 실제로는 가격만 받는 DTO를 사용하는 것이 더 좋습니다.
         Integer newPrice = payload.get("price");
-        System.out.println("\nController(Chap03) - PATCH /{id}/price: id=" + id + ", newPrice=" + newPrice);
         if (newPrice == null) {
             return ResponseEntity.badRequest().body("요청 본문에 'price' 필드가 필요합니다.");
         }
         try {
             int updatedRows = productService.updateProductPrice(id, newPrice);
             if (updatedRows > 0) {
-                System.out.println("Controller(Chap03) - 가격 업데이트 성공");
                 return ResponseEntity.ok("상품 ID " + id + "의 가격이 " + newPrice + "로 업데이트 되었습니다.");
             } else {
-                System.err.println("Controller(Chap03) - 가격 업데이트 실패: ID " + id + " 상품 없음");
                 return ResponseEntity.notFound().build(); // ID가 없는 경우 영향받은 행이 0일 수 있음
             }
         } catch (Exception e) {
-            System.err.println("Controller(Chap03) - 가격 업데이트 중 오류 발생: " + e.getMessage());
             // 내부 서버 오류 응답
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("가격 업데이트 중 오류 발생");
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 📌 여러 상품 가격 일괄 업데이트 (PATCH /products-query/prices)
+     * @param priceChanges 요청 본문의 (productId, price) 목록 (최대 10,000건)
+     * @return 영향을 받은 행 수
+     *         (빈 목록, 최대 건수 초과, null 항목, ID/가격이 없거나 범위를 벗어난 항목, 중복 ID가 있으면 400 Bad Request, 하나도 변경하지 않음)
+     */
+    @PatchMapping("/prices")
+    public ResponseEntity<Integer> updateProductPrices(@RequestBody List<PriceChangeDTO> priceChanges) {
+        if (priceChanges.isEmpty() || priceChanges.size() > MAX_PRICE_CHANGES
+                || priceChanges.stream().anyMatch(priceChange -> priceChange == null || !priceChange.isValid())
+                // 같은 ID가 두 번 있으면 CASE 절의 첫 번째 값만 반영되므로 요청 자체를 거부
+                || priceChanges.stream().map(PriceChangeDTO::getProductId).distinct().count() != priceChanges.size()) {
+            return ResponseEntity.badRequest().build();
+        }
+        int updatedRows = productService.updateProductPrices(priceChanges);
+        return ResponseEntity.ok(updatedRows);
+    }
+}
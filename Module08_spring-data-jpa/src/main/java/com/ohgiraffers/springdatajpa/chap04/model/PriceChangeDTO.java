@@ -0,0 +1,32 @@
+package com.ohgiraffers.springdatajpa.chap04.model;
+
+// 💡 가격 일괄 변경 요청의 한 항목 (상품 ID -> 새 가격)
+public class PriceChangeDTO {
+    private Integer productId;
+    private Integer price;
+
+    // 📌 요청 본문(JSON) -> 객체 변환(Jackson)을 위한 기본 생성자
+    protected PriceChangeDTO() {}
+
+    public PriceChangeDTO(Integer productId, Integer price) {
+        this.productId = productId;
+        this.price = price;
+    }
+
+    // 📌 일괄 변경에 쓸 수 있는 항목인지 (상품 ID는 양수, 가격은 0 이상, 둘 다 필수)
+    public boolean isValid() {
+        return productId != null && productId > 0 && price != null && price >= 0;
+    }
+
+    // Getter
+    public Integer getProductId() { return productId; }
+    public Integer getPrice() { return price; }
+
+    @Override
+    public String toString() {
+        return "PriceChangeDTO{" +
+                "productId=" + productId +
+                ", price=" + price +
+                '}';
+    }
+}
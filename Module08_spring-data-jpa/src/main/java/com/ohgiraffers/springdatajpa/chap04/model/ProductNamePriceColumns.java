@@ -0,0 +1,130 @@
+package com.ohgiraffers.springdatajpa.chap04.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/*
+ * 📌 (상품명, 가격) 조회 결과를 '열(column) 단위'로 담는 결과 객체
+ *
+ * 💡 List<Object[]>는 행마다 Object[] + Integer(박싱) + String 객체를 만들어 보관합니다.
+ *    이 클래스는 모든 행을 고정 크기 배열 블록에 나눠 담습니다.
+ * - 행 블록(int[]): 행마다 [가격, 이름 시작 위치, 이름 끝 위치] (박싱 없음)
+ * - 이름 블록(byte[]): 상품명의 UTF-8 바이트를 이어 붙인 문자열 테이블 (String을 보관하지 않음)
+ * - 블록이 가득 차면 새 블록을 추가할 뿐 기존 배열을 복사하지 않으므로, 크기를 키울 때 버려지는 배열이 없습니다.
+ *
+ * - JSON 직렬화는 ProductNamePriceColumnsSerializer가 담당하며, 응답 형식은 기존 List<Object[]>와 같습니다. ([["상품명", 가격], ...])
+ */
+@JsonSerialize(using = ProductNamePriceColumnsSerializer.class)
+public class ProductNamePriceColumns {
+
+    private static final int BLOCK_ROWS = 1024;            // 행 블록 하나의 행 수
+    private static final int ROW_INTS = 3;                 // 행마다 [가격, 이름 시작, 이름 끝]
+    private static final int NAME_BLOCK_BYTES = 32 * 1024; // 이름 블록 하나의 크기 (이름 하나는 블록을 넘지 않음)
+
+    private final List<int[]> rowBlocks = new ArrayList<>();
+    private final List<byte[]> nameBlocks = new ArrayList<>();
+    private int size;
+    private int nameOffset; // 마지막 이름 블록에서 다음 이름을 기록할 위치
+
+    /**
+     * 📌 한 행 추가
+     * - 상품명은 String을 보관하지 않고 이름 블록 끝에 UTF-8로 바로 인코딩합니다. (중간 byte[] 없음)
+     * @param productName 상품명 (최대 NAME_BLOCK_BYTES / 3자, tbl_product.product_name은 VARCHAR(255))
+     * @param price       가격
+     */
+    public void add(String productName, int price) {
+        Objects.requireNonNull(productName, "productName");
+        int maxBytes = productName.length() * 3; // UTF-8은 char 하나당 최대 3바이트
+        if (maxBytes > NAME_BLOCK_BYTES) {
+            throw new IllegalArgumentException("상품명이 너무 깁니다: " + productName.length() + "자");
+        }
+        if (size % BLOCK_ROWS == 0) {
+            rowBlocks.add(new int[BLOCK_ROWS * ROW_INTS]);
+        }
+        // 현재 이름 블록의 남은 공간에 들어가지 않으면 새 블록의 처음부터 기록
+        if (nameBlocks.isEmpty() || nameOffset + maxBytes > NAME_BLOCK_BYTES) {
+            nameBlocks.add(new byte[NAME_BLOCK_BYTES]);
+            nameOffset = 0;
+        }
+        int nameBlock = nameBlocks.size() - 1;
+        int nameEnd = encodeUtf8(productName, nameBlocks.get(nameBlock), nameOffset);
+
+        int[] rows = rowBlocks.get(size / BLOCK_ROWS);
+        int base = (size % BLOCK_ROWS) * ROW_INTS;
+        rows[base] = price;
+        rows[base + 1] = nameBlock * NAME_BLOCK_BYTES + nameOffset; // 전체 위치 (블록 번호 * 블록 크기 + 블록 내 위치)
+        rows[base + 2] = nameBlock * NAME_BLOCK_BYTES + nameEnd;
+        nameOffset = nameEnd;
+        size++;
+    }
+
+    // String.getBytes(UTF_8)와 같은 결과를 out[position]부터 기록하고, 끝 위치를 반환
+    private static int encodeUtf8(String value, byte[] out, int position) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                out[position++] = (byte) c;
+            } else if (c < 0x800) {
+                out[position++] = (byte) (0xC0 | (c >> 6));
+                out[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                int codePoint = Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))
+                        ? Character.toCodePoint(c, value.charAt(++i))
+                        : -1;
+                if (codePoint < 0) {
+                    out[position++] = '?'; // 짝이 없는 서로게이트 (String.getBytes와 동일하게 대체)
+                    continue;
+                }
+                out[position++] = (byte) (0xF0 | (codePoint >> 18));
+                out[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                out[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                out[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else {
+                out[position++] = (byte) (0xE0 | (c >> 12));
+                out[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                out[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return position;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getPrice(int index) {
+        return row(index)[(index % BLOCK_ROWS) * ROW_INTS];
+    }
+
+    // 💡 호출할 때마다 String을 새로 만듭니다. (UTF-8 출력 직렬화는 바이트를 그대로 쓰므로 이 메서드를 쓰지 않음)
+    public String getProductName(int index) {
+        return new String(nameBlock(index), nameOffset(index), nameLength(index), StandardCharsets.UTF_8);
+    }
+
+    // --- 직렬화기(ProductNamePriceColumnsSerializer)용 ---
+
+    byte[] nameBlock(int index) {
+        return nameBlocks.get(nameStart(index) / NAME_BLOCK_BYTES);
+    }
+
+    int nameOffset(int index) {
+        return nameStart(index) % NAME_BLOCK_BYTES;
+    }
+
+    int nameLength(int index) {
+        return row(index)[(index % BLOCK_ROWS) * ROW_INTS + 2] - nameStart(index);
+    }
+
+    private int nameStart(int index) {
+        return row(index)[(index % BLOCK_ROWS) * ROW_INTS + 1];
+    }
+
+    private int[] row(int index) {
+        return rowBlocks.get(Objects.checkIndex(index, size) / BLOCK_ROWS);
+    }
+}
@@ -0,0 +1,40 @@
+package com.ohgiraffers.springdatajpa.chap04.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.json.UTF8JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/*
+ * 📌 ProductNamePriceColumns -> JSON 배열 직렬화 ([["상품명", 가격], ...])
+ *
+ * 💡 리플렉션(getter 탐색) 없이 열 배열을 순서대로 읽어 씁니다.
+ *    상품명은 String으로 바꾸지 않고 UTF-8 바이트를 그대로 출력합니다. (writeUTF8String: 필요한 이스케이프만 처리)
+ * - HTTP 응답처럼 UTF-8 OutputStream에 쓰는 경우가 아니면(Writer 등) String으로 바꿔 씁니다.
+ */
+public class ProductNamePriceColumnsSerializer extends StdSerializer<ProductNamePriceColumns> {
+
+    public ProductNamePriceColumnsSerializer() {
+        super(ProductNamePriceColumns.class);
+    }
+
+    @Override
+    public void serialize(ProductNamePriceColumns columns, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        boolean rawUtf8 = gen instanceof UTF8JsonGenerator;
+        int size = columns.size();
+        gen.writeStartArray(columns, size);
+        for (int i = 0; i < size; i++) {
+            gen.writeStartArray();
+            if (rawUtf8) {
+                gen.writeUTF8String(columns.nameBlock(i), columns.nameOffset(i), columns.nameLength(i));
+            } else {
+                gen.writeString(columns.getProductName(i));
+            }
+            gen.writeNumber(columns.getPrice(i));
+            gen.writeEndArray();
+        }
+        gen.writeEndArray();
+    }
+}
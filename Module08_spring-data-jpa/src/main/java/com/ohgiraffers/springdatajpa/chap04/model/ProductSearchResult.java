@@ -0,0 +1,13 @@
+package com.ohgiraffers.springdatajpa.chap04.model;
+
+/*
+ * 📌 전문 검색(Full-Text Search) 결과 프로젝션
+ * - ProductSummary와 같은 인터페이스 기반 프로젝션이며, Native Query의 alias(as)가 getter 이름과 일치해야 합니다.
+ * - score: MySQL MATCH ... AGAINST가 계산한 관련도 점수 (높을수록 검색어와 관련성이 큼)
+ */
+public interface ProductSearchResult {
+    Integer getProductId();
+    String getProductName();
+    Integer getPrice();
+    Double getScore();
+}
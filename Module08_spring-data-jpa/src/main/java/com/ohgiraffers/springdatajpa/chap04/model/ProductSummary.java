@@ -106,6 +106,10 @@ package com.ohgiraffers.springdatajpa.chap04.model;
  * 이 경우, 클래스는 필드, 생성자, getter를 가져야 합니다.
  * - 인터페이스 방식은 '읽기 전용' 데이터를 가져올 때 더 간단하고 가볍습니다.
  */
+/*
+ * 💡 이 프로젝트에서는: findProductSummariesByIds(Native)가 프록시 대신 구현 레코드(ProductSummaryRecord)를 반환합니다.
+ *    Native 쿼리 + 인터페이스 프로젝션은 행마다 Map과 프록시를 만들기 때문입니다. (ProductRepositoryCustomImpl 참고)
+ */
 public interface ProductSummary {
     Integer getProductId();
     String getProductName();
@@ -0,0 +1,32 @@
+package com.ohgiraffers.springdatajpa.chap04.model;
+
+import org.hibernate.query.TupleTransformer;
+
+/*
+ * 📌 ProductSummary(인터페이스 기반 프로젝션)의 구현 레코드
+ *
+ * 💡 Native 쿼리의 반환 타입이 인터페이스이면, Spring Data JPA는 행마다
+ *    (1) 결과 Tuple을 Map(TupleBackedMap)으로 감싸고 (2) 그 Map 위에 JDK 동적 프록시를 만듭니다.
+ *    이후 getter를 호출할 때마다 프록시 -> 인터셉터 -> Map 조회(alias 문자열 비교)를 거칩니다.
+ * - 이 레코드는 SELECT 결과를 필드에 바로 담으므로 getter는 필드를 읽을 뿐입니다.
+ * - 반환 타입은 계속 ProductSummary이므로 호출하는 쪽(서비스/컨트롤러)과 JSON 응답 형식은 그대로입니다.
+ */
+public record ProductSummaryRecord(Integer productId, String productName) implements ProductSummary {
+
+    /*
+     * 💡 SELECT product_id, product_name 한 행 -> 레코드 생성자 직접 호출
+     * - product_id는 DB/드라이버에 따라 Integer가 아닐 수 있으므로(예: UNSIGNED -> Long) Number로 받아 변환합니다.
+     */
+    public static final TupleTransformer<ProductSummary> FROM_TUPLE =
+            (tuple, aliases) -> new ProductSummaryRecord(((Number) tuple[0]).intValue(), (String) tuple[1]);
+
+    @Override
+    public Integer getProductId() {
+        return productId;
+    }
+
+    @Override
+    public String getProductName() {
+        return productName;
+    }
+}
@@ -1,13 +1,16 @@
 package com.ohgiraffers.springdatajpa.chap04.repository;
 
 import com.ohgiraffers.springdatajpa.chap04.model.ProductDTO;
-import com.ohgiraffers.springdatajpa.chap04.model.ProductSummary;
+import com.ohgiraffers.springdatajpa.chap04.model.ProductSearchResult;
 import com.ohgiraffers.springdatajpa.common.Product;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -30,7 +33,7 @@ import java.util.List;
  * 따라서 조회한 데이터에 추가적인 가공 로직(예: getVatIncludedPrice())을 포함시키거나, 계층 간에 명확한 데이터 구조를 전달하고 싶을 때 더 유연하고 강력하다.
  */
 @Repository("chap04-productRepository")
-public interface ProductRepository extends JpaRepository<Product, Integer> {
+public interface ProductRepository extends JpaRepository<Product, Integer>, ProductRepositoryCustom {
 
     // --- 쿼리 메소드 영역 (Section 01에서 작성) ---
     // ... (findByProductName, findByPriceGreaterThan 등) ...
@@ -64,6 +67,8 @@ public interface ProductRepository extends JpaRepository<Product, Integer> {
     @Query("SELECT p FROM Product p WHERE p.productName LIKE %?1%") // ?1: 첫 번째 파라미터
     List<Product> searchProductsByNameKeyword(String keyword);
     // 🤔 위치 기반(?1, ?2)은 파라미터 순서 변경 시 오류 발생 가능성이 있어 이름 기반(:name)을 권장합니다.
+    // 🚨 '%키워드%'처럼 앞에 %가 붙은 LIKE는 인덱스를 쓰지 못해 매번 전체 테이블을 스캔합니다.
+    //    실제 검색 기능에는 아래 9번 searchProductsByRelevance(전문 검색 인덱스)를 사용하세요.
 
     /**
      * 📌 3. JPQL + DTO 프로젝션 (new 키워드)
@@ -93,17 +98,97 @@ public interface ProductRepository extends JpaRepository<Product, Integer> {
     // 🤔 Native SQL은 DB에 종속적이 되므로 꼭 필요할 때만 사용하고, JPQL을 우선적으로 고려하세요.
     // 결과 타입이 정해져 있지 않으면 List<Object[]>로 반환됩니다.
 
-    /**
-     * 📌 5. Native SQL + 인터페이스 기반 프로젝션 (결과 매핑)
+    /*
+     * 📌 5. Native SQL + 인터페이스 기반 프로젝션 (결과 매핑) -> findProductSummariesByIds (ProductRepositoryCustom)
      * 상품 ID와 이름을 포함하는 ProductSummary 인터페이스로 결과 반환
      * SQL: SELECT product_id as productId, product_name as productName FROM tbl_product WHERE product_id IN (:ids)
      * (주의: Native Query에서 인터페이스 프로젝션 사용 시 alias(as)가 인터페이스의 getter 이름과 일치해야 함)
+     *
+     * 💡 @Query(nativeQuery = true)로 ProductSummary를 반환하면 행마다 Map + JDK 동적 프록시가 만들어집니다.
+     *    ID 목록 조회는 행이 많으므로 ProductRepositoryCustomImpl에서 ProductSummaryRecord로 바로 매핑합니다. (반환 타입은 같음)
+     */
+
+
+    /**
+     * 📌 7. JPQL + 키셋(Seek) 페이지네이션 - 첫 페이지
+     * 가격 오름차순(동일 가격은 ID 오름차순)으로 정렬한 상품의 첫 페이지 조회
+     *
+     * @param pageable 페이지 크기 (PageRequest.of(0, size) - 정렬은 JPQL의 ORDER BY 사용)
+     * @return Slice (다음 데이터 존재 여부만 포함, COUNT 쿼리 없음)
+     */
+    @Query("SELECT p FROM Product p ORDER BY p.price ASC, p.productId ASC")
+    Slice<Product> findFirstProductsOrderByPrice(Pageable pageable);
+
+    /**
+     * 📌 8. JPQL + 키셋(Seek) 페이지네이션 - 다음 페이지
+     * 이전 페이지의 마지막 (가격, ID) '다음' 상품부터 조회
+     * JPQL: ... WHERE p.price >= :price AND (p.price > :price OR p.productId > :productId)
+     *
+     * 💡 OFFSET은 앞의 N건을 읽고 버리므로 뒤 페이지일수록 느려지지만,
+     *    키셋 조건은 (price, product_id) 인덱스에서 커서 위치로 바로 이동해 size건만 읽습니다.
+     * 💡 'price > ? OR (price = ? AND id > ?)'와 같은 조건이지만, 맨 앞의 price >= ? 덕분에 옵티마이저가
+     *    인덱스 범위(price >= 커서 가격)를 바로 잡습니다. (OR만 있으면 범위를 못 잡고 인덱스 전체를 읽는 경우가 있음)
+     *    반환 타입이 Slice이면 size+1건을 조회해 다음 페이지 존재 여부를 판단합니다.
+     *
+     * @param price     이전 페이지 마지막 상품의 가격
+     * @param productId 이전 페이지 마지막 상품의 ID
+     * @param pageable  페이지 크기 (항상 0번 페이지로 요청)
+     * @return Slice
+     */
+    @Query("SELECT p FROM Product p " +
+            "WHERE p.price >= :price AND (p.price > :price OR p.productId > :productId) " +
+            "ORDER BY p.price ASC, p.productId ASC")
+    Slice<Product> findProductsAfterCursor(@Param("price") Integer price,
+                                           @Param("productId") Integer productId,
+                                           Pageable pageable);
+
+    /**
+     * 📌 8-1. JPQL + DTO 프로젝션 + 키셋 페이지네이션 - 가격 범위 안에서 다음 페이지
+     * 가격 범위 [minPrice, maxPrice] 안에서 (price, productId) 커서 '다음' 상품을 DTO로 조회
+     * (첫 페이지는 커서를 (minPrice, Integer.MIN_VALUE)로 주면 범위의 처음부터 조회)
+     *
+     * 💡 SSE 스트리밍(ProductService.streamProductsAsEvents)이 페이지마다 짧은 트랜잭션으로 호출합니다.
+     *    Stream 반환과 달리 한 페이지를 다 읽으면 커넥션을 바로 풀에 반납합니다.
+     *
+     * @param minPrice  최소 가격
+     * @param maxPrice  최대 가격
+     * @param price     이전 페이지 마지막 상품의 가격
+     * @param productId 이전 페이지 마지막 상품의 ID
+     * @param pageable  페이지 크기 (항상 0번 페이지로 요청)
+     * @return ProductDTO 목록 (size건 이하, 비어 있으면 마지막 페이지)
      */
-    // ProductSummary 인터페이스 정의 필요 (아래에서 생성)
-    @Query(value = "SELECT product_id as productId, product_name as productName " +
-            "FROM tbl_product WHERE product_id IN (:ids)", nativeQuery = true)
-    List<ProductSummary> findProductSummariesByIds(@Param("ids") List<Integer> ids);
+    @Transactional(readOnly = true) // 선언한 쿼리 메서드에는 기본 트랜잭션이 없으므로 읽기 전용(레플리카 라우팅)을 직접 지정
+    @Query("SELECT new com.ohgiraffers.springdatajpa.chap04.model.ProductDTO(p.productId, p.productName, p.price) " +
+            "FROM Product p " +
+            "WHERE p.price BETWEEN :minPrice AND :maxPrice " +
+            "AND p.price >= :price AND (p.price > :price OR p.productId > :productId) " +
+            "ORDER BY p.price ASC, p.productId ASC")
+    List<ProductDTO> findProductDTOPageAfterCursor(@Param("minPrice") Integer minPrice,
+                                                   @Param("maxPrice") Integer maxPrice,
+                                                   @Param("price") Integer price,
+                                                   @Param("productId") Integer productId,
+                                                   Pageable pageable);
 
+    /**
+     * 📌 9. Native SQL + 전문 검색(FULLTEXT, ngram 파서) + 관련도 순 정렬
+     * 상품명에 검색어가 포함된 상품을 관련도(score) 높은 순으로 limit건 조회
+     * SQL: SELECT ..., MATCH(product_name) AGAINST (?) AS score FROM tbl_product
+     *      WHERE MATCH(product_name) AGAINST (?) ORDER BY score DESC LIMIT ?
+     *
+     * 💡 ngram 파서는 상품명을 2글자(ngram_token_size) 단위 토큰으로 잘라 인덱싱하므로
+     *    띄어쓰기로 단어를 구분하기 어려운 한글 상품명도 부분 검색이 됩니다. (예: '라떼' -> '카페 라떼', '바닐라 라떼')
+     * 🚨 ft_product_name 인덱스(setup.sql)가 필요합니다. JPA @Index로는 FULLTEXT 인덱스를 선언할 수 없습니다.
+     *
+     * @param keyword 검색어 (2글자 이상)
+     * @param limit   최대 조회 건수
+     * @return 관련도 순 검색 결과
+     */
+    @Query(value = "SELECT product_id AS productId, product_name AS productName, price, " +
+            "MATCH(product_name) AGAINST (:keyword IN NATURAL LANGUAGE MODE) AS score " +
+            "FROM tbl_product " +
+            "WHERE MATCH(product_name) AGAINST (:keyword IN NATURAL LANGUAGE MODE) " +
+            "ORDER BY score DESC, product_id ASC LIMIT :limit", nativeQuery = true)
+    List<ProductSearchResult> searchProductsByRelevance(@Param("keyword") String keyword, @Param("limit") int limit);
 
     /**
      * 📌 6. 데이터 수정 쿼리 (@Modifying)
@@ -114,11 +199,16 @@ public interface ProductRepository extends JpaRepository<Product, Integer> {
      * @param newPrice  새로운 가격
      * @return 영향을 받은 행(row)의 수 (int)
      */
-    @Modifying // ✨ INSERT, UPDATE, DELETE 쿼리 실행 시 필수!
-    @Query("UPDATE Product p SET p.price = :newPrice WHERE p.productId = :id")
+    @Modifying(flushAutomatically = true, clearAutomatically = true) // ✨ INSERT, UPDATE, DELETE 쿼리 실행 시 필수!
+    @Query("UPDATE Product p SET p.price = :newPrice, p.version = p.version + 1 WHERE p.productId = :id")
     int updateProductPrice(@Param("id") Integer id, @Param("newPrice") Integer newPrice);
     // 💡 @Modifying 어노테이션은 해당 쿼리가 데이터 변경 작업임을 알리고,
     //    영속성 컨텍스트와의 동기화 등 추가 작업을 처리하도록 합니다.
     //    반환 타입은 보통 int(영향받은 행 수) 또는 void 입니다.
+    // 💡 flushAutomatically: 실행 전 쌓인 변경 사항을 먼저 DB에 반영 (UPDATE가 덮어쓰지 않도록)
+    //    clearAutomatically: 실행 후 영속성 컨텍스트를 비워, 같은 트랜잭션의 findById가 이전 가격(1차 캐시)을 읽지 않도록 함
+    // 💡 벌크 UPDATE는 @Version을 자동으로 올리지 않으므로 직접 증가시켜, 이 상품을 먼저 읽어 둔 낙관적 락 트랜잭션이 충돌을 감지하게 함
+
+    // 💡 여러 상품의 가격을 한 번에 바꾸는 updatePrices()는 ProductRepositoryCustom(Impl)에 직접 구현되어 있습니다.
 }
 
@@ -0,0 +1,47 @@
+package com.ohgiraffers.springdatajpa.chap04.repository;
+
+import com.ohgiraffers.springdatajpa.chap04.model.PriceChangeDTO;
+import com.ohgiraffers.springdatajpa.chap04.model.ProductNamePriceColumns;
+import com.ohgiraffers.springdatajpa.chap04.model.ProductSummary;
+
+import java.util.List;
+
+/*
+ * 📌 ProductRepositoryCustom: @Query로 표현하기 어려운 쿼리를 직접 구현하는 사용자 정의 리포지토리 조각
+ * - 구현은 ProductRepositoryCustomImpl (Spring Data JPA가 '인터페이스 이름 + Impl' 규칙으로 연결)
+ */
+public interface ProductRepositoryCustom {
+
+    /**
+     * 📌 여러 상품의 가격을 UPDATE 한 문장으로 일괄 변경
+     * SQL: UPDATE tbl_product SET price = CASE product_id WHEN ? THEN ? ... ELSE price END, version = version + 1 WHERE product_id IN (...)
+     *
+     * - 실행 전 영속성 컨텍스트를 flush하고, 실행 후 가격이 바뀐 상품 엔티티만 detach하여
+     *   같은 트랜잭션의 이후 조회가 변경된 가격을 읽도록 합니다. (다른 관리 엔티티는 그대로 유지)
+     * @param priceChanges (상품 ID, 새 가격) 목록
+     * @return 영향을 받은 행(row)의 수
+     */
+    int updatePrices(List<PriceChangeDTO> priceChanges);
+
+    /**
+     * 📌 특정 가격 초과 상품의 이름과 가격을 열(column) 단위로 조회
+     * SQL: SELECT product_name, price FROM tbl_product WHERE price > ?
+     *
+     * - findProductNameAndPriceNative(List<Object[]>)와 같은 쿼리지만, JDBC ResultSet을 직접 읽어
+     *   행마다 Object[]/Integer/String을 만들지 않고 int[]와 이름 바이트 배열에 담습니다.
+     * @param minPrice 최소 가격 (이 가격 초과)
+     * @return (상품명, 가격) 열 버퍼
+     */
+    ProductNamePriceColumns findProductNameAndPriceColumns(int minPrice);
+
+    /**
+     * 📌 Native SQL + 프로젝션: 상품 ID 목록으로 ID와 이름 조회
+     * SQL: SELECT product_id, product_name FROM tbl_product WHERE product_id IN (...)
+     *
+     * - 반환 타입은 ProductSummary(인터페이스)이지만, 행마다 프록시를 만들지 않고 ProductSummaryRecord로 바로 매핑합니다.
+     * - 결과 순서는 보장하지 않습니다. (입력 ID 순서 정렬은 ChunkedIdLookup 담당)
+     * @param ids 상품 ID 목록
+     * @return 존재하는 상품의 (ID, 이름) 목록
+     */
+    List<ProductSummary> findProductSummariesByIds(List<Integer> ids);
+}
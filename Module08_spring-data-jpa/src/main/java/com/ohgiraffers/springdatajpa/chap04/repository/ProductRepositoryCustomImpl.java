@@ -0,0 +1,123 @@
+package com.ohgiraffers.springdatajpa.chap04.repository;
+
+import com.ohgiraffers.springdatajpa.chap04.model.PriceChangeDTO;
+import com.ohgiraffers.springdatajpa.chap04.model.ProductNamePriceColumns;
+import com.ohgiraffers.springdatajpa.chap04.model.ProductSummary;
+import com.ohgiraffers.springdatajpa.chap04.model.ProductSummaryRecord;
+import com.ohgiraffers.springdatajpa.common.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.query.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * 📌 ProductRepositoryCustomImpl: ProductRepositoryCustom의 구현 (EntityManager 직접 사용)
+ *
+ * 💡 가격 변경 N건을 @Modifying 쿼리로 N번 실행하면 DB 왕복도 N번입니다.
+ *    변경 건수에 따라 CASE 절이 달라지는 '동적' UPDATE는 @Query 문자열로 만들 수 없으므로,
+ *    Criteria API(CriteriaUpdate)로 조립해 한 문장으로 실행합니다.
+ * 💡 JPQL(Criteria) 벌크 연산이므로 Hibernate가 Product 2차 캐시 영역과 쿼리 캐시를 함께 무효화합니다.
+ * 💡 (상품명, 가격) 열 조회는 JdbcTemplate으로 ResultSet을 직접 읽습니다. (같은 트랜잭션/커넥션에 참여)
+ * 💡 ProductSummary(인터페이스 프로젝션) Native 조회는 TupleTransformer로 ProductSummaryRecord에 바로 담습니다. (행마다 Map/프록시 없음)
+ */
+public class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+
+    // UPDATE 한 문장에 담을 최대 건수 (CASE 절/바인딩 파라미터 수 제한)
+    private static final int CHUNK_SIZE = 500;
+    private static final String NAME_PRICE_SQL = "SELECT product_name, price FROM tbl_product WHERE price > ?";
+    private static final String SUMMARIES_BY_IDS_SQL = "SELECT product_id, product_name FROM tbl_product WHERE product_id IN (:ids)";
+
+    private final EntityManager em;
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProductRepositoryCustomImpl(EntityManager em, JdbcTemplate jdbcTemplate) {
+        this.em = em;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int updatePrices(List<PriceChangeDTO> priceChanges) {
+        // 1. 아직 DB에 반영되지 않은 변경 사항을 먼저 반영 (flushAutomatically와 동일)
+        em.flush();
+
+        int updatedRows = 0;
+        for (int from = 0; from < priceChanges.size(); from += CHUNK_SIZE) {
+            List<PriceChangeDTO> chunk = priceChanges.subList(from, Math.min(from + CHUNK_SIZE, priceChanges.size()));
+            updatedRows += createPriceUpdate(chunk).executeUpdate();
+        }
+
+        // 2. 벌크 UPDATE는 영속성 컨텍스트를 거치지 않으므로, 가격이 바뀐 상품 중 이미 조회된 엔티티(이전 가격)만 분리
+        //    (clearAutomatically처럼 em.clear()하면 호출한 트랜잭션의 다른 엔티티까지 모두 준영속 상태가 됨)
+        detachManagedProducts(priceChanges);
+        return updatedRows;
+    }
+
+    // 📌 영속성 컨텍스트에 이미 있는 Product만 찾아 detach (없는 ID는 조회/프록시 생성 없이 건너뜀)
+    // - 1에서 flush했으므로 분리해도 잃어버리는 변경 사항은 없고, 이후 findById는 DB(변경된 가격)에서 다시 읽음
+    private void detachManagedProducts(List<PriceChangeDTO> priceChanges) {
+        SessionImplementor session = em.unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(Product.class);
+        for (PriceChangeDTO priceChange : priceChanges) {
+            Object managed = session.getPersistenceContextInternal()
+                    .getEntity(session.generateEntityKey(priceChange.getProductId(), persister));
+            if (managed != null) {
+                em.detach(managed);
+            }
+        }
+    }
+
+    @Override
+    public ProductNamePriceColumns findProductNameAndPriceColumns(int minPrice) {
+        return jdbcTemplate.query(NAME_PRICE_SQL, rs -> {
+            ProductNamePriceColumns columns = new ProductNamePriceColumns();
+            while (rs.next()) {
+                // 행마다 Object[]/Integer를 만들지 않고 열 버퍼에 바로 기록 (가격은 int 그대로, 이름은 UTF-8 바이트로)
+                columns.add(rs.getString(1), rs.getInt(2));
+            }
+            return columns;
+        }, minPrice);
+    }
+
+    @Override
+    @Transactional(readOnly = true) // 청크마다 별도 스레드에서 호출되므로 각자 읽기 전용 트랜잭션으로 실행 (ProductService 참고)
+    @SuppressWarnings("unchecked")
+    public List<ProductSummary> findProductSummariesByIds(List<Integer> ids) {
+        // Native 쿼리도 Hibernate Query로 꺼내 TupleTransformer 적용 (영속성 컨텍스트 자동 flush, IN 절 패딩은 @Query와 동일)
+        return em.createNativeQuery(SUMMARIES_BY_IDS_SQL)
+                .setParameter("ids", ids)
+                .unwrap(Query.class)
+                .setTupleTransformer(ProductSummaryRecord.FROM_TUPLE)
+                .getResultList();
+    }
+
+    private jakarta.persistence.Query createPriceUpdate(List<PriceChangeDTO> chunk) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaUpdate<Product> update = cb.createCriteriaUpdate(Product.class);
+        Root<Product> product = update.from(Product.class);
+        Path<Integer> productId = product.get("productId");
+        Path<Integer> price = product.get("price");
+        Path<Long> version = product.get("version");
+
+        // SET price = CASE productId WHEN :id1 THEN :price1 WHEN :id2 THEN :price2 ... ELSE price END
+        CriteriaBuilder.SimpleCase<Integer, Integer> newPrice = cb.selectCase(productId);
+        List<Integer> ids = new ArrayList<>(chunk.size());
+        for (PriceChangeDTO priceChange : chunk) {
+            newPrice.when(priceChange.getProductId(), priceChange.getPrice());
+            ids.add(priceChange.getProductId());
+        }
+        update.set(price, newPrice.otherwise(price));
+        // 벌크 UPDATE는 @Version을 올리지 않으므로 직접 증가 (낙관적 락을 쓰는 다른 트랜잭션이 충돌을 감지하도록)
+        update.set(version, cb.sum(version, 1L));
+        update.where(productId.in(ids));
+        return em.createQuery(update);
+    }
+}
@@ -1,23 +1,46 @@
 package com.ohgiraffers.springdatajpa.chap04.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ohgiraffers.springdatajpa.chap04.model.PriceChangeDTO;
 import com.ohgiraffers.springdatajpa.chap04.model.ProductDTO;
+import com.ohgiraffers.springdatajpa.chap04.model.ProductNamePriceColumns;
+import com.ohgiraffers.springdatajpa.chap04.model.ProductSearchResult;
 import com.ohgiraffers.springdatajpa.chap04.model.ProductSummary;
 import com.ohgiraffers.springdatajpa.chap04.repository.ProductRepository;
 import com.ohgiraffers.springdatajpa.common.Product;
+import com.ohgiraffers.springdatajpa.common.ProductCursor;
+import com.ohgiraffers.springdatajpa.common.ProductSlice;
+import com.ohgiraffers.springdatajpa.common.lookup.ChunkedIdLookup;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 @Service("chap04-productService")
 public class ProductService {
 
+    private static final int MIN_SEARCH_KEYWORD_LENGTH = 2; // MySQL ngram_token_size 기본값
+    private static final int STREAM_PAGE_SIZE = 500;        // SSE 전송 시 한 번에 조회할 상품 수 (페이지마다 커넥션 반납)
+    private static final int EVENT_FLUSH_INTERVAL = 100;    // SSE 전송 시 이 건수마다 클라이언트로 flush
+
     private final ProductRepository productRepository;
+    private final ObjectMapper objectMapper; // SSE data 필드 JSON 직렬화용
+    private final ChunkedIdLookup chunkedIdLookup; // 대량 ID IN 조회 (청크 분할 + 병렬)
 
     @Autowired
-    public ProductService(ProductRepository productRepository) {
+    public ProductService(ProductRepository productRepository, ObjectMapper objectMapper, ChunkedIdLookup chunkedIdLookup) {
         this.productRepository = productRepository;
+        this.objectMapper = objectMapper;
+        this.chunkedIdLookup = chunkedIdLookup;
     }
 
     // --- 쿼리 메소드 활용 예시 (Section 01) ---
@@ -27,51 +50,128 @@ public class ProductService {
 
     @Transactional(readOnly = true)
     public List<Product> findProductsBelowPriceSorted(Integer maxPrice) {
-        System.out.println("Service(Chap03) - findProductsBelowPriceSorted 호출: maxPrice = " + maxPrice);
         List<Product> products = productRepository.findProductsBelowPriceSorted(maxPrice); // ✅ @Query(JPQL) 호출!
-        System.out.println("Service(Chap03) - 조회된 상품 수: " + products.size());
         return products;
     }
 
     @Transactional(readOnly = true)
     public List<ProductDTO> findProductDTOsAbovePrice(Integer minPrice) {
-        System.out.println("Service(Chap03) - findProductDTOsAbovePrice 호출: minPrice = " + minPrice);
         List<ProductDTO> productDTOs = productRepository.findProductDTOsAbovePrice(minPrice); // ✅ @Query(JPQL+DTO) 호출!
-        System.out.println("Service(Chap03) - 조회된 DTO 수: " + productDTOs.size());
         return productDTOs;
     }
 
     @Transactional(readOnly = true)
-    public List<Object[]> findProductNameAndPriceNative(Integer minPrice) {
-        System.out.println("Service(Chap03) - findProductNameAndPriceNative 호출: minPrice = " + minPrice);
-        List<Object[]> results = productRepository.findProductNameAndPriceNative(minPrice); // ✅ @Query(Native) 호출!
-        System.out.println("Service(Chap03) - 조회된 결과 수: " + results.size());
-        // 결과 처리 예시 (Object[] -> DTO 변환 등)
-        // results.forEach(row -> System.out.println("Name: " + row[0] + ", Price: " + row[1]));
-        return results;
+    public ProductNamePriceColumns findProductNameAndPriceNative(Integer minPrice) {
+        // 💡 @Query(Native)의 List<Object[]> 대신 ResultSet을 열 버퍼로 직접 읽는 사용자 정의 리포지토리 메소드 호출
+        //    (행마다 Object[]/Integer/String을 만들지 않음 -> 결과가 많을수록 GC 부담 감소)
+        // List<Object[]> results = productRepository.findProductNameAndPriceNative(minPrice); // @Query(Native) 버전
+        return productRepository.findProductNameAndPriceColumns(minPrice);
     }
 
-    @Transactional(readOnly = true)
+    // 💡 @Transactional 없음: ID가 많으면 청크별로 다른 스레드에서 조회하므로, 각 청크가 자신의 읽기 전용 트랜잭션
+    //    (ProductRepositoryCustomImpl.findProductSummariesByIds에 선언한 @Transactional(readOnly = true))으로 실행됩니다.
     public List<ProductSummary> findProductSummariesByIds(List<Integer> ids) {
-        System.out.println("Service(Chap03) - findProductSummariesByIds 호출: ids = " + ids);
-        List<ProductSummary> summaries = productRepository.findProductSummariesByIds(ids); // ✅ @Query(Native + Interface Projection) 호출!
-        System.out.println("Service(Chap03) - 조회된 Summary 수: " + summaries.size());
-        return summaries;
+        // ✅ Native + 프로젝션(ProductSummaryRecord) 호출! (청크 분할 + 병렬 조회, 입력 ID 순서로 반환)
+        return chunkedIdLookup.findAllInOrder(ids, productRepository::findProductSummariesByIds, ProductSummary::getProductId);
+    }
+
+    @Transactional(readOnly = true)
+    public ProductSlice<Product> findProductsByPriceKeyset(String cursor, int size) {
+        Pageable pageable = PageRequest.of(0, size); // 키셋 방식은 항상 0번 페이지 (OFFSET 0)
+        Slice<Product> slice;
+        if (cursor == null) {
+            slice = productRepository.findFirstProductsOrderByPrice(pageable);
+        } else {
+            ProductCursor productCursor = ProductCursor.decode(cursor);
+            slice = productRepository.findProductsAfterCursor(productCursor.getPrice(), productCursor.getProductId(), pageable); // ✅ @Query(키셋) 호출!
+        }
+        List<Product> products = slice.getContent();
+        String nextCursor = slice.hasNext()
+                ? ProductCursor.from(products.get(products.size() - 1)).encode()
+                : null;
+        return new ProductSlice<>(products, nextCursor, slice.hasNext());
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProductSearchResult> searchProducts(String keyword, int size) {
+        String trimmed = keyword == null ? "" : keyword.trim();
+        // ngram 토큰 크기(기본 2)보다 짧은 검색어는 인덱스에서 찾을 수 없음
+        if (trimmed.length() < MIN_SEARCH_KEYWORD_LENGTH) {
+            throw new IllegalArgumentException("검색어는 " + MIN_SEARCH_KEYWORD_LENGTH + "글자 이상이어야 합니다: " + keyword);
+        }
+        return productRepository.searchProductsByRelevance(trimmed, size); // ✅ @Query(Native + FULLTEXT) 호출!
+    }
+
+    /**
+     * 📌 가격 범위 상품을 Server-Sent Events 형식으로 출력 스트림에 기록
+     * - 이벤트 하나 = 상품 하나 (id: 상품 ID, event: product, data: ProductDTO JSON)
+     * - 마지막에 event: complete (data: 전송 건수)를 보내 클라이언트가 정상 종료를 구분할 수 있게 합니다.
+     * 💡 출력 스트림 쓰기는 클라이언트가 받는 속도만큼만 진행(블로킹)되므로, DB 읽기도 그 속도에 맞춰집니다. (배압)
+     * 🚨 그래서 트랜잭션(@Transactional)을 걸지 않습니다. 하나의 트랜잭션 + Stream으로 읽으면 느린 클라이언트가
+     *    응답을 다 받을 때까지 커넥션을 붙잡아, 느린 클라이언트 수가 풀 크기(20)에 닿으면 다른 요청이 모두
+     *    connection-timeout(3초)으로 실패합니다.
+     *    대신 키셋 쿼리(findProductDTOPageAfterCursor)로 STREAM_PAGE_SIZE건씩 읽고, 페이지마다 커넥션을 반납한 뒤 전송합니다.
+     *    느린 클라이언트가 붙잡는 것은 비동기 스레드(spring.mvc.async) 하나뿐입니다.
+     * ⚖️ 대가: 페이지마다 다른 시점의 데이터를 읽으므로 응답 전체가 하나의 스냅샷이 아닙니다.
+     *    전송 중 가격이 바뀐 상품은 빠지거나 두 번 보내질 수 있고, 페이지 수만큼 쿼리가 나갑니다.
+     * @return 전송한 상품 수
+     */
+    public long streamProductsAsEvents(Integer minPrice, Integer maxPrice, OutputStream out) throws IOException {
+        long count = 0;
+        Pageable page = PageRequest.of(0, STREAM_PAGE_SIZE); // 키셋 방식은 항상 0번 페이지 (OFFSET 0)
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            // 응답 스트림은 서블릿 컨테이너가 닫으므로, 생성기를 닫을 때 함께 닫지 않도록 설정
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null); // JSON 값 사이에 구분자(공백)를 넣지 않음 (SSE 형식은 writeRaw로 직접 작성)
+            // 직렬화기를 한 번만 찾아 두고 재사용, 상품마다 flush하지 않음 (flush 시점은 아래에서 직접 결정)
+            ObjectWriter productWriter = objectMapper.writerFor(ProductDTO.class)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            // 첫 커서: (minPrice, Integer.MIN_VALUE) 다음 = 범위의 처음
+            Integer cursorPrice = minPrice;
+            Integer cursorProductId = Integer.MIN_VALUE;
+            List<ProductDTO> products;
+            do {
+                // ✅ @Query(키셋 + DTO) 호출! 페이지마다 짧은 읽기 전용 트랜잭션, 끝나면 커넥션 반납
+                products = productRepository.findProductDTOPageAfterCursor(minPrice, maxPrice, cursorPrice, cursorProductId, page);
+                for (ProductDTO product : products) {
+                    generator.writeRaw("id:");
+                    generator.writeRaw(String.valueOf(product.getProductId()));
+                    generator.writeRaw("\nevent:product\ndata:");
+                    productWriter.writeValue(generator, product);
+                    generator.writeRaw("\n\n");
+                    // 첫 이벤트는 바로 보내고(응답 헤더 전송), 이후에는 일정 건수마다 클라이언트로 전송
+                    if (++count == 1 || count % EVENT_FLUSH_INTERVAL == 0) {
+                        generator.flush();
+                    }
+                }
+                if (!products.isEmpty()) {
+                    ProductDTO last = products.get(products.size() - 1);
+                    cursorPrice = last.getPrice();
+                    cursorProductId = last.getProductId();
+                }
+            } while (products.size() == STREAM_PAGE_SIZE);
+            generator.writeRaw("event:complete\ndata:" + count + "\n\n");
+        }
+        return count;
     }
 
     @Transactional // 데이터 변경 작업!`
     public int updateProductPrice(Integer id, Integer newPrice) {
-        System.out.println("Service(Chap03) - updateProductPrice 호출: id=" + id + ", newPrice=" + newPrice);
         // ✨ @Modifying + @Query 호출!
         int updatedRows = productRepository.updateProductPrice(id, newPrice);
-        System.out.println("Service(Chap03) - 업데이트된 행 수: " + updatedRows);
         // 💡 주의: @Modifying 쿼리는 영속성 컨텍스트를 거치지 않고 바로 DB를 업데이트할 수 있습니다.
         // 따라서 이 쿼리 실행 후 해당 엔티티를 다시 조회해야 할 경우,
-        // 영속성 컨텍스트를 비우거나(@Query(clearAutomatically = true) 옵션 사용)
+        // 영속성 컨텍스트를 비우거나(@Modifying(clearAutomatically = true) 옵션 사용 - 현재 적용됨)
         // 또는 findById 등으로 다시 로드해야 최신 상태를 반영할 수 있습니다.
         return updatedRows;
     }
 
+    @Transactional
+    public int updateProductPrices(List<PriceChangeDTO> priceChanges) {
+        // ✨ CASE 기반 UPDATE 한 문장으로 일괄 변경 (변경 후 가격이 바뀐 상품만 영속성 컨텍스트에서 분리)
+        return productRepository.updatePrices(priceChanges);
+    }
+
     @Transactional(readOnly = true)
     public Product findProductById(Integer productId) {
         // Chap02의 findProductById 구현 재사용
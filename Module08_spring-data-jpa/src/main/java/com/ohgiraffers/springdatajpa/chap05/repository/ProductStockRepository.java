@@ -0,0 +1,20 @@
+package com.ohgiraffers.springdatajpa.chap05.repository;
+
+import com.ohgiraffers.springdatajpa.common.Product;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/*
+ * 📌 ProductStockRepository: 재고 차감 전용 리포지토리
+ *
+ * 💡 재고 차감을 'SELECT -> 자바에서 계산 -> UPDATE'로 처리하면, 그 사이에 다른 트랜잭션이 끼어들 수 있으므로
+ *    SERIALIZABLE 같은 높은 격리 수준(=락 대기, 데드락)이 필요해집니다.
+ * 💡 조건부 UPDATE 한 문장은 DB가 행 잠금(row lock) 하나로 '검사 + 차감'을 원자적으로 처리하므로
+ *    기본 격리 수준에서도 재고가 음수가 되지 않습니다. (영향받은 행 수 0 = 재고 부족 또는 상품 없음)
+ */
+@Repository("chap05-productStockRepository")
+public interface ProductStockRepository extends JpaRepository<Product, Integer>, ProductStockRepositoryCustom {
+
+    // 💡 재고 차감(decreaseStockIfAvailable)은 ProductStockRepositoryCustom(Impl)에 직접 구현되어 있습니다.
+    //    (JPQL 벌크 UPDATE는 주문마다 Product 2차 캐시 영역 전체를 비우므로 Native UPDATE + 해당 상품만 캐시 제거)
+}
@@ -0,0 +1,19 @@
+package com.ohgiraffers.springdatajpa.chap05.repository;
+
+/*
+ * 📌 ProductStockRepositoryCustom: 재고 차감 UPDATE를 직접 구현하는 사용자 정의 리포지토리 조각
+ * - 구현은 ProductStockRepositoryImpl (Spring Data JPA가 '리포지토리 이름 + Impl' 규칙으로 연결)
+ */
+public interface ProductStockRepositoryCustom {
+
+    /**
+     * 📌 재고가 충분할 때만 차감 (원자적 조건부 UPDATE)
+     * SQL: UPDATE tbl_product SET stock = stock - ?, version = version + 1
+     *      WHERE product_id = ? AND stock >= ?
+     *
+     * - version도 함께 올려서, 이 상품을 먼저 읽어 둔 낙관적 락 트랜잭션이 충돌을 감지하게 합니다.
+     * - 실행 전 영속성 컨텍스트를 flush하고, 실행 후 이 상품만 영속성 컨텍스트/2차 캐시에서 제거합니다.
+     * @return 1: 차감 성공, 0: 재고 부족 또는 상품 없음
+     */
+    int decreaseStockIfAvailable(Integer id, int quantity);
+}
@@ -0,0 +1,76 @@
+package com.ohgiraffers.springdatajpa.chap05.repository;
+
+import com.ohgiraffers.springdatajpa.common.Product;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/*
+ * 📌 ProductStockRepositoryImpl: ProductStockRepositoryCustom의 구현
+ *
+ * 💡 왜 @Modifying JPQL(UPDATE Product p ...)을 쓰지 않나요?
+ * - JPQL 벌크 UPDATE는 어떤 행이 바뀌었는지 Hibernate가 모르므로, 실행할 때마다 Product 2차 캐시 영역 '전체'와
+ *   tbl_product를 조회한 쿼리 캐시를 모두 무효화합니다. 주문마다 실행되므로 상품 캐시가 사실상 항상 비게 됩니다.
+ * - Native UPDATE에 동기화 대상(query space)을 지정하지 않으면 모든 캐시 영역을 무효화하므로 더 나쁩니다.
+ * - 그래서 Native UPDATE의 동기화 대상을 STOCK_QUERY_SPACE(어떤 엔티티/조회에도 쓰이지 않는 이름)로 지정해 전체 무효화를 막고,
+ *   바뀐 상품 한 건만 2차 캐시에서 직접 제거합니다. (ProductBulkRepositoryImpl처럼 커밋 후에도 한 번 더 제거)
+ * - 쿼리 캐시는 결과 ID 목록만 저장하고 재고를 조건으로 쓰는 캐시 쿼리가 없으므로, 재고 변경으로 무효화할 필요가 없습니다.
+ *
+ * 🚨 재고를 조건으로 하는 조회에 쿼리 캐시(HINT_CACHEABLE)를 붙이면, 이 UPDATE로는 그 결과가 무효화되지 않습니다.
+ */
+public class ProductStockRepositoryImpl implements ProductStockRepositoryCustom {
+
+    private static final String DECREASE_STOCK_SQL = "UPDATE tbl_product SET stock = stock - :quantity, version = version + 1 " +
+            "WHERE product_id = :id AND stock >= :quantity";
+    private static final String STOCK_QUERY_SPACE = "tbl_product_stock";
+
+    private final EntityManager em;
+
+    public ProductStockRepositoryImpl(EntityManager em) {
+        this.em = em;
+    }
+
+    @Override
+    public int decreaseStockIfAvailable(Integer id, int quantity) {
+        // 1. 아직 DB에 반영되지 않은 변경 사항을 먼저 반영 (flushAutomatically와 동일)
+        em.flush();
+
+        int updatedRows = em.createNativeQuery(DECREASE_STOCK_SQL)
+                .setParameter("id", id)
+                .setParameter("quantity", quantity)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(STOCK_QUERY_SPACE)
+                .executeUpdate();
+
+        if (updatedRows > 0) {
+            // 2. 이 상품만 영속성 컨텍스트(이전 재고/버전)와 2차 캐시에서 제거
+            SessionImplementor session = em.unwrap(SessionImplementor.class);
+            EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(Product.class);
+            Object managed = session.getPersistenceContextInternal().getEntity(session.generateEntityKey(id, persister));
+            if (managed != null) {
+                em.detach(managed);
+            }
+            evictFromSecondLevelCache(id);
+        }
+        return updatedRows;
+    }
+
+    // 커밋 전에 다른 트랜잭션이 이전 재고를 다시 캐시할 수 있으므로 커밋 후에도 한 번 더 제거합니다.
+    private void evictFromSecondLevelCache(Integer id) {
+        Cache cache = em.getEntityManagerFactory().unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(Product.class, id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.evictEntityData(Product.class, id);
+                }
+            });
+        }
+    }
+}
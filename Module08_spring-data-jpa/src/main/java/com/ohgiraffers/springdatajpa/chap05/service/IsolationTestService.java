@@ -197,19 +197,16 @@ public class IsolationTestService {
      */
     @Transactional(isolation = Isolation.SERIALIZABLE) // 데이터 변경 가능성 있으므로 readOnly=false
     public void processOrderWithSerializable(Integer productId, int quantityToDecrease) {
-        System.out.println("\nService(Isolation) - processOrderWithSerializable 호출 (Isolation=SERIALIZABLE)");
-        // SERIALIZABLE 수준에서 상품 조회 및 재고 변경 (가정)
+        // SERIALIZABLE 수준에서 상품 조회 및 재고 변경
         // 이 트랜잭션 동안 다른 트랜잭션은 해당 상품 데이터에 접근(읽기/쓰기)이 제한될 수 있음
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new IllegalArgumentException("상품 없음: " + productId));
 
-        System.out.println("  - 조회된 상품: " + product.getProductName());
-        // (가정) 재고 차감 로직 ...
-        System.out.println("  - (가정) 재고 차감 로직 수행...");
-        // product.decreaseStock(quantityToDecrease); // 엔티티에 재고 관련 필드/메서드 있다고 가정
-        // productRepository.save(product); // 변경 감지 또는 save 호출
+        product.decreaseStock(quantityToDecrease); // 재고 부족 시 IllegalStateException
+        // productRepository.save(product); // 변경 감지로 커밋 시 자동 UPDATE
 
-        System.out.println("Service(Isolation) - processOrderWithSerializable 완료 (커밋 예정)");
+        // 💡 동시 주문이 몰리는 재고 차감에는 OrderService(조건부 UPDATE + 낙관적 락 재시도)를 사용하세요.
+        //    이 메서드는 비교용(SERIALIZABLE 기준선)으로 남겨 둡니다.
     }
 
     // 💡 참고: Isolation.READ_UNCOMMITTED는 거의 사용되지 않으므로 예제에서 제외합니다.
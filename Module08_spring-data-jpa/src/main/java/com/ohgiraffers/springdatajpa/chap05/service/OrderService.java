@@ -0,0 +1,89 @@
+package com.ohgiraffers.springdatajpa.chap05.service;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/*
+ * 📌 OrderService: SERIALIZABLE 없이 재고를 차감하는 주문 처리
+ *
+ * 💡 IsolationTestService.processOrderWithSerializable()은 같은 상품의 모든 주문을 한 줄로 세우므로(공유 락 + 배타 락)
+ *    동시 주문이 몰리면 락 대기와 데드락이 발생합니다.
+ * 💡 이 서비스는 기본 격리 수준에서 다음 순서로 처리합니다.
+ *    1. 원자적 조건부 UPDATE (WHERE stock >= ?) -> 대부분의 주문은 여기서 끝
+ *    2. 락 대기 시간 초과/데드락 같은 '일시적' 오류가 나면, 낙관적 락(@Version)으로 재시도 (지수 백오프 + 지터)
+ *
+ * 🚨 이 클래스에는 @Transactional을 붙이지 않습니다. 시도마다 StockService의 새 트랜잭션이 시작되어야 재시도가 의미 있습니다.
+ */
+@Service
+public class OrderService {
+
+    private static final int MAX_ATTEMPTS = 5;         // 낙관적 락 최대 시도 횟수
+    private static final long BASE_BACKOFF_MILLIS = 5; // 첫 재시도 대기 시간 (시도마다 2배)
+
+    private final StockService stockService;
+
+    public OrderService(StockService stockService) {
+        this.stockService = stockService;
+    }
+
+    /**
+     * 📌 주문 처리 (재고 차감)
+     * @throws IllegalArgumentException 상품이 없거나 수량이 잘못된 경우
+     * @throws IllegalStateException 재고가 부족한 경우
+     * @throws OptimisticLockingFailureException 재시도 횟수를 모두 소진했거나, 재시도 대기 중 인터럽트된 경우
+     *         (인터럽트 시 마지막 실패를 그대로 던지고 인터럽트 상태는 유지 -> 재고 부족(IllegalStateException)과 구분)
+     */
+    public void placeOrder(Integer productId, int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("주문 수량은 1 이상이어야 합니다: " + quantity);
+        }
+
+        boolean decreased;
+        try {
+            decreased = stockService.decreaseStockAtomically(productId, quantity);
+        } catch (TransientDataAccessException e) {
+            // 락 대기 시간 초과, 데드락 희생자 등 -> 낙관적 락 경로로 재시도
+            placeOrderWithOptimisticRetry(productId, quantity);
+            return;
+        }
+
+        if (!decreased) {
+            // UPDATE 0건: 상품이 없는지, 재고가 부족한지 구분
+            if (!stockService.existsProduct(productId)) {
+                throw new IllegalArgumentException("상품 없음: " + productId);
+            }
+            throw new IllegalStateException("재고 부족: productId=" + productId + ", 요청=" + quantity);
+        }
+    }
+
+    private void placeOrderWithOptimisticRetry(Integer productId, int quantity) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                stockService.decreaseStockOptimistically(productId, quantity);
+                return;
+            } catch (TransientDataAccessException e) {
+                // ObjectOptimisticLockingFailureException(버전 충돌)도 TransientDataAccessException의 하위 타입
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+                try {
+                    backoff(attempt);
+                } catch (InterruptedException interrupted) {
+                    // 종료 요청 등으로 중단: 인터럽트 상태를 복원하고 더 시도하지 않음
+                    Thread.currentThread().interrupt();
+                    e.addSuppressed(interrupted);
+                    throw e;
+                }
+            }
+        }
+    }
+
+    // 지수 백오프 + 지터: 충돌한 트랜잭션들이 동시에 다시 부딪히지 않도록 대기 시간을 흩뜨림
+    private void backoff(int attempt) throws InterruptedException {
+        long maxDelay = BASE_BACKOFF_MILLIS << (attempt - 1);
+        Thread.sleep(ThreadLocalRandom.current().nextLong(maxDelay / 2, maxDelay + 1));
+    }
+}
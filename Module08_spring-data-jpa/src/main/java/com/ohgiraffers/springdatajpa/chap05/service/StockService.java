@@ -0,0 +1,46 @@
+package com.ohgiraffers.springdatajpa.chap05.service;
+
+import com.ohgiraffers.springdatajpa.chap05.repository.ProductStockRepository;
+import com.ohgiraffers.springdatajpa.common.Product;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/*
+ * 📌 StockService: 재고 차감 트랜잭션 (한 번의 시도 = 한 번의 트랜잭션)
+ * - 재시도는 트랜잭션 '바깥'(OrderService)에서 해야 매 시도마다 새 트랜잭션/새 스냅샷으로 다시 읽습니다.
+ *   (같은 클래스 안에서 호출하면 프록시를 거치지 않아 @Transactional이 적용되지 않으므로 별도 Bean으로 분리)
+ */
+@Service
+public class StockService {
+
+    private final ProductStockRepository productStockRepository;
+
+    public StockService(ProductStockRepository productStockRepository) {
+        this.productStockRepository = productStockRepository;
+    }
+
+    /**
+     * 📌 1순위: 원자적 조건부 UPDATE로 차감 (락은 UPDATE 한 문장 동안만 유지)
+     * @return true: 차감 성공, false: 재고 부족 또는 상품 없음
+     */
+    @Transactional
+    public boolean decreaseStockAtomically(Integer productId, int quantity) {
+        return productStockRepository.decreaseStockIfAvailable(productId, quantity) == 1;
+    }
+
+    /**
+     * 📌 2순위: 엔티티 조회 -> decreaseStock() -> 변경 감지(UPDATE ... WHERE version = ?)
+     * - 다른 트랜잭션이 먼저 수정했다면 커밋 시점에 ObjectOptimisticLockingFailureException 발생 (호출 측에서 재시도)
+     */
+    @Transactional
+    public void decreaseStockOptimistically(Integer productId, int quantity) {
+        Product product = productStockRepository.findById(productId)
+                .orElseThrow(() -> new IllegalArgumentException("상품 없음: " + productId));
+        product.decreaseStock(quantity);
+    }
+
+    @Transactional(readOnly = true)
+    public boolean existsProduct(Integer productId) {
+        return productStockRepository.existsById(productId);
+    }
+}
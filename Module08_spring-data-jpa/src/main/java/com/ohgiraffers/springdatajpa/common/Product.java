@@ -1,15 +1,20 @@
 package com.ohgiraffers.springdatajpa.common;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /*
  * 📌 Product 엔티티
  * - 상품 정보를 나타내는 간단한 엔티티입니다.
- * - 상품 ID (PK), 상품명, 가격 필드를 가집니다.
+ * - 상품 ID (PK), 상품명, 가격, 재고, 버전(낙관적 락) 필드를 가집니다.
  * - JPA 어노테이션을 사용하여 데이터베이스 테이블과 매핑합니다.
  */
 @Entity // 이 클래스가 JPA 엔티티임을 선언
-@Table(name = "tbl_product") // 'tbl_product' 테이블과 매핑
+@Cacheable // 2차 캐시(애플리케이션 공유 캐시) 대상 엔티티
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "product") // 수정/삭제 시 캐시도 함께 갱신 (soft lock)
+@Table(name = "tbl_product", // 'tbl_product' 테이블과 매핑
+        indexes = @Index(name = "idx_product_price", columnList = "price, product_id")) // 가격 조건 조회 + 키셋 페이지네이션용 인덱스 (setup.sql과 동일)
 public class Product {
 
     @Id // 기본 키(Primary Key) 필드임을 선언
@@ -23,6 +28,15 @@ public class Product {
     @Column(name = "price", nullable = false) // 'price' 컬럼, NOT NULL 제약 조건
     private Integer price;
 
+    @Column(name = "stock", nullable = false) // 'stock' 컬럼, NOT NULL 제약 조건
+    private Integer stock = 0;
+
+    // 📌 낙관적 락(Optimistic Lock) 버전: 변경 감지로 UPDATE할 때마다 1씩 증가하며 'WHERE version = ?' 조건으로 충돌을 감지
+    // - 다른 트랜잭션이 먼저 수정했다면 UPDATE 결과가 0건 -> ObjectOptimisticLockingFailureException
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // JPA는 기본 생성자를 요구합니다 (protected 또는 public).
     protected Product() {}
 
@@ -32,21 +46,42 @@ public class Product {
         this.price = price;
     }
 
+    public Product(String productName, Integer price, Integer stock) {
+        this.productName = productName;
+        this.price = price;
+        this.stock = stock;
+    }
+
     // Getter 메서드들...
     public Integer getProductId() { return productId; }
     public String getProductName() { return productName; }
     public Integer getPrice() { return price; }
+    public Integer getStock() { return stock; }
+    public Long getVersion() { return version; }
 
     // (Setter는 필요에 따라 추가 - 예: 업데이트 기능)
     public void setProductName(String productName) { this.productName = productName; }
     public void setPrice(Integer price) { this.price = price; }
 
+    // 재고 차감 (비즈니스 로직은 엔티티 안에서 검증)
+    public void decreaseStock(int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("차감 수량은 1 이상이어야 합니다: " + quantity);
+        }
+        if (stock < quantity) {
+            throw new IllegalStateException("재고 부족: productId=" + productId + ", 재고=" + stock + ", 요청=" + quantity);
+        }
+        this.stock -= quantity;
+    }
+
     @Override
     public String toString() {
         return "Product{" +
                 "productId=" + productId +
                 ", productName='" + productName + '\'' +
                 ", price=" + price +
+                ", stock=" + stock +
+                ", version=" + version +
                 '}';
     }
 }
\ No newline at end of file
@@ -0,0 +1,56 @@
+package com.ohgiraffers.springdatajpa.common;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/*
+ * 📌 ProductCursor: 키셋(Keyset, Seek) 페이지네이션의 '다음 위치'
+ * - 정렬 기준 (price ASC, productId ASC)에서 마지막으로 읽은 상품의 (가격, ID)를 담습니다.
+ * - 다음 페이지는 "WHERE (price, productId) > (마지막 가격, 마지막 ID)" 조건으로 이어서 읽으므로,
+ *   OFFSET처럼 앞의 행을 읽고 버리지 않습니다. (N번째 페이지도 첫 페이지와 같은 비용)
+ * - 클라이언트에는 내부 구조를 숨긴 불투명 토큰(Base64 URL-safe 문자열)으로 전달합니다.
+ */
+public class ProductCursor {
+
+    private final Integer price;
+    private final Integer productId;
+
+    public ProductCursor(Integer price, Integer productId) {
+        this.price = price;
+        this.productId = productId;
+    }
+
+    // 조회된 상품(페이지의 마지막 행)으로부터 커서 생성
+    public static ProductCursor from(Product product) {
+        return new ProductCursor(product.getPrice(), product.getProductId());
+    }
+
+    // 토큰 -> 커서 (잘못된 토큰이면 IllegalArgumentException)
+    public static ProductCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new ProductCursor(Integer.valueOf(raw.substring(0, separator)),
+                    Integer.valueOf(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("유효하지 않은 커서입니다: " + token);
+        }
+    }
+
+    // 커서 -> 토큰
+    public String encode() {
+        String raw = price + ":" + productId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Integer getPrice() { return price; }
+    public Integer getProductId() { return productId; }
+
+    @Override
+    public String toString() {
+        return "ProductCursor{" +
+                "price=" + price +
+                ", productId=" + productId +
+                '}';
+    }
+}
@@ -0,0 +1,18 @@
+package com.ohgiraffers.springdatajpa.common;
+
+/*
+ * 📌 ProductRequest: 상품 등록/수정 요청 본문 DTO (record)
+ * - 요청 JSON을 엔티티(Product)에 바로 바인딩하지 않습니다. (productId, version 등 클라이언트가 정하면 안 되는 필드 차단)
+ * - stock을 생략하면 0으로 등록됩니다.
+ */
+public record ProductRequest(String productName, Integer price, Integer stock) {
+
+    // 📌 등록에 꼭 필요한 값(상품명, 가격)이 있는지 확인 (대량 등록 요청 검증용, stock은 생략 가능)
+    public boolean hasRequiredFields() {
+        return productName != null && price != null;
+    }
+
+    public Product toEntity() {
+        return stock == null ? new Product(productName, price) : new Product(productName, price, stock);
+    }
+}
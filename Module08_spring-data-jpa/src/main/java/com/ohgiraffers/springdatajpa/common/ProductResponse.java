@@ -0,0 +1,22 @@
+package com.ohgiraffers.springdatajpa.common;
+
+import java.util.List;
+
+/*
+ * 📌 ProductResponse: 컨트롤러 응답용 상품 DTO (record)
+ * - 엔티티(Product)를 그대로 JSON으로 직렬화하지 않고, 응답에 필요한 필드만 복사해서 반환합니다.
+ * - spring.jpa.open-in-view=false 이므로, 컨트롤러가 받은 엔티티는 트랜잭션이 끝나 커넥션을 이미 반납한 준영속 상태입니다.
+ *   from()은 엔티티가 조회될 때 함께 읽힌 기본 컬럼만 복사하므로 추가 SQL도, 커넥션도 필요하지 않습니다.
+ * 🚨 지연 로딩 연관관계를 응답에 넣을 때는 from()에서 읽지 말고,
+ *    서비스(트랜잭션 안)에서 fetch join / @EntityGraph로 함께 조회한 뒤 변환합니다. (트랜잭션 밖에서 읽으면 LazyInitializationException)
+ */
+public record ProductResponse(Integer productId, String productName, Integer price, Integer stock) {
+
+    public static ProductResponse from(Product product) {
+        return new ProductResponse(product.getProductId(), product.getProductName(), product.getPrice(), product.getStock());
+    }
+
+    public static List<ProductResponse> fromAll(List<Product> products) {
+        return products.stream().map(ProductResponse::from).toList();
+    }
+}
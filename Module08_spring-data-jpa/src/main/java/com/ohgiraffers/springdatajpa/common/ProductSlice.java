@@ -0,0 +1,31 @@
+package com.ohgiraffers.springdatajpa.common;
+
+import java.util.List;
+import java.util.function.Function;
+
+/*
+ * 📌 ProductSlice: 키셋 페이지네이션 응답
+ * - Page와 달리 전체 건수(COUNT(*))를 조회하지 않고, '다음 페이지가 있는지'만 알려줍니다.
+ * - nextCursor: 다음 페이지 요청 시 그대로 전달할 불투명 토큰 (마지막 페이지면 null)
+ */
+public class ProductSlice<T> {
+
+    private final List<T> content;
+    private final String nextCursor;
+    private final boolean hasNext;
+
+    public ProductSlice(List<T> content, String nextCursor, boolean hasNext) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+    }
+
+    // 내용만 변환한 슬라이스 (예: 엔티티 -> 응답 DTO), 커서와 다음 페이지 여부는 그대로
+    public <R> ProductSlice<R> map(Function<? super T, ? extends R> mapper) {
+        return new ProductSlice<>(content.stream().<R>map(mapper).toList(), nextCursor, hasNext);
+    }
+
+    public List<T> getContent() { return content; }
+    public String getNextCursor() { return nextCursor; }
+    public boolean isHasNext() { return hasNext; }
+}
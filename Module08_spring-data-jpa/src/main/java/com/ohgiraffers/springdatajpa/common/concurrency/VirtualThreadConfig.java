@@ -0,0 +1,64 @@
+package com.ohgiraffers.springdatajpa.common.concurrency;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+
+/*
+ * 📌 VirtualThreadConfig: 가상 스레드(Virtual Thread) 실행 모드 설정
+ *
+ * 💡 spring.threads.virtual.enabled=true (Java 21 이상) 이면 Spring Boot가
+ *    - Tomcat 요청 처리 스레드를 가상 스레드로 바꾸고
+ *    - applicationTaskExecutor(StreamingResponseBody 등 MVC 비동기 응답 작성)도 가상 스레드(SimpleAsyncTaskExecutor)로 실행합니다.
+ * 💡 가상 스레드는 JDBC 대기 중에 캐리어(플랫폼) 스레드를 반납하므로, 처리량의 상한이 '스레드 수'가 아니라 'DB 커넥션 수'가 됩니다.
+ *    -> application.yml에서 HikariCP 풀 크기와 spring.task.execution.simple.concurrency-limit을 같은 값으로 맞춥니다.
+ *
+ * 🚨 주의 (Pinning): synchronized 블록 안에서 I/O를 기다리면 가상 스레드가 캐리어 스레드에 고정(pinning)되어 이점이 사라집니다.
+ *    MySQL Connector/J 9.0 이상, HikariCP 5 이상은 내부 잠금을 ReentrantLock으로 바꿔 이 문제가 없습니다.
+ *    -> 실행 시 virtualThreadGuard가 Java/드라이버 버전을 확인하고, 조건이 맞지 않으면 경고 로그를 남깁니다.
+ *    -> 의심될 때는 -Djdk.tracePinnedThreads=short (gradle bootRun -PvirtualThreads) 또는 JFR jdk.VirtualThreadPinned 이벤트로 확인합니다.
+ */
+@Configuration
+public class VirtualThreadConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    private static final int MIN_JAVA_VERSION = 21;
+    private static final int MIN_MYSQL_DRIVER_MAJOR_VERSION = 9; // Connector/J 9.0부터 synchronized -> ReentrantLock
+
+    @Bean
+    @ConditionalOnProperty(prefix = "spring.threads.virtual", name = "enabled", havingValue = "true")
+    public ApplicationRunner virtualThreadGuard(DataSource dataSource) {
+        return args -> {
+            int javaVersion = Runtime.version().feature();
+            if (javaVersion < MIN_JAVA_VERSION) {
+                log.warn("spring.threads.virtual.enabled=true 이지만 Java {} 에서 실행 중입니다. (Java {} 이상 필요) 플랫폼 스레드로 동작합니다.",
+                        javaVersion, MIN_JAVA_VERSION);
+                return;
+            }
+            checkJdbcDriver(dataSource);
+        };
+    }
+
+    // 오래된 MySQL 드라이버는 소켓 I/O를 synchronized 안에서 수행하므로 가상 스레드가 고정(pinning)됩니다.
+    private void checkJdbcDriver(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            if (metaData.getDriverName().contains("MySQL")
+                    && metaData.getDriverMajorVersion() < MIN_MYSQL_DRIVER_MAJOR_VERSION) {
+                log.warn("MySQL 드라이버 {} 는 가상 스레드 pinning이 발생할 수 있습니다. mysql-connector-j {}.x 이상을 사용하세요.",
+                        metaData.getDriverVersion(), MIN_MYSQL_DRIVER_MAJOR_VERSION);
+            }
+        } catch (SQLException e) {
+            log.warn("가상 스레드 호환성 확인을 위한 DB 연결에 실패했습니다: {}", e.getMessage());
+        }
+    }
+}
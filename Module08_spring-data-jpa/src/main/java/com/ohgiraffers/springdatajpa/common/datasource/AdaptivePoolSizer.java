@@ -0,0 +1,195 @@
+package com.ohgiraffers.springdatajpa.common.datasource;
+
+import com.ohgiraffers.springdatajpa.common.metrics.ConnectionUsageMetricsTrackerFactory;
+import com.ohgiraffers.springdatajpa.common.metrics.ConnectionUsageMetricsTrackerFactory.UsageSnapshot;
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 📌 AdaptivePoolSizer: 커넥션 대기 시간과 DB 부하를 보고 HikariCP maximum-pool-size를 범위 안에서 조절
+ *
+ * 💡 interval마다 지난 구간의 평균 커넥션 대기 시간(acquire)과 평균 사용 시간(usage)으로 판단합니다.
+ *    1) DB 포화: 평균 사용 시간이 평소(기준값)보다 load-tolerance 이상 길어짐 -> step만큼 줄임
+ *       (DB가 이미 바쁘면 커넥션을 늘려도 처리량은 그대로이고, 대기만 풀에서 DB로 옮겨가 모든 쿼리가 느려짐)
+ *       포화가 확인된 크기는 CEILING_TTL 동안 상한으로 기억합니다. (바로 다시 늘렸다 줄이는 반복 방지)
+ *    2) 풀 부족: 대기 중인 스레드가 있거나, 타임아웃이 났거나, 평균 대기가 target-wait를 넘음 -> step만큼 늘림 (상한 미만까지)
+ *    3) 여유: 대기가 거의 없고 사용 중인 커넥션이 절반 이하 -> step만큼 줄임
+ * - 기준값(평소 사용 시간)은 관측된 최소값에서 시작해 아주 천천히(반감기 BASELINE_HALF_LIFE) 따라 올라갑니다.
+ *   (데이터가 늘어 쿼리가 느려지는 변화는 반영하되, 몇 초~몇 분의 포화를 '평소'로 학습하지 않도록)
+ * 🚨 사용 시간은 작업 종류(가벼운 조회 / findAll 등)의 비율이 바뀌어도 달라지므로, load-tolerance는 여유 있게 잡습니다.
+ * - 줄일 때는 남는 커넥션을 닫습니다. (maximum-pool-size만 낮추면 이미 만든 커넥션은 계속 재사용됨)
+ *   전체 커넥션을 폐기 표시(softEvict)하면 유휴 커넥션은 바로, 사용 중인 커넥션은 반납 시점에 닫힙니다.
+ *   🚨 유휴 커넥션을 getConnection()으로 빌려서 닫지 않습니다. 그 대여도 사용 시간 지표에 기록되어 기준값을 끌어내리고,
+ *      유휴 수가 그 사이 바뀌면 connection-timeout까지 막혀 다음 조절에서 오히려 풀을 늘리게 됩니다.
+ *   🚨 softEvict 후에는 필요한 만큼 커넥션을 다시 만들므로, 줄이는 주기(interval)를 너무 짧게 잡지 않습니다.
+ * - 지표: hikaricp.connections.max (현재 최대 크기), app.datasource.pool.resizes (태그 pool, direction=grow|shrink, reason)
+ */
+public class AdaptivePoolSizer implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(AdaptivePoolSizer.class);
+
+    private static final long BASELINE_MIN_SAMPLES = 50; // 반납이 이보다 적은 구간은 기준값에 반영하지 않음 (몇 건짜리 우연한 값 제외)
+    private static final Duration CEILING_TTL = Duration.ofMinutes(1); // DB 포화가 확인된 크기를 상한으로 기억하는 시간
+    private static final Duration BASELINE_HALF_LIFE = Duration.ofMinutes(10); // 기준값이 더 긴 사용 시간을 절반 따라가는 시간
+
+    private final List<Pool> pools;
+    private final ConnectionUsageMetricsTrackerFactory usage;
+    private final MeterRegistry meterRegistry;
+    private final int minSize;
+    private final int maxSize;
+    private final int step;
+    private final long intervalMillis;
+    private final double targetWaitMillis;
+    private final double loadTolerance;
+    private final double baselineDrift; // 주기당 기준값이 따라가는 비율
+    private final long ceilingIntervals; // 상한을 기억하는 주기 수
+    private ScheduledExecutorService scheduler;
+
+    public AdaptivePoolSizer(List<HikariDataSource> dataSources, ConnectionUsageMetricsTrackerFactory usage,
+                             AdaptivePoolSizingProperties properties, MeterRegistry meterRegistry) {
+        if (properties.getMinSize() < 1 || properties.getMinSize() > properties.getMaxSize() || properties.getStep() < 1) {
+            throw new IllegalArgumentException("app.datasource.adaptive 설정 오류: min-size=" + properties.getMinSize()
+                    + ", max-size=" + properties.getMaxSize() + ", step=" + properties.getStep());
+        }
+        this.pools = dataSources.stream().map(Pool::new).toList();
+        this.usage = usage;
+        this.meterRegistry = meterRegistry;
+        this.minSize = properties.getMinSize();
+        this.maxSize = properties.getMaxSize();
+        this.step = properties.getStep();
+        this.intervalMillis = properties.getInterval().toMillis();
+        this.targetWaitMillis = properties.getTargetWait().toNanos() / 1_000_000.0;
+        this.loadTolerance = properties.getLoadTolerance();
+        this.baselineDrift = 1 - Math.pow(0.5, (double) intervalMillis / BASELINE_HALF_LIFE.toMillis());
+        this.ceilingIntervals = Math.max(1, CEILING_TTL.toMillis() / intervalMillis);
+    }
+
+    /**
+     * 📌 모든 풀의 크기를 한 번 조절 (interval마다 자동 실행)
+     */
+    public void adjust() {
+        for (Pool pool : pools) {
+            HikariPoolMXBean poolMXBean = pool.dataSource.getHikariPoolMXBean();
+            if (poolMXBean == null) {
+                continue; // 아직 첫 커넥션 요청 전 (풀 시작 전)
+            }
+            HikariConfigMXBean config = pool.dataSource.getHikariConfigMXBean();
+            if (!pool.started) {
+                // 유휴 커넥션을 min-size까지 정리할 수 있도록 (Boot 기본값은 minimum-idle = maximum-pool-size)
+                config.setMinimumIdle(Math.min(config.getMinimumIdle(), minSize));
+                pool.started = true;
+            }
+            UsageSnapshot snapshot = usage.drainUsage(pool.dataSource.getPoolName());
+            int current = config.getMaximumPoolSize();
+            if (pool.ceiling != Integer.MAX_VALUE && ++pool.ceilingAge > ceilingIntervals) {
+                pool.ceiling = Integer.MAX_VALUE; // 오래된 상한은 잊고 다시 늘려볼 수 있게 함 (DB 부하는 시간에 따라 바뀜)
+            }
+            Decision decision = decide(current, poolMXBean.getActiveConnections(),
+                    poolMXBean.getThreadsAwaitingConnection(), snapshot, pool.baselineUsageMillis, pool.ceiling);
+            pool.baselineUsageMillis = nextBaseline(pool.baselineUsageMillis, snapshot, baselineDrift);
+            if (decision.reason().equals("db-load")) {
+                pool.ceiling = current;
+                pool.ceilingAge = 0;
+            }
+            if (decision.size() != current) {
+                resize(pool, config, poolMXBean, current, decision);
+            }
+        }
+    }
+
+    // 한 구간의 판단 결과 (size: 다음 maximum-pool-size, reason: 지표/로그용 사유)
+    record Decision(int size, String reason) {
+    }
+
+    Decision decide(int current, int active, int pending, UsageSnapshot snapshot, double baselineUsageMillis, int ceiling) {
+        boolean dbSaturated = !Double.isNaN(baselineUsageMillis) && !Double.isNaN(snapshot.avgUsageMillis())
+                && snapshot.avgUsageMillis() > baselineUsageMillis * (1 + loadTolerance);
+        if (dbSaturated) {
+            return new Decision(Math.max(minSize, current - step), "db-load");
+        }
+        if (pending > 0 || snapshot.timeouts() > 0 || snapshot.avgAcquireMillis() > targetWaitMillis) {
+            int grown = Math.min(Math.min(maxSize, current + step), ceiling - 1);
+            return grown > current ? new Decision(grown, "wait") : new Decision(current, "ceiling");
+        }
+        if (snapshot.avgAcquireMillis() < targetWaitMillis / 10 && active <= current / 2) {
+            return new Decision(Math.max(minSize, current - step), "idle");
+        }
+        return new Decision(current, "steady");
+    }
+
+    // 기준값: 더 짧은 사용 시간은 바로 반영, 더 긴 사용 시간은 drift 비율만큼만 반영
+    static double nextBaseline(double baselineUsageMillis, UsageSnapshot snapshot, double drift) {
+        double observed = snapshot.avgUsageMillis();
+        if (snapshot.usageCount() < BASELINE_MIN_SAMPLES) {
+            return baselineUsageMillis;
+        }
+        if (Double.isNaN(baselineUsageMillis) || observed < baselineUsageMillis) {
+            return observed;
+        }
+        return baselineUsageMillis + (observed - baselineUsageMillis) * drift;
+    }
+
+    private void resize(Pool pool, HikariConfigMXBean config, HikariPoolMXBean poolMXBean, int current, Decision decision) {
+        String name = pool.dataSource.getPoolName();
+        String direction = decision.size() > current ? "grow" : "shrink";
+        config.setMaximumPoolSize(decision.size());
+        log.info("커넥션 풀 {} 최대 크기 {} -> {} ({})", name, current, decision.size(), decision.reason());
+        Counter.builder("app.datasource.pool.resizes")
+                .tag("pool", name)
+                .tag("direction", direction)
+                .tag("reason", decision.reason())
+                .register(meterRegistry)
+                .increment();
+        if (decision.size() < current && poolMXBean.getTotalConnections() > decision.size()) {
+            poolMXBean.softEvictConnections(); // 유휴 커넥션은 바로, 사용 중인 커넥션은 반납될 때 닫힘 (커넥션을 빌리지 않음)
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "pool-sizer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                adjust();
+            } catch (RuntimeException e) {
+                log.warn("커넥션 풀 크기 조절 실패: {}", e.getMessage());
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private static final class Pool {
+        private final HikariDataSource dataSource;
+        private boolean started;
+        private int ceiling = Integer.MAX_VALUE; // DB 포화가 확인된 크기 (이 크기 미만까지만 늘림)
+        private long ceilingAge;
+        private double baselineUsageMillis = Double.NaN;
+
+        private Pool(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+}
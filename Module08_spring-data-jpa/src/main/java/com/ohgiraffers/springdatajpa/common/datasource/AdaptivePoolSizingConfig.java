@@ -0,0 +1,34 @@
+package com.ohgiraffers.springdatajpa.common.datasource;
+
+import com.ohgiraffers.springdatajpa.common.metrics.ConnectionUsageMetricsTrackerFactory;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/*
+ * 📌 AdaptivePoolSizingConfig: HikariCP 풀 크기 자동 조절 등록
+ * - application.yml의 app.datasource.adaptive.enabled=true 일 때만 등록됩니다.
+ * - 대상: HikariDataSource Bean (기본 dataSource, 복제본 라우팅 사용 시 primary 풀)
+ * 🚨 커넥션 대기/사용 시간은 ConnectionUsageMetricsTrackerFactory가 수집하므로 app.metrics.enabled=true 가 필요합니다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.adaptive", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(AdaptivePoolSizingProperties.class)
+public class AdaptivePoolSizingConfig {
+
+    @Bean
+    public AdaptivePoolSizer adaptivePoolSizer(ObjectProvider<HikariDataSource> dataSources,
+                                               ObjectProvider<ConnectionUsageMetricsTrackerFactory> trackerFactory,
+                                               AdaptivePoolSizingProperties properties,
+                                               MeterRegistry meterRegistry) {
+        ConnectionUsageMetricsTrackerFactory usage = trackerFactory.getIfAvailable();
+        if (usage == null) {
+            throw new IllegalStateException("app.datasource.adaptive.enabled=true 는 app.metrics.enabled=true 가 필요합니다.");
+        }
+        return new AdaptivePoolSizer(dataSources.orderedStream().toList(), usage, properties, meterRegistry);
+    }
+}
@@ -0,0 +1,42 @@
+package com.ohgiraffers.springdatajpa.common.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/*
+ * 📌 커넥션 풀 자동 크기 조절 설정 (application.yml의 app.datasource.adaptive.*)
+ * - enabled: true 일 때만 AdaptivePoolSizingConfig가 등록됩니다. (기본값 false: maximum-pool-size 고정)
+ * - min-size / max-size: 조절 범위 (spring.datasource.hikari.maximum-pool-size가 시작 크기)
+ * - step: 한 번에 늘리거나 줄일 커넥션 수
+ * - interval: 조절 주기 (이 구간의 평균 대기/사용 시간으로 판단)
+ * - target-wait: 평균 커넥션 대기 시간이 이 값을 넘으면 늘림
+ * - load-tolerance: 평균 커넥션 사용 시간이 평소(기준값)보다 이 비율 이상 늘면 DB가 포화된 것으로 보고 줄임
+ *   (예: 0.5 -> 평소 20ms 걸리던 작업이 30ms를 넘기면 포화)
+ */
+@ConfigurationProperties(prefix = "app.datasource.adaptive")
+public class AdaptivePoolSizingProperties {
+
+    private boolean enabled;
+    private int minSize = 4;
+    private int maxSize = 40;
+    private int step = 2;
+    private Duration interval = Duration.ofSeconds(5);
+    private Duration targetWait = Duration.ofMillis(10);
+    private double loadTolerance = 0.5;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public int getMinSize() { return minSize; }
+    public void setMinSize(int minSize) { this.minSize = minSize; }
+    public int getMaxSize() { return maxSize; }
+    public void setMaxSize(int maxSize) { this.maxSize = maxSize; }
+    public int getStep() { return step; }
+    public void setStep(int step) { this.step = step; }
+    public Duration getInterval() { return interval; }
+    public void setInterval(Duration interval) { this.interval = interval; }
+    public Duration getTargetWait() { return targetWait; }
+    public void setTargetWait(Duration targetWait) { this.targetWait = targetWait; }
+    public double getLoadTolerance() { return loadTolerance; }
+    public void setLoadTolerance(double loadTolerance) { this.loadTolerance = loadTolerance; }
+}
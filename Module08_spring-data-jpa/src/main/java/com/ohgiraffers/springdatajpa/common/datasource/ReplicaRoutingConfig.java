@@ -0,0 +1,92 @@
+package com.ohgiraffers.springdatajpa.common.datasource;
+
+import com.ohgiraffers.springdatajpa.common.metrics.ConnectionUsageMetricsTrackerFactory;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * 📌 ReplicaRoutingConfig: primary + 읽기 전용 복제본 DataSource 구성
+ * - application.yml의 app.datasource.routing.enabled=true 일 때만 등록됩니다. (기본값: spring.datasource 하나만 사용)
+ *
+ * - primaryDataSource : spring.datasource.* (+ spring.datasource.hikari.*) 로 만든 쓰기용 풀 (풀 이름: primary)
+ * - 복제본 풀          : primary 풀 설정을 복사하고 URL/계정만 바꾼 풀 (풀 이름: replica-1, replica-2, ...)
+ * - dataSource(@Primary): LazyConnectionDataSourceProxy(ReplicaRoutingDataSource)
+ *   -> JPA/Hibernate, JdbcTemplate 모두 이 DataSource를 사용합니다.
+ *
+ * 💡 LazyConnectionDataSourceProxy가 필요한 이유:
+ *    JpaTransactionManager는 트랜잭션을 시작하면서 커넥션을 요청하는데, readOnly 표시는 그 '후'에 설정됩니다.
+ *    프록시는 실제 커넥션 획득을 첫 SQL 실행 시점으로 미루므로, 그때는 readOnly 여부로 primary/복제본을 고를 수 있습니다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaRoutingProperties.class)
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             ReplicaRoutingProperties properties,
+                                                             MeterRegistry meterRegistry,
+                                                             ObjectProvider<ConnectionUsageMetricsTrackerFactory> trackerFactory) {
+        // 메서드별 커넥션 지표(app.metrics.enabled=true)가 있으면 복제본 풀에도 같은 트래커 사용
+        MetricsTrackerFactory metricsTrackerFactory = trackerFactory.getIfAvailable();
+        if (metricsTrackerFactory == null) {
+            metricsTrackerFactory = new MicrometerMetricsTrackerFactory(meterRegistry);
+        }
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            replicas.add(createReplica(primaryDataSource, properties.getReplicas().get(i), "replica-" + (i + 1), metricsTrackerFactory));
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, properties, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    // primary 풀 설정(최대 커넥션 수, 타임아웃 등)을 그대로 쓰고 접속 정보만 복제본으로 변경
+    private HikariDataSource createReplica(HikariDataSource primary, ReplicaRoutingProperties.Replica replica,
+                                           String poolName, MetricsTrackerFactory metricsTrackerFactory) {
+        HikariConfig config = new HikariConfig();
+        primary.copyStateTo(config);
+        config.setJdbcUrl(replica.getUrl());
+        if (replica.getUsername() != null) {
+            config.setUsername(replica.getUsername());
+        }
+        if (replica.getPassword() != null) {
+            config.setPassword(replica.getPassword());
+        }
+        config.setPoolName(poolName);
+        config.setReadOnly(true);
+        // 복제본이 내려가 있어도 애플리케이션은 시작 (읽기는 primary로 대체, 지연 확인에서 다시 포함)
+        config.setInitializationFailTimeout(-1);
+        // Spring Bean이 아니므로 Boot가 풀 지표를 자동 등록하지 않음 -> 직접 등록 (hikaricp.connections.* {pool=replica-N})
+        config.setMetricsTrackerFactory(metricsTrackerFactory);
+        return new HikariDataSource(config);
+    }
+}
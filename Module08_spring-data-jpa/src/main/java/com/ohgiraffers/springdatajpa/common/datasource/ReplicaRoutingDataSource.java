@@ -0,0 +1,211 @@
+package com.ohgiraffers.springdatajpa.common.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * 📌 ReplicaRoutingDataSource: 읽기 전용 트랜잭션은 복제본(replica), 그 외는 primary로 커넥션을 나눠주는 DataSource
+ *
+ * 💡 라우팅 기준: TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+ *    - @Transactional(readOnly = true) 메서드 (및 Spring Data 리포지토리의 기본 조회 메서드) -> 복제본
+ *    - 쓰기 트랜잭션, 트랜잭션 밖의 호출 -> primary
+ *    🚨 readOnly 표시는 트랜잭션 시작 '후'에 설정되므로, 반드시 LazyConnectionDataSourceProxy로 감싸서
+ *       첫 SQL 실행 시점에 커넥션을 얻도록 해야 합니다. (ReplicaRoutingConfig 참고)
+ * 💡 복제 지연 대응: lag-check-interval마다 복제본의 지연(초)을 조회하고,
+ *    max-lag을 넘거나 조회에 실패한(복제 중지, 접속 불가) 복제본은 읽기 대상에서 뺍니다.
+ *    사용 가능한 복제본이 없으면 primary에서 읽습니다. (read-fallback)
+ * 💡 지표 (GET /actuator/metrics/{이름})
+ *    - app.datasource.routing.decisions : 커넥션 요청 수 (태그 pool=primary|replica-N, route=write|read|read-fallback)
+ *    - app.datasource.replica.lag       : 마지막으로 확인한 복제 지연(초, 확인 실패 시 NaN)
+ *    - app.datasource.replica.available : 읽기 대상 여부 (1 / 0)
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Duration maxLag;
+    private final Duration lagCheckInterval;
+    private final String lagQuery;
+    private final String lagColumn;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Counter writeCounter;
+    private final Counter readFallbackCounter;
+    private ScheduledExecutorService lagChecker;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicaDataSources,
+                                    ReplicaRoutingProperties properties, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.maxLag = properties.getMaxLag();
+        this.lagCheckInterval = properties.getLagCheckInterval();
+        this.lagQuery = properties.getLagQuery();
+        this.lagColumn = properties.getLagColumn();
+        this.writeCounter = decisionCounter(meterRegistry, "primary", "write");
+        this.readFallbackCounter = decisionCounter(meterRegistry, "primary", "read-fallback");
+        this.replicas = replicaDataSources.stream()
+                .map(dataSource -> new Replica(dataSource, decisionCounter(meterRegistry, dataSource.getPoolName(), "read")))
+                .toList();
+        for (Replica replica : replicas) {
+            Gauge.builder("app.datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .tag("pool", replica.name()).baseUnit("seconds").register(meterRegistry);
+            Gauge.builder("app.datasource.replica.available", replica, r -> r.available ? 1 : 0)
+                    .tag("pool", replica.name()).register(meterRegistry);
+        }
+    }
+
+    private static Counter decisionCounter(MeterRegistry meterRegistry, String pool, String route) {
+        return Counter.builder("app.datasource.routing.decisions")
+                .tag("pool", pool)
+                .tag("route", route)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    // 💡 계정별 커넥션도 같은 기준으로 라우팅하고, 선택한 DataSource의 getConnection(username, password)에 그대로 위임
+    //    (HikariDataSource는 계정별 커넥션을 지원하지 않아 SQLFeatureNotSupportedException을 던집니다)
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection route(ConnectionOpener opener) throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            writeCounter.increment();
+            return opener.open(primary);
+        }
+        return getReadConnection(opener);
+    }
+
+    // 사용 가능한 복제본을 돌아가며(round-robin) 선택, 접속에 실패하면 다음 복제본 -> 모두 실패하면 primary
+    private Connection getReadConnection(ConnectionOpener opener) throws SQLException {
+        int size = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.available) {
+                continue;
+            }
+            try {
+                Connection connection = opener.open(replica.dataSource);
+                replica.readCounter.increment();
+                return connection;
+            } catch (SQLFeatureNotSupportedException e) {
+                throw e; // 호출 방식의 문제이지 복제본 장애가 아니므로 읽기 대상에서 빼지 않음
+            } catch (SQLException e) {
+                // 다음 지연 확인까지 제외 (접속이 회복되면 checkReplicas()가 다시 포함시킴)
+                replica.available = false;
+                log.warn("복제본 {} 커넥션 획득 실패, 읽기 대상에서 제외합니다: {}", replica.name(), e.getMessage());
+            }
+        }
+        readFallbackCounter.increment();
+        return opener.open(primary);
+    }
+
+    /**
+     * 📌 모든 복제본의 복제 지연을 확인하고 읽기 대상 여부를 갱신 (lag-check-interval마다 자동 실행)
+     */
+    public void checkReplicas() {
+        double maxLagSeconds = maxLag.toMillis() / 1000.0;
+        for (Replica replica : replicas) {
+            double lagSeconds = queryLagSeconds(replica);
+            boolean available = !Double.isNaN(lagSeconds) && lagSeconds <= maxLagSeconds;
+            if (replica.available != available) {
+                log.info("복제본 {} 읽기 대상 {} (지연: {}초, 허용: {}초)",
+                        replica.name(), available ? "포함" : "제외", lagSeconds, maxLagSeconds);
+            }
+            replica.lagSeconds = lagSeconds;
+            replica.available = available;
+        }
+    }
+
+    // 복제 지연(초) 조회: 결과가 없거나 NULL(복제 중지)이거나 조회 실패 시 NaN
+    private double queryLagSeconds(Replica replica) {
+        try (Connection connection = replica.dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(Math.max(1, (int) lagCheckInterval.toSeconds()));
+            try (ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                if (!resultSet.next()) {
+                    return Double.NaN;
+                }
+                double lag = resultSet.getDouble(lagColumn);
+                return resultSet.wasNull() ? Double.NaN : lag;
+            }
+        } catch (SQLException e) {
+            log.debug("복제본 {} 지연 확인 실패: {}", replica.name(), e.getMessage());
+            return Double.NaN;
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (replicas.isEmpty()) {
+            log.warn("app.datasource.routing.replicas가 비어 있어 모든 읽기가 primary로 전달됩니다.");
+            return;
+        }
+        checkReplicas(); // 시작 시 한 번 확인 (첫 요청부터 지연된 복제본을 피함)
+        lagChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = lagCheckInterval.toMillis();
+        lagChecker.scheduleWithFixedDelay(this::checkReplicas, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (lagChecker != null) {
+            lagChecker.shutdownNow();
+        }
+        for (Replica replica : replicas) {
+            replica.dataSource.close();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConnectionOpener {
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+
+    private static final class Replica {
+        private final HikariDataSource dataSource;
+        private final Counter readCounter;
+        private volatile boolean available = true;
+        private volatile double lagSeconds = Double.NaN;
+
+        private Replica(HikariDataSource dataSource, Counter readCounter) {
+            this.dataSource = dataSource;
+            this.readCounter = readCounter;
+        }
+
+        private String name() {
+            return dataSource.getPoolName();
+        }
+    }
+}
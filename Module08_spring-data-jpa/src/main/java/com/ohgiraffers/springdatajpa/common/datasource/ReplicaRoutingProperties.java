@@ -0,0 +1,52 @@
+package com.ohgiraffers.springdatajpa.common.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * 📌 읽기 전용 복제본(replica) 라우팅 설정 (application.yml의 app.datasource.routing.*)
+ * - enabled: true 일 때만 ReplicaRoutingConfig가 등록됩니다. (기본값 false: spring.datasource 하나만 사용)
+ * - replicas: 복제본 접속 정보 목록 (username/password를 생략하면 spring.datasource 값 사용)
+ * - max-lag: 복제 지연이 이 값을 넘는 복제본은 읽기 대상에서 제외 (모두 제외되면 primary에서 읽음)
+ * - lag-check-interval: 복제 지연 확인 주기
+ * - lag-query / lag-column: 복제 지연(초)을 조회하는 SQL과 결과 컬럼 (기본값: MySQL 8.0.22+ SHOW REPLICA STATUS)
+ */
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public class ReplicaRoutingProperties {
+
+    private boolean enabled;
+    private List<Replica> replicas = new ArrayList<>();
+    private Duration maxLag = Duration.ofSeconds(5);
+    private Duration lagCheckInterval = Duration.ofSeconds(5);
+    private String lagQuery = "SHOW REPLICA STATUS";
+    private String lagColumn = "Seconds_Behind_Source";
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public List<Replica> getReplicas() { return replicas; }
+    public void setReplicas(List<Replica> replicas) { this.replicas = replicas; }
+    public Duration getMaxLag() { return maxLag; }
+    public void setMaxLag(Duration maxLag) { this.maxLag = maxLag; }
+    public Duration getLagCheckInterval() { return lagCheckInterval; }
+    public void setLagCheckInterval(Duration lagCheckInterval) { this.lagCheckInterval = lagCheckInterval; }
+    public String getLagQuery() { return lagQuery; }
+    public void setLagQuery(String lagQuery) { this.lagQuery = lagQuery; }
+    public String getLagColumn() { return lagColumn; }
+    public void setLagColumn(String lagColumn) { this.lagColumn = lagColumn; }
+
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+
+        public String getUrl() { return url; }
+        public void setUrl(String url) { this.url = url; }
+        public String getUsername() { return username; }
+        public void setUsername(String username) { this.username = username; }
+        public String getPassword() { return password; }
+        public void setPassword(String password) { this.password = password; }
+    }
+}
@@ -0,0 +1,173 @@
+package com.ohgiraffers.springdatajpa.common.lookup;
+
+import com.ohgiraffers.springdatajpa.common.metrics.MethodMetricsContext;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/*
+ * 📌 ChunkedIdLookup: 대량 ID 목록 IN 조회를 청크로 나누어 병렬 실행
+ *
+ * 💡 ID 수만 개를 IN (:ids) 하나에 바인딩하면
+ *    - 드라이버/DB의 바인딩 파라미터 수 제한에 걸리고
+ *    - 목록 크기마다 SQL 문자열이 달라져(IN (?), IN (?, ?), ...) 실행 계획 캐시가 오염됩니다.
+ * 💡 그래서 ID를 chunkSize(2의 거듭제곱) 단위로 나누고, 마지막 청크는 마지막 ID를 반복해 2의 거듭제곱 크기로 채웁니다.
+ *    (IN 절의 중복 값은 결과에 영향 없음) -> SQL 모양은 log2(chunkSize) + 1 가지로 고정됩니다.
+ * 💡 청크가 여러 개면 제한된 스레드(parallelism)에서 동시에 조회하고, 결과를 '입력 ID 순서'로 합칩니다.
+ *    - 스레드가 모두 바쁘면 호출 스레드가 직접 실행 (CallerRunsPolicy) -> 커넥션 풀을 한 요청이 독점하지 않음
+ * 💡 app.metrics.enabled=true 이면 청크 조회에 호출 스레드의 지표 상태를 옮깁니다. (MethodMetricsContext)
+ *    -> 작업 스레드의 커넥션 대기/사용 시간과 SQL 문장 수가 이 클래스를 호출한 서비스 메서드의 지표로 기록됩니다.
+ *
+ * 🚨 호출하는 서비스 메서드에는 @Transactional을 붙이지 않습니다.
+ *    청크는 다른 스레드에서 실행되므로 호출 측 트랜잭션에 참여하지 못하고, 호출 측 커넥션만 불필요하게 붙잡게 됩니다.
+ */
+@Component
+public class ChunkedIdLookup implements DisposableBean {
+
+    private final Executor executor;
+    private final ExecutorService ownedExecutor; // 직접 만든 스레드 풀 (종료 시 정리)
+    private final int chunkSize;
+    private final MethodMetricsContext metricsContext; // 지표 비활성화 시 null
+
+    @Autowired
+    public ChunkedIdLookup(@Value("${app.lookup.chunk-size:1024}") int chunkSize,
+                           @Value("${app.lookup.parallelism:4}") int parallelism,
+                           ObjectProvider<MethodMetricsContext> metricsContext) {
+        this(createExecutor(parallelism), chunkSize, metricsContext.getIfAvailable());
+    }
+
+    // 테스트 등에서 실행기를 직접 지정할 때 사용
+    ChunkedIdLookup(Executor executor, int chunkSize) {
+        this(executor, chunkSize, null);
+    }
+
+    private ChunkedIdLookup(Executor executor, int chunkSize, MethodMetricsContext metricsContext) {
+        if (chunkSize < 1 || Integer.bitCount(chunkSize) != 1) {
+            throw new IllegalArgumentException("chunk-size는 2의 거듭제곱이어야 합니다: " + chunkSize);
+        }
+        this.executor = executor;
+        this.ownedExecutor = executor instanceof ExecutorService service ? service : null;
+        this.chunkSize = chunkSize;
+        this.metricsContext = metricsContext;
+    }
+
+    // Spring Executor Bean으로 등록하지 않음: Executor Bean이 있으면 Boot 기본 applicationTaskExecutor(MVC 비동기)가 등록되지 않음
+    private static ExecutorService createExecutor(int parallelism) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(parallelism * 4),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "id-lookup-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * 📌 ID 목록으로 조회한 결과를 입력 순서대로 반환
+     * @param ids         조회할 ID 목록 (중복/null은 제거, 첫 등장 순서 유지)
+     * @param chunkQuery  청크 하나를 조회하는 쿼리 (예: productRepository::findByProductIdIn)
+     * @param idExtractor 결과에서 ID를 꺼내는 함수 (입력 순서로 정렬할 때 사용)
+     * @return 입력 ID 순서대로 정렬된 결과 (DB에 없는 ID는 제외)
+     */
+    public <T> List<T> findAllInOrder(List<Integer> ids,
+                                      Function<List<Integer>, List<T>> chunkQuery,
+                                      Function<T, Integer> idExtractor) {
+        List<Integer> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        distinctIds.removeIf(Objects::isNull);
+        if (distinctIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<List<Integer>> chunks = split(distinctIds, chunkSize);
+        Map<Integer, T> resultsById = new HashMap<>(distinctIds.size() * 4 / 3 + 1);
+        if (chunks.size() == 1) {
+            // 청크가 하나면 스레드를 넘기지 않고 바로 조회
+            collect(chunkQuery.apply(chunks.get(0)), idExtractor, resultsById);
+        } else {
+            List<CompletableFuture<List<T>>> futures = new ArrayList<>(chunks.size());
+            for (List<Integer> chunk : chunks) {
+                Supplier<List<T>> task = () -> chunkQuery.apply(chunk);
+                futures.add(CompletableFuture.supplyAsync(metricsContext != null ? metricsContext.propagate(task) : task, executor));
+            }
+            for (CompletableFuture<List<T>> future : futures) {
+                collect(join(future, futures), idExtractor, resultsById);
+            }
+        }
+
+        List<T> ordered = new ArrayList<>(resultsById.size());
+        for (Integer id : distinctIds) {
+            T result = resultsById.get(id);
+            if (result != null) {
+                ordered.add(result);
+            }
+        }
+        return ordered;
+    }
+
+    /**
+     * 📌 ID 목록을 최대 chunkSize 크기의 청크로 나누고, 각 청크를 2의 거듭제곱 크기로 채움 (마지막 ID 반복)
+     * 예: chunkSize=4, [1, 2, 3, 4, 5, 6] -> [1, 2, 3, 4], [5, 6]
+     *     chunkSize=8, [1, 2, 3, 4, 5]    -> [1, 2, 3, 4, 5, 5, 5, 5]
+     */
+    static List<List<Integer>> split(List<Integer> ids, int chunkSize) {
+        List<List<Integer>> chunks = new ArrayList<>((ids.size() + chunkSize - 1) / chunkSize);
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<Integer> chunk = new ArrayList<>(ids.subList(from, Math.min(from + chunkSize, ids.size())));
+            int paddedSize = Integer.highestOneBit(chunk.size() - 1) << 1; // chunk.size() 이상인 가장 작은 2의 거듭제곱
+            Integer last = chunk.get(chunk.size() - 1);
+            while (chunk.size() < Math.max(paddedSize, 1)) {
+                chunk.add(last);
+            }
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    private static <T> void collect(List<T> results, Function<T, Integer> idExtractor, Map<Integer, T> resultsById) {
+        for (T result : results) {
+            resultsById.putIfAbsent(idExtractor.apply(result), result);
+        }
+    }
+
+    // 한 청크라도 실패하면 나머지 청크를 취소하고 원래 예외를 그대로 던짐
+    private static <T> List<T> join(CompletableFuture<List<T>> future, List<CompletableFuture<List<T>>> all) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            all.forEach(other -> other.cancel(false));
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+}
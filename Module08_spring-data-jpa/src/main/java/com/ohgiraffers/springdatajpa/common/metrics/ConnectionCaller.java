@@ -0,0 +1,42 @@
+package com.ohgiraffers.springdatajpa.common.metrics;
+
+import io.micrometer.core.instrument.Tags;
+
+/*
+ * 📌 ConnectionCaller: 현재 스레드에서 실행 중인 (가장 바깥쪽) 서비스/리포지토리 메서드
+ * - MethodMetricsAspect가 설정하고, ConnectionUsageMetricsTrackerFactory가 커넥션 획득/반납 지표의 태그로 사용합니다.
+ * - 서비스 -> 리포지토리처럼 중첩 호출되면 바깥쪽(서비스) 메서드 기준으로 기록합니다.
+ * - 다른 스레드로 넘긴 작업은 MethodMetricsContext가 호출 스레드의 값을 옮겨 설정합니다. (ThreadLocal은 자동으로 전달되지 않음)
+ */
+final class ConnectionCaller {
+
+    static final Tags NONE = Tags.of("class", "none", "method", "none");
+
+    private static final ThreadLocal<Tags> CURRENT = new ThreadLocal<>();
+
+    private ConnectionCaller() {
+    }
+
+    // 바깥쪽 호출이 없을 때만 설정하고 true 반환 (true를 받은 쪽이 exit() 호출)
+    static boolean enter(Tags caller) {
+        if (CURRENT.get() != null) {
+            return false;
+        }
+        CURRENT.set(caller);
+        return true;
+    }
+
+    static void exit() {
+        CURRENT.remove();
+    }
+
+    // 설정된 값 그대로 (없으면 null) -> 다른 스레드로 옮길 때 사용
+    static Tags captured() {
+        return CURRENT.get();
+    }
+
+    static Tags current() {
+        Tags caller = CURRENT.get();
+        return caller != null ? caller : NONE;
+    }
+}
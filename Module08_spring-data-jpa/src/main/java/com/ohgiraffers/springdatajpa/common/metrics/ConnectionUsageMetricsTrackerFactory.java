@@ -0,0 +1,140 @@
+package com.ohgiraffers.springdatajpa.common.metrics;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * 📌 ConnectionUsageMetricsTrackerFactory: HikariCP 풀 지표 + '어느 메서드가 커넥션을 기다리고/붙잡았는지' 지표
+ *
+ * - HikariCP 기본 지표(Boot 자동 등록과 동일, 태그 pool):
+ *   hikaricp.connections.active / idle / pending / max / min, hikaricp.connections.acquire(대기 시간), usage(사용 시간), timeout
+ * - 호출 메서드별 지표 (태그 pool, class, method -> MethodMetricsAspect가 설정한 가장 바깥쪽 서비스/리포지토리 메서드):
+ *   app.datasource.connection.acquire : 커넥션을 얻기까지 기다린 시간
+ *   app.datasource.connection.usage   : 커넥션을 얻은 뒤 반납할 때까지 붙잡은 시간
+ *   -> 예: findAll()처럼 오래 붙잡는 메서드가 다른 요청의 대기(acquire)를 늘리는지 확인
+ * - 풀별 최근 구간 평균(drainUsage)을 AdaptivePoolSizer에 제공합니다.
+ *
+ * 💡 HikariCP는 커넥션 획득/반납 시 이 트래커를 호출하므로, 커넥션을 감싸는 프록시 없이 기록합니다.
+ */
+public class ConnectionUsageMetricsTrackerFactory implements MetricsTrackerFactory {
+
+    private final MeterRegistry meterRegistry;
+    private final MicrometerMetricsTrackerFactory hikariMetrics;
+    private final Map<String, UsageWindow> windows = new ConcurrentHashMap<>();
+
+    public ConnectionUsageMetricsTrackerFactory(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.hikariMetrics = new MicrometerMetricsTrackerFactory(meterRegistry);
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        IMetricsTracker delegate = hikariMetrics.create(poolName, poolStats);
+        UsageWindow window = windows.computeIfAbsent(poolName, name -> new UsageWindow());
+        return new Tracker(poolName, delegate, window);
+    }
+
+    /**
+     * 📌 지난 호출 이후 구간의 커넥션 대기/사용 통계를 반환하고 초기화
+     * @param poolName HikariCP 풀 이름
+     */
+    public UsageSnapshot drainUsage(String poolName) {
+        UsageWindow window = windows.get(poolName);
+        return window != null ? window.drain() : UsageSnapshot.EMPTY;
+    }
+
+    /**
+     * 📌 구간 통계
+     * @param acquireCount     커넥션 획득 수
+     * @param avgAcquireMillis 평균 대기 시간(ms), 획득이 없으면 0
+     * @param usageCount       커넥션 반납 수
+     * @param avgUsageMillis   평균 사용 시간(ms), 반납이 없으면 NaN
+     * @param timeouts         connection-timeout 초과로 실패한 수
+     */
+    public record UsageSnapshot(long acquireCount, double avgAcquireMillis, long usageCount, double avgUsageMillis, long timeouts) {
+        static final UsageSnapshot EMPTY = new UsageSnapshot(0, 0, 0, Double.NaN, 0);
+    }
+
+    private static final class UsageWindow {
+        private final LongAdder acquireCount = new LongAdder();
+        private final LongAdder acquireNanos = new LongAdder();
+        private final LongAdder usageCount = new LongAdder();
+        private final LongAdder usageMillis = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+
+        private UsageSnapshot drain() {
+            long acquires = acquireCount.sumThenReset();
+            long acquireTotal = acquireNanos.sumThenReset();
+            long usages = usageCount.sumThenReset();
+            long usageTotal = usageMillis.sumThenReset();
+            return new UsageSnapshot(
+                    acquires, acquires == 0 ? 0 : acquireTotal / 1_000_000.0 / acquires,
+                    usages, usages == 0 ? Double.NaN : (double) usageTotal / usages,
+                    timeouts.sumThenReset());
+        }
+    }
+
+    private final class Tracker implements IMetricsTracker {
+        private final String poolName;
+        private final IMetricsTracker delegate;
+        private final UsageWindow window;
+        private final Map<Tags, Timer> acquireTimers = new ConcurrentHashMap<>();
+        private final Map<Tags, Timer> usageTimers = new ConcurrentHashMap<>();
+
+        private Tracker(String poolName, IMetricsTracker delegate, UsageWindow window) {
+            this.poolName = poolName;
+            this.delegate = delegate;
+            this.window = window;
+        }
+
+        @Override
+        public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+            delegate.recordConnectionCreatedMillis(connectionCreatedMillis);
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            delegate.recordConnectionAcquiredNanos(elapsedAcquiredNanos);
+            timer(acquireTimers, "app.datasource.connection.acquire").record(elapsedAcquiredNanos, TimeUnit.NANOSECONDS);
+            window.acquireCount.increment();
+            window.acquireNanos.add(elapsedAcquiredNanos);
+        }
+
+        @Override
+        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            delegate.recordConnectionUsageMillis(elapsedBorrowedMillis);
+            timer(usageTimers, "app.datasource.connection.usage").record(elapsedBorrowedMillis, TimeUnit.MILLISECONDS);
+            window.usageCount.increment();
+            window.usageMillis.add(elapsedBorrowedMillis);
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            delegate.recordConnectionTimeout();
+            window.timeouts.increment();
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+
+        // (class, method) 태그별 Timer는 처음 한 번만 만들어 캐시
+        private Timer timer(Map<Tags, Timer> timers, String name) {
+            return timers.computeIfAbsent(ConnectionCaller.current(), caller -> Timer.builder(name)
+                    .tags(caller)
+                    .tag("pool", poolName)
+                    .register(meterRegistry));
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.ohgiraffers.springdatajpa.common.metrics;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.HibernateMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/*
+ * 📌 HibernateMetricsConfig: Hibernate 통계를 Micrometer 지표로 등록
+ * - hibernate.generate_statistics=true 일 때 수집되는 통계를 Actuator로 노출합니다.
+ *   - hibernate.second.level.cache.requests{result=hit|miss, region=product}, hibernate.second.level.cache.puts
+ *   - hibernate.cache.query.requests{result=hit|miss}, hibernate.cache.update.timestamps.requests ...
+ * - 예: GET /actuator/metrics/hibernate.second.level.cache.requests?tag=region:product
+ * - 🚨 Hibernate 통계에는 캐시 제거(eviction) 횟수가 없습니다. (용량/만료로 밀려난 항목은 캐시 구현체(Caffeine)만 앎)
+ *   -> 2차 캐시 영역(JCache 캐시)마다 Micrometer JCacheMetrics를 등록합니다. (application.conf의 monitoring.statistics = true 필요)
+ *   - cache.gets{result=hit|miss, cache=product}, cache.puts, cache.removals, cache.evictions{cache=product}
+ *   - 예: GET /actuator/metrics/cache.evictions?tag=cache:product
+ * - 쿼리 실행 계획 캐시 현황(쿼리별 적중/미스/파싱 시간)은 GET /actuator/queryplans (QueryPlanCacheEndpoint)
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.metrics", name = "enabled", havingValue = "true")
+public class HibernateMetricsConfig {
+
+    @Bean
+    public HibernateMetrics hibernateMetrics(EntityManagerFactory entityManagerFactory) {
+        // MeterBinder Bean은 Spring Boot가 MeterRegistry에 자동으로 등록합니다.
+        return new HibernateMetrics(entityManagerFactory.unwrap(SessionFactory.class), "entityManagerFactory", Tags.empty());
+    }
+
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            // 2차 캐시를 끈 경우(use_second_level_cache=false) RegionFactory가 JCache가 아니므로 등록할 캐시가 없음
+            if (entityManagerFactory.unwrap(SessionFactoryImplementor.class).getCache().getRegionFactory()
+                    instanceof JCacheRegionFactory regionFactory) {
+                // Hibernate가 SessionFactory를 만들 때 영역(product, 쿼리 캐시, timestamps)을 모두 생성해 둡니다.
+                javax.cache.CacheManager cacheManager = regionFactory.getCacheManager();
+                for (String cacheName : cacheManager.getCacheNames()) {
+                    new JCacheMetrics<>(cacheManager.getCache(cacheName), Tags.empty()).bindTo(registry);
+                }
+            }
+        };
+    }
+
+    @Bean
+    public QueryPlanCacheEndpoint queryPlanCacheEndpoint(EntityManagerFactory entityManagerFactory) {
+        return new QueryPlanCacheEndpoint(entityManagerFactory.unwrap(SessionFactoryImplementor.class));
+    }
+}
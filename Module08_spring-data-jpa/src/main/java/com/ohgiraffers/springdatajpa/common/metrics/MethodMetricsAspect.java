@@ -0,0 +1,136 @@
+package com.ohgiraffers.springdatajpa.common.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import com.ohgiraffers.springdatajpa.common.ProductSlice;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import org.springframework.data.repository.Repository;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 📌 MethodMetricsAspect: @Service / Repository 메서드 실행을 Micrometer 지표로 기록하는 Aspect
+ * - System.out.println 대신, 메서드마다 아래 지표를 남깁니다. (GET /actuator/metrics/{이름} 으로 확인)
+ *   - app.method.duration       : 실행 시간 (Timer)
+ *   - app.method.result.size    : 반환된 결과 건수 (List, Slice, Window 등 / DistributionSummary, 히스토그램)
+ *   - app.method.sql.statements : 실행된 SQL 문장 수 (DistributionSummary)
+ *   - app.method.errors         : 예외 발생 횟수 (Counter)
+ * - 태그: class(예: chap03.service.ProductService), method(메서드명)
+ * - 지표 객체는 (클래스, 메서드)별로 처음 한 번만 만들어 캐시합니다. (호출마다 Meter를 조회/생성하지 않음)
+ * - 실행 중인 가장 바깥쪽 메서드를 ConnectionCaller에 남겨, 커넥션 대기/사용 시간을 메서드별로 기록합니다.
+ *   (트랜잭션보다 바깥에서 실행되도록 가장 높은 우선순위 -> 커넥션 획득/반납(커밋)이 이 Aspect 안에서 일어남)
+ * - app.metrics.enabled=false 이면 이 Aspect 자체가 Bean으로 등록되지 않아 프록시도, 비용도 없습니다.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class MethodMetricsAspect {
+
+    private static final String BASE_PACKAGE = "com.ohgiraffers.springdatajpa.";
+
+    private final MeterRegistry meterRegistry;
+    private final SqlStatementCounter sqlStatementCounter;
+    private final Map<Class<?>, Map<Method, MethodMeters>> metersByClass = new ConcurrentHashMap<>();
+
+    public MethodMetricsAspect(MeterRegistry meterRegistry, SqlStatementCounter sqlStatementCounter) {
+        this.meterRegistry = meterRegistry;
+        this.sqlStatementCounter = sqlStatementCounter;
+    }
+
+    @Around("@within(org.springframework.stereotype.Service) || target(org.springframework.data.repository.Repository)")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodMeters meters = metersFor(joinPoint);
+        boolean outermost = ConnectionCaller.enter(meters.callerTags);
+        long sqlCountBefore = sqlStatementCounter.currentCount();
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            recordResultSize(meters, result);
+            return result;
+        } catch (Throwable e) {
+            meters.errors.increment();
+            throw e;
+        } finally {
+            meters.duration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            meters.sqlStatements.record(sqlStatementCounter.currentCount() - sqlCountBefore);
+            if (outermost) {
+                ConnectionCaller.exit();
+            }
+        }
+    }
+
+    private void recordResultSize(MethodMeters meters, Object result) {
+        if (result instanceof Collection<?> collection) {
+            meters.resultSize.record(collection.size());
+        } else if (result instanceof Slice<?> slice) {
+            meters.resultSize.record(slice.getNumberOfElements());
+        } else if (result instanceof Window<?> window) {
+            meters.resultSize.record(window.size());
+        } else if (result instanceof ProductSlice<?> productSlice) {
+            meters.resultSize.record(productSlice.getContent().size());
+        } else if (result instanceof Optional<?> optional) {
+            meters.resultSize.record(optional.isPresent() ? 1 : 0);
+        }
+    }
+
+    private MethodMeters metersFor(ProceedingJoinPoint joinPoint) {
+        Class<?> targetClass = joinPoint.getTarget().getClass();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        return metersByClass
+                .computeIfAbsent(targetClass, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(method, key -> new MethodMeters(meterRegistry, className(targetClass), method.getName()));
+    }
+
+    // Spring Data 리포지토리는 프록시 클래스이므로, 우리가 선언한 리포지토리 인터페이스 이름을 사용합니다.
+    private static String className(Class<?> targetClass) {
+        Class<?> type = targetClass;
+        for (Class<?> candidate : targetClass.getInterfaces()) {
+            if (Repository.class.isAssignableFrom(candidate) && candidate.getName().startsWith(BASE_PACKAGE)) {
+                type = candidate;
+                break;
+            }
+        }
+        String name = type.getName();
+        return name.startsWith(BASE_PACKAGE) ? name.substring(BASE_PACKAGE.length()) : type.getSimpleName();
+    }
+
+    // (클래스, 메서드) 하나에 대한 지표 묶음
+    private static final class MethodMeters {
+        private final Tags callerTags;
+        private final Timer duration;
+        private final DistributionSummary resultSize;
+        private final DistributionSummary sqlStatements;
+        private final Counter errors;
+
+        private MethodMeters(MeterRegistry registry, String className, String methodName) {
+            this.callerTags = Tags.of("class", className, "method", methodName);
+            this.duration = Timer.builder("app.method.duration")
+                    .tag("class", className).tag("method", methodName)
+                    .register(registry);
+            this.resultSize = DistributionSummary.builder("app.method.result.size")
+                    .tag("class", className).tag("method", methodName)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            this.sqlStatements = DistributionSummary.builder("app.method.sql.statements")
+                    .tag("class", className).tag("method", methodName)
+                    .register(registry);
+            this.errors = Counter.builder("app.method.errors")
+                    .tag("class", className).tag("method", methodName)
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.ohgiraffers.springdatajpa.common.metrics;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/*
+ * 📌 MethodMetricsConfig: 메서드 지표 수집 설정
+ * - application.yml의 app.metrics.enabled=true 일 때만 등록됩니다. (기본값: 등록 안 함)
+ * - 비활성화 시 Aspect, StatementInspector, 커넥션 풀 트래커 모두 등록되지 않으므로 요청 처리 경로에 추가 비용이 없습니다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.metrics", name = "enabled", havingValue = "true")
+public class MethodMetricsConfig {
+
+    @Bean
+    public SqlStatementCounter sqlStatementCounter() {
+        return new SqlStatementCounter();
+    }
+
+    // Hibernate에 SQL 카운터(StatementInspector)를 등록
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer(SqlStatementCounter sqlStatementCounter) {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, sqlStatementCounter);
+    }
+
+    @Bean
+    public ConnectionUsageMetricsTrackerFactory connectionUsageMetricsTrackerFactory(MeterRegistry meterRegistry) {
+        return new ConnectionUsageMetricsTrackerFactory(meterRegistry);
+    }
+
+    // HikariDataSource Bean에 메서드별 커넥션 지표 트래커를 등록 (Boot는 트래커가 이미 있으면 기본 트래커를 등록하지 않음)
+    @Bean
+    public static BeanPostProcessor hikariMetricsTrackerPostProcessor(ObjectProvider<ConnectionUsageMetricsTrackerFactory> trackerFactory) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari
+                        && hikari.getMetricsTrackerFactory() == null && hikari.getMetricRegistry() == null) {
+                    hikari.setMetricsTrackerFactory(trackerFactory.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    // 다른 스레드로 넘긴 조회(ChunkedIdLookup)도 호출한 메서드의 지표로 기록
+    @Bean
+    public MethodMetricsContext methodMetricsContext(SqlStatementCounter sqlStatementCounter) {
+        return new MethodMetricsContext(sqlStatementCounter);
+    }
+
+    @Bean
+    public MethodMetricsAspect methodMetricsAspect(MeterRegistry meterRegistry, SqlStatementCounter sqlStatementCounter) {
+        return new MethodMetricsAspect(meterRegistry, sqlStatementCounter);
+    }
+}
@@ -0,0 +1,50 @@
+package com.ohgiraffers.springdatajpa.common.metrics;
+
+import io.micrometer.core.instrument.Tags;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/*
+ * 📌 MethodMetricsContext: 메서드 지표의 스레드별 상태를 작업 스레드로 옮기기
+ * - ConnectionCaller(가장 바깥쪽 메서드)와 SqlStatementCounter(SQL 문장 수)는 ThreadLocal이라,
+ *   서비스 메서드가 조회를 다른 스레드(ChunkedIdLookup 등)로 넘기면 그 스레드에서는 보이지 않습니다.
+ *   -> 작업 스레드의 커넥션 지표는 class=none(또는 리포지토리)으로, SQL 문장 수는 서비스 메서드에서 빠진 채 기록됨
+ * - propagate()로 감싼 작업은
+ *   - 호출 스레드의 ConnectionCaller 값을 설정한 채 실행하고 (커넥션 대기/사용 시간이 서비스 메서드로 기록)
+ *   - 작업 중 실행한 SQL 수를 호출 스레드의 카운트에 더합니다. (서비스 메서드의 app.method.sql.statements에 포함)
+ * - app.metrics.enabled=true 일 때만 Bean으로 등록됩니다. (MethodMetricsConfig)
+ */
+public class MethodMetricsContext {
+
+    private final SqlStatementCounter sqlStatementCounter;
+
+    public MethodMetricsContext(SqlStatementCounter sqlStatementCounter) {
+        this.sqlStatementCounter = sqlStatementCounter;
+    }
+
+    /**
+     * 📌 호출 스레드의 지표 상태를 가지고 실행하는 작업으로 감싸기 (작업을 넘기기 전에 호출 스레드에서 호출)
+     * 💡 SQL 수는 작업이 값을 반환하기 전에 더하므로, CompletableFuture.join() 뒤에 읽으면 항상 포함되어 있습니다.
+     */
+    public <T> Supplier<T> propagate(Supplier<T> task) {
+        Thread submitter = Thread.currentThread();
+        Tags caller = ConnectionCaller.captured();
+        AtomicLong callerCount = sqlStatementCounter.currentCounter();
+        return () -> {
+            if (Thread.currentThread() == submitter) {
+                return task.get(); // 호출 스레드가 직접 실행 (CallerRunsPolicy): 이미 같은 상태
+            }
+            boolean entered = caller != null && ConnectionCaller.enter(caller);
+            long countBefore = sqlStatementCounter.currentCount();
+            try {
+                return task.get();
+            } finally {
+                callerCount.addAndGet(sqlStatementCounter.currentCount() - countBefore);
+                if (entered) {
+                    ConnectionCaller.exit();
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,80 @@
+package com.ohgiraffers.springdatajpa.common.metrics;
+
+import org.hibernate.cfg.QuerySettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.spi.QueryInterpretationCache;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * 📌 QueryPlanCacheEndpoint: Hibernate 쿼리 실행 계획 캐시(Query Plan Cache) 현황 (GET /actuator/queryplans)
+ *
+ * 💡 Hibernate는 JPQL 문자열을 처음 실행할 때 파싱(HQL -> SQM -> SQL)하고 그 결과를 plan cache에 보관합니다.
+ *    캐시에 없으면(miss) 다시 파싱하므로, 쿼리 문자열 종류가 plan_cache_max_size보다 많으면 파싱 비용이 계속 발생합니다.
+ *    (대표적인 원인: IN 절 목록 크기마다 달라지는 쿼리 -> in_clause_parameter_padding으로 완화)
+ *
+ * - 전체: 캐시 설정, 적중/미스 수, 현재 캐시 항목 수, 추정 제거(eviction) 수
+ * - 쿼리별: 실행 수, 적중/미스 수, 추정 제거 수(첫 미스 이후의 미스 = 캐시에서 밀려나 다시 파싱한 횟수), 누적 파싱 시간
+ * 🚨 hibernate.generate_statistics=true 일 때만 값이 수집됩니다. Hibernate는 제거 수를 직접 제공하지 않으므로 추정값입니다.
+ */
+@Endpoint(id = "queryplans")
+public class QueryPlanCacheEndpoint {
+
+    private final SessionFactoryImplementor sessionFactory;
+
+    public QueryPlanCacheEndpoint(SessionFactoryImplementor sessionFactory) {
+        this.sessionFactory = sessionFactory;
+    }
+
+    @ReadOperation
+    public Map<String, Object> queryPlans() {
+        Statistics statistics = sessionFactory.getStatistics();
+        QueryInterpretationCache interpretationCache = sessionFactory.getQueryEngine().getInterpretationCache();
+        Map<String, Object> settings = sessionFactory.getProperties();
+
+        long hits = statistics.getQueryPlanCacheHitCount();
+        long misses = statistics.getQueryPlanCacheMissCount();
+        int cachedHqlInterpretations = interpretationCache.getNumberOfCachedHqlInterpretations();
+        int cachedQueryPlans = interpretationCache.getNumberOfCachedQueryPlans();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("statisticsEnabled", statistics.isStatisticsEnabled());
+        result.put("planCacheMaxSize", settings.getOrDefault(QuerySettings.QUERY_PLAN_CACHE_MAX_SIZE, "2048 (기본값)"));
+        result.put("inClauseParameterPadding", settings.getOrDefault(QuerySettings.IN_CLAUSE_PARAMETER_PADDING, "false (기본값)"));
+        result.put("hits", hits);
+        result.put("misses", misses);
+        result.put("hitRatio", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+        result.put("cachedHqlInterpretations", cachedHqlInterpretations);
+        result.put("cachedQueryPlans", cachedQueryPlans);
+        result.put("estimatedEvictions", Math.max(0, misses - cachedHqlInterpretations));
+        result.put("queries", queryDetails(statistics));
+        return result;
+    }
+
+    // 쿼리 문자열별 통계 (미스가 많은 = 파싱을 자주 다시 하는 쿼리 먼저)
+    private List<Map<String, Object>> queryDetails(Statistics statistics) {
+        List<Map<String, Object>> queries = new ArrayList<>();
+        for (String query : statistics.getQueries()) {
+            QueryStatistics queryStatistics = statistics.getQueryStatistics(query);
+            Map<String, Object> detail = new LinkedHashMap<>();
+            detail.put("query", query);
+            detail.put("executions", queryStatistics.getExecutionCount());
+            detail.put("planCacheHits", queryStatistics.getPlanCacheHitCount());
+            detail.put("planCacheMisses", queryStatistics.getPlanCacheMissCount());
+            detail.put("estimatedEvictions", Math.max(0, queryStatistics.getPlanCacheMissCount() - 1));
+            detail.put("planCompilationTotalMicros", queryStatistics.getPlanCompilationTotalMicroseconds());
+            detail.put("executionAvgMillis", queryStatistics.getExecutionAvgTime());
+            queries.add(detail);
+        }
+        queries.sort(Comparator.comparingLong((Map<String, Object> detail) -> (Long) detail.get("planCacheMisses")).reversed());
+        return queries;
+    }
+}
@@ -0,0 +1,34 @@
+package com.ohgiraffers.springdatajpa.common.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * 📌 SqlStatementCounter: Hibernate가 실행하는 SQL 문장 수를 스레드별로 세는 StatementInspector
+ * - Hibernate는 SQL을 JDBC로 보내기 직전에 inspect()를 호출합니다. (SQL은 그대로 반환)
+ * - 요청은 하나의 스레드에서 처리되므로, 메서드 실행 전/후의 카운트 차이가
+ *   '그 메서드가 실행한 SQL 문장 수'가 됩니다. (MethodMetricsAspect에서 사용)
+ * - 다른 스레드에서 대신 실행한 SQL(ChunkedIdLookup의 청크 조회 등)은 MethodMetricsContext가 호출 스레드의 카운트에 더합니다.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    // 스레드마다 AtomicLong 하나만 만들어 재사용 (호출마다 객체를 만들지 않음)
+    // 💡 long[] 대신 AtomicLong: 작업 스레드가 호출 스레드의 카운트에 더할 수 있어야 함 (경합 없는 증가라 비용 차이는 미미)
+    private final transient ThreadLocal<AtomicLong> counts = ThreadLocal.withInitial(AtomicLong::new);
+
+    @Override
+    public String inspect(String sql) {
+        counts.get().incrementAndGet();
+        return sql;
+    }
+
+    public long currentCount() {
+        return counts.get().get();
+    }
+
+    // 현재 스레드의 카운트 (MethodMetricsContext가 작업 스레드에서 실행한 SQL 수를 더할 때 사용)
+    AtomicLong currentCounter() {
+        return counts.get();
+    }
+}
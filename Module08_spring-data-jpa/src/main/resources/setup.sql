@@ -0,0 +1,30 @@
+-- 파일명: Module08_Setup.sql
+
+DROP TABLE IF EXISTS tbl_product;
+
+-- 1. tbl_product 테이블: common.Product 엔티티와 매핑
+CREATE TABLE tbl_product
+(
+    product_id   INT AUTO_INCREMENT PRIMARY KEY,
+    product_name VARCHAR(255) NOT NULL,
+    price        INT          NOT NULL,
+    stock        INT          NOT NULL DEFAULT 0, -- 재고 수량
+    version      BIGINT       NOT NULL DEFAULT 0  -- 낙관적 락(@Version) 버전
+) COMMENT '상품 정보';
+
+-- 가격 조건(price <= ?) 조회 + (price, product_id) 키셋 페이지네이션을 위한 인덱스
+-- 💡 findAll() 후 자바에서 필터링하지 않고, WHERE 절을 DB에 위임할 때 풀 스캔을 피하게 해줍니다.
+-- 💡 정렬 순서(price, product_id)와 인덱스 순서가 같으므로, 커서 위치부터 바로 읽고 LIMIT 건수에서 멈춥니다.
+CREATE INDEX idx_product_price ON tbl_product (price, product_id);
+
+-- 상품명 전문 검색(FULLTEXT) 인덱스: ngram 파서로 2글자 단위 토큰을 만들어 한글 부분 검색을 지원
+-- 💡 LIKE '%키워드%'는 인덱스를 쓰지 못해 매번 전체 스캔하지만, MATCH ... AGAINST는 이 인덱스로 후보 행만 찾습니다.
+-- 💡 토큰 크기는 서버 설정 ngram_token_size(기본 2)를 따릅니다.
+CREATE FULLTEXT INDEX ft_product_name ON tbl_product (product_name) WITH PARSER ngram;
+
+-- 실습용 샘플 데이터
+INSERT INTO tbl_product (product_name, price, stock) VALUES ('아메리카노', 4500, 100);
+INSERT INTO tbl_product (product_name, price, stock) VALUES ('카페 라떼', 5000, 100);
+INSERT INTO tbl_product (product_name, price, stock) VALUES ('바닐라 라떼', 5500, 50);
+INSERT INTO tbl_product (product_name, price, stock) VALUES ('치즈 케이크', 6500, 20);
+INSERT INTO tbl_product (product_name, price, stock) VALUES ('원두 1kg', 25000, 10);
@@ -0,0 +1,208 @@
+package com.ohgiraffers.springdatajpa.chap02.section01.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ohgiraffers.springdatajpa.chap02.section01.service.ProductService;
+import com.ohgiraffers.springdatajpa.common.Product;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 📌 Open-Session-In-View 켜기/끄기에 따른 요청당 커넥션 점유 시간과 풀 크기별 처리량 측정 (인메모리 H2)
+ * - 실행: gradle openInViewBenchmark                                  (OSIV 끔, 기본 설정)
+ *         gradle openInViewBenchmark -Dbenchmark.openInView=true     (OSIV 켬, 변경 전)
+ * - 결과: build/reports/open-in-view-benchmark/osiv-{on|off}.json
+ *   풀 크기(benchmark.poolSizes, 기본 2,4,8)마다: 초당 요청 수, p50/p99, 요청당 평균 커넥션 점유/대기 시간,
+ *   - holdRatio: 요청 처리 시간(커넥션 대기 제외) 중 커넥션을 붙잡은 비율
+ *   - maxConcurrentRequests: 풀 크기 / holdRatio -> 커넥션 대기 없이 동시에 처리할 수 있는 요청 수 (리틀의 법칙)
+ *   - poolBoundRequestsPerSecond: 풀 크기 x 1000 / 점유 시간 -> 이 풀이 처리할 수 있는 초당 요청 수의 상한
+ *
+ * 💡 GET /chap02/section01/products (전체 상품 목록)는 응답 JSON이 커서 직렬화 시간이 깁니다.
+ *    OSIV가 켜져 있으면 직렬화가 끝날 때까지 커넥션을 붙잡으므로, 같은 풀 크기로 감당할 수 있는 동시 요청 수가 줄어듭니다.
+ * 🚨 클라이언트(benchmark.clients, 기본 4)를 CPU 수보다 훨씬 많이 두면 CPU 대기까지 점유 시간에 섞여 비교가 어려워집니다.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:open-in-view;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.minimum-idle=1",
+        "spring.datasource.hikari.connection-timeout=30000",
+        "spring.jpa.open-in-view=${benchmark.openInView:false}",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.show_sql=false",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false"
+})
+class OpenInViewBenchmark {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 4);
+    private static final int DURATION_SECONDS = Integer.getInteger("benchmark.durationSeconds", 5);
+    private static final int PRODUCTS = Integer.getInteger("benchmark.products", 1_000);
+    private static final String POOL_SIZES = System.getProperty("benchmark.poolSizes", "2,4,8");
+    private static final String REPORT_DIR = System.getProperty("benchmark.reportDir", "build/reports/open-in-view-benchmark");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private HikariDataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private Environment environment;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    void benchmarkConnectionHoldTime() throws Exception {
+        List<Product> products = new ArrayList<>(PRODUCTS);
+        for (int i = 1; i <= PRODUCTS; i++) {
+            products.add(new Product("상품-" + i, 1000 + i, 100));
+        }
+        productService.createProducts(products);
+        run(2, new ArrayList<>()); // 워밍업 (JIT, 커넥션 풀)
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        // 풀 크기를 실행 중에 키워가며 측정 (작은 크기부터: 늘릴 때는 커넥션을 닫을 필요가 없음)
+        for (int poolSize : Arrays.stream(POOL_SIZES.split(",")).mapToInt(Integer::parseInt).sorted().toArray()) {
+            dataSource.getHikariConfigMXBean().setMaximumPoolSize(poolSize);
+            Timer usage = meterRegistry.get("hikaricp.connections.usage").timer();
+            Timer acquire = meterRegistry.get("hikaricp.connections.acquire").timer();
+            long usageCount = usage.count();
+            double usageMillis = usage.totalTime(TimeUnit.MILLISECONDS);
+            long acquireCount = acquire.count();
+            double acquireMillis = acquire.totalTime(TimeUnit.MILLISECONDS);
+
+            List<Long> latencies = new ArrayList<>();
+            long errors = run(DURATION_SECONDS, latencies);
+            Collections.sort(latencies);
+
+            double avgHoldMillis = (usage.totalTime(TimeUnit.MILLISECONDS) - usageMillis) / Math.max(1, usage.count() - usageCount);
+            double avgWaitMillis = (acquire.totalTime(TimeUnit.MILLISECONDS) - acquireMillis) / Math.max(1, acquire.count() - acquireCount);
+            double avgRequestMillis = latencies.stream().mapToLong(Long::longValue).average().orElse(0) / 1_000_000.0;
+            double holdRatio = Math.min(1, avgHoldMillis / Math.max(avgHoldMillis, avgRequestMillis - avgWaitMillis));
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("poolSize", poolSize);
+            result.put("requests", latencies.size());
+            result.put("errors", errors);
+            result.put("requestsPerSecond", Math.round(latencies.size() / (double) DURATION_SECONDS));
+            result.put("p50Millis", percentileMillis(latencies, 0.50));
+            result.put("p99Millis", percentileMillis(latencies, 0.99));
+            result.put("avgConnectionHoldMillis", round(avgHoldMillis));
+            result.put("avgConnectionWaitMillis", round(avgWaitMillis));
+            result.put("avgRequestMillis", round(avgRequestMillis));
+            result.put("holdRatio", round(holdRatio));
+            result.put("maxConcurrentRequests", round(poolSize / holdRatio));
+            result.put("poolBoundRequestsPerSecond", Math.round(poolSize * 1000 / avgHoldMillis));
+            results.add(result);
+        }
+
+        boolean openInView = environment.getProperty("spring.jpa.open-in-view", Boolean.class, true);
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("openInView", openInView);
+        report.put("clients", CLIENTS);
+        report.put("products", PRODUCTS);
+        report.put("durationSeconds", DURATION_SECONDS);
+        report.put("results", results);
+
+        Path reportPath = Path.of(REPORT_DIR, "osiv-" + (openInView ? "on" : "off") + ".json");
+        Files.createDirectories(reportPath.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(reportPath.toFile(), report);
+        System.out.println("Open-Session-In-View 측정 결과: " + reportPath.toAbsolutePath());
+    }
+
+    // seconds 동안 CLIENTS개 클라이언트가 전체 상품 목록을 반복 요청, 오류 수 반환
+    private long run(int seconds, List<Long> latencies) throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        try {
+            List<Future<Long>> futures = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                futures.add(clients.submit(() -> {
+                    List<Long> clientLatencies = new ArrayList<>();
+                    long clientErrors = 0;
+                    while (System.nanoTime() < deadline) {
+                        long begin = System.nanoTime();
+                        if (send("/chap02/section01/products")) {
+                            clientLatencies.add(System.nanoTime() - begin);
+                        } else {
+                            clientErrors++;
+                        }
+                    }
+                    synchronized (latencies) {
+                        latencies.addAll(clientLatencies);
+                    }
+                    return clientErrors;
+                }));
+            }
+            long errors = 0;
+            for (Future<Long> future : futures) {
+                errors += future.get();
+            }
+            return errors;
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private boolean send(String path) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        try {
+            return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            return false;
+        }
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static double percentileMillis(List<Long> sorted, double percentile) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return Math.round(sorted.get(Math.max(index, 0)) / 10_000.0) / 100.0;
+    }
+}
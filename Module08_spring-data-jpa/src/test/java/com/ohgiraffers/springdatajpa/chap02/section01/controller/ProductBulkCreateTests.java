@@ -0,0 +1,67 @@
+package com.ohgiraffers.springdatajpa.chap02.section01.controller;
+
+import com.ohgiraffers.springdatajpa.chap02.section01.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+ * 📌 POST /chap02/section01/products/bulk 요청 검증
+ * - 필수 값(상품명, 가격)이 없거나 null 항목이 있으면 500(NPE)이 아니라 400이고, 아무것도 저장하지 않아야 함
+ * - stock을 생략하면 0으로 저장
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bulkcreate;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureMockMvc
+class ProductBulkCreateTests {
+
+    private static final String BULK_URL = "/chap02/section01/products/bulk";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void createProducts_withMissingRequiredFields_returnsBadRequest() throws Exception {
+        long countBefore = productRepository.count();
+
+        for (String body : new String[]{
+                "[{\"productName\":\"x\"}]",
+                "[{\"price\":1000}]",
+                "[{\"productName\":\"a\",\"price\":1000}, null]",
+                "[]"}) {
+            mockMvc.perform(post(BULK_URL).contentType(MediaType.APPLICATION_JSON).content(body))
+                    .andExpect(status().isBadRequest());
+        }
+
+        assertThat(productRepository.count()).isEqualTo(countBefore);
+    }
+
+    @Test
+    void createProducts_withoutStock_savesDefaultStock() throws Exception {
+        mockMvc.perform(post(BULK_URL).contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"productName\":\"재고 생략 상품\",\"price\":1000,\"stock\":null}, {\"productName\":\"재고 지정 상품\",\"price\":2000,\"stock\":7}]"))
+                .andExpect(status().isCreated())
+                .andExpect(content().string("2"));
+
+        assertThat(productRepository.findAll())
+                .filteredOn(product -> product.getProductName().startsWith("재고"))
+                .extracting(product -> product.getStock())
+                .containsExactlyInAnyOrder(0, 7);
+    }
+}
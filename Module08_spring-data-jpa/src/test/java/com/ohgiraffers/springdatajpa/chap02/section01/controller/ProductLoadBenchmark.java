@@ -0,0 +1,178 @@
+package com.ohgiraffers.springdatajpa.chap02.section01.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ohgiraffers.springdatajpa.chap02.section01.service.ProductService;
+import com.ohgiraffers.springdatajpa.common.Product;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 📌 /chap02/section01/products 부하 테스트: 플랫폼 스레드 vs 가상 스레드 (인메모리 H2)
+ * - 플랫폼 스레드: gradle loadBenchmark
+ * - 가상 스레드:   gradle loadBenchmark -PjavaVersion=21 -Dbenchmark.virtualThreads=true
+ * - 결과: build/reports/load-benchmark/{platform|virtual}.json (초당 요청 수, p50/p99 지연, 오류 수)
+ *
+ * 💡 옵션: -Dbenchmark.clients=256 (동시 클라이언트 수), -Dbenchmark.durationSeconds=10,
+ *         -Dbenchmark.tomcatThreads=50 (플랫폼 모드의 Tomcat 스레드 수), -Dbenchmark.poolSize=20 (HikariCP)
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:load;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.maximum-pool-size=${benchmark.poolSize:20}",
+        "spring.task.execution.simple.concurrency-limit=${benchmark.poolSize:20}",
+        "spring.threads.virtual.enabled=${benchmark.virtualThreads:false}",
+        "server.tomcat.threads.max=${benchmark.tomcatThreads:200}",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.show_sql=false"
+})
+class ProductLoadBenchmark {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 128);
+    private static final int DURATION_SECONDS = Integer.getInteger("benchmark.durationSeconds", 5);
+    private static final int WARMUP_SECONDS = Integer.getInteger("benchmark.warmupSeconds", 2);
+    private static final int PRODUCTS = 10_000;
+    private static final String REPORT_DIR = System.getProperty("benchmark.reportDir", "build/reports/load-benchmark");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private Environment environment;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    void benchmarkProductEndpoints() throws Exception {
+        List<Product> products = new ArrayList<>(PRODUCTS);
+        for (int i = 1; i <= PRODUCTS; i++) {
+            products.add(new Product("상품-" + i, 1000 + i, 100));
+        }
+        productService.createProducts(products);
+
+        run(WARMUP_SECONDS); // JIT, 커넥션 풀, 2차 캐시 워밍업
+        List<Long> latencies = new ArrayList<>();
+        long[] errors = new long[1];
+        long elapsedNanos = run(DURATION_SECONDS, latencies, errors);
+
+        boolean virtual = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        Collections.sort(latencies);
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("mode", virtual ? "virtual" : "platform");
+        report.put("javaVersion", Runtime.version().toString());
+        report.put("clients", CLIENTS);
+        report.put("tomcatThreadsMax", environment.getProperty("server.tomcat.threads.max"));
+        report.put("hikariMaximumPoolSize", environment.getProperty("spring.datasource.hikari.maximum-pool-size"));
+        report.put("durationSeconds", DURATION_SECONDS);
+        report.put("requests", latencies.size());
+        report.put("errors", errors[0]);
+        report.put("requestsPerSecond", Math.round(latencies.size() / (elapsedNanos / 1_000_000_000.0)));
+        report.put("p50Millis", percentileMillis(latencies, 0.50));
+        report.put("p99Millis", percentileMillis(latencies, 0.99));
+
+        Path reportPath = Path.of(REPORT_DIR, report.get("mode") + ".json");
+        Files.createDirectories(reportPath.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(reportPath.toFile(), report);
+        System.out.println("부하 테스트 결과: " + reportPath.toAbsolutePath());
+    }
+
+    private void run(int seconds) throws Exception {
+        run(seconds, new ArrayList<>(), new long[1]);
+    }
+
+    private long run(int seconds, List<Long> latencies, long[] errors) throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        CountDownLatch start = new CountDownLatch(1);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                futures.add(clients.submit(() -> {
+                    start.await();
+                    List<Long> clientLatencies = new ArrayList<>();
+                    long clientErrors = 0;
+                    while (System.nanoTime() < deadline) {
+                        long begin = System.nanoTime();
+                        if (sendRandomRequest()) {
+                            clientLatencies.add(System.nanoTime() - begin);
+                        } else {
+                            clientErrors++;
+                        }
+                    }
+                    synchronized (latencies) {
+                        latencies.addAll(clientLatencies);
+                        errors[0] += clientErrors;
+                    }
+                    return null;
+                }));
+            }
+            long startedAt = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return System.nanoTime() - startedAt;
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    // 단건 조회와 가격 조건 조회를 섞어서 호출 (전체 조회는 응답이 커서 제외)
+    private boolean sendRandomRequest() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String path = random.nextBoolean()
+                ? "/chap02/section01/products/" + random.nextInt(1, PRODUCTS + 1)
+                : "/chap02/section01/products/cheap?maxPrice=" + (1000 + random.nextInt(1, 50));
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(10))
+                .GET()
+                .build();
+        try {
+            return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            return false;
+        }
+    }
+
+    private static double percentileMillis(List<Long> sorted, double percentile) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return Math.round(sorted.get(Math.max(index, 0)) / 10_000.0) / 100.0;
+    }
+}
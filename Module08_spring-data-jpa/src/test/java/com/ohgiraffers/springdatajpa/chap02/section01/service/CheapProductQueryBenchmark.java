@@ -0,0 +1,151 @@
+package com.ohgiraffers.springdatajpa.chap02.section01.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ohgiraffers.springdatajpa.chap02.section01.repository.ProductRepository;
+import com.ohgiraffers.springdatajpa.common.Product;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/*
+ * 📌 chap02 /products/cheap 조회: findAll() + 스트림 필터(이전) vs JPQL 가격 조건 조회(findProductNamesByMaxPrice)
+ * - 테이블을 benchmark.sizes 단계로 키우면서, 결과 건수는 100건(price <= 1100)으로 고정해 측정합니다.
+ *   -> findAll은 테이블 크기에 비례해 느려지고 할당이 늘고, JPQL(idx_product_price 사용)은 일정해야 합니다.
+ * - 실행: gradle cheapProductBenchmark [-Dbenchmark.sizes=1000,10000,100000 -Dbenchmark.iterations=10]
+ * - 결과: build/reports/cheap-product-benchmark/report.json (테이블 크기별, 방식별 호출당 ms 중앙값과 할당 바이트)
+ * - MySQL로 측정(예: 1천만 건): -Dbenchmark.sizes=1000,100000,10000000 -Dbenchmark.findAllMaxRows=100000
+ *   -Dbenchmark.url=jdbc:mysql://localhost:3306/{측정용 스키마}?rewriteBatchedStatements=true -Dbenchmark.driver=com.mysql.cj.jdbc.Driver
+ *   -Dbenchmark.username=... -Dbenchmark.password=...  (🚨 ddl-auto=create-drop이므로 실습 스키마가 아닌 별도 스키마 사용)
+ *
+ * 💡 findAll 방식은 테이블 전체를 엔티티로 읽으므로 benchmark.findAllMaxRows(기본 100,000건)보다 큰 테이블에서는 건너뜁니다. (힙 부족 방지)
+ * 💡 할당 바이트는 현재 스레드 기준(ThreadMXBean)입니다.
+ * 💡 측정 결과(1 vCPU, H2, 결과 100건, 호출당 ms 중앙값 / 할당):
+ *    1천 건: findAllFilter 36ms / 0.5MB,  priceQuery 8ms / 37KB
+ *    1만 건: findAllFilter 114ms / 4.6MB, priceQuery 13ms / 36KB
+ *    10만 건: findAllFilter 794ms / 105MB, priceQuery 8ms / 36KB
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=${benchmark.url:jdbc:h2:mem:cheapproduct;MODE=MySQL;DB_CLOSE_DELAY=-1}",
+        "spring.datasource.driver-class-name=${benchmark.driver:org.h2.Driver}",
+        "spring.datasource.username=${benchmark.username:sa}",
+        "spring.datasource.password=${benchmark.password:}",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.show_sql=false"
+})
+class CheapProductQueryBenchmark {
+
+    private static final List<Integer> SIZES = Arrays.stream(System.getProperty("benchmark.sizes", "1000,10000,100000").split(","))
+            .map(String::trim).map(Integer::valueOf).toList();
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 10);
+    private static final int FIND_ALL_MAX_ROWS = Integer.getInteger("benchmark.findAllMaxRows", 100_000);
+    private static final String REPORT_PATH = System.getProperty("benchmark.report", "build/reports/cheap-product-benchmark/report.json");
+    private static final int MAX_PRICE = 1100; // 가격이 1001부터 1씩 오르므로 항상 100건
+    private static final int INSERT_BATCH = 10_000;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void benchmarkFindAllFilterVersusPriceQuery() throws Exception {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        Map<String, Supplier<List<String>>> paths = new LinkedHashMap<>();
+        // 이전 ProductService.findProductNamesCheaperThan: 전체 조회 후 Java에서 필터링
+        paths.put("findAllFilter", () -> readOnly.execute(status -> productRepository.findAll().stream()
+                .filter(product -> product.getPrice() <= MAX_PRICE)
+                .map(Product::getProductName)
+                .toList()));
+        paths.put("priceQuery", () -> readOnly.execute(status -> productRepository.findProductNamesByMaxPrice(MAX_PRICE)));
+
+        Map<String, Object> bySize = new LinkedHashMap<>();
+        int rows = 0;
+        for (int size : SIZES) {
+            rows = insertUpTo(rows, size);
+            Map<String, Object> results = new LinkedHashMap<>();
+            for (Map.Entry<String, Supplier<List<String>>> path : paths.entrySet()) {
+                if (path.getKey().equals("findAllFilter") && size > FIND_ALL_MAX_ROWS) {
+                    results.put(path.getKey(), "skipped (benchmark.findAllMaxRows=" + FIND_ALL_MAX_ROWS + ")");
+                    continue;
+                }
+                results.put(path.getKey(), run(path.getValue()));
+            }
+            bySize.put(String.valueOf(size), results);
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("resultRows", MAX_PRICE - 1000);
+        report.put("iterations", ITERATIONS);
+        report.put("tableRows", bySize);
+
+        Path reportPath = Path.of(REPORT_PATH);
+        Files.createDirectories(reportPath.toAbsolutePath().getParent());
+        objectMapper.writer().with(SerializationFeature.INDENT_OUTPUT).writeValue(reportPath.toFile(), report);
+        System.out.println("테이블 크기별 저가 상품 조회 방식 비교: " + reportPath.toAbsolutePath() + " " + bySize);
+    }
+
+    // 가격 1001, 1002, ... 순서로 size건이 될 때까지 추가 (JDBC 배치)
+    private int insertUpTo(int rows, int size) {
+        while (rows < size) {
+            int from = rows;
+            int count = Math.min(INSERT_BATCH, size - rows);
+            List<Object[]> batch = new ArrayList<>(count);
+            for (int i = from + 1; i <= from + count; i++) {
+                batch.add(new Object[]{"상품-" + i, 1000 + i});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO tbl_product (product_name, price, stock, version) VALUES (?, ?, 100, 0)", batch);
+            rows += count;
+        }
+        return rows;
+    }
+
+    private Map<String, Object> run(Supplier<List<String>> query) {
+        for (int i = 0; i < 3; i++) { // 워밍업
+            query.get();
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        List<Double> millis = new ArrayList<>(ITERATIONS);
+        long allocated = 0;
+        int resultRows = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+            long begin = System.nanoTime();
+            resultRows = query.get().size();
+            millis.add((System.nanoTime() - begin) / 1_000_000.0);
+            allocated += threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        }
+        Collections.sort(millis);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("resultRows", resultRows);
+        result.put("millisMedian", Math.round(millis.get(millis.size() / 2) * 100) / 100.0);
+        result.put("allocatedBytesPerCall", allocated / ITERATIONS);
+        return result;
+    }
+}
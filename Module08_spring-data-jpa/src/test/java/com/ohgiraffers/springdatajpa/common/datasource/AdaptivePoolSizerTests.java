@@ -0,0 +1,106 @@
+package com.ohgiraffers.springdatajpa.common.datasource;
+
+import com.ohgiraffers.springdatajpa.chap02.section01.service.ProductService;
+import com.ohgiraffers.springdatajpa.common.metrics.ConnectionUsageMetricsTrackerFactory;
+import com.ohgiraffers.springdatajpa.common.metrics.ConnectionUsageMetricsTrackerFactory.UsageSnapshot;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * 📌 커넥션 풀 지표(호출 메서드별 대기/사용 시간)와 풀 크기 자동 조절 판단 검증
+ * - 주기 실행 대신 adjust() / decide()를 직접 호출 (interval=1h)
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:pool-sizer;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.maximum-pool-size=10",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.show_sql=false",
+        "app.metrics.enabled=true",
+        "app.datasource.adaptive.enabled=true",
+        "app.datasource.adaptive.min-size=4",
+        "app.datasource.adaptive.max-size=16",
+        "app.datasource.adaptive.step=2",
+        "app.datasource.adaptive.interval=1h",
+        "app.datasource.adaptive.target-wait=10ms",
+        "app.datasource.adaptive.load-tolerance=0.5"
+})
+class AdaptivePoolSizerTests {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private AdaptivePoolSizer adaptivePoolSizer;
+
+    @Autowired
+    private HikariDataSource dataSource;
+
+    @Autowired
+    private ConnectionUsageMetricsTrackerFactory usage;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void serviceMethod_recordsConnectionUsageByCaller() {
+        productService.findAllProducts();
+
+        Timer usage = meterRegistry.find("app.datasource.connection.usage")
+                .tag("class", "chap02.section01.service.ProductService")
+                .tag("method", "findAllProducts")
+                .timer();
+        assertThat(usage).isNotNull();
+        assertThat(usage.count()).isPositive();
+        assertThat(meterRegistry.find("hikaricp.connections.acquire").timer()).isNotNull();
+    }
+
+    @Test
+    void decide_growsOnWait_shrinksOnDbLoadOrIdle_withinBoundsAndCeiling() {
+        UsageSnapshot waiting = new UsageSnapshot(100, 50, 100, 20, 0);
+        UsageSnapshot dbLoaded = new UsageSnapshot(100, 50, 100, 40, 0); // 기준 20ms 대비 2배
+        UsageSnapshot idle = new UsageSnapshot(100, 0.1, 100, 20, 0);
+
+        assertThat(adaptivePoolSizer.decide(10, 10, 5, waiting, 20, Integer.MAX_VALUE).size()).isEqualTo(12);
+        assertThat(adaptivePoolSizer.decide(16, 16, 5, waiting, 20, Integer.MAX_VALUE).size()).isEqualTo(16);     // max-size
+        assertThat(adaptivePoolSizer.decide(10, 10, 5, dbLoaded, 20, Integer.MAX_VALUE).reason()).isEqualTo("db-load");
+        assertThat(adaptivePoolSizer.decide(10, 10, 5, dbLoaded, 20, Integer.MAX_VALUE).size()).isEqualTo(8);
+        assertThat(adaptivePoolSizer.decide(10, 2, 0, idle, 20, Integer.MAX_VALUE).size()).isEqualTo(8);
+        assertThat(adaptivePoolSizer.decide(4, 0, 0, idle, 20, Integer.MAX_VALUE).size()).isEqualTo(4);          // min-size
+        assertThat(adaptivePoolSizer.decide(10, 8, 0, idle, 20, Integer.MAX_VALUE).size()).isEqualTo(10);         // 절반 넘게 사용 중
+        assertThat(adaptivePoolSizer.decide(10, 10, 5, waiting, 20, 12).size()).isEqualTo(11);                    // 포화가 확인된 12 미만까지
+        assertThat(adaptivePoolSizer.decide(11, 11, 5, waiting, 20, 12).reason()).isEqualTo("ceiling");
+    }
+
+    @Test
+    void nextBaseline_followsShorterUsageImmediately_andLongerUsageSlowly_ignoringSmallWindows() {
+        assertThat(AdaptivePoolSizer.nextBaseline(Double.NaN, new UsageSnapshot(100, 0, 100, 20, 0), 0.05)).isEqualTo(20);
+        assertThat(AdaptivePoolSizer.nextBaseline(20, new UsageSnapshot(100, 0, 100, 10, 0), 0.05)).isEqualTo(10);
+        assertThat(AdaptivePoolSizer.nextBaseline(20, new UsageSnapshot(100, 0, 100, 40, 0), 0.05)).isEqualTo(21);
+        assertThat(AdaptivePoolSizer.nextBaseline(20, new UsageSnapshot(0, 0, 0, Double.NaN, 0), 0.05)).isEqualTo(20);
+        assertThat(AdaptivePoolSizer.nextBaseline(20, new UsageSnapshot(3, 0, 3, 1, 0), 0.05)).isEqualTo(20); // 표본 부족
+    }
+
+    @Test
+    void adjust_shrinksIdlePoolAndClosesExtraConnections() throws Exception {
+        dataSource.getConnection().close(); // 풀 시작 (minimum-idle = 10 -> 커넥션 10개까지 채움)
+
+        adaptivePoolSizer.adjust();
+
+        assertThat(dataSource.getHikariConfigMXBean().getMaximumPoolSize()).isEqualTo(8);
+        assertThat(dataSource.getHikariPoolMXBean().getTotalConnections()).isLessThanOrEqualTo(8);
+        assertThat(meterRegistry.find("app.datasource.pool.resizes").tag("direction", "shrink").counter()).isNotNull();
+        // 줄이면서 커넥션을 빌리지 않으므로 다음 구간의 대기/사용 시간 표본에 섞이지 않음
+        UsageSnapshot next = usage.drainUsage(dataSource.getPoolName());
+        assertThat(next.acquireCount()).isZero();
+        assertThat(next.usageCount()).isZero();
+    }
+}
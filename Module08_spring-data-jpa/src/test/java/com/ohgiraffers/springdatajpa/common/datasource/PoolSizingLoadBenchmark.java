@@ -0,0 +1,154 @@
+package com.ohgiraffers.springdatajpa.common.datasource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 📌 커넥션 풀 크기 고정 vs 자동 조절(AdaptivePoolSizer) 부하 테스트 (인메모리 H2)
+ * - 실행: gradle poolSizingBenchmark [-Dbenchmark.adaptive=true -Dbenchmark.poolSize=4 -Dbenchmark.durationSeconds=20]
+ * - 비교: -Dbenchmark.adaptive=false 로 고정 크기 풀(작은 풀 4 / 큰 풀 -Dbenchmark.poolSize=32)을 한 번씩 더 실행
+ * - 결과: build/reports/pool-sizing-benchmark/{adaptive|fixed}-{시작 크기}.json
+ *   (초당 처리 수, 응답 시간 p50/p99, 평균 커넥션 대기/사용 시간, 1초마다의 풀 최대 크기)
+ *
+ * 💡 DB 처리 능력을 흉내 내기 위해 SQL 함수 DB_WORK(ms)는 동시에 benchmark.dbCores개까지만 실행됩니다.
+ *    -> 커넥션이 DB 처리 능력보다 많으면 쿼리가 DB 안에서 줄을 서므로 커넥션 사용 시간이 늘어납니다. (실제 DB의 CPU/IO 포화)
+ * - H2가 DB_WORK를 리플렉션으로 호출하므로 이 클래스는 public 입니다.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:pool-sizing;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.maximum-pool-size=${benchmark.poolSize:4}",
+        "spring.datasource.hikari.connection-timeout=30000",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.show_sql=false",
+        "app.metrics.enabled=true",
+        "app.datasource.adaptive.enabled=${benchmark.adaptive:true}",
+        "app.datasource.adaptive.min-size=2",
+        "app.datasource.adaptive.max-size=32",
+        "app.datasource.adaptive.step=2",
+        "app.datasource.adaptive.interval=500ms"
+})
+public class PoolSizingLoadBenchmark {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 32);
+    private static final int DB_CORES = Integer.getInteger("benchmark.dbCores", 8);
+    private static final int WORK_MILLIS = Integer.getInteger("benchmark.workMillis", 20);
+    private static final int DURATION_SECONDS = Integer.getInteger("benchmark.durationSeconds", 20);
+    private static final String REPORT_DIR = System.getProperty("benchmark.reportDir", "build/reports/pool-sizing-benchmark");
+
+    private static final Semaphore DB = new Semaphore(DB_CORES);
+
+    @Autowired
+    private HikariDataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // H2 SQL 함수 DB_WORK(ms): DB 코어 하나를 ms 동안 사용 (코어가 모두 바쁘면 기다림)
+    public static int dbWork(int millis) throws InterruptedException {
+        DB.acquire();
+        try {
+            Thread.sleep(millis);
+            return millis;
+        } finally {
+            DB.release();
+        }
+    }
+
+    @Test
+    void benchmarkPoolSizing() throws Exception {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE ALIAS IF NOT EXISTS DB_WORK FOR '" + PoolSizingLoadBenchmark.class.getName() + ".dbWork'");
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        int initialPoolSize = Integer.getInteger("benchmark.poolSize", 4);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(DURATION_SECONDS);
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        List<Future<List<Long>>> results = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            results.add(clients.submit(() -> {
+                List<Long> latencies = new ArrayList<>();
+                while (System.nanoTime() < deadline) {
+                    long begin = System.nanoTime();
+                    readOnly.executeWithoutResult(status ->
+                            jdbcTemplate.queryForObject("SELECT DB_WORK(?)", Integer.class, WORK_MILLIS));
+                    latencies.add(System.nanoTime() - begin);
+                }
+                return latencies;
+            }));
+        }
+        List<Integer> poolSizeTrace = new ArrayList<>();
+        while (System.nanoTime() < deadline) {
+            poolSizeTrace.add(dataSource.getHikariConfigMXBean().getMaximumPoolSize());
+            Thread.sleep(1000);
+        }
+        List<Long> latencies = new ArrayList<>();
+        for (Future<List<Long>> result : results) {
+            latencies.addAll(result.get());
+        }
+        clients.shutdown();
+        Collections.sort(latencies);
+
+        Timer acquire = meterRegistry.find("hikaricp.connections.acquire").timer();
+        Timer usage = meterRegistry.find("hikaricp.connections.usage").timer();
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("mode", Boolean.parseBoolean(System.getProperty("benchmark.adaptive", "true")) ? "adaptive" : "fixed");
+        report.put("initialPoolSize", initialPoolSize);
+        report.put("finalPoolSize", dataSource.getHikariConfigMXBean().getMaximumPoolSize());
+        report.put("clients", CLIENTS);
+        report.put("dbCores", DB_CORES);
+        report.put("workMillis", WORK_MILLIS);
+        report.put("durationSeconds", DURATION_SECONDS);
+        report.put("operationsPerSecond", Math.round(latencies.size() / (double) DURATION_SECONDS));
+        report.put("latencyP50Millis", percentileMillis(latencies, 0.50));
+        report.put("latencyP99Millis", percentileMillis(latencies, 0.99));
+        report.put("avgAcquireMillis", acquire != null ? round(acquire.mean(TimeUnit.MILLISECONDS)) : null);
+        report.put("avgUsageMillis", usage != null ? round(usage.mean(TimeUnit.MILLISECONDS)) : null);
+        report.put("poolSizeTrace", poolSizeTrace);
+
+        Path reportPath = Path.of(REPORT_DIR, report.get("mode") + "-" + initialPoolSize + ".json");
+        Files.createDirectories(reportPath.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(reportPath.toFile(), report);
+        System.out.println("커넥션 풀 크기 조절 부하 테스트 결과: " + reportPath.toAbsolutePath());
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static double percentileMillis(List<Long> sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return Math.round(sorted.get(Math.max(index, 0)) / 10_000.0) / 100.0;
+    }
+}
@@ -0,0 +1,162 @@
+package com.ohgiraffers.springdatajpa.common.datasource;
+
+import com.ohgiraffers.springdatajpa.chap04.service.ProductService;
+import com.ohgiraffers.springdatajpa.common.Product;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+ * 📌 읽기 전용 트랜잭션은 복제본, 쓰기는 primary로 라우팅되는지 검증
+ * - 서로 다른 인메모리 H2 DB 두 개가 primary / 복제본 역할 (복제는 없으므로 데이터가 달라 어느 쪽에서 읽었는지 구분 가능)
+ * - 복제 지연은 복제본의 replica_lag 테이블 값으로 흉내 냄 (lag-query), 주기 확인 대신 checkReplicas()를 직접 호출
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.show_sql=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+        "app.datasource.routing.enabled=true",
+        "app.datasource.routing.replicas[0].url=" + ReplicaRoutingDataSourceTests.REPLICA_URL,
+        "app.datasource.routing.lag-query=SELECT lag_seconds FROM replica_lag",
+        "app.datasource.routing.lag-column=lag_seconds",
+        "app.datasource.routing.max-lag=5s",
+        "app.datasource.routing.lag-check-interval=1h"
+})
+class ReplicaRoutingDataSourceTests {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;MODE=MySQL;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'classpath:replica-schema.sql'";
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private com.ohgiraffers.springdatajpa.chap02.section01.service.ProductService writeProductService;
+
+    @Autowired
+    private com.ohgiraffers.springdatajpa.chap03.service.ProductService idLookupProductService;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+        primary.update("DELETE FROM tbl_product");
+        replica.update("DELETE FROM tbl_product");
+        replica.update("DELETE FROM replica_lag");
+        replica.update("INSERT INTO replica_lag (lag_seconds) VALUES (0)");
+        replicaRoutingDataSource.checkReplicas();
+
+        primary.update("INSERT INTO tbl_product (product_name, price, stock, version) VALUES ('primary 상품', 1000, 10, 0)");
+        replica.update("INSERT INTO tbl_product (product_name, price, stock, version) VALUES ('replica 상품', 1000, 10, 0)");
+    }
+
+    @Test
+    void readOnlyTransaction_readsFromReplica() {
+        double readsBefore = decisions("replica-1", "read");
+
+        List<Product> products = productService.findProductsBelowPriceSorted(2000); // @Transactional(readOnly = true)
+
+        assertThat(products).extracting(Product::getProductName).containsExactly("replica 상품");
+        assertThat(decisions("replica-1", "read")).isEqualTo(readsBefore + 1);
+    }
+
+    @Test
+    void chunkedIdLookup_readsEachChunkFromReplica() {
+        Integer replicaId = replica.queryForObject("SELECT product_id FROM tbl_product", Integer.class);
+        double readsBefore = decisions("replica-1", "read");
+
+        // 서비스에 @Transactional 없음 -> 청크마다 findByProductIdIn의 @Transactional(readOnly = true)로 실행
+        List<Product> products = idLookupProductService.findProductsByIds(List.of(replicaId));
+
+        assertThat(products).extracting(Product::getProductName).containsExactly("replica 상품");
+        assertThat(decisions("replica-1", "read")).isEqualTo(readsBefore + 1);
+    }
+
+    @Test
+    void writeTransaction_goesToPrimary() {
+        double writesBefore = decisions("primary", "write");
+
+        writeProductService.createProducts(List.of(new Product("새 상품", 3000, 5)));
+
+        assertThat(primary.queryForObject("SELECT COUNT(*) FROM tbl_product", Integer.class)).isEqualTo(2);
+        assertThat(replica.queryForObject("SELECT COUNT(*) FROM tbl_product", Integer.class)).isEqualTo(1);
+        assertThat(decisions("primary", "write")).isGreaterThan(writesBefore);
+    }
+
+    @Test
+    void laggingReplica_fallsBackToPrimary() {
+        replica.update("UPDATE replica_lag SET lag_seconds = 60");
+        replicaRoutingDataSource.checkReplicas();
+        double fallbacksBefore = decisions("primary", "read-fallback");
+
+        List<Product> products = productService.findProductsBelowPriceSorted(2000);
+
+        assertThat(products).extracting(Product::getProductName).containsExactly("primary 상품");
+        assertThat(decisions("primary", "read-fallback")).isEqualTo(fallbacksBefore + 1);
+        assertThat(meterRegistry.get("app.datasource.replica.available").tag("pool", "replica-1").gauge().value()).isZero();
+        assertThat(meterRegistry.get("app.datasource.replica.lag").tag("pool", "replica-1").gauge().value()).isEqualTo(60);
+    }
+
+    @Test
+    void connectionWithCredentials_isRoutedLikeDefaultConnection() throws Exception {
+        // 계정별 커넥션을 지원하는 DataSource를 primary로 두고, 선택된 DataSource에 계정이 그대로 전달되는지 확인
+        String primaryUrl = "jdbc:h2:mem:routing-primary;MODE=MySQL;DB_CLOSE_DELAY=-1";
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(new DriverManagerDataSource(primaryUrl),
+                List.of(), new ReplicaRoutingProperties(), new SimpleMeterRegistry());
+
+        try (Connection connection = routing.getConnection("sa", "")) {
+            assertThat(connection.getMetaData().getURL()).startsWith("jdbc:h2:mem:routing-primary");
+            assertThat(connection.getMetaData().getUserName()).isEqualToIgnoringCase("sa");
+        }
+    }
+
+    @Test
+    void connectionWithCredentials_unsupportedByReplicaPool_keepsReplicaAvailable() {
+        double fallbacksBefore = decisions("primary", "read-fallback");
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        try {
+            // 복제본 풀(HikariDataSource)은 계정별 커넥션을 지원하지 않음 -> 그대로 전달, primary로 넘기지 않음
+            assertThatThrownBy(() -> replicaRoutingDataSource.getConnection("sa", ""))
+                    .isInstanceOf(SQLFeatureNotSupportedException.class);
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+
+        assertThat(decisions("primary", "read-fallback")).isEqualTo(fallbacksBefore);
+        assertThat(meterRegistry.get("app.datasource.replica.available").tag("pool", "replica-1").gauge().value()).isEqualTo(1);
+    }
+
+    private double decisions(String pool, String route) {
+        return meterRegistry.get("app.datasource.routing.decisions").tag("pool", pool).tag("route", route).counter().count();
+    }
+}
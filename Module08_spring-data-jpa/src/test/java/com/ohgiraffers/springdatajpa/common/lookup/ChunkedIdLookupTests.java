@@ -0,0 +1,59 @@
+package com.ohgiraffers.springdatajpa.common.lookup;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ChunkedIdLookupTests {
+
+    @Test
+    void split_padsEveryChunkToPowerOfTwo() {
+        assertThat(ChunkedIdLookup.split(List.of(1, 2, 3, 4, 5, 6), 4))
+                .containsExactly(List.of(1, 2, 3, 4), List.of(5, 6));
+        assertThat(ChunkedIdLookup.split(List.of(1, 2, 3, 4, 5), 8))
+                .containsExactly(List.of(1, 2, 3, 4, 5, 5, 5, 5));
+        assertThat(ChunkedIdLookup.split(List.of(7), 8))
+                .containsExactly(List.of(7));
+    }
+
+    @Test
+    void findAllInOrder_mergesParallelChunksInInputOrder() {
+        ChunkedIdLookup lookup = new ChunkedIdLookup(Executors.newFixedThreadPool(4), 16);
+        List<Integer> ids = new ArrayList<>();
+        for (int id = 1; id <= 100; id++) {
+            ids.add(id);
+        }
+        Collections.shuffle(ids);
+        ids.add(ids.get(0)); // 중복 ID
+        ids.add(null);
+        Set<Integer> chunkSizes = ConcurrentHashMap.newKeySet();
+
+        // 짝수 ID만 존재한다고 가정하고, DB처럼 순서를 보장하지 않도록 역순으로 반환
+        List<Integer> result = lookup.findAllInOrder(ids, chunk -> {
+            chunkSizes.add(chunk.size());
+            List<Integer> found = new ArrayList<>();
+            chunk.stream().distinct().filter(id -> id % 2 == 0).forEach(found::add);
+            Collections.reverse(found);
+            return found;
+        }, id -> id);
+
+        assertThat(result).containsExactlyElementsOf(
+                ids.stream().filter(id -> id != null && id % 2 == 0).distinct().toList());
+        assertThat(chunkSizes).allMatch(size -> Integer.bitCount(size) == 1);
+        lookup.destroy();
+    }
+
+    @Test
+    void constructor_rejectsChunkSizeThatIsNotPowerOfTwo() {
+        assertThatThrownBy(() -> new ChunkedIdLookup(Runnable::run, 1000))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
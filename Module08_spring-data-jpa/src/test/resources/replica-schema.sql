@@ -0,0 +1,15 @@
+-- ReplicaRoutingDataSourceTests: 복제본 역할의 H2 DB 스키마 (접속 시 INIT=RUNSCRIPT로 실행)
+CREATE TABLE IF NOT EXISTS tbl_product
+(
+    product_id   INT AUTO_INCREMENT PRIMARY KEY,
+    product_name VARCHAR(255) NOT NULL,
+    price        INT          NOT NULL,
+    stock        INT          NOT NULL DEFAULT 0,
+    version      BIGINT       NOT NULL DEFAULT 0
+);
+
+-- 복제 지연(초)을 흉내 내는 테이블 (app.datasource.routing.lag-query로 조회)
+CREATE TABLE IF NOT EXISTS replica_lag
+(
+    lag_seconds INT
+);